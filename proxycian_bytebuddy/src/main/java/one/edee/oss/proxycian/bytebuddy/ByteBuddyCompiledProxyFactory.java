@@ -0,0 +1,108 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.CompiledProxyFactory;
+import one.edee.oss.proxycian.OnInstantiationCallback;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * {@link CompiledProxyFactory} of {@link ByteBuddyProxyGenerator}. Proxy class is generated for the recipe and all
+ * its instances share single dispatcher that holds no proxy state and is kept in the static field of the class - each
+ * proxy keeps only its state in the generated final field and passes it to the dispatcher on each call. Creating
+ * the proxy thus allocates nothing but the proxy itself, the proxy constructor is called through
+ * the {@link MethodHandle}. Proxy state is verified against the recipe only when its class differs from the class of
+ * the previously verified proxy state.
+ *
+ * Constructor is not bound by {@link java.lang.invoke.LambdaMetafactory} - the lambda class would be defined next to
+ * the generator and couldn't link the proxy classes generated into the child class loaders.
+ */
+class ByteBuddyCompiledProxyFactory<T> implements CompiledProxyFactory<T> {
+	private static final Object[] NO_ARGS = new Object[0];
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(
+		Object.class, ByteBuddyDispatcherInvocationHandler.class, OnInstantiationCallback.class, Object.class, Object[].class
+	);
+	private final ProxyRecipe proxyRecipe;
+	private final boolean serializable;
+	private final Class<?> proxyClass;
+	private final Class<?>[] constructorTypes;
+	private final MethodHandle constructor;
+	private final ByteBuddyDispatcherInvocationHandler<?> dispatcher;
+	private final OnInstantiationCallback instantiationCallback;
+	/**
+	 * Class of the last proxy state that passed {@link ProxyRecipe#verifyProxyState(Object)}.
+	 */
+	private volatile Class<?> verifiedStateClass;
+
+	ByteBuddyCompiledProxyFactory(@Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Class<?> proxyClass, @Nonnull Class<?>[] constructorTypes, @Nonnull Constructor<?> constructor, @Nonnull ByteBuddyDispatcherInvocationHandler<?> dispatcher) {
+		this.proxyRecipe = proxyRecipe;
+		this.serializable = serializable;
+		this.proxyClass = proxyClass;
+		this.constructorTypes = constructorTypes;
+		try {
+			this.constructor = MethodHandles.lookup()
+				.unreflectConstructor(constructor)
+				.asSpreader(Object[].class, constructorTypes.length)
+				.asType(CONSTRUCTOR_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("What the heck? Can't access constructor of " + proxyClass.getName() + ": " + e.getMessage(), e);
+		}
+		this.dispatcher = dispatcher;
+		this.instantiationCallback = proxyRecipe.getInstantiationCallback() == null ?
+			OnInstantiationCallback.DEFAULT : proxyRecipe.getInstantiationCallback();
+	}
+
+	@Nonnull
+	@Override
+	public T instantiate(@Nonnull Object proxyState) {
+		return instantiate(proxyState, NO_ARGS);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nonnull
+	@Override
+	public T instantiate(@Nonnull Object proxyState, @Nonnull Object[] constructorArgs) {
+		if (proxyState.getClass() != this.verifiedStateClass) {
+			verify(proxyState);
+		}
+		final T proxy;
+		try {
+			proxy = (T) (Object) this.constructor.invokeExact(this.dispatcher, this.instantiationCallback, proxyState, constructorArgs);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("What the heck? Can't create proxy: " + e.getMessage(), e);
+		}
+		// COPY VALUES OF FIELD BACKED PROPERTIES FROM THE STATE TO THE GENERATED FIELDS
+		BeanMemoryStoreView.load(proxy, proxyState);
+		return proxy;
+	}
+
+	/**
+	 * Verifies the proxy state of the class not seen by the factory yet and resolves the classifications eagerly if
+	 * the recipe asks for it.
+	 */
+	private void verify(@Nonnull Object proxyState) {
+		if (this.serializable && !(proxyState instanceof Serializable)) {
+			throw new IllegalArgumentException("What the heck? Proxy state " + proxyState.getClass().getName() + " is not serializable!");
+		}
+		this.proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(
+			ByteBuddyProxyGenerator.WARM_UP_GENERATOR, this.proxyRecipe, this.serializable, proxyState,
+			this.constructorTypes.length == 0 ? null : this.constructorTypes
+		);
+		this.proxyRecipe.resolveEagerly(
+			this.proxyClass, proxyState,
+			() -> new ByteBuddyDispatcherInvocationHandler<>(proxyState, this.dispatcher).resolveEagerly(this.proxyClass)
+		);
+		this.verifiedStateClass = proxyState.getClass();
+	}
+
+}
@@ -2,33 +2,53 @@ package one.edee.oss.proxycian.bytebuddy;
 
 
 import net.bytebuddy.implementation.bind.annotation.AllArguments;
-import net.bytebuddy.implementation.bind.annotation.DefaultCall;
+import net.bytebuddy.implementation.bind.annotation.Argument;
+import net.bytebuddy.implementation.bind.annotation.DefaultMethod;
 import net.bytebuddy.implementation.bind.annotation.FieldValue;
 import net.bytebuddy.implementation.bind.annotation.Origin;
 import net.bytebuddy.implementation.bind.annotation.RuntimeType;
-import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.SuperMethod;
 import net.bytebuddy.implementation.bind.annotation.This;
 import one.edee.oss.proxycian.AbstractDispatcherInvocationHandler;
 import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
 import one.edee.oss.proxycian.MethodClassification;
 import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.MethodDispatchTable.DispatchSlots;
+import one.edee.oss.proxycian.specialized.BooleanAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.BooleanReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.SuperInvokingInvocationHandler;
+import one.edee.oss.proxycian.specialized.SuperMethodInvoker;
 import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
 import one.edee.oss.proxycian.trait.StandardJavaMethods;
+import one.edee.oss.proxycian.trait.frozenState.FrozenState;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateProvider;
+import one.edee.oss.proxycian.util.DefaultMethodInvoker;
+import one.edee.oss.proxycian.util.ReflectionUtils;
 
-import java.lang.invoke.MethodHandle;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.function.Function;
 
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.DISPATCH_TABLE_FIELD;
 import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.INVOCATION_HANDLER_FIELD;
-import static one.edee.oss.proxycian.util.ReflectionUtils.findMethodHandle;
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.PROXY_STATE_FIELD;
 
 public class ByteBuddyDispatcherInvocationHandler<T> extends AbstractDispatcherInvocationHandler<T> {
-	private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class[0];
+	private static final Object[] EMPTY_ARGS = new Object[0];
 
 	public ByteBuddyDispatcherInvocationHandler(T proxyState, MethodClassification<?, ?>... methodClassifications) {
 		super(proxyState, methodClassifications);
@@ -38,6 +58,17 @@ public class ByteBuddyDispatcherInvocationHandler<T> extends AbstractDispatcherI
 		super(proxyState, methodClassifications);
 	}
 
+	ByteBuddyDispatcherInvocationHandler(T proxyState, ByteBuddyDispatcherInvocationHandler<?> template) {
+		super(proxyState, template);
+	}
+
+	/**
+	 * Returns proxy state of the dispatcher or NULL if the dispatcher is shared by multiple proxies.
+	 */
+	Object getProxyState() {
+		return proxyState;
+	}
+
 	/**
 	 * This method gets bound and invoked by the ByteBuddy.
 	 */
@@ -46,54 +77,504 @@ public class ByteBuddyDispatcherInvocationHandler<T> extends AbstractDispatcherI
 		@This Object proxy,
 		@Origin Method method,
 		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
-		@SuperCall(nullIfImpossible = true, serializableProxy = true, fallbackToDefault = false) Callable<Object> superMethod,
-		@DefaultCall(nullIfImpossible = true, serializableProxy = true) Callable<Object> defaultMethod,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
 		@AllArguments Object[] args
 	) throws Throwable {
-		if (handler == null) {
-			return superMethod.call();
+		if (proxyState == null) {
+			return invokeSuper(proxy, getSuperMethodInvoker(method, superMethod, defaultMethod), args);
 		} else {
-			return handler.interceptMethodCall(proxy, method, superMethod, defaultMethod, args);
+			return handler.interceptMethodCall(proxy, proxyState, method, superMethod, defaultMethod, args);
 		}
 	}
 
-	public Object interceptMethodCall(
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for proxy classes generated in
+	 * {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@RuntimeType
+	public static Object interceptDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
+		@AllArguments Object[] args
+	) throws Throwable {
+		if (proxyState == null) {
+			return invokeSuper(proxy, getSuperMethodInvoker(method, superMethod, defaultMethod), args);
+		} else {
+			return handler.interceptMethodCall(proxy, proxyState, method, dispatchTable, slot, superMethod, defaultMethod, args);
+		}
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for methods without arguments in proxy classes generated in
+	 * {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode. It spares allocation of the empty arguments
+	 * array.
+	 */
+	@RuntimeType
+	public static Object interceptNoArgumentDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod
+	) throws Throwable {
+		return interceptDispatchTableCall(proxy, method, handler, proxyState, dispatchTable, slot, superMethod, defaultMethod, EMPTY_ARGS);
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for methods without arguments returning {@code int} in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static int interceptIntReturningDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof IntReturningInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			return ((IntReturningInvocationHandler) invocationHandler).invokeInt(proxy, proxyState);
+		}
+		return (Integer) invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, EMPTY_ARGS);
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for methods without arguments returning {@code long} in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static long interceptLongReturningDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof LongReturningInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			return ((LongReturningInvocationHandler) invocationHandler).invokeLong(proxy, proxyState);
+		}
+		return (Long) invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, EMPTY_ARGS);
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for methods without arguments returning {@code double} in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static double interceptDoubleReturningDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof DoubleReturningInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			return ((DoubleReturningInvocationHandler) invocationHandler).invokeDouble(proxy, proxyState);
+		}
+		return (Double) invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, EMPTY_ARGS);
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for methods without arguments returning {@code boolean} in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static boolean interceptBooleanReturningDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof BooleanReturningInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			return ((BooleanReturningInvocationHandler) invocationHandler).invokeBoolean(proxy, proxyState);
+		}
+		return (Boolean) invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, EMPTY_ARGS);
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for void methods with single {@code int} argument in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static void interceptIntAcceptingDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
+		@Argument(0) int argument
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof IntAcceptingInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			((IntAcceptingInvocationHandler) invocationHandler).invokeWithInt(proxy, proxyState, argument);
+		} else {
+			invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, new Object[]{argument});
+		}
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for void methods with single {@code long} argument in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static void interceptLongAcceptingDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
+		@Argument(0) long argument
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof LongAcceptingInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			((LongAcceptingInvocationHandler) invocationHandler).invokeWithLong(proxy, proxyState, argument);
+		} else {
+			invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, new Object[]{argument});
+		}
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for void methods with single {@code double} argument in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static void interceptDoubleAcceptingDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
+		@Argument(0) double argument
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof DoubleAcceptingInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			((DoubleAcceptingInvocationHandler) invocationHandler).invokeWithDouble(proxy, proxyState, argument);
+		} else {
+			invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, new Object[]{argument});
+		}
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for void methods with single {@code boolean} argument in proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#DISPATCH_TABLE} mode.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public static void interceptBooleanAcceptingDispatchTableCall(
+		@This Object proxy,
+		@Origin Method method,
+		@FieldValue(INVOCATION_HANDLER_FIELD) ByteBuddyDispatcherInvocationHandler<?> handler,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@FieldValue(DISPATCH_TABLE_FIELD) MethodDispatchTable dispatchTable,
+		@DispatchSlot int slot,
+		@SuperMethod(nullIfImpossible = true, fallbackToDefault = false) Method superMethod,
+		@DefaultMethod(nullIfImpossible = true) Method defaultMethod,
+		@Argument(0) boolean argument
+	) throws Throwable {
+		final CurriedMethodContextInvocationHandler invocationHandler = getInvocationHandler(handler, proxyState, dispatchTable, slot, method);
+		if (invocationHandler instanceof BooleanAcceptingInvocationHandler) {
+			// CALL SPECIALIZED LAMBDA WITHOUT BOXING
+			((BooleanAcceptingInvocationHandler) invocationHandler).invokeWithBoolean(proxy, proxyState, argument);
+		} else {
+			invokeHandler(proxy, method, handler, proxyState, invocationHandler, superMethod, defaultMethod, new Object[]{argument});
+		}
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for {@link Object#hashCode()} the proxied class doesn't
+	 * override. It mirrors {@link StandardJavaMethods#hashCodeMethodInvoker()} without going through the dispatcher.
+	 */
+	public static int intrinsicHashCode(
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState
+	) {
+		return proxyState.hashCode();
+	}
+
+	/**
+	 * This method is called by {@link FrozenState#freeze()} of the proxies with {@link FrozenStateAdvice}. It freezes
+	 * the proxy state and returns the hash code the proxy caches - the hash code cached by the already frozen proxy
+	 * is kept intact. The hash code is computed by the not yet frozen proxy itself, so that it's derived from the same
+	 * values its {@link Object#equals(Object)} compares (including the field backed properties).
+	 */
+	public static int freezeProxyState(boolean frozen, int frozenHashCode, @Nonnull Object proxyState, @Nonnull Object proxy) {
+		if (frozen) {
+			return frozenHashCode;
+		}
+		((FrozenStateProvider) proxyState).freeze();
+		return proxy.hashCode();
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for {@link Object#equals(Object)} the proxied class doesn't
+	 * override. It mirrors {@link StandardJavaMethods#equalsMethodInvoker()} without going through the dispatcher -
+	 * the other proxy is of the same class, so its {@link ProxyStateAccessor#getProxyState()} is intrinsified as well.
+	 */
+	public static boolean intrinsicEquals(
+		@This Object proxy,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState,
+		@Argument(0) Object other
+	) {
+		return other != null &&
+			proxy.getClass() == other.getClass() &&
+			proxyState.equals(((ProxyStateAccessor) other).getProxyState());
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for {@link Object#toString()} the proxied class doesn't
+	 * override. It mirrors {@link StandardJavaMethods#toStringMethodInvoker()} without going through the dispatcher.
+	 */
+	public static String intrinsicToString(
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState
+	) {
+		return proxyState.toString();
+	}
+
+	/**
+	 * This method gets bound and invoked by the ByteBuddy for {@link Object#toString()} of the proxies with generated
+	 * property fields instead of {@link #intrinsicToString(Object)}. The values of the fields are not part of the proxy
+	 * state, so they're appended to its string representation.
+	 */
+	public static String intrinsicFieldBackedToString(
+		@This Object proxy,
+		@FieldValue(PROXY_STATE_FIELD) Object proxyState
+	) {
+		return BeanMemoryStoreView.toString(proxy, proxyState);
+	}
+
+	/**
+	 * Generic invocation of the handler for methods bound to specialized interceptors.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Object invokeHandler(
 		Object proxy,
 		Method method,
-		Callable<Object> superMethod,
-		Callable<Object> defaultMethod,
+		ByteBuddyDispatcherInvocationHandler<?> handler,
+		Object proxyState,
+		CurriedMethodContextInvocationHandler invocationHandler,
+		Method superMethod,
+		Method defaultMethod,
 		Object[] args
 	) throws Throwable {
-		final ClassMethodCacheKey cacheKey = this.createCacheKey(proxy.getClass(), proxyState.getClass(), method);
-		// issue https://github.com/raphw/byte-buddy/issues/1177
-		final Callable<Object> superCallable;
-		if (defaultMethod == null && method.isDefault()) {
-			final MethodHandle methodHandle = ByteBuddyProxyGenerator.DEFAULT_METHOD_CACHE.computeIfAbsent(cacheKey, ck -> findMethodHandle(ck.getMethod()));
-			superCallable = () -> {
-				try {
-					return methodHandle.bindTo(proxy).invokeWithArguments(args);
-				} catch (Throwable e) {
-					throw new InvocationTargetException(e);
-				}
-			};
+		if (proxyState == null) {
+			return invokeSuper(proxy, getSuperMethodInvoker(method, superMethod, defaultMethod), args);
+		} else {
+			// INVOKE CURRIED LAMBDA
+			return invoke(invocationHandler, proxy, method, args, proxyState, getSuperMethodInvoker(method, superMethod, defaultMethod));
+		}
+	}
+
+	/**
+	 * Invokes default or super method implementation directly - used when the proxy is not fully initialized yet.
+	 */
+	static Object invokeSuper(Object proxy, @Nullable SuperMethodInvoker superMethodInvoker, Object[] args) throws Throwable {
+		if (superMethodInvoker == null) {
+			throw new UnsupportedOperationException("Calling super method is not allowed!");
+		}
+		return superMethodInvoker.invoke(proxy, args);
+	}
+
+	/**
+	 * Invokes curried lambda - lambdas implementing {@link SuperInvokingInvocationHandler} get the reusable super
+	 * method invoker, other lambdas get the callable created for this very call.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Object invoke(
+		CurriedMethodContextInvocationHandler invocationHandler,
+		Object proxy,
+		Method method,
+		Object[] args,
+		Object proxyState,
+		@Nullable SuperMethodInvoker superMethodInvoker
+	) throws Throwable {
+		if (invocationHandler instanceof SuperInvokingInvocationHandler) {
+			return ((SuperInvokingInvocationHandler) invocationHandler).invokeWithSuper(proxy, method, args, proxyState, superMethodInvoker);
+		} else {
+			return invocationHandler.invoke(
+				proxy, method, args, proxyState,
+				superMethodInvoker == null ? null : superMethodInvoker.asCallable(proxy, args)
+			);
+		}
+	}
+
+	/**
+	 * Returns reusable invoker of the super / default method implementation or NULL if the method is abstract.
+	 * ByteBuddy provides accessor methods that are resolved only once per proxy class and their invokers are cached,
+	 * so no object is created on the method call.
+	 */
+	@Nullable
+	private static SuperMethodInvoker getSuperMethodInvoker(Method method, @Nullable Method superMethod, @Nullable Method defaultMethod) {
+		if (defaultMethod != null) {
+			return SuperMethodHandleInvoker.forAccessor(defaultMethod);
+		} else if (method.isDefault()) {
+			// issue https://github.com/raphw/byte-buddy/issues/1177
+			return DefaultMethodInvoker.get(method);
+		} else if (superMethod != null) {
+			return SuperMethodHandleInvoker.forAccessor(superMethod);
 		} else {
-			superCallable = defaultMethod != null ? defaultMethod : superMethod;
+			return null;
 		}
+	}
+
+	public Object interceptMethodCall(
+		Object proxy,
+		Object proxyState,
+		Method method,
+		Method superMethod,
+		Method defaultMethod,
+		Object[] args
+	) throws Throwable {
+		final ClassMethodCacheKey cacheKey = this.createCacheKey(proxy.getClass(), proxyState.getClass(), method);
 
 		// COMPUTE IF ABSENT = GET FROM MAP, IF MISSING OR INVALID -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
 		@SuppressWarnings("rawtypes") CurriedMethodContextInvocationHandler invocationHandler = ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.get(cacheKey);
 		if (invocationHandler == null) {
-			invocationHandler = this.getCurriedMethodContextInvocationHandler(method);
-			ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.put(cacheKey, invocationHandler);
+			// CONCURRENT MISSES OF THE SAME KEY RESOLVE THE CLASSIFICATION ONLY ONCE
+			invocationHandler = ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+				cacheKey, key -> this.getCurriedMethodContextInvocationHandler(proxyState, method)
+			);
 		}
 		// INVOKE CURRIED LAMBDA
-		//noinspection unchecked
-		return invocationHandler.invoke(
-			proxy, method, args, proxyState, superCallable
-		);
+		return invoke(invocationHandler, proxy, method, args, proxyState, getSuperMethodInvoker(method, superMethod, defaultMethod));
+	}
+
+	public Object interceptMethodCall(
+		Object proxy,
+		Object proxyState,
+		Method method,
+		MethodDispatchTable dispatchTable,
+		int slot,
+		Method superMethod,
+		Method defaultMethod,
+		Object[] args
+	) throws Throwable {
+		// LOAD CURRIED LAMBDA FROM THE SLOT OF THE DISPATCH TABLE
+		@SuppressWarnings("rawtypes") final CurriedMethodContextInvocationHandler invocationHandler = this.getCurriedMethodContextInvocationHandler(proxyState, dispatchTable, slot, method);
+		// INVOKE CURRIED LAMBDA
+		return invoke(invocationHandler, proxy, method, args, proxyState, getSuperMethodInvoker(method, superMethod, defaultMethod));
+	}
+
+	/**
+	 * Resolves dispatch slots of the freshly constructed proxy. It's called at the end of the constructor of the proxy
+	 * classes generated in {@link one.edee.oss.proxycian.DispatchMode#INVOKE_DYNAMIC} mode so that the dispatch table learns the combination
+	 * of proxy state class and cache key of each proxy before any of its call sites is invoked. See
+	 * {@link MethodDispatchTable#getMonomorphicSwitchPoint()}.
+	 */
+	public static void bindDispatchSlots(ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState, MethodDispatchTable dispatchTable) {
+		handler.getDispatchSlots(dispatchTable, proxyState.getClass());
+	}
+
+	/**
+	 * Returns true if the dispatcher uses the same dispatch slots the invokedynamic call site was linked to.
+	 * See {@link InvokeDynamicDispatch}.
+	 */
+	static boolean isDispatchedBy(DispatchSlots dispatchSlots, MethodDispatchTable dispatchTable, Object proxy, ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState) {
+		return proxyState != null && handler.getDispatchSlots(dispatchTable, proxyState.getClass()) == dispatchSlots;
+	}
+
+	/**
+	 * Returns dispatch slots of the dispatcher. See {@link InvokeDynamicDispatch}.
+	 */
+	static DispatchSlots getDispatchSlots(ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState, MethodDispatchTable dispatchTable) {
+		return handler.getDispatchSlots(dispatchTable, proxyState.getClass());
+	}
+
+	/**
+	 * Returns invocation handler from the slot of the dispatch table or NULL if the proxy is not fully initialized yet.
+	 */
+	static CurriedMethodContextInvocationHandler<?, ?> getInvocationHandler(ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState, MethodDispatchTable dispatchTable, int slot, Method method) {
+		return proxyState == null ? null : handler.getCurriedMethodContextInvocationHandler(proxyState, dispatchTable, slot, method);
+	}
+
+	/**
+	 * Invokes invocation handler the invokedynamic call site was linked to. See {@link InvokeDynamicDispatch}.
+	 */
+	@SuppressWarnings("rawtypes")
+	static Object invokeLinked(CurriedMethodContextInvocationHandler invocationHandler, Method method, SuperMethodInvoker superMethodInvoker, Object proxy, ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState, Object[] args) throws Throwable {
+		return invoke(invocationHandler, proxy, method, args, proxyState, superMethodInvoker);
+	}
+
+	/**
+	 * Resolves classifications of all methods the passed proxy class intercepts and stores them either to the dispatch
+	 * table of the class or to the classification cache. See {@link #resolveEagerly(Class, Collection, Function)}.
+	 */
+	void resolveEagerly(@Nonnull Class<?> proxyClass) {
+		final MethodDispatchTable dispatchTable = ByteBuddyProxyGenerator.CACHED_DISPATCH_TABLES.get(proxyClass);
+		if (dispatchTable == null) {
+			resolveEagerly(
+				proxyClass,
+				ReflectionUtils.getInterceptableMethods(proxyClass),
+				method -> ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+					createCacheKey(proxyClass, proxyState.getClass(), method),
+					cacheKey -> getCurriedMethodContextInvocationHandler(method)
+				)
+			);
+		} else {
+			resolveEagerly(proxyClass, dispatchTable);
+		}
+	}
+
+	/**
+	 * Resolves classifications of the passed methods of the proxy class and stores them either to the dispatch table
+	 * of the class or to the classification cache. Unlike {@link #resolveEagerly(Class)} it doesn't verify that
+	 * the methods have an implementation - it's used for replaying the warm-up profile.
+	 */
+	void resolve(@Nonnull Class<?> proxyClass, @Nonnull Collection<Method> methods) {
+		final MethodDispatchTable dispatchTable = ByteBuddyProxyGenerator.CACHED_DISPATCH_TABLES.get(proxyClass);
+		if (dispatchTable == null) {
+			for (Method method : methods) {
+				ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+					createCacheKey(proxyClass, proxyState.getClass(), method),
+					cacheKey -> getCurriedMethodContextInvocationHandler(method)
+				);
+			}
+		} else {
+			resolve(dispatchTable, methods);
+		}
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	protected void addImplementationSpecificInvokers(List<MethodClassification<?, ?>> methodClassifications) {
 		methodClassifications.add(StandardJavaMethods.cloneMethodInvoker(objectToClone -> {
@@ -106,23 +587,14 @@ public class ByteBuddyDispatcherInvocationHandler<T> extends AbstractDispatcherI
 				final Method cloneMethod = originalProxyState.getClass().getDeclaredMethod("clone");
 				cloneMethod.setAccessible(true);
 				final T clonedState = (T) cloneMethod.invoke(originalProxyState);
+				// VALUES OF FIELD BACKED PROPERTIES ARE NOT PART OF THE STATE - COPY THEM TO THE CLONE
+				BeanMemoryStoreView.flush(objectToClone, clonedState);
 
-				final List<Class<?>> interfaces = new LinkedList<>();
-				final Class<?> superClass = objectToClone.getClass().getSuperclass();
-				if (!Object.class.equals(superClass)) {
-					interfaces.add(superClass);
-				}
-				for (Class<?> anInterface : objectToClone.getClass().getInterfaces()) {
-					if (!ProxyStateAccessor.class.equals(anInterface)) {
-						interfaces.add(anInterface);
-					}
-				}
-				return ByteBuddyProxyGenerator.instantiate(
-					new ByteBuddyDispatcherInvocationHandler<>(
-						clonedState,
-						originalDispatcher.methodClassifications
-					),
-					interfaces.toArray(EMPTY_CLASS_ARRAY)
+				// CLONE IS AN INSTANCE OF THE SAME PROXY CLASS - IT KEEPS DISPATCH MODE, GENERATED MEMBERS AND CLASS LOADER
+				return ByteBuddyProxyGenerator.instantiateClone(
+					objectToClone.getClass(),
+					clonedState,
+					new ByteBuddyDispatcherInvocationHandler<>(clonedState, originalDispatcher)
 				);
 			} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | NoSuchFieldException e) {
 				throw new CloneNotSupportedException("Cannot clone the proxy instance due to: " + e.getMessage());
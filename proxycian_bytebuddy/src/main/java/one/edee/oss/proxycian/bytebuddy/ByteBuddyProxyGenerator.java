@@ -1,49 +1,102 @@
 package one.edee.oss.proxycian.bytebuddy;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodDescription.SignatureToken;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.DynamicType.Builder.MethodDefinition.ParameterDefinition.Simple.Annotatable;
+import net.bytebuddy.dynamic.loading.ClassInjector;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy.Default;
+import net.bytebuddy.implementation.EqualsMethod;
 import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.HashCodeMethod;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.LoadedTypeInitializer;
 import net.bytebuddy.implementation.MethodCall;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 import one.edee.oss.proxycian.CacheKeyAffectingMethodClassification;
+import one.edee.oss.proxycian.CompiledProxyFactory;
 import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DispatchMode;
 import one.edee.oss.proxycian.DispatcherInvocationHandler;
 import one.edee.oss.proxycian.OnInstantiationCallback;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.ProxyStateWithConstructorArgs;
+import one.edee.oss.proxycian.cache.BoundedClassLocalCache;
+import one.edee.oss.proxycian.cache.ClassLocalCache;
 import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
 import one.edee.oss.proxycian.cache.ConstructorCacheKey;
+import one.edee.oss.proxycian.cache.EvictionPolicy;
+import one.edee.oss.proxycian.cache.GeneratedClassCache;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.PersistentClassCache;
+import one.edee.oss.proxycian.cache.PersistentClassCache.CachedClasses;
+import one.edee.oss.proxycian.cache.ProxyClassCacheKey;
+import one.edee.oss.proxycian.recipe.DirectDelegationAdvice;
+import one.edee.oss.proxycian.recipe.FieldBackedProperty;
+import one.edee.oss.proxycian.recipe.GeneratedMemberAdvice;
+import one.edee.oss.proxycian.recipe.PassThroughAdvice;
 import one.edee.oss.proxycian.recipe.ProxyRecipe;
 import one.edee.oss.proxycian.trait.ProxyStateAccessor;
 import one.edee.oss.proxycian.trait.SerializableProxy;
 import one.edee.oss.proxycian.trait.SerializableProxy.DeserializationProxyFactory;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
+import one.edee.oss.proxycian.trait.frozenState.FrozenState;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import one.edee.oss.proxycian.util.DefaultMethodInvoker;
+import one.edee.oss.proxycian.util.ReflectionUtils;
 import one.edee.oss.proxycian.utils.ArrayUtils;
+import one.edee.oss.proxycian.warmup.WarmUpProfile;
+import one.edee.oss.proxycian.warmup.WarmUpProfile.RecipeUsage;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
+import org.apache.commons.lang.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
-import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ByteBuddyProxyGenerator {
-	static final Map<ClassMethodCacheKey, CurriedMethodContextInvocationHandler<?,?>> CLASSIFICATION_CACHE = new ConcurrentHashMap<>(32);
-	static final Map<ClassMethodCacheKey, MethodHandle> DEFAULT_METHOD_CACHE = new ConcurrentHashMap<>(32);
+	static final BoundedClassLocalCache<ClassMethodCacheKey, CurriedMethodContextInvocationHandler<?,?>> CLASSIFICATION_CACHE = new BoundedClassLocalCache<>(ClassMethodCacheKey::getClazz);
+	static final ClassLocalCache<Class<?>, MethodDispatchTable> CACHED_DISPATCH_TABLES = new ClassLocalCache<>(proxyClass -> proxyClass);
 	public static final String INVOCATION_HANDLER_FIELD = "dispatcherInvocationHandler";
+	public static final String PROXY_STATE_FIELD = "dispatcherProxyState";
+	public static final String DISPATCH_TABLE_FIELD = "dispatchTable";
+	public static final String DELEGATE_ACCESSOR_FIELD_PREFIX = "delegateAccessor$";
+	public static final String FROZEN_STATE_FIELD = "frozenState";
+	public static final String FROZEN_HASH_CODE_FIELD = "frozenHashCode";
+	static final String GENERATED_CLASS_PACKAGE = "com.fg.edee.proxy.bytebuddy.generated.";
 	// LIST OF "SYSTEM" INTERFACES THAT ARE ADDED TO OUR PROXIES AUTOMATICALLY EITHER BY US OR BY THE BYTECODE LIBRARY
 	public static final Set<Class<?>> EXCLUDED_CLASSES = new HashSet<>(
 		Collections.singletonList(
@@ -51,10 +104,24 @@ public class ByteBuddyProxyGenerator {
 		)
 	);
 
-	private static final Map<List<Class<?>>, Class<?>> CACHED_PROXY_CLASSES = new ConcurrentHashMap<>(64);
-	private static final Map<ConstructorCacheKey, Constructor<?>> CACHED_PROXY_CONSTRUCTORS = new ConcurrentHashMap<>(64);
+	private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class[0];
+	private static final GeneratedMemberAdvice<?>[] NO_GENERATED_MEMBER_ADVICES = new GeneratedMemberAdvice[0];
+	private static final Class<?>[] SPECIALIZED_PRIMITIVE_TYPES = new Class[]{int.class, long.class, double.class, boolean.class};
+	private static final String[] INTRINSIC_METHODS = new String[]{"hashCode", "equals", "toString"};
+	private static final GeneratedClassCache<ProxyClassCacheKey> CACHED_PROXY_CLASSES = new GeneratedClassCache<>();
+	private static final GeneratedClassCache<SharedDispatcherClassCacheKey> CACHED_SHARED_DISPATCHER_PROXY_CLASSES = new GeneratedClassCache<>();
+	private static final ClassLocalCache<ConstructorCacheKey, Constructor<?>> CACHED_PROXY_CONSTRUCTORS = new ClassLocalCache<>(ConstructorCacheKey::getClazz);
 	private static final AtomicInteger CLASS_COUNTER = new AtomicInteger(0);
+	private static final String SLOTS_ATTRIBUTE = "slots";
+	static final String WARM_UP_GENERATOR = "bytebuddy";
+	private static final Class<?>[] BASE_CONSTRUCTOR_TYPES = new Class[] {ByteBuddyDispatcherInvocationHandler.class, OnInstantiationCallback.class, Object.class};
+	private static final Object DISPATCHER_TEMPLATE = new Object();
+	private static final Object SERIALIZABLE_DISPATCHER_TEMPLATE = new Object();
 	private static final Method PROXY_CREATED_METHOD;
+	private static final Method BIND_DISPATCH_SLOTS_METHOD;
+	private static final Method FREEZE_PROXY_STATE_METHOD;
+	private static volatile PersistentClassCache persistentClassCache;
+	private static volatile Executor asyncExecutor = ForkJoinPool.commonPool();
 
 	static {
 		try {
@@ -62,6 +129,20 @@ public class ByteBuddyProxyGenerator {
 		} catch (NoSuchMethodException e) {
 			throw new IllegalStateException("Method `proxyCreated` not found on OnInstantiationCallback!");
 		}
+		try {
+			BIND_DISPATCH_SLOTS_METHOD = ByteBuddyDispatcherInvocationHandler.class.getDeclaredMethod(
+				"bindDispatchSlots", ByteBuddyDispatcherInvocationHandler.class, Object.class, MethodDispatchTable.class
+			);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Method `bindDispatchSlots` not found on ByteBuddyDispatcherInvocationHandler!");
+		}
+		try {
+			FREEZE_PROXY_STATE_METHOD = ByteBuddyDispatcherInvocationHandler.class.getDeclaredMethod(
+				"freezeProxyState", boolean.class, int.class, Object.class, Object.class
+			);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Method `freezeProxyState` not found on ByteBuddyDispatcherInvocationHandler!");
+		}
 	}
 
 	/**
@@ -71,6 +152,62 @@ public class ByteBuddyProxyGenerator {
 	 */
 	public static void clearMethodClassificationCache() {
 		CLASSIFICATION_CACHE.clear();
+		CACHED_DISPATCH_TABLES.values().forEach(MethodDispatchTable::invalidate);
+	}
+
+	/**
+	 * Limits the count of the method classifications kept in the method classification cache. When the limit is
+	 * exceeded, classifications chosen by the passed eviction policy are dropped and resolved again on their next use.
+	 * The cache is unbounded by default.
+	 */
+	public static void configureMethodClassificationCache(int maximumSize, @Nonnull EvictionPolicy evictionPolicy) {
+		CLASSIFICATION_CACHE.configure(maximumSize, evictionPolicy);
+	}
+
+	/**
+	 * Method clears method classification cache of the single proxy class. Classifications of all other proxy classes
+	 * are kept and needn't be resolved again.
+	 */
+	public static void clearMethodClassificationCache(@Nonnull Class<?> proxyClass) {
+		CLASSIFICATION_CACHE.invalidate(proxyClass);
+		final MethodDispatchTable dispatchTable = CACHED_DISPATCH_TABLES.get(proxyClass);
+		if (dispatchTable != null) {
+			dispatchTable.invalidate();
+		}
+	}
+
+	/**
+	 * Method clears method classification cache of all proxy classes that might have been generated from the passed
+	 * recipe (see {@link ProxyRecipe#isImplementedBy(Class)}). Classifications of all other proxy classes are kept and
+	 * needn't be resolved again.
+	 */
+	public static void clearMethodClassificationCache(@Nonnull ProxyRecipe proxyRecipe) {
+		CLASSIFICATION_CACHE.invalidate(cacheKey -> proxyRecipe.isImplementedBy(cacheKey.getClazz()));
+		for (Map<Class<?>, MethodDispatchTable> dispatchTables : CACHED_DISPATCH_TABLES.getSegments()) {
+			dispatchTables.forEach((proxyClass, dispatchTable) -> {
+				if (proxyRecipe.isImplementedBy(proxyClass)) {
+					dispatchTable.invalidate();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Enables persistent cache of the byte-code of the generated classes in the passed directory (or disables it when
+	 * NULL is passed). Generated classes get deterministic names derived from their shape and their byte-code is
+	 * stored in the directory - on the next JVM start the stored byte-code is defined directly without generating it.
+	 * Entries generated from the classes that have changed since are ignored and generated again.
+	 */
+	public static void configurePersistentClassCache(@Nullable File directory) {
+		persistentClassCache = directory == null ? null : new PersistentClassCache(directory, "bytebuddy");
+	}
+
+	/**
+	 * Sets the executor the proxy classes requested by {@link #getProxyClassAsync} and {@link #instantiateAsync} are
+	 * generated in. {@link ForkJoinPool#commonPool()} is used by default.
+	 */
+	public static void configureAsyncExecutor(@Nonnull Executor executor) {
+		asyncExecutor = executor;
 	}
 
 	/**
@@ -82,7 +219,12 @@ public class ByteBuddyProxyGenerator {
 	 */
 	public static void clearClassCache() {
 		CACHED_PROXY_CLASSES.clear();
+		CACHED_SHARED_DISPATCHER_PROXY_CLASSES.clear();
 		CACHED_PROXY_CONSTRUCTORS.clear();
+		CACHED_DISPATCH_TABLES.values().forEach(MethodDispatchTable::invalidate);
+		CACHED_DISPATCH_TABLES.clear();
+		DefaultMethodInvoker.clearCache();
+		SuperMethodHandleInvoker.clearCache();
 	}
 
 	/**
@@ -103,7 +245,7 @@ public class ByteBuddyProxyGenerator {
 	public static <T> T instantiate(@Nonnull DispatcherInvocationHandler invocationHandler, @Nonnull Class<?>[] interfaces, @Nonnull ClassLoader classLoader) {
 		return instantiateProxy(
 			(Class<T>) getProxyClass(interfaces, classLoader),
-			null, invocationHandler, null
+			getProxyState(invocationHandler), invocationHandler, null
 		);
 	}
 
@@ -125,7 +267,7 @@ public class ByteBuddyProxyGenerator {
 	public static <T> T instantiate(@Nonnull DispatcherInvocationHandler invocationHandler, @Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorTypes, @Nonnull Object[] constructorArgs, @Nonnull ClassLoader classLoader) {
 		return instantiateProxy(
 			(Class<T>) getProxyClass(interfaces, constructorTypes, classLoader),
-			null, invocationHandler, null,
+			getProxyState(invocationHandler), invocationHandler, null,
 			constructorTypes, constructorArgs
 		);
 	}
@@ -145,14 +287,17 @@ public class ByteBuddyProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiate(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object proxyState, @Nonnull ClassLoader classLoader) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, false, proxyState, null);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe.getInterfaces(), EMPTY_CLASS_ARRAY, classLoader,
+			proxyRecipe.getDispatchMode(), proxyRecipe.getGeneratedMemberAdvices()
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfaces(), classLoader
-			),
+			proxyClass,
 			proxyState,
-			new ByteBuddyDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith()
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new ByteBuddyDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, false))
 			),
 			proxyRecipe.getInstantiationCallback()
 		);
@@ -173,16 +318,20 @@ public class ByteBuddyProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiate(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object proxyState, @Nonnull Class<?>[] constructorTypes, @Nonnull Object[] constructorArgs, @Nonnull ClassLoader classLoader) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, false, proxyState, constructorTypes);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe.getInterfaces(),
+			constructorTypes,
+			classLoader,
+			proxyRecipe.getDispatchMode(),
+			proxyRecipe.getGeneratedMemberAdvices()
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfaces(),
-				constructorTypes,
-				classLoader
-			),
+			proxyClass,
 			proxyState,
-			new ByteBuddyDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith()
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new ByteBuddyDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, false))
 			),
 			proxyRecipe.getInstantiationCallback(),
 			constructorTypes,
@@ -205,21 +354,22 @@ public class ByteBuddyProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiateSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable proxyState, @Nonnull ClassLoader classLoader) {
 		proxyRecipe.verifyProxyState(proxyState);
-		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfacesWith(
-					SerializableProxy.class
-				),
-				classLoader
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, true, proxyState, null);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe.getInterfacesWith(
+				SerializableProxy.class
 			),
+			EMPTY_CLASS_ARRAY,
+			classLoader,
+			proxyRecipe.getDispatchMode(),
+			proxyRecipe.getGeneratedMemberAdvices()
+		);
+		return instantiateProxy(
+			proxyClass,
 			proxyState,
-			new ByteBuddyDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith(
-					SerializableProxy.getWriteReplaceMethodInvoker(
-						new ProxyRecipeDeserializationProxyFactory(proxyRecipe)
-					)
-				)
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new ByteBuddyDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, true))
 			),
 			proxyRecipe.getInstantiationCallback()
 		);
@@ -240,22 +390,22 @@ public class ByteBuddyProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiateSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable proxyState, @Nonnull Class<?>[] constructorTypes, @Nonnull Object[] constructorArgs, @Nonnull ClassLoader classLoader) {
 		proxyRecipe.verifyProxyState(proxyState);
-		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfacesWith(
-					SerializableProxy.class
-				),
-				constructorTypes,
-				classLoader
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, true, proxyState, constructorTypes);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe.getInterfacesWith(
+				SerializableProxy.class
 			),
+			constructorTypes,
+			classLoader,
+			proxyRecipe.getDispatchMode(),
+			proxyRecipe.getGeneratedMemberAdvices()
+		);
+		return instantiateProxy(
+			proxyClass,
 			proxyState,
-			new ByteBuddyDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith(
-					SerializableProxy.getWriteReplaceMethodInvoker(
-						new ProxyRecipeDeserializationProxyFactory(proxyRecipe)
-					)
-				)
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new ByteBuddyDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, true))
 			),
 			proxyRecipe.getInstantiationCallback(),
 			constructorTypes,
@@ -278,100 +428,39 @@ public class ByteBuddyProxyGenerator {
 	 * interfaces will be "implemented" by the returned proxy class.
 	 */
 	public static Class<?> getProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader) {
-		// COMPUTE IF ABSENT = GET FROM MAP, IF MISSING -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
-		return CACHED_PROXY_CLASSES.computeIfAbsent(
-			// CACHE KEY
-			Arrays.asList(interfaces),
-			// LAMBDA THAT CREATES OUR PROXY CLASS
-			classes -> {
-
-				DynamicType.Builder<?> builder;
-
-				final Class<?> superClass;
-				final String className;
-				// IF WE PROXY ABSTRACT CLASS, WE HAVE A RULE THAT IT HAS TO BE FIRST IN LIST
-				if (interfaces[0].isInterface()) {
-					// FIRST IS INTERFACE
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length + 1];
-					finalContract[0] = ProxyStateAccessor.class;
-					System.arraycopy(interfaces, 0, finalContract, 1, interfaces.length);
-					// WE'LL EXTEND OBJECT CLASS AND IMPLEMENT ALL INTERFACES
-					superClass = Object.class;
-					className = interfaces[0].getSimpleName();
-					builder = new ByteBuddy().subclass(Object.class).implement(finalContract);
-				} else {
-					// FIRST IS ABSTRACT CLASS
-					superClass = interfaces[0];
-					className = superClass.getSimpleName();
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length];
-					finalContract[0] = ProxyStateAccessor.class;
-					if (interfaces.length > 1) {
-						System.arraycopy(interfaces, 1, finalContract, 1, interfaces.length - 1);
-					}
-					// WE'LL EXTEND ABSTRACT CLASS AND IMPLEMENT ALL OTHER INTERFACES
-					builder = new ByteBuddy().subclass(superClass).implement(finalContract);
-				}
+		return getProxyClass(interfaces, constructorArguments, classLoader, DispatchMode.CLASSIFICATION_CACHE);
+	}
 
-				Annotatable<?> baseConstructorBuilder = builder
-					// WE CAN DEFINE OUR OWN PACKAGE AND NAME FOR THE CLASS
-					.name("com.fg.edee.proxy.bytebuddy.generated." + className + '_' + CLASS_COUNTER.incrementAndGet())
-					// WE'LL CREATE PRIVATE FINAL FIELD FOR STORING OUR INVOCATION HANDLER ON INSTANCE
-					.defineField(INVOCATION_HANDLER_FIELD, ByteBuddyDispatcherInvocationHandler.class, Modifier.PRIVATE + Modifier.FINAL)
-					// LET'S HAVE PUBLIC CONSTRUCTOR
-					.defineConstructor(Modifier.PUBLIC)
-					// ACCEPTING SINGLE ARGUMENT OF OUR INVOCATION HANDLER
-					.withParameter(ByteBuddyDispatcherInvocationHandler.class)
-					.withParameter(OnInstantiationCallback.class)
-					.withParameter(Object.class);
-
-				final int length = constructorArguments.length;
-				int[] indexes = new int[length];
-				for (int i = 0; i < length; i++) {
-					final Class<?> constructorArgument = constructorArguments[i];
-					baseConstructorBuilder = baseConstructorBuilder.withParameter(constructorArgument);
-					indexes[i] = i + 3;
-				}
+	/**
+	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
+	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
+	 * interfaces will be "implemented" by the returned proxy class. Methods of the class will locate their
+	 * implementation using passed {@link DispatchMode}.
+	 */
+	public static Class<?> getProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode) {
+		return getProxyClass(interfaces, constructorArguments, classLoader, dispatchMode, NO_GENERATED_MEMBER_ADVICES);
+	}
 
-				return baseConstructorBuilder
-					// AND THIS CONSTRUCTOR WILL
-					.intercept(
-						MethodCall
-							// CALL DEFAULT (NON-ARG) CONSTRUCTOR ON SUPERCLASS
-							.invoke(getConstructor(superClass, constructorArguments))
-							.onSuper()
-							.withArgument(indexes)
-							// AND THEN CALL ON INSTANTIATION CALLBACK PASSED IN ARGUMENT
-							.andThen(
-								MethodCall.invoke(PROXY_CREATED_METHOD)
-									.onArgument(1)
-									.withThis()
-									.withArgument(2)
-									.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC)
-							)
-							// AND THEN FILL PRIVATE FIELD WITH PASSED INVOCATION HANDLER
-							.andThen(
-								FieldAccessor.ofField(INVOCATION_HANDLER_FIELD).setsArgumentAt(0)
-							)
-					)
-					// AND TRAP ALL METHODS EXCEPT CONSTRUCTORS AND FINALIZER
-					.method(
-						ElementMatchers.noneOf(
-							ElementMatchers.isFinalizer(), ElementMatchers.isConstructor()
-						)
-					)
-					// AND DELEGATE CALL TO OUR INVOCATION HANDLER STORED IN PRIVATE FIELD OF THE CLASS
-					.intercept(MethodDelegation.to(ByteBuddyDispatcherInvocationHandler.class))
-					// NOW CREATE THE BYTE-CODE
-					.make()
-					// AND LOAD IT IN CURRENT CLASSLOADER
-					/* see https://github.com/raphw/byte-buddy/issues/513 and http://mydailyjava.blogspot.com/2018/04/jdk-11-and-proxies-in-world-past.html */
-					/* this needs to be changed with upgrade to JDK 11 */
-					.load(classLoader, Default.INJECTION)
-					// RETURN
-					.getLoaded();
-			});
+	/**
+	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
+	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
+	 * interfaces will be "implemented" by the returned proxy class. Methods of the class will locate their
+	 * implementation using passed {@link DispatchMode}, members requested by passed
+	 * {@link GeneratedMemberAdvice advices} will be emitted directly to the class.
+	 */
+	public static Class<?> getProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		// GET FROM CACHE, IF MISSING -> GENERATE OUTSIDE ANY LOCK, STORE AND RETURN RESULT OF LAMBDA
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode, generatedMemberAdvices);
+		return CACHED_PROXY_CLASSES.getOrCreate(
+			// CACHE SEGMENT IS ATTACHED TO THE MOST SPECIFIC INTERFACE
+			cacheKey.getOwnerType(),
+			// CLASSES ARE CACHED PER TARGET CLASS LOADER
+			classLoader,
+			// CACHE KEY
+			cacheKey,
+			// LAMBDA THAT CREATES OUR PROXY CLASS
+			() -> createProxyClass(interfaces, constructorArguments, classLoader, dispatchMode, generatedMemberAdvices)
+		);
 	}
 
 	/**
@@ -383,104 +472,910 @@ public class ByteBuddyProxyGenerator {
 		return getProxyClass(interfaces, ByteBuddyProxyGenerator.class.getClassLoader());
 	}
 
+	/**
+	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
+	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
+	 * interfaces will be "implemented" by the returned proxy class. Methods of the class will locate their
+	 * implementation using passed {@link DispatchMode}.
+	 */
+	public static Class<?> getProxyClass(@Nonnull DispatchMode dispatchMode, @Nonnull Class<?>... interfaces) {
+		return getProxyClass(interfaces, ByteBuddyProxyGenerator.class.getClassLoader(), dispatchMode);
+	}
+
 	/**
 	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
 	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
 	 * interfaces will be "implemented" by the returned proxy class.
 	 */
 	public static Class<?> getProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull ClassLoader classLoader) {
-		// COMPUTE IF ABSENT = GET FROM MAP, IF MISSING -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
-		return CACHED_PROXY_CLASSES.computeIfAbsent(
+		return getProxyClass(interfaces, classLoader, DispatchMode.CLASSIFICATION_CACHE);
+	}
+
+	/**
+	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
+	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
+	 * interfaces will be "implemented" by the returned proxy class. Methods of the class will locate their
+	 * implementation using passed {@link DispatchMode}.
+	 */
+	public static Class<?> getProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode) {
+		// GET FROM CACHE, IF MISSING -> GENERATE OUTSIDE ANY LOCK, STORE AND RETURN RESULT OF LAMBDA
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode);
+		return CACHED_PROXY_CLASSES.getOrCreate(
+			// CACHE SEGMENT IS ATTACHED TO THE MOST SPECIFIC INTERFACE
+			cacheKey.getOwnerType(),
+			// CLASSES ARE CACHED PER TARGET CLASS LOADER
+			classLoader,
 			// CACHE KEY
-			Arrays.asList(interfaces),
+			cacheKey,
 			// LAMBDA THAT CREATES OUR PROXY CLASS
-			classes -> {
-
-				DynamicType.Builder<?> builder;
-
-				final Class<?> superClass;
-				final String className;
-				// IF WE PROXY ABSTRACT CLASS, WE HAVE A RULE THAT IT HAS TO BE FIRST IN LIST
-				if (interfaces[0].isInterface()) {
-					// FIRST IS INTERFACE
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length + 1];
-					finalContract[0] = ProxyStateAccessor.class;
-					System.arraycopy(interfaces, 0, finalContract, 1, interfaces.length);
-					// WE'LL EXTEND OBJECT CLASS AND IMPLEMENT ALL INTERFACES
-					superClass = Object.class;
-					className = interfaces[0].getSimpleName();
-					builder = new ByteBuddy().subclass(Object.class).implement(finalContract);
-				} else {
-					// FIRST IS ABSTRACT CLASS
-					superClass = interfaces[0];
-					className = superClass.getSimpleName();
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length];
-					finalContract[0] = ProxyStateAccessor.class;
-					if (interfaces.length > 1) {
-						System.arraycopy(interfaces, 1, finalContract, 1, interfaces.length - 1);
-					}
-					// WE'LL EXTEND ABSTRACT CLASS AND IMPLEMENT ALL OTHER INTERFACES
-					builder = new ByteBuddy().subclass(superClass).implement(finalContract);
-				}
+			() -> createProxyClass(interfaces, EMPTY_CLASS_ARRAY, classLoader, dispatchMode, NO_GENERATED_MEMBER_ADVICES)
+		);
+	}
+
+	/**
+	 * Returns future of the proxy class for the passed interfaces. See {@link #getProxyClassAsync(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}.
+	 */
+	public static CompletableFuture<Class<?>> getProxyClassAsync(@Nonnull Class<?>... interfaces) {
+		return getProxyClassAsync(interfaces, EMPTY_CLASS_ARRAY, ByteBuddyProxyGenerator.class.getClassLoader(), DispatchMode.CLASSIFICATION_CACHE, NO_GENERATED_MEMBER_ADVICES);
+	}
+
+	/**
+	 * Returns future of the proxy class that {@link #getProxyClass(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}
+	 * would return. Class that is not generated yet is generated in the executor set by {@link #configureAsyncExecutor(Executor)},
+	 * so that the generation could overlap with other work of the caller. Concurrent requests for the same class -
+	 * both synchronous and asynchronous ones - share the single generation.
+	 */
+	public static CompletableFuture<Class<?>> getProxyClassAsync(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode, generatedMemberAdvices);
+		return CACHED_PROXY_CLASSES.getOrCreateAsync(
+			cacheKey.getOwnerType(),
+			classLoader,
+			cacheKey,
+			() -> createProxyClass(interfaces, constructorArguments, classLoader, dispatchMode, generatedMemberAdvices),
+			asyncExecutor
+		);
+	}
+
+	/**
+	 * Returns future of the proxy created by {@link #instantiate(ProxyRecipe, Object)}. See {@link #getProxyClassAsync(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateAsync(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object proxyState) {
+		return instantiateAsync(proxyRecipe, proxyState, ByteBuddyProxyGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * Returns future of the proxy created by {@link #instantiate(ProxyRecipe, Object, ClassLoader)}. Proxy is created
+	 * as soon as its class is generated. See {@link #getProxyClassAsync(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateAsync(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object proxyState, @Nonnull ClassLoader classLoader) {
+		return getProxyClassAsync(
+			proxyRecipe.getInterfaces(), EMPTY_CLASS_ARRAY, classLoader,
+			proxyRecipe.getDispatchMode(), proxyRecipe.getGeneratedMemberAdvices()
+		).thenApply(proxyClass -> instantiate(proxyRecipe, proxyState, classLoader));
+	}
+
+	/**
+	 * Returns future of the proxy created by {@link #instantiateSerializable(ProxyRecipe, Serializable)}. See
+	 * {@link #getProxyClassAsync(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateSerializableAsync(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable proxyState) {
+		return instantiateSerializableAsync(proxyRecipe, proxyState, ByteBuddyProxyGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * Returns future of the proxy created by {@link #instantiateSerializable(ProxyRecipe, Serializable, ClassLoader)}.
+	 * Proxy is created as soon as its class is generated. See {@link #getProxyClassAsync(Class[], Class[], ClassLoader, DispatchMode, GeneratedMemberAdvice[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateSerializableAsync(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable proxyState, @Nonnull ClassLoader classLoader) {
+		return getProxyClassAsync(
+			proxyRecipe.getInterfacesWith(SerializableProxy.class), EMPTY_CLASS_ARRAY, classLoader,
+			proxyRecipe.getDispatchMode(), proxyRecipe.getGeneratedMemberAdvices()
+		).thenApply(proxyClass -> instantiateSerializable(proxyRecipe, proxyState, classLoader));
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiate(ProxyRecipe, Object)}. See
+	 * {@link #compile(ProxyRecipe, Class[], ClassLoader)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compile(@Nonnull ProxyRecipe proxyRecipe) {
+		return compile(proxyRecipe, EMPTY_CLASS_ARRAY, ByteBuddyProxyGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiate(ProxyRecipe, Object, ClassLoader)}. See
+	 * {@link #compile(ProxyRecipe, Class[], ClassLoader)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compile(@Nonnull ProxyRecipe proxyRecipe, @Nonnull ClassLoader classLoader) {
+		return compile(proxyRecipe, EMPTY_CLASS_ARRAY, classLoader);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiate(ProxyRecipe, Object, Class[], Object[], ClassLoader)}.
+	 * Proxy class is generated, its constructor is looked up and the method classifications of the recipe are prepared
+	 * right away - the factory then creates the proxies without repeating any of this work. Proxy class is generated
+	 * for the recipe - all its instances share single dispatcher kept in the static field of the class and each proxy
+	 * keeps only its proxy state.
+	 */
+	public static <T> CompiledProxyFactory<T> compile(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Class<?>[] constructorTypes, @Nonnull ClassLoader classLoader) {
+		final Class<?> proxyClass = getSharedDispatcherProxyClass(proxyRecipe, false, constructorTypes, classLoader);
+		return new ByteBuddyCompiledProxyFactory<>(
+			proxyRecipe, false, proxyClass, constructorTypes,
+			getConstructor(proxyClass, ArrayUtils.mergeArrays(BASE_CONSTRUCTOR_TYPES, constructorTypes)),
+			getDispatcherTemplate(proxyRecipe, false)
+		);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiateSerializable(ProxyRecipe, Serializable)}.
+	 * See {@link #compile(ProxyRecipe, Class[], ClassLoader)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compileSerializable(@Nonnull ProxyRecipe proxyRecipe) {
+		return compileSerializable(proxyRecipe, EMPTY_CLASS_ARRAY, ByteBuddyProxyGenerator.class.getClassLoader());
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiateSerializable(ProxyRecipe, Serializable, ClassLoader)}.
+	 * See {@link #compile(ProxyRecipe, Class[], ClassLoader)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compileSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull ClassLoader classLoader) {
+		return compileSerializable(proxyRecipe, EMPTY_CLASS_ARRAY, classLoader);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiateSerializable(ProxyRecipe, Serializable, Class[], Object[], ClassLoader)}.
+	 * Proxy state passed to the factory must be {@link Serializable}. See {@link #compile(ProxyRecipe, Class[], ClassLoader)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compileSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Class<?>[] constructorTypes, @Nonnull ClassLoader classLoader) {
+		final Class<?> proxyClass = getSharedDispatcherProxyClass(proxyRecipe, true, constructorTypes, classLoader);
+		return new ByteBuddyCompiledProxyFactory<>(
+			proxyRecipe, true, proxyClass, constructorTypes,
+			getConstructor(proxyClass, ArrayUtils.mergeArrays(BASE_CONSTRUCTOR_TYPES, constructorTypes)),
+			getDispatcherTemplate(proxyRecipe, true)
+		);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the passed proxy states. Proxy class,
+	 * its constructor and the dispatcher are resolved only once for the whole batch - see {@link CompiledProxyFactory#instantiateAll(Object[], IntFunction)}.
+	 * When the batches are created repeatedly, keep the factory returned by {@link #compile(ProxyRecipe, ClassLoader)} instead.
+	 */
+	public static <T> T[] instantiateAll(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object[] proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the passed proxy states. See
+	 * {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAll(@Nonnull ProxyRecipe proxyRecipe, @Nonnull List<?> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the proxy states of the stream. See
+	 * {@link CompiledProxyFactory#instantiateAll(Stream, IntFunction)}.
+	 */
+	public static <T> T[] instantiateAll(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Stream<?> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object, Class[], Object[])} does for each of the passed proxy
+	 * states and constructor arguments on the same index. Constructor arguments are passed to the constructor without
+	 * merging them with the arguments of the generated class for each proxy.
+	 */
+	public static <T> T[] instantiateAll(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Object[] proxyStates, @Nonnull Class<?>[] constructorTypes, @Nonnull Object[][] constructorArgs, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compile(proxyRecipe, constructorTypes, ByteBuddyProxyGenerator.class.getClassLoader()).instantiateAll(proxyStates, constructorArgs, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the passed proxy
+	 * states. See {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable[] proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the passed proxy
+	 * states. See {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull List<? extends Serializable> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the proxy states
+	 * of the stream. See {@link CompiledProxyFactory#instantiateAll(Stream, IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Stream<? extends Serializable> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, ProxyStateWithConstructorArgs, Class[], Object[])} does for each of the passed proxy
+	 * states and constructor arguments on the same index. See {@link #instantiateAll(ProxyRecipe, Object[], Class[], Object[][], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Serializable[] proxyStates, @Nonnull Class<?>[] constructorTypes, @Nonnull Object[][] constructorArgs, @Nonnull IntFunction<T[]> arrayFactory) {
+		return ByteBuddyProxyGenerator.<T>compileSerializable(proxyRecipe, constructorTypes, ByteBuddyProxyGenerator.class.getClassLoader()).instantiateAll(proxyStates, constructorArgs, arrayFactory);
+	}
+
+	/**
+	 * Replays the warm-up profile recorded by {@link WarmUpRecorder} in the passed executor. See
+	 * {@link #replayWarmUpProfile(WarmUpProfile, ClassLoader, Executor)}.
+	 */
+	public static CompletableFuture<Void> replayWarmUpProfile(@Nonnull WarmUpProfile profile, @Nonnull Executor executor) {
+		return replayWarmUpProfile(profile, ByteBuddyProxyGenerator.class.getClassLoader(), executor);
+	}
+
+	/**
+	 * Replays the warm-up profile recorded by {@link WarmUpRecorder} in the passed executor. Proxy classes requested
+	 * in the recorded run are generated into the passed class loader and the methods classified in the recorded run
+	 * are resolved for the proxy state classes that have default constructor, so that the first proxies created after
+	 * the returned future completes needn't generate or classify anything.
+	 */
+	public static CompletableFuture<Void> replayWarmUpProfile(@Nonnull WarmUpProfile profile, @Nonnull ClassLoader classLoader, @Nonnull Executor executor) {
+		return profile.replay(
+			WARM_UP_GENERATOR, executor,
+			usage -> getProxyClass(
+				usage.getInterfaces(classLoader), usage.getConstructorTypes(classLoader), classLoader, usage.getDispatchMode()
+			),
+			usage -> replayRecipeUsage(profile, usage, classLoader)
+		);
+	}
+
+	/**
+	 * Generates proxy classes for the passed recipe (both for {@link #instantiate(ProxyRecipe, Object)} and
+	 * {@link #instantiateSerializable(ProxyRecipe, Serializable)}) into the passed directory in the same layout
+	 * as the class files of the compiled classes. When the directory becomes part of the classpath, {@link #getProxyClass}
+	 * finds the classes there and loads them instead of generating them at runtime. Returns names of the generated classes.
+	 */
+	public static List<String> precompileProxyClasses(@Nonnull ProxyRecipe proxyRecipe, @Nonnull File outputDirectory) throws IOException {
+		return Arrays.asList(
+			precompileProxyClass(proxyRecipe.getInterfaces(), EMPTY_CLASS_ARRAY, proxyRecipe.getDispatchMode(), proxyRecipe.getGeneratedMemberAdvices(), outputDirectory),
+			precompileProxyClass(proxyRecipe.getInterfacesWith(SerializableProxy.class), EMPTY_CLASS_ARRAY, proxyRecipe.getDispatchMode(), proxyRecipe.getGeneratedMemberAdvices(), outputDirectory)
+		);
+	}
 
-				return builder
-					// WE CAN DEFINE OUR OWN PACKAGE AND NAME FOR THE CLASS
-					.name("com.fg.edee.proxy.bytebuddy.generated." + className + '_' + CLASS_COUNTER.incrementAndGet())
-					// WE'LL CREATE PRIVATE FINAL FIELD FOR STORING OUR INVOCATION HANDLER ON INSTANCE
-					.defineField(INVOCATION_HANDLER_FIELD, ByteBuddyDispatcherInvocationHandler.class, Modifier.PRIVATE + Modifier.FINAL)
-					// LET'S HAVE PUBLIC CONSTRUCTOR
-					.defineConstructor(Modifier.PUBLIC)
-					// ACCEPTING TWO ARGUMENTS - OUR INVOCATION HANDLER AND INSTANTIATION CALLBACK IF PASSED
-					.withParameters(ByteBuddyDispatcherInvocationHandler.class, OnInstantiationCallback.class, Object.class)
-					// AND THIS CONSTRUCTOR WILL
+	/**
+	 * Generates proxy class for passed interfaces and constructor arguments into the passed directory. See
+	 * {@link #precompileProxyClasses(ProxyRecipe, File)}.
+	 */
+	public static String precompileProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices, @Nonnull File outputDirectory) throws IOException {
+		final String className = PrecompiledProxyClasses.getClassName(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices);
+		final ProxyClassDefinition definition = defineProxyClass(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices, className, null);
+		definition.getType().saveIn(outputDirectory);
+		if (definition.getSlots() != null) {
+			PrecompiledProxyClasses.writeSlots(outputDirectory, className, definition.getSlots().get());
+		}
+		return className;
+	}
+
+	/**
+	 * Returns proxy class for passed interfaces and constructor arguments. Class pre-generated at build time is
+	 * preferred, new class is generated only if there is no such class in the passed class loader.
+	 */
+	private static Class<?> createProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		if (generatedMemberAdvices.length == 0) {
+			// CLASSES WITH GENERATED MEMBERS ARE RECORDED ALONG WITH THEIR RECIPES
+			WarmUpRecorder.recordProxyClass(WARM_UP_GENERATOR, dispatchMode, interfaces, constructorArguments);
+		}
+		final String precompiledClassName = PrecompiledProxyClasses.getClassName(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices);
+		final Class<?> precompiledClass = PrecompiledProxyClasses.load(precompiledClassName, interfaces, classLoader);
+		if (precompiledClass != null) {
+			if (dispatchMode != DispatchMode.CLASSIFICATION_CACHE) {
+				initializeDispatchTable(precompiledClass, PrecompiledProxyClasses.readSlots(precompiledClass));
+			}
+			initializeDelegateAccessors(precompiledClass, getDelegateAccessors(generatedMemberAdvices));
+			return precompiledClass;
+		}
+
+		final PersistentClassCache classCache = persistentClassCache;
+		if (classCache != null) {
+			return createPersistentProxyClass(classCache, precompiledClassName, interfaces, constructorArguments, classLoader, dispatchMode, generatedMemberAdvices);
+		}
+
+		final String className = GENERATED_CLASS_PACKAGE + interfaces[0].getSimpleName() + '_' + CLASS_COUNTER.incrementAndGet();
+		return loadProxyClass(defineProxyClass(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices, className, null), classLoader, generatedMemberAdvices);
+	}
+
+	/**
+	 * Returns proxy class of the deterministic name from the class loader or from the persistent cache. New class is
+	 * generated (and stored to the persistent cache) only if it's in neither of them.
+	 */
+	private static Class<?> createPersistentProxyClass(@Nonnull PersistentClassCache classCache, @Nonnull String className, @Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull ClassLoader classLoader, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final Class<?>[] inputClasses = PrecompiledProxyClasses.getInputClasses(interfaces, constructorArguments, generatedMemberAdvices);
+		final CachedClasses cachedClasses = classCache.load(className, inputClasses);
+		final Map<String, byte[]> classes;
+		final Map<String, String> attributes;
+		if (cachedClasses == null) {
+			final ProxyClassDefinition definition = defineProxyClass(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices, className, null);
+			classes = new LinkedHashMap<>(4);
+			for (Entry<TypeDescription, byte[]> type : definition.getType().getAllTypes().entrySet()) {
+				classes.put(type.getKey().getName(), type.getValue());
+			}
+			attributes = definition.getSlots() == null ?
+				Collections.emptyMap() :
+				Collections.singletonMap(SLOTS_ATTRIBUTE, PrecompiledProxyClasses.formatSlots(definition.getSlots().get()));
+			try {
+				classCache.store(className, new CachedClasses(className, classes, attributes), inputClasses);
+			} catch (IOException ignored) {
+				// PERSISTENT CACHE IS ONLY AN OPTIMIZATION - THE CLASS WILL BE GENERATED AGAIN ON NEXT START
+			}
+		} else {
+			// DEFINE STORED BYTE-CODE DIRECTLY WITHOUT GENERATING IT
+			classes = cachedClasses.getClasses();
+			attributes = cachedClasses.getAttributes();
+		}
+
+		// CLASS MIGHT HAVE BEEN DEFINED IN THE CLASS LOADER ALREADY BEFORE OUR CLASS CACHE WAS CLEARED - INJECTOR
+		// RETURNS THE EXISTING CLASS THEN
+		final Class<?> proxyClass = new ClassInjector.UsingReflection(classLoader)
+			.injectRaw(classes)
+			.get(className);
+		if (!PrecompiledProxyClasses.implementsAll(proxyClass, interfaces)) {
+			// CLASS LOADER ALREADY RESOLVED THE CLASS OF THE SAME NAME IMPLEMENTING DIFFERENT CLASSES OF THE SAME NAMES
+			final String uniqueClassName = GENERATED_CLASS_PACKAGE + interfaces[0].getSimpleName() + '_' + CLASS_COUNTER.incrementAndGet();
+			return loadProxyClass(defineProxyClass(interfaces, constructorArguments, dispatchMode, generatedMemberAdvices, uniqueClassName, null), classLoader, generatedMemberAdvices);
+		}
+		if (dispatchMode != DispatchMode.CLASSIFICATION_CACHE) {
+			final MethodDispatchTable existingTable = getDispatchTable(proxyClass);
+			if (existingTable == null) {
+				initializeDispatchTable(proxyClass, PrecompiledProxyClasses.parseSlots(attributes.get(SLOTS_ATTRIBUTE)));
+			} else {
+				CACHED_DISPATCH_TABLES.put(proxyClass, existingTable);
+			}
+		}
+		initializeDelegateAccessors(proxyClass, getDelegateAccessors(generatedMemberAdvices));
+		return proxyClass;
+	}
+
+	/**
+	 * Loads generated proxy class in the passed class loader.
+	 */
+	private static Class<?> loadProxyClass(@Nonnull ProxyClassDefinition definition, @Nonnull ClassLoader classLoader, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final Class<?> proxyClass = definition.getType()
+			// LOAD IT IN CURRENT CLASSLOADER
+			/* see https://github.com/raphw/byte-buddy/issues/513 and http://mydailyjava.blogspot.com/2018/04/jdk-11-and-proxies-in-world-past.html */
+			/* this needs to be changed with upgrade to JDK 11 */
+			.load(classLoader, Default.INJECTION)
+			// RETURN
+			.getLoaded();
+
+		// FILL IN DELEGATE ACCESSORS BEFORE ANY INSTANCE OF THE CLASS IS CREATED
+		initializeDelegateAccessors(proxyClass, getDelegateAccessors(generatedMemberAdvices));
+		return proxyClass;
+	}
+
+	/**
+	 * Generates byte-code of the proxy class of passed name for passed interfaces and constructor arguments. When
+	 * the shared dispatcher is passed, it's stored in the static field of the class and the proxies keep only their
+	 * proxy state - the dispatcher passed to the constructor is ignored then. Otherwise, each proxy keeps its dispatcher
+	 * in the instance field.
+	 */
+	private static ProxyClassDefinition defineProxyClass(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices, @Nonnull String className, @Nullable ByteBuddyDispatcherInvocationHandler<?> sharedDispatcher) {
+		DynamicType.Builder<?> builder;
+
+		final Class<?> superClass;
+		// IF WE PROXY ABSTRACT CLASS, WE HAVE A RULE THAT IT HAS TO BE FIRST IN LIST
+		if (interfaces[0].isInterface()) {
+			// FIRST IS INTERFACE
+			// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
+			final Class<?>[] finalContract = new Class[interfaces.length + 1];
+			finalContract[0] = ProxyStateAccessor.class;
+			System.arraycopy(interfaces, 0, finalContract, 1, interfaces.length);
+			// WE'LL EXTEND OBJECT CLASS AND IMPLEMENT ALL INTERFACES
+			superClass = Object.class;
+			builder = new ByteBuddy().subclass(Object.class).implement(finalContract);
+		} else {
+			// FIRST IS ABSTRACT CLASS
+			superClass = interfaces[0];
+			// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
+			final Class<?>[] finalContract = new Class[interfaces.length];
+			finalContract[0] = ProxyStateAccessor.class;
+			if (interfaces.length > 1) {
+				System.arraycopy(interfaces, 1, finalContract, 1, interfaces.length - 1);
+			}
+			// WE'LL EXTEND ABSTRACT CLASS AND IMPLEMENT ALL OTHER INTERFACES
+			builder = new ByteBuddy().subclass(superClass).implement(finalContract);
+		}
+
+		builder = builder
+			// WE CAN DEFINE OUR OWN PACKAGE AND NAME FOR THE CLASS
+			.name(className);
+		if (sharedDispatcher == null) {
+			// WE'LL CREATE PRIVATE FINAL FIELD FOR STORING OUR INVOCATION HANDLER ON INSTANCE
+			builder = builder.defineField(INVOCATION_HANDLER_FIELD, ByteBuddyDispatcherInvocationHandler.class, Modifier.PRIVATE + Modifier.FINAL);
+		} else {
+			builder = builder
+				// WE'LL CREATE PRIVATE STATIC FIELD FOR STORING THE INVOCATION HANDLER SHARED BY ALL INSTANCES
+				.defineField(INVOCATION_HANDLER_FIELD, ByteBuddyDispatcherInvocationHandler.class, Modifier.PRIVATE + Modifier.STATIC)
+				// THAT IS FILLED IN WHEN THE CLASS IS LOADED
+				.initializer(new LoadedTypeInitializer.ForStaticField(INVOCATION_HANDLER_FIELD, sharedDispatcher));
+		}
+		builder = builder
+			// AND PRIVATE FINAL FIELD FOR STORING PROXY STATE - SO THAT THE INVOCATION HANDLER MAY BE SHARED AMONG PROXIES
+			.defineField(PROXY_STATE_FIELD, Object.class, Modifier.PRIVATE + Modifier.FINAL);
+
+		// ALL METHODS EXCEPT CONSTRUCTORS, FINALIZER AND CONCRETE METHODS THE RECIPE LEAVES AS THEY ARE
+		final ElementMatcher.Junction<MethodDescription> interceptedMethods = getInterceptedMethods(generatedMemberAdvices);
+		final Implementation methodImplementation;
+		final DispatchSlot.Binder dispatchSlotBinder = new DispatchSlot.Binder();
+		final Supplier<Map<SignatureToken, Integer>> slots;
+		if (dispatchMode == DispatchMode.DISPATCH_TABLE) {
+			slots = dispatchSlotBinder::getSlots;
+			builder = builder
+				// WE'LL CREATE PRIVATE STATIC FIELD FOR STORING DISPATCH TABLE OF THE CLASS
+				.defineField(DISPATCH_TABLE_FIELD, MethodDispatchTable.class, Modifier.PRIVATE + Modifier.STATIC)
+				// THAT IS FILLED IN WHEN THE CLASS IS LOADED AND ALL METHODS HAVE THEIR SLOTS ASSIGNED
+				.initializer(new DispatchTableInitializer(slots));
+			methodImplementation = MethodDelegation
+				.withDefaultConfiguration()
+				// EACH METHOD GETS ITS OWN SLOT BAKED IN THE BYTE-CODE
+				.withBinders(dispatchSlotBinder)
+				.filter(ElementMatchers.named("interceptDispatchTableCall"))
+				.to(ByteBuddyDispatcherInvocationHandler.class);
+		} else if (dispatchMode == DispatchMode.INVOKE_DYNAMIC) {
+			final InvokeDynamicDispatch invokeDynamicDispatch = new InvokeDynamicDispatch();
+			slots = invokeDynamicDispatch::getSlots;
+			builder = builder
+				// WE'LL CREATE PRIVATE STATIC FIELD FOR STORING DISPATCH TABLE OF THE CLASS
+				.defineField(DISPATCH_TABLE_FIELD, MethodDispatchTable.class, Modifier.PRIVATE + Modifier.STATIC)
+				// THAT IS FILLED IN WHEN THE CLASS IS LOADED AND ALL METHODS HAVE THEIR SLOTS ASSIGNED
+				.initializer(new DispatchTableInitializer(slots));
+			// EACH METHOD GETS ITS OWN INVOKEDYNAMIC CALL SITE
+			methodImplementation = invokeDynamicDispatch;
+		} else {
+			slots = null;
+			methodImplementation = MethodDelegation
+				.withDefaultConfiguration()
+				.filter(ElementMatchers.named("interceptMethodCall"))
+				.to(ByteBuddyDispatcherInvocationHandler.class);
+		}
+
+		Annotatable<?> baseConstructorBuilder = builder
+			// LET'S HAVE PUBLIC CONSTRUCTOR
+			.defineConstructor(Modifier.PUBLIC)
+			// ACCEPTING OUR INVOCATION HANDLER, INSTANTIATION CALLBACK AND PROXY STATE FOR THE CALLBACK
+			.withParameter(ByteBuddyDispatcherInvocationHandler.class)
+			.withParameter(OnInstantiationCallback.class)
+			.withParameter(Object.class);
+
+		// FOLLOWED BY THE ARGUMENTS OF THE SUPERCLASS CONSTRUCTOR
+		final int length = constructorArguments.length;
+		int[] indexes = new int[length];
+		for (int i = 0; i < length; i++) {
+			final Class<?> constructorArgument = constructorArguments[i];
+			baseConstructorBuilder = baseConstructorBuilder.withParameter(constructorArgument);
+			indexes[i] = i + 3;
+		}
+
+		Implementation.Composable constructorImplementation = MethodCall
+			// CALL DEFAULT (NON-ARG) OR MATCHING CONSTRUCTOR ON SUPERCLASS
+			.invoke(length == 0 ? getDefaultConstructor(superClass) : getConstructor(superClass, constructorArguments))
+			.onSuper()
+			.withArgument(indexes)
+			// AND THEN CALL ON INSTANTIATION CALLBACK PASSED IN ARGUMENT
+			.andThen(
+				MethodCall.invoke(PROXY_CREATED_METHOD)
+					.onArgument(1)
+					.withThis()
+					.withArgument(2)
+					.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC)
+			)
+			// AND THEN FILL PRIVATE FIELD WITH PASSED PROXY STATE
+			.andThen(
+				FieldAccessor.ofField(PROXY_STATE_FIELD).setsArgumentAt(2)
+			);
+		if (sharedDispatcher == null) {
+			// AND PRIVATE FIELD WITH PASSED INVOCATION HANDLER
+			constructorImplementation = constructorImplementation.andThen(
+				FieldAccessor.ofField(INVOCATION_HANDLER_FIELD).setsArgumentAt(0)
+			);
+		}
+		if (dispatchMode == DispatchMode.INVOKE_DYNAMIC) {
+			// AND FINALLY REGISTER THE DISPATCH SLOTS OF THE PROXY BEFORE ANY OF ITS CALL SITES IS INVOKED
+			constructorImplementation = constructorImplementation.andThen(
+				MethodCall.invoke(BIND_DISPATCH_SLOTS_METHOD)
+					.withArgument(0, 2)
+					.withField(DISPATCH_TABLE_FIELD)
+			);
+		}
+
+		DynamicType.Builder<?> proxyBuilder = baseConstructorBuilder
+			// AND THIS CONSTRUCTOR WILL DO ALL OF THE ABOVE
+			.intercept(constructorImplementation)
+			// AND TRAP ALL THOSE METHODS
+			.method(interceptedMethods)
+			// AND DELEGATE CALL TO OUR INVOCATION HANDLER STORED IN PRIVATE FIELD OF THE CLASS
+			.intercept(methodImplementation);
+
+		if (dispatchMode == DispatchMode.DISPATCH_TABLE) {
+			// METHODS WITHOUT ARGUMENTS DON'T NEED ARGUMENTS ARRAY
+			proxyBuilder = proxyBuilder
+				.method(ElementMatchers.takesArguments(0).and(interceptedMethods))
+				.intercept(
+					MethodDelegation
+						.withDefaultConfiguration()
+						.withBinders(dispatchSlotBinder)
+						.filter(ElementMatchers.named("interceptNoArgumentDispatchTableCall"))
+						.to(ByteBuddyDispatcherInvocationHandler.class)
+				);
+			// METHODS WITH PRIMITIVE SIGNATURES ARE DELEGATED TO SPECIALIZED INTERCEPTORS THAT AVOID BOXING
+			for (Class<?> primitiveType : SPECIALIZED_PRIMITIVE_TYPES) {
+				final String typeName = StringUtils.capitalize(primitiveType.getName());
+				proxyBuilder = proxyBuilder
+					.method(ElementMatchers.takesArguments(0).and(ElementMatchers.returns(primitiveType)).and(interceptedMethods))
 					.intercept(
-						MethodCall
-							// CALL DEFAULT (NON-ARG) CONSTRUCTOR ON SUPERCLASS
-							.invoke(getDefaultConstructor(superClass))
-							.onSuper()
-							// AND THEN CALL ON INSTANTIATION CALLBACK PASSED IN ARGUMENT
-							.andThen(
-								MethodCall.invoke(PROXY_CREATED_METHOD)
-									.onArgument(1)
-									.withThis()
-									.withArgument(2)
-									.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC)
-							)
-							// AND THEN FILL PRIVATE FIELD WITH PASSED INVOCATION HANDLER
-							.andThen(
-								FieldAccessor.ofField(INVOCATION_HANDLER_FIELD).setsArgumentAt(0)
-							)
+						MethodDelegation
+							.withDefaultConfiguration()
+							.withBinders(dispatchSlotBinder)
+							.filter(ElementMatchers.named("intercept" + typeName + "ReturningDispatchTableCall"))
+							.to(ByteBuddyDispatcherInvocationHandler.class)
 					)
-					// AND INTERCEPTS ALL ABSTRACT AND OBJECT DEFAULT METHODS
-					// AND TRAP ALL METHODS EXCEPT CONSTRUCTORS AND FINALIZER
-					.method(
-						ElementMatchers.noneOf(
-							ElementMatchers.isFinalizer(), ElementMatchers.isConstructor()
+					.method(ElementMatchers.takesArguments(primitiveType).and(ElementMatchers.returns(void.class)).and(interceptedMethods))
+					.intercept(
+						MethodDelegation
+							.withDefaultConfiguration()
+							.withBinders(dispatchSlotBinder)
+							.filter(ElementMatchers.named("intercept" + typeName + "AcceptingDispatchTableCall"))
+							.to(ByteBuddyDispatcherInvocationHandler.class)
+					);
+			}
+		}
+
+		// STANDARD METHODS ARE ALWAYS RESOLVED BY THE SAME CLASSIFICATIONS - LET'S IMPLEMENT THEM DIRECTLY, UNLESS
+		// THE PROXIED CLASS OVERRIDES THEM (SUCH METHODS ARE NOT DECLARED BY OBJECT AND GO THROUGH THE DISPATCHER)
+		for (String intrinsicMethod : INTRINSIC_METHODS) {
+			proxyBuilder = proxyBuilder
+				.method(getIntrinsicMethod(intrinsicMethod).and(interceptedMethods))
+				.intercept(
+					MethodDelegation
+						.withDefaultConfiguration()
+						.filter(ElementMatchers.named("intrinsic" + StringUtils.capitalize(intrinsicMethod)))
+						.to(ByteBuddyDispatcherInvocationHandler.class)
+				);
+		}
+		proxyBuilder = proxyBuilder
+			// PROXY STATE IS READ DIRECTLY FROM THE PRIVATE FIELD
+			.method(
+				ElementMatchers.named("getProxyState")
+					.and(ElementMatchers.takesArguments(0))
+					.and(ElementMatchers.isDeclaredBy(ProxyStateAccessor.class))
+			)
+			.intercept(FieldAccessor.ofField(PROXY_STATE_FIELD));
+
+		int delegateAccessorCount = 0;
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			if (advice instanceof DirectDelegationAdvice) {
+				final DirectDelegationAdvice<?> delegationAdvice = (DirectDelegationAdvice<?>) advice;
+				final String accessorFieldName;
+				if (delegationAdvice.getDelegateAccessor() == null) {
+					accessorFieldName = null;
+				} else {
+					// NAMES MUST MATCH THOSE OF getDelegateAccessors
+					accessorFieldName = DELEGATE_ACCESSOR_FIELD_PREFIX + delegateAccessorCount++;
+					// WE'LL CREATE PRIVATE STATIC FIELD FOR STORING DELEGATE ACCESSOR, IT'S FILLED IN AFTER CLASS IS LOADED
+					proxyBuilder = proxyBuilder.defineField(accessorFieldName, Function.class, Modifier.PRIVATE + Modifier.STATIC);
+				}
+				for (Method delegatedMethod : delegationAdvice.getDelegatedMethods()) {
+					proxyBuilder = proxyBuilder
+						// METHOD WITH THE SAME SIGNATURE
+						.method(
+							ElementMatchers.named(delegatedMethod.getName())
+								.and(ElementMatchers.takesArguments(delegatedMethod.getParameterTypes()))
+								.and(ElementMatchers.returns(delegatedMethod.getReturnType()))
 						)
-					)
-					// AND DELEGATE CALL TO OUR INVOCATION HANDLER STORED IN PRIVATE FIELD OF THE CLASS
-					.intercept(MethodDelegation.to(ByteBuddyDispatcherInvocationHandler.class))
-					// NOW CREATE THE BYTE-CODE
-					.make()
-					// AND LOAD IT IN CURRENT CLASSLOADER
-					/* see https://github.com/raphw/byte-buddy/issues/513 and http://mydailyjava.blogspot.com/2018/04/jdk-11-and-proxies-in-world-past.html */
-					/* this needs to be changed with upgrade to JDK 11 */
-					.load(classLoader, Default.INJECTION)
-					// RETURN
-					.getLoaded();
-			});
+						// WILL CALL THE DELEGATE DIRECTLY
+						.intercept(new DirectDelegation(delegationAdvice.getDelegateType(), delegatedMethod, accessorFieldName));
+				}
+			}
+		}
+
+		final List<FieldBackedProperty> fieldBackedProperties = FieldBackedProperty.collect(interfaces, generatedMemberAdvices);
+		for (FieldBackedProperty property : fieldBackedProperties) {
+			proxyBuilder = proxyBuilder
+				// WE'LL CREATE PRIVATE FIELD FOR THE JAVABEAN PROPERTY
+				.defineField(property.getFieldName(), property.getType(), Modifier.PRIVATE)
+				// AND IMPLEMENT ITS GETTER AND SETTER AS DIRECT FIELD ACCESS
+				.method(ElementMatchers.is(property.getGetter()).or(ElementMatchers.is(property.getSetter())))
+				.intercept(FieldAccessor.ofField(property.getFieldName()));
+		}
+		if (!fieldBackedProperties.isEmpty()) {
+			// PROXY STATE DOESN'T SEE THE PROPERTY FIELDS - EQUALS AND HASH CODE MUST COMPARE THEM ALONG WITH THE STATE
+			final ElementMatcher.Junction<FieldDescription> ignoredFields = ElementMatchers.not(
+				ElementMatchers.<FieldDescription>named(PROXY_STATE_FIELD)
+					.or(ElementMatchers.nameStartsWith(FieldBackedProperty.FIELD_PREFIX))
+			);
+			proxyBuilder = proxyBuilder
+				.method(getIntrinsicMethod("equals").and(interceptedMethods))
+				.intercept(EqualsMethod.isolated().withIgnoredFields(ignoredFields))
+				.method(getIntrinsicMethod("hashCode").and(interceptedMethods))
+				.intercept(HashCodeMethod.usingDefaultOffset().withIgnoredFields(ignoredFields))
+				.method(getIntrinsicMethod("toString").and(interceptedMethods))
+				.intercept(
+					MethodDelegation
+						.withDefaultConfiguration()
+						.filter(ElementMatchers.named("intrinsicFieldBackedToString"))
+						.to(ByteBuddyDispatcherInvocationHandler.class)
+				);
+		}
+
+		if (isFrozenStateGenerated(generatedMemberAdvices)) {
+			proxyBuilder = proxyBuilder
+				// WE'LL CREATE PRIVATE FIELD FOR THE FROZEN FLAG OF THE PROXY
+				.defineField(FROZEN_STATE_FIELD, boolean.class, Modifier.PRIVATE + Modifier.VOLATILE)
+				// AND FOR THE HASH CODE COMPUTED WHEN THE PROXY IS FROZEN - IT'S PUBLISHED BY THE WRITE OF THE FLAG
+				.defineField(FROZEN_HASH_CODE_FIELD, int.class, Modifier.PRIVATE)
+				// FREEZE FREEZES THE STATE, CACHES HASH CODE OF THE PROXY AND SETS THE FLAG
+				.method(
+					ElementMatchers.named("freeze")
+						.and(ElementMatchers.takesArguments(0))
+						.and(ElementMatchers.isDeclaredBy(FrozenState.class))
+				)
+				.intercept(
+					MethodCall.invoke(FREEZE_PROXY_STATE_METHOD)
+						.withField(FROZEN_STATE_FIELD, FROZEN_HASH_CODE_FIELD, PROXY_STATE_FIELD)
+						.withThis()
+						.setsField(ElementMatchers.named(FROZEN_HASH_CODE_FIELD))
+						.andThen(FieldAccessor.ofField(FROZEN_STATE_FIELD).setsValue(true))
+				)
+				// FROZEN FLAG IS READ DIRECTLY FROM THE PRIVATE FIELD
+				.method(
+					ElementMatchers.named("isFrozen")
+						.and(ElementMatchers.takesArguments(0))
+						.and(ElementMatchers.isDeclaredBy(FrozenState.class))
+				)
+				.intercept(FieldAccessor.ofField(FROZEN_STATE_FIELD))
+				// HASH CODE OF THE FROZEN PROXY IS READ FROM THE PRIVATE FIELD AND ALL ITS STATE CHANGING METHODS FAIL
+				.visit(FrozenStateGuard.create());
+		}
+
+		// NOW CREATE THE BYTE-CODE
+		return new ProxyClassDefinition(proxyBuilder.make(), slots);
+	}
+
+	/**
+	 * Returns matcher of the methods the proxy class overrides - i.e. all methods except constructors, finalizer and
+	 * the methods listed by {@link PassThroughAdvice}.
+	 */
+	private static ElementMatcher.Junction<MethodDescription> getInterceptedMethods(@Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final ElementMatcher.Junction<MethodDescription> interceptedMethods = ElementMatchers.noneOf(
+			ElementMatchers.isFinalizer(), ElementMatchers.isConstructor()
+		);
+		final Set<SignatureToken> passThroughMethods = new HashSet<>();
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			if (advice instanceof PassThroughAdvice) {
+				for (Method method : ((PassThroughAdvice) advice).getPassThroughMethods()) {
+					passThroughMethods.add(new MethodDescription.ForLoadedMethod(method).asSignatureToken());
+				}
+			}
+		}
+		return passThroughMethods.isEmpty() ?
+			interceptedMethods :
+			interceptedMethods.and(method -> !passThroughMethods.contains(method.asSignatureToken()));
+	}
+
+	/**
+	 * Returns true if the proxy class keeps its frozen state itself - see {@link FrozenStateAdvice}.
+	 */
+	private static boolean isFrozenStateGenerated(@Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			if (advice instanceof FrozenStateAdvice) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns matcher of the {@link Object} method of passed name the proxied class doesn't override.
+	 */
+	private static ElementMatcher.Junction<MethodDescription> getIntrinsicMethod(@Nonnull String methodName) {
+		final Method objectMethod = Arrays.stream(Object.class.getMethods())
+			.filter(it -> it.getName().equals(methodName))
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("What the heck? Object has no method " + methodName + "!"));
+		return ElementMatchers.named(methodName)
+			.and(ElementMatchers.takesArguments(objectMethod.getParameterTypes()))
+			.and(ElementMatchers.isDeclaredBy(Object.class));
+	}
+
+	/**
+	 * Returns delegate accessors of the passed advices indexed by the name of the static field of the proxy class
+	 * they should be stored to.
+	 */
+	private static Map<String, Function<Object, Object>> getDelegateAccessors(@Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final Map<String, Function<Object, Object>> delegateAccessors = new HashMap<>(8);
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			if (advice instanceof DirectDelegationAdvice) {
+				final Function<Object, Object> delegateAccessor = ((DirectDelegationAdvice<?>) advice).getDelegateAccessor();
+				if (delegateAccessor != null) {
+					delegateAccessors.put(DELEGATE_ACCESSOR_FIELD_PREFIX + delegateAccessors.size(), delegateAccessor);
+				}
+			}
+		}
+		return delegateAccessors;
+	}
+
+	/**
+	 * Fills in the static fields of the proxy class with the delegate accessors.
+	 */
+	private static void initializeDelegateAccessors(@Nonnull Class<?> proxyClass, @Nonnull Map<String, Function<Object, Object>> delegateAccessors) {
+		for (Entry<String, Function<Object, Object>> accessorEntry : delegateAccessors.entrySet()) {
+			try {
+				final Field accessorField = proxyClass.getDeclaredField(accessorEntry.getKey());
+				accessorField.setAccessible(true);
+				accessorField.set(null, accessorEntry.getValue());
+			} catch (NoSuchFieldException | IllegalAccessException e) {
+				throw new IllegalStateException("What the heck? Can't initialize delegate accessor of " + proxyClass.getName() + ": " + e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Creates {@link MethodDispatchTable} of the loaded proxy class and stores it into its static field. Slots are
+	 * indexed by {@link PrecompiledProxyClasses#getSignature(SignatureToken)} of the intercepted methods.
+	 */
+	private static void initializeDispatchTable(@Nonnull Class<?> type, @Nonnull Map<String, Integer> assignedSlots) {
+		// MAP THE SLOTS BACK TO THE INTERCEPTED METHODS SO THAT THEY COULD BE RESOLVED EAGERLY
+		final Method[] slotMethods = new Method[assignedSlots.size()];
+		for (Method method : ReflectionUtils.getInterceptableMethods(type)) {
+			final Integer slot = assignedSlots.get(PrecompiledProxyClasses.getSignature(new MethodDescription.ForLoadedMethod(method).asSignatureToken()));
+			if (slot != null && slotMethods[slot] == null) {
+				slotMethods[slot] = method;
+			}
+		}
+		final MethodDispatchTable dispatchTable = new MethodDispatchTable(slotMethods);
+		try {
+			final Field field = type.getDeclaredField(DISPATCH_TABLE_FIELD);
+			field.setAccessible(true);
+			field.set(null, dispatchTable);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't initialize dispatch table of " + type.getName() + ": " + e.getMessage(), e);
+		}
+		CACHED_DISPATCH_TABLES.put(type, dispatchTable);
+	}
+
+	/**
+	 * Returns {@link MethodDispatchTable} stored in the static field of the proxy class or NULL if it hasn't been
+	 * initialized yet.
+	 */
+	@Nullable
+	private static MethodDispatchTable getDispatchTable(@Nonnull Class<?> type) {
+		try {
+			final Field field = type.getDeclaredField(DISPATCH_TABLE_FIELD);
+			field.setAccessible(true);
+			return (MethodDispatchTable) field.get(null);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't read dispatch table of " + type.getName() + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Creates the proxy class and its constructor for the recorded recipe usage and resolves classifications
+	 * of the recorded methods the same way {@link #instantiate(ProxyRecipe, Object)} and
+	 * {@link #instantiateSerializable(ProxyRecipe, Serializable)} would.
+	 */
+	private static void replayRecipeUsage(@Nonnull WarmUpProfile profile, @Nonnull RecipeUsage usage, @Nonnull ClassLoader classLoader) {
+		final ProxyRecipe proxyRecipe = usage.getRecipe(classLoader);
+		final Class<?>[] recordedConstructorTypes = usage.getConstructorTypes(classLoader);
+		final Class<?>[] constructorTypes = recordedConstructorTypes == null ? EMPTY_CLASS_ARRAY : recordedConstructorTypes;
+		final Class<?> proxyClass = getProxyClass(
+			usage.isSerializable() ? proxyRecipe.getInterfacesWith(SerializableProxy.class) : proxyRecipe.getInterfaces(),
+			constructorTypes,
+			classLoader,
+			proxyRecipe.getDispatchMode(),
+			proxyRecipe.getGeneratedMemberAdvices()
+		);
+		getConstructor(proxyClass, ArrayUtils.mergeArrays(BASE_CONSTRUCTOR_TYPES, constructorTypes));
+		final Object proxyState = usage.createProxyState(classLoader);
+		if (proxyState != null) {
+			final ByteBuddyDispatcherInvocationHandler<Object> invocationHandler = new ByteBuddyDispatcherInvocationHandler<>(
+				proxyState, getDispatcherTemplate(proxyRecipe, usage.isSerializable())
+			);
+			invocationHandler.resolve(proxyClass, profile.getMethods(proxyClass, proxyState.getClass()));
+		}
+	}
+
+	/**
+	 * Returns dispatcher without proxy state that holds the complete classification list of the recipe. It's created
+	 * only once per recipe - dispatchers of the proxies are created from it and share its classifications.
+	 */
+	private static ByteBuddyDispatcherInvocationHandler<?> getDispatcherTemplate(@Nonnull ProxyRecipe proxyRecipe, boolean serializable) {
+		return proxyRecipe.getMemoized(
+			serializable ? SERIALIZABLE_DISPATCHER_TEMPLATE : DISPATCHER_TEMPLATE,
+			recipe -> new ByteBuddyDispatcherInvocationHandler<>(
+				null,
+				serializable ?
+					recipe.getMethodClassificationsWith(
+						SerializableProxy.getWriteReplaceMethodInvoker(
+							new ProxyRecipeDeserializationProxyFactory(recipe)
+						)
+					) :
+					recipe.getMethodClassificationsWith()
+			)
+		);
+	}
+
+	/**
+	 * Returns proxy class bound to the passed recipe. All instances of the class share the dispatcher template of
+	 * the recipe stored in the static field of the class and keep only their proxy state. Class is generated only once
+	 * for the recipe instance, serializability, constructor types and class loader. Such classes are neither
+	 * precompiled nor stored in the persistent class cache - the dispatcher can't be restored from the byte-code.
+	 */
+	private static Class<?> getSharedDispatcherProxyClass(@Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Class<?>[] constructorTypes, @Nonnull ClassLoader classLoader) {
+		final Class<?>[] interfaces = serializable ?
+			proxyRecipe.getInterfacesWith(SerializableProxy.class) : proxyRecipe.getInterfaces();
+		final DispatchMode dispatchMode = proxyRecipe.getDispatchMode();
+		final GeneratedMemberAdvice<?>[] generatedMemberAdvices = proxyRecipe.getGeneratedMemberAdvices();
+		return CACHED_SHARED_DISPATCHER_PROXY_CLASSES.getOrCreate(
+			// CACHE SEGMENT IS ATTACHED TO THE MOST SPECIFIC INTERFACE
+			new ProxyClassCacheKey(interfaces, dispatchMode, generatedMemberAdvices).getOwnerType(),
+			// CLASSES ARE CACHED PER TARGET CLASS LOADER
+			classLoader,
+			// CACHE KEY
+			new SharedDispatcherClassCacheKey(proxyRecipe, serializable, constructorTypes),
+			// LAMBDA THAT CREATES OUR PROXY CLASS
+			() -> {
+				final String className = GENERATED_CLASS_PACKAGE + interfaces[0].getSimpleName() + '_' + CLASS_COUNTER.incrementAndGet();
+				return loadProxyClass(
+					defineProxyClass(
+						interfaces, constructorTypes, dispatchMode, generatedMemberAdvices, className,
+						getDispatcherTemplate(proxyRecipe, serializable)
+					),
+					classLoader, generatedMemberAdvices
+				);
+			}
+		);
+	}
+
+	/**
+	 * Resolves classifications of all methods of the proxy class by the passed dispatcher if the recipe asks for it.
+	 * See {@link ProxyRecipe#withEagerResolution()}.
+	 */
+	private static <T> ByteBuddyDispatcherInvocationHandler<T> resolveEagerly(@Nonnull ProxyRecipe proxyRecipe, @Nonnull Class<?> proxyClass, @Nonnull Object proxyState, @Nonnull ByteBuddyDispatcherInvocationHandler<T> invocationHandler) {
+		proxyRecipe.resolveEagerly(proxyClass, proxyState, () -> invocationHandler.resolveEagerly(proxyClass));
+		return invocationHandler;
+	}
+
+	/**
+	 * Returns proxy state of the invocation handler passed by the client - it's stored in the generated field of
+	 * the proxy.
+	 */
+	@Nullable
+	private static Object getProxyState(@Nonnull DispatcherInvocationHandler invocationHandler) {
+		return invocationHandler instanceof ByteBuddyDispatcherInvocationHandler ?
+			((ByteBuddyDispatcherInvocationHandler<?>) invocationHandler).getProxyState() : null;
+	}
+
+	/**
+	 * Creates clone of the proxy - i.e. new instance of the very same proxy class with the cloned proxy state. Clone
+	 * thus keeps the dispatch mode, the generated members and the class loader of the original proxy.
+	 */
+	static <T> T instantiateClone(@Nonnull Class<T> proxyClass, @Nonnull Object clonedState, @Nonnull ByteBuddyDispatcherInvocationHandler<?> invocationHandler) {
+		if (clonedState instanceof ProxyStateWithConstructorArgs) {
+			final ProxyStateWithConstructorArgs stateWithConstructorArgs = (ProxyStateWithConstructorArgs) clonedState;
+			return instantiateProxy(
+				proxyClass, clonedState, invocationHandler, null,
+				stateWithConstructorArgs.getConstructorTypes(), stateWithConstructorArgs.getConstructorArgs()
+			);
+		} else {
+			return instantiateProxy(proxyClass, clonedState, invocationHandler, null);
+		}
 	}
 
 	private static <T> T instantiateProxy(Class<T> proxyClass, Object proxyState, DispatcherInvocationHandler invocationHandler, OnInstantiationCallback instantiationCallback) {
 		try {
-			final Constructor<T> constructor = getConstructor(proxyClass, new Class[] {ByteBuddyDispatcherInvocationHandler.class, OnInstantiationCallback.class, Object.class});
-			return constructor.newInstance(
+			final Constructor<T> constructor = getConstructor(proxyClass, BASE_CONSTRUCTOR_TYPES);
+			final T proxy = constructor.newInstance(
 				invocationHandler,
 				instantiationCallback == null ? OnInstantiationCallback.DEFAULT : instantiationCallback,
 				proxyState
 			);
+			// COPY VALUES OF FIELD BACKED PROPERTIES FROM THE STATE TO THE GENERATED FIELDS
+			BeanMemoryStoreView.load(proxy, proxyState);
+			return proxy;
 		} catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
 			throw new IllegalArgumentException("What the heck? Can't create proxy: " + e.getMessage(), e);
 		}
@@ -490,9 +1385,9 @@ public class ByteBuddyProxyGenerator {
 		try {
 			final Constructor<T> constructor = getConstructor(
 				proxyClass,
-				ArrayUtils.mergeArrays(new Class<?>[] {ByteBuddyDispatcherInvocationHandler.class, OnInstantiationCallback.class, Object.class}, constructorTypes)
+				ArrayUtils.mergeArrays(BASE_CONSTRUCTOR_TYPES, constructorTypes)
 			);
-			return constructor.newInstance(
+			final T proxy = constructor.newInstance(
 				ArrayUtils.mergeArrays(
 					new Object[] {
 						invocationHandler,
@@ -502,6 +1397,9 @@ public class ByteBuddyProxyGenerator {
 					constructorArgs
 				)
 			);
+			// COPY VALUES OF FIELD BACKED PROPERTIES FROM THE STATE TO THE GENERATED FIELDS
+			BeanMemoryStoreView.load(proxy, proxyState);
+			return proxy;
 		} catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
 			throw new IllegalArgumentException("What the heck? Can't create proxy: " + e.getMessage(), e);
 		}
@@ -545,6 +1443,77 @@ public class ByteBuddyProxyGenerator {
 		);
 	}
 
+	/**
+	 * Initializer creates {@link MethodDispatchTable} of the loaded proxy class and stores it into its static field.
+	 * The table can be created only after the byte-code has been generated because only then we know the count of
+	 * the method slots.
+	 */
+	private static class DispatchTableInitializer implements LoadedTypeInitializer {
+		private final Supplier<Map<SignatureToken, Integer>> slots;
+
+		DispatchTableInitializer(Supplier<Map<SignatureToken, Integer>> slots) {
+			this.slots = slots;
+		}
+
+		@Override
+		public void onLoad(Class<?> type) {
+			final Map<String, Integer> assignedSlots = new HashMap<>(64);
+			for (Entry<SignatureToken, Integer> entry : slots.get().entrySet()) {
+				assignedSlots.put(PrecompiledProxyClasses.getSignature(entry.getKey()), entry.getValue());
+			}
+			initializeDispatchTable(type, assignedSlots);
+		}
+
+		@Override
+		public boolean isAlive() {
+			return true;
+		}
+	}
+
+	/**
+	 * Cache key of the proxy class bound to the recipe - see {@link #getSharedDispatcherProxyClass(ProxyRecipe, boolean, Class[], ClassLoader)}.
+	 * Recipe is compared by identity, because its dispatcher template is memoized per recipe instance.
+	 */
+	private static class SharedDispatcherClassCacheKey {
+		private final ProxyRecipe proxyRecipe;
+		private final boolean serializable;
+		private final Class<?>[] constructorTypes;
+		private final int hashCode;
+
+		SharedDispatcherClassCacheKey(@Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Class<?>[] constructorTypes) {
+			this.proxyRecipe = proxyRecipe;
+			this.serializable = serializable;
+			this.constructorTypes = constructorTypes;
+			this.hashCode = 31 * (31 * System.identityHashCode(proxyRecipe) + Boolean.hashCode(serializable)) + Arrays.hashCode(constructorTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final SharedDispatcherClassCacheKey that = (SharedDispatcherClassCacheKey) o;
+			return this.proxyRecipe == that.proxyRecipe &&
+				this.serializable == that.serializable &&
+				Arrays.equals(this.constructorTypes, that.constructorTypes);
+		}
+	}
+
+	/**
+	 * Generated byte-code of the proxy class together with the supplier of the slots assigned to its methods (NULL
+	 * for {@link DispatchMode#CLASSIFICATION_CACHE} mode).
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	private static class ProxyClassDefinition {
+		private final DynamicType.Unloaded<?> type;
+		private final Supplier<Map<SignatureToken, Integer>> slots;
+	}
+
 	public static class ProxyRecipeDeserializationProxyFactory implements DeserializationProxyFactory {
 		private static final long serialVersionUID = -4840857278948145538L;
 		private final ProxyRecipe proxyRecipe;
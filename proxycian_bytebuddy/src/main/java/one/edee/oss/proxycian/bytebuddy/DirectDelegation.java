@@ -0,0 +1,113 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatchers;
+import one.edee.oss.proxycian.recipe.DirectDelegationAdvice;
+import org.objectweb.asm.MethodVisitor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.PROXY_STATE_FIELD;
+
+/**
+ * Implementation generates proxy methods for {@link DirectDelegationAdvice}. Generated method reads the proxy state
+ * from the field of the proxy, optionally passes it to the delegate accessor stored in
+ * the static field of the proxy class, casts the result to the delegate type and invokes the delegated method on it
+ * with all the arguments of the proxy method. The byte-code is equivalent to the hand-written wrapper class and JIT
+ * can inline the delegate method through the proxy.
+ */
+public class DirectDelegation implements Implementation {
+	private static final MethodDescription.InDefinedShape APPLY_METHOD;
+	private final TypeDescription delegateType;
+	private final MethodDescription.InDefinedShape delegatedMethod;
+	private final String delegateAccessorField;
+
+	static {
+		try {
+			APPLY_METHOD = new MethodDescription.ForLoadedMethod(
+				Function.class.getMethod("apply", Object.class)
+			);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("What the heck? Can't initialize direct delegation: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @param delegateType          type the delegate is cast to
+	 * @param delegatedMethod       method invoked on the delegate
+	 * @param delegateAccessorField name of the static {@link Function} field that extracts delegate from the proxy
+	 *                              state or NULL if the proxy state is the delegate itself
+	 */
+	public DirectDelegation(@Nonnull Class<?> delegateType, @Nonnull Method delegatedMethod, @Nullable String delegateAccessorField) {
+		this.delegateType = TypeDescription.ForLoadedType.of(delegateType);
+		this.delegatedMethod = new MethodDescription.ForLoadedMethod(delegatedMethod);
+		this.delegateAccessorField = delegateAccessorField;
+	}
+
+	@Override
+	public InstrumentedType prepare(InstrumentedType instrumentedType) {
+		return instrumentedType;
+	}
+
+	@Override
+	public ByteCodeAppender appender(Target implementationTarget) {
+		return new DelegationAppender(implementationTarget.getInstrumentedType());
+	}
+
+	/**
+	 * Appender writes the body of the proxy method.
+	 */
+	private class DelegationAppender implements ByteCodeAppender {
+		private final FieldDescription proxyStateField;
+		private final FieldDescription accessorField;
+
+		DelegationAppender(TypeDescription instrumentedType) {
+			this.proxyStateField = instrumentedType
+				.getDeclaredFields()
+				.filter(ElementMatchers.named(PROXY_STATE_FIELD))
+				.getOnly();
+			this.accessorField = delegateAccessorField == null ? null : instrumentedType
+				.getDeclaredFields()
+				.filter(ElementMatchers.named(delegateAccessorField))
+				.getOnly();
+		}
+
+		@Override
+		public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+			final StackManipulation.Size size = new StackManipulation.Compound(
+				// PUSH DELEGATE ACCESSOR FROM THE STATIC FIELD (IF ANY)
+				accessorField == null ? StackManipulation.Trivial.INSTANCE : FieldAccess.forField(accessorField).read(),
+				// PUSH PROXY STATE STORED IN THE FIELD
+				MethodVariableAccess.loadThis(),
+				FieldAccess.forField(proxyStateField).read(),
+				// EXTRACT THE DELEGATE FROM THE PROXY STATE (IF NECESSARY)
+				accessorField == null ? StackManipulation.Trivial.INSTANCE : MethodInvocation.invoke(APPLY_METHOD),
+				// CAST IT TO THE DELEGATE TYPE
+				TypeCasting.to(delegateType),
+				// PUSH ALL ARGUMENTS
+				MethodVariableAccess.allArgumentsOf(instrumentedMethod),
+				// CALL THE DELEGATE
+				MethodInvocation.invoke(delegatedMethod),
+				// AND RETURN ITS RESULT
+				MethodReturn.of(instrumentedMethod.getReturnType())
+			).apply(methodVisitor, implementationContext);
+			return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+		}
+
+	}
+
+}
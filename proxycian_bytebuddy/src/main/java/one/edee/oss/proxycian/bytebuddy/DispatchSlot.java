@@ -0,0 +1,61 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodDescription.SignatureToken;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.implementation.bind.annotation.TargetMethodAnnotationDrivenBinder.ParameterBinder;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameter with this annotation is assigned an integer constant that represents the slot of the intercepted method
+ * in the {@link MethodDispatchTable} of the proxy class. The constant is baked directly in the byte-code of
+ * the generated method.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface DispatchSlot {
+
+	/**
+	 * Binder assigns slots to intercepted methods in order of their appearance. Binder instance must not be shared
+	 * among different generated classes.
+	 */
+	class Binder extends ParameterBinder.ForFixedValue<DispatchSlot> {
+		private final Map<SignatureToken, Integer> slots = new HashMap<>(64);
+
+		/**
+		 * Returns count of the slots assigned so far.
+		 */
+		public int getSlotCount() {
+			return slots.size();
+		}
+
+		/**
+		 * Returns slots assigned so far indexed by the signature of the intercepted method.
+		 */
+		public Map<SignatureToken, Integer> getSlots() {
+			return Collections.unmodifiableMap(slots);
+		}
+
+		@Override
+		public Class<DispatchSlot> getHandledType() {
+			return DispatchSlot.class;
+		}
+
+		@Override
+		protected Object bind(AnnotationDescription.Loadable<DispatchSlot> annotation, MethodDescription source, ParameterDescription target) {
+			return slots.computeIfAbsent(source.asSignatureToken(), signatureToken -> slots.size());
+		}
+	}
+
+}
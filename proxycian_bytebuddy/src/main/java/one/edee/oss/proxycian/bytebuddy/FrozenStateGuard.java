@@ -0,0 +1,122 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.pool.TypePool;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.annotation.Nonnull;
+
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.FROZEN_HASH_CODE_FIELD;
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.FROZEN_STATE_FIELD;
+
+/**
+ * Guard is written at the beginning of the methods of the proxy classes with {@link FrozenStateAdvice} and takes over
+ * when the proxy has been frozen:
+ *
+ * - {@link FrozenStateAdvice#isStateChangingMethod(String, int) state changing methods} reject the call - the guard
+ *   protects all implementations of such methods alike, the dispatched ones as well as the setters of the field backed
+ *   properties that never reach the proxy state
+ * - {@link Object#hashCode()} returns the hash code the proxy computed when it was frozen
+ *
+ * The guard is written directly into the method byte-code - ByteBuddy {@link net.bytebuddy.asm.Advice} can't be used
+ * here, because it skips the methods the proxy class implements for the abstract methods it inherits.
+ */
+abstract class FrozenStateGuard implements AsmVisitorWrapper.ForDeclaredMethods.MethodVisitorWrapper {
+	/**
+	 * Matches the methods rejected by the frozen proxy - the rule is shared with the other generators.
+	 */
+	static final ElementMatcher<MethodDescription> STATE_CHANGING_METHODS = new ElementMatcher.Junction.AbstractBase<MethodDescription>() {
+		@Override
+		public boolean matches(MethodDescription target) {
+			return target.isMethod() && FrozenStateAdvice.isStateChangingMethod(target.getName(), target.getParameters().size());
+		}
+	};
+	private static final ElementMatcher<MethodDescription> HASH_CODE_METHOD = ElementMatchers.named("hashCode")
+		.and(ElementMatchers.takesArguments(0))
+		.and(ElementMatchers.returns(int.class));
+	private static final String EXCEPTION_TYPE = Type.getInternalName(IllegalStateException.class);
+	private static final String EXCEPTION_CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(String.class));
+
+	private FrozenStateGuard() {}
+
+	/**
+	 * Returns visitor that writes the guards into the methods of the proxy class.
+	 */
+	@Nonnull
+	static AsmVisitorWrapper create() {
+		return new AsmVisitorWrapper.ForDeclaredMethods()
+			// THE GUARD NEEDS DEEPER OPERAND STACK THAN THE GUARDED METHOD MAY HAVE
+			.writerFlags(ClassWriter.COMPUTE_MAXS)
+			.method(STATE_CHANGING_METHODS, new RejectingGuard())
+			.method(HASH_CODE_METHOD, new FrozenHashCodeGuard());
+	}
+
+	@Override
+	public MethodVisitor wrap(TypeDescription instrumentedType, MethodDescription instrumentedMethod, MethodVisitor methodVisitor, Implementation.Context implementationContext, TypePool typePool, int writerFlags, int readerFlags) {
+		final String proxyClassName = instrumentedType.getInternalName();
+		return new MethodVisitor(Opcodes.ASM9, methodVisitor) {
+			@Override
+			public void visitCode() {
+				super.visitCode();
+				// IF (this.frozenState) { ... }
+				final Label notFrozen = new Label();
+				super.visitVarInsn(Opcodes.ALOAD, 0);
+				super.visitFieldInsn(Opcodes.GETFIELD, proxyClassName, FROZEN_STATE_FIELD, Type.BOOLEAN_TYPE.getDescriptor());
+				super.visitJumpInsn(Opcodes.IFEQ, notFrozen);
+				writeFrozenBranch(this.mv, proxyClassName, instrumentedMethod);
+				super.visitLabel(notFrozen);
+				// THE ORIGINAL METHOD CONTINUES WITH THE INITIAL FRAME OF THE METHOD
+				super.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+			}
+		};
+	}
+
+	/**
+	 * Writes the byte-code executed instead of the method body when the proxy is frozen. The byte-code must leave
+	 * the method.
+	 */
+	protected abstract void writeFrozenBranch(@Nonnull MethodVisitor methodVisitor, @Nonnull String proxyClassName, @Nonnull MethodDescription instrumentedMethod);
+
+	/**
+	 * Throws {@link IllegalStateException} from the state changing method of the frozen proxy.
+	 */
+	private static class RejectingGuard extends FrozenStateGuard {
+
+		@Override
+		protected void writeFrozenBranch(@Nonnull MethodVisitor methodVisitor, @Nonnull String proxyClassName, @Nonnull MethodDescription instrumentedMethod) {
+			// THROW NEW IllegalStateException(message)
+			methodVisitor.visitTypeInsn(Opcodes.NEW, EXCEPTION_TYPE);
+			methodVisitor.visitInsn(Opcodes.DUP);
+			methodVisitor.visitLdcInsn("Proxy is frozen and cannot be changed by calling " + instrumentedMethod.getName() + "!");
+			methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, EXCEPTION_TYPE, "<init>", EXCEPTION_CONSTRUCTOR_DESCRIPTOR, false);
+			methodVisitor.visitInsn(Opcodes.ATHROW);
+		}
+
+	}
+
+	/**
+	 * Returns the hash code cached when the proxy was frozen from {@link Object#hashCode()} of the frozen proxy.
+	 */
+	private static class FrozenHashCodeGuard extends FrozenStateGuard {
+
+		@Override
+		protected void writeFrozenBranch(@Nonnull MethodVisitor methodVisitor, @Nonnull String proxyClassName, @Nonnull MethodDescription instrumentedMethod) {
+			// RETURN this.frozenHashCode
+			methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+			methodVisitor.visitFieldInsn(Opcodes.GETFIELD, proxyClassName, FROZEN_HASH_CODE_FIELD, Type.INT_TYPE.getDescriptor());
+			methodVisitor.visitInsn(Opcodes.IRETURN);
+		}
+
+	}
+
+}
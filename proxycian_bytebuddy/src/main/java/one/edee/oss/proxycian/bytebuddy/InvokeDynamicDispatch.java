@@ -0,0 +1,394 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import lombok.Getter;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodDescription.SignatureToken;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaConstant;
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.MethodDispatchTable.DispatchSlots;
+import one.edee.oss.proxycian.specialized.BooleanAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.BooleanReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.SuperMethodInvoker;
+import one.edee.oss.proxycian.util.DefaultMethodInvoker;
+import org.objectweb.asm.MethodVisitor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.DISPATCH_TABLE_FIELD;
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.INVOCATION_HANDLER_FIELD;
+import static one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator.PROXY_STATE_FIELD;
+
+/**
+ * Implementation generates proxy methods for {@link DispatchMode#INVOKE_DYNAMIC} mode. Each method consists of single
+ * {@code invokedynamic} instruction that passes the proxy, its {@link ByteBuddyDispatcherInvocationHandler}, its proxy
+ * state and all method arguments to the {@link DispatchCallSite} bootstrapped by {@link #bootstrap(Lookup, String, MethodType, Class, String, MethodType, int)}.
+ *
+ * The call site links itself directly to the {@link CurriedMethodContextInvocationHandler} resolved for the first
+ * dispatcher it sees. Link is guarded by {@link MethodDispatchTable#getInvalidationSwitchPoint()} of the proxy class,
+ * so that clearing the method classification cache of one proxy class leaves the call sites of the other proxy classes
+ * linked. As long as all proxies of the class share the same dispatch slots (they share proxy
+ * state class and cache key), the link is guarded only by {@link MethodDispatchTable#getMonomorphicSwitchPoint()} and
+ * the linked handler is invoked without inspecting the dispatcher of the proxy at all. Once the table meets another
+ * combination of proxy state class and cache key, call sites re-link with the guard checking the dispatch slots
+ * identity on each call.
+ *
+ * Instance of this implementation must not be shared among different generated classes.
+ */
+public class InvokeDynamicDispatch implements Implementation {
+	private static final MethodDescription.InDefinedShape BOOTSTRAP_METHOD;
+	private static final MethodHandle DISPATCH;
+	private static final MethodHandle IS_LINKED;
+	private static final MethodHandle IS_CONSTRUCTED;
+	private static final MethodHandle INVOKE_LINKED;
+	private static final SpecializedContract[] SPECIALIZED_CONTRACTS;
+	private final Map<SignatureToken, Integer> slots = new HashMap<>(64);
+
+	static {
+		try {
+			BOOTSTRAP_METHOD = new MethodDescription.ForLoadedMethod(
+				InvokeDynamicDispatch.class.getMethod(
+					"bootstrap",
+					Lookup.class, String.class, MethodType.class, Class.class, String.class, MethodType.class, int.class
+				)
+			);
+			final Lookup lookup = MethodHandles.lookup();
+			DISPATCH = lookup.findVirtual(
+				DispatchCallSite.class, "dispatch",
+				MethodType.methodType(Object.class, Object.class, ByteBuddyDispatcherInvocationHandler.class, Object.class, Object[].class)
+			);
+			IS_LINKED = lookup.findStatic(
+				ByteBuddyDispatcherInvocationHandler.class, "isDispatchedBy",
+				MethodType.methodType(boolean.class, DispatchSlots.class, MethodDispatchTable.class, Object.class, ByteBuddyDispatcherInvocationHandler.class, Object.class)
+			);
+			IS_CONSTRUCTED = MethodHandles.dropArguments(
+				lookup.findStatic(Objects.class, "nonNull", MethodType.methodType(boolean.class, Object.class)),
+				0, Object.class, ByteBuddyDispatcherInvocationHandler.class
+			);
+			INVOKE_LINKED = lookup.findStatic(
+				ByteBuddyDispatcherInvocationHandler.class, "invokeLinked",
+				MethodType.methodType(Object.class, CurriedMethodContextInvocationHandler.class, Method.class, SuperMethodInvoker.class, Object.class, ByteBuddyDispatcherInvocationHandler.class, Object.class, Object[].class)
+			);
+			SPECIALIZED_CONTRACTS = new SpecializedContract[]{
+				new SpecializedContract(IntReturningInvocationHandler.class, "invokeInt", int.class, null),
+				new SpecializedContract(LongReturningInvocationHandler.class, "invokeLong", long.class, null),
+				new SpecializedContract(DoubleReturningInvocationHandler.class, "invokeDouble", double.class, null),
+				new SpecializedContract(BooleanReturningInvocationHandler.class, "invokeBoolean", boolean.class, null),
+				new SpecializedContract(IntAcceptingInvocationHandler.class, "invokeWithInt", void.class, int.class),
+				new SpecializedContract(LongAcceptingInvocationHandler.class, "invokeWithLong", void.class, long.class),
+				new SpecializedContract(DoubleAcceptingInvocationHandler.class, "invokeWithDouble", void.class, double.class),
+				new SpecializedContract(BooleanAcceptingInvocationHandler.class, "invokeWithBoolean", void.class, boolean.class)
+			};
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't initialize invoke dynamic dispatch: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Bootstrap method called by JVM when the {@code invokedynamic} instruction of the proxy method is executed for
+	 * the first time.
+	 */
+	@SuppressWarnings("unused")
+	public static CallSite bootstrap(Lookup lookup, String name, MethodType type, Class<?> declaringClass, String methodName, MethodType methodType, int slot) throws Throwable {
+		final Method method = declaringClass.getDeclaredMethod(methodName, methodType.parameterArray());
+		final MethodDispatchTable dispatchTable = (MethodDispatchTable) lookup
+			.findStaticGetter(lookup.lookupClass(), DISPATCH_TABLE_FIELD, MethodDispatchTable.class)
+			.invoke();
+		return new DispatchCallSite(type, method, slot, dispatchTable, findSuperMethodInvoker(lookup, method));
+	}
+
+	/**
+	 * Returns count of the slots assigned so far.
+	 */
+	public int getSlotCount() {
+		return slots.size();
+	}
+
+	/**
+	 * Returns slots assigned so far indexed by the signature of the intercepted method.
+	 */
+	public Map<SignatureToken, Integer> getSlots() {
+		return Collections.unmodifiableMap(slots);
+	}
+
+	@Override
+	public InstrumentedType prepare(InstrumentedType instrumentedType) {
+		return instrumentedType;
+	}
+
+	@Override
+	public ByteCodeAppender appender(Target implementationTarget) {
+		return new DispatchAppender(implementationTarget.getInstrumentedType());
+	}
+
+	/**
+	 * Returns invoker of the super implementation of the method or NULL if the method is abstract. Invoker is created
+	 * only once per call site and it's reused for all calls of the method.
+	 */
+	private static SuperMethodInvoker findSuperMethodInvoker(Lookup lookup, Method method) {
+		if (Modifier.isAbstract(method.getModifiers())) {
+			return null;
+		}
+		try {
+			return new SuperMethodHandleInvoker(
+				lookup.findSpecial(
+					method.getDeclaringClass(), method.getName(),
+					MethodType.methodType(method.getReturnType(), method.getParameterTypes()),
+					lookup.lookupClass()
+				)
+			);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// DEFAULT METHODS OF INDIRECTLY IMPLEMENTED INTERFACES CANNOT BE INVOKED SPECIALLY FROM THE PROXY CLASS
+			return DefaultMethodInvoker.get(method);
+		}
+	}
+
+	/**
+	 * Returns method handle of the call site type that invokes specialized invocation handler directly or NULL if
+	 * the invocation handler doesn't implement specialized contract for the call site type.
+	 */
+	private static MethodHandle findSpecializedTarget(CurriedMethodContextInvocationHandler<?, ?> invocationHandler, MethodType type) {
+		for (SpecializedContract specializedContract : SPECIALIZED_CONTRACTS) {
+			if (specializedContract.getHandlerType().isInstance(invocationHandler) && specializedContract.matches(type)) {
+				// DISPATCHER IS NOT NEEDED - THE PROXY STATE IS PASSED DIRECTLY
+				return MethodHandles.dropArguments(
+					specializedContract.getInvoker().bindTo(invocationHandler),
+					1, ByteBuddyDispatcherInvocationHandler.class
+				).asType(type);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Appender writes the body of the proxy method.
+	 */
+	private class DispatchAppender implements ByteCodeAppender {
+		private final TypeDescription instrumentedType;
+		private final FieldDescription invocationHandlerField;
+		private final FieldDescription proxyStateField;
+
+		DispatchAppender(TypeDescription instrumentedType) {
+			this.instrumentedType = instrumentedType;
+			this.invocationHandlerField = instrumentedType
+				.getDeclaredFields()
+				.filter(ElementMatchers.named(INVOCATION_HANDLER_FIELD))
+				.getOnly();
+			this.proxyStateField = instrumentedType
+				.getDeclaredFields()
+				.filter(ElementMatchers.named(PROXY_STATE_FIELD))
+				.getOnly();
+		}
+
+		@Override
+		public Size apply(MethodVisitor methodVisitor, Context implementationContext, MethodDescription instrumentedMethod) {
+			final MethodDescription.InDefinedShape definedMethod = instrumentedMethod.asDefined();
+			final int slot = slots.computeIfAbsent(instrumentedMethod.asSignatureToken(), signatureToken -> slots.size());
+
+			final List<TypeDescription> callSiteParameters = new ArrayList<>(instrumentedMethod.getParameters().size() + 3);
+			callSiteParameters.add(instrumentedType);
+			callSiteParameters.add(invocationHandlerField.getType().asErasure());
+			callSiteParameters.add(proxyStateField.getType().asErasure());
+			callSiteParameters.addAll(instrumentedMethod.getParameters().asTypeList().asErasures());
+
+			final StackManipulation.Size size = new StackManipulation.Compound(
+				// PUSH THIS
+				MethodVariableAccess.loadThis(),
+				// PUSH DISPATCHER FROM THE FIELD (SHARED DISPATCHER IS KEPT IN THE STATIC FIELD)
+				invocationHandlerField.isStatic() ? StackManipulation.Trivial.INSTANCE : MethodVariableAccess.loadThis(),
+				FieldAccess.forField(invocationHandlerField).read(),
+				// PUSH PROXY STATE FROM THE FIELD
+				MethodVariableAccess.loadThis(),
+				FieldAccess.forField(proxyStateField).read(),
+				// PUSH ALL ARGUMENTS
+				MethodVariableAccess.allArgumentsOf(instrumentedMethod),
+				// CALL THE CALL SITE IDENTIFIED BY THE METHOD AND ITS SLOT
+				MethodInvocation.invoke(BOOTSTRAP_METHOD).dynamic(
+					"dispatch",
+					instrumentedMethod.getReturnType().asErasure(),
+					callSiteParameters,
+					Arrays.asList(
+						JavaConstant.Simple.of(definedMethod.getDeclaringType().asErasure()),
+						JavaConstant.Simple.ofLoaded(definedMethod.getName()),
+						JavaConstant.MethodType.of(definedMethod),
+						JavaConstant.Simple.ofLoaded(slot)
+					)
+				),
+				// AND RETURN ITS RESULT
+				MethodReturn.of(instrumentedMethod.getReturnType())
+			).apply(methodVisitor, implementationContext);
+
+			return new Size(size.getMaximalSize(), instrumentedMethod.getStackSize());
+		}
+	}
+
+	/**
+	 * Call site of single proxy method. Call site starts unlinked - i.e. with generic target that resolves
+	 * the invocation handler in the dispatch table and links the call site to it. When the call site gets re-linked
+	 * too many times (proxies with different states or cache keys call it), it stays with the generic target.
+	 *
+	 * While the dispatch table is monomorphic, the only check left on the linked path is the null check of the proxy
+	 * state that routes the calls from the super constructor (made before the proxy fields are set) to the generic
+	 * target.
+	 */
+	static class DispatchCallSite extends MutableCallSite {
+		private static final int MAX_RELINK_COUNT = 8;
+		private final Method method;
+		private final int slot;
+		private final MethodDispatchTable dispatchTable;
+		private final SuperMethodInvoker superMethodInvoker;
+		private final MethodHandle genericTarget;
+		private SwitchPoint linkedSwitchPoint;
+		private volatile int relinkCount;
+
+		DispatchCallSite(MethodType type, Method method, int slot, MethodDispatchTable dispatchTable, SuperMethodInvoker superMethodInvoker) {
+			super(type);
+			this.method = method;
+			this.slot = slot;
+			this.dispatchTable = dispatchTable;
+			this.superMethodInvoker = superMethodInvoker;
+			this.genericTarget = adapt(DISPATCH.bindTo(this));
+			setTarget(this.genericTarget);
+		}
+
+		/**
+		 * Generic target of the call site.
+		 */
+		@SuppressWarnings("unused")
+		Object dispatch(Object proxy, ByteBuddyDispatcherInvocationHandler<?> handler, Object proxyState, Object[] args) throws Throwable {
+			if (proxyState == null) {
+				// METHOD CALLED FROM THE SUPER CONSTRUCTOR
+				return ByteBuddyDispatcherInvocationHandler.invokeSuper(proxy, superMethodInvoker, args);
+			}
+			final SwitchPoint currentSwitchPoint = dispatchTable.getInvalidationSwitchPoint();
+			final DispatchSlots dispatchSlots = ByteBuddyDispatcherInvocationHandler.getDispatchSlots(handler, proxyState, dispatchTable);
+			final CurriedMethodContextInvocationHandler<?, ?> invocationHandler = ByteBuddyDispatcherInvocationHandler.getInvocationHandler(
+				handler, proxyState, dispatchTable, slot, method
+			);
+			if (relinkCount <= MAX_RELINK_COUNT || linkedSwitchPoint != currentSwitchPoint) {
+				relink(currentSwitchPoint, dispatchSlots, invocationHandler);
+			}
+			return ByteBuddyDispatcherInvocationHandler.invokeLinked(invocationHandler, method, superMethodInvoker, proxy, handler, proxyState, args);
+		}
+
+		private synchronized void relink(SwitchPoint currentSwitchPoint, DispatchSlots dispatchSlots, CurriedMethodContextInvocationHandler<?, ?> invocationHandler) {
+			if (linkedSwitchPoint != currentSwitchPoint) {
+				// CLASSIFICATIONS HAVE CHANGED - LET'S START FROM SCRATCH
+				linkedSwitchPoint = currentSwitchPoint;
+				relinkCount = 0;
+			}
+			if (currentSwitchPoint.hasBeenInvalidated()) {
+				return;
+			}
+			if (relinkCount < MAX_RELINK_COUNT) {
+				relinkCount++;
+				final MethodType type = type();
+				final SwitchPoint monomorphicSwitchPoint = dispatchTable.getMonomorphicSwitchPoint();
+				final boolean monomorphic = !monomorphicSwitchPoint.hasBeenInvalidated();
+				// ALL PROXIES ARE DISPATCHED BY THE SAME SLOTS UNTIL THE MONOMORPHIC SWITCH POINT GETS INVALIDATED
+				final MethodHandle guard = monomorphic ?
+					IS_CONSTRUCTED : MethodHandles.insertArguments(IS_LINKED, 0, dispatchSlots, dispatchTable);
+				final MethodHandle specializedTarget = findSpecializedTarget(invocationHandler, type);
+				final MethodHandle linkedTarget;
+				if (specializedTarget == null) {
+					linkedTarget = adapt(
+						MethodHandles.guardWithTest(
+							guard,
+							MethodHandles.insertArguments(INVOKE_LINKED, 0, invocationHandler, method, superMethodInvoker),
+							DISPATCH.bindTo(this)
+						)
+					);
+				} else {
+					// PRIMITIVE ARGUMENTS AND RETURN VALUES ARE PASSED WITHOUT BOXING
+					linkedTarget = MethodHandles.guardWithTest(
+						guard.asType(MethodType.methodType(boolean.class, type.parameterType(0), type.parameterType(1), type.parameterType(2))),
+						specializedTarget,
+						adapt(DISPATCH.bindTo(this))
+					);
+				}
+				final MethodHandle switchedTarget = currentSwitchPoint.guardWithTest(linkedTarget, genericTarget);
+				setTarget(monomorphic ? monomorphicSwitchPoint.guardWithTest(switchedTarget, genericTarget) : switchedTarget);
+			} else if (relinkCount == MAX_RELINK_COUNT) {
+				// CALL SITE IS MEGAMORPHIC
+				relinkCount++;
+				setTarget(genericTarget);
+			}
+		}
+
+		/**
+		 * Adapts generic handle to the type of this call site.
+		 */
+		private MethodHandle adapt(MethodHandle methodHandle) {
+			return methodHandle
+				.asCollector(Object[].class, type().parameterCount() - 3)
+				.asType(type());
+		}
+	}
+
+	/**
+	 * Describes specialized invocation handler contract from {@link one.edee.oss.proxycian.specialized} package.
+	 */
+	private static class SpecializedContract {
+		@Getter private final Class<?> handlerType;
+		@Getter private final MethodHandle invoker;
+		private final Class<?> returnType;
+		private final Class<?> argumentType;
+
+		SpecializedContract(Class<?> handlerType, String methodName, Class<?> returnType, Class<?> argumentType) throws NoSuchMethodException, IllegalAccessException {
+			this.handlerType = handlerType;
+			this.returnType = returnType;
+			this.argumentType = argumentType;
+			this.invoker = MethodHandles.publicLookup().findVirtual(
+				handlerType, methodName,
+				argumentType == null ?
+					MethodType.methodType(returnType, Object.class, Object.class) :
+					MethodType.methodType(returnType, Object.class, Object.class, argumentType)
+			);
+		}
+
+		/**
+		 * Returns true if the call site type (proxy, dispatcher, proxy state, arguments...) matches this contract.
+		 */
+		boolean matches(MethodType type) {
+			if (argumentType == null) {
+				return type.parameterCount() == 3 && type.returnType() == returnType;
+			} else {
+				return type.parameterCount() == 4 && type.parameterType(3) == argumentType && type.returnType() == returnType;
+			}
+		}
+	}
+
+}
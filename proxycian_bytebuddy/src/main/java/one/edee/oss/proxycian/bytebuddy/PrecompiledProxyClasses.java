@@ -0,0 +1,252 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription.SignatureToken;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.PersistentClassCache;
+import one.edee.oss.proxycian.recipe.DirectDelegationAdvice;
+import one.edee.oss.proxycian.recipe.FieldBackedProperty;
+import one.edee.oss.proxycian.recipe.GeneratedMemberAdvice;
+import one.edee.oss.proxycian.recipe.PassThroughAdvice;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Support for the proxy classes pre-generated at build time (see {@link ProxyClassPrecompiler}). Pre-generated class
+ * has deterministic name derived from the shape of the class - i.e. from everything that affects its byte-code - so
+ * that the generator is able to look it up on the classpath before it generates the class on its own.
+ *
+ * Dispatch slots of the classes in {@link DispatchMode#DISPATCH_TABLE} and {@link DispatchMode#INVOKE_DYNAMIC} mode
+ * are assigned during byte-code generation, so they're stored in the `.slots` resource next to the class file.
+ */
+class PrecompiledProxyClasses {
+	/**
+	 * Version of the shape description - must be incremented whenever the generated byte-code changes so that stale
+	 * pre-generated classes are not used.
+	 */
+	private static final String SHAPE_VERSION = "7";
+	/**
+	 * Classes that shape the generated byte-code or that the generated byte-code links against, along with the byte-code
+	 * library. Change of any of them makes the generated classes stale even if {@link #SHAPE_VERSION} stays the same.
+	 */
+	private static final Class<?>[] BACKEND_CLASSES = new Class<?>[]{
+		ByteBuddyProxyGenerator.class,
+		ByteBuddyDispatcherInvocationHandler.class,
+		InvokeDynamicDispatch.class,
+		InvokeDynamicDispatch.DispatchCallSite.class,
+		DirectDelegation.class,
+		DispatchSlot.class,
+		FrozenStateGuard.class,
+		SuperMethodHandleInvoker.class,
+		MethodDispatchTable.class,
+		MethodDispatchTable.DispatchSlots.class,
+		BeanMemoryStoreView.class,
+		ByteBuddy.class
+	};
+	private static final String SLOTS_SUFFIX = ".slots";
+	/**
+	 * Lazily computed version of the backend - see {@link #getBackendVersion()}.
+	 */
+	private static volatile String backendVersion;
+
+	private PrecompiledProxyClasses() {
+	}
+
+	/**
+	 * Returns version of the backend that generates the classes - i.e. {@link #SHAPE_VERSION} followed by
+	 * the fingerprint of the {@link #BACKEND_CLASSES}. The version is part of the shape the names of the pre-generated
+	 * classes are derived from, so that the classes generated by a different version of the backend are never found.
+	 */
+	@Nonnull
+	static String getBackendVersion() {
+		String version = backendVersion;
+		if (version == null) {
+			try {
+				version = SHAPE_VERSION + '-' + PersistentClassCache.fingerprint(BACKEND_CLASSES);
+			} catch (IOException e) {
+				// BACKEND CAN'T BE VERIFIED - PRE-GENERATED CLASSES ARE NOT USED AND THE CLASSES ARE GENERATED AT RUNTIME
+				version = SHAPE_VERSION + "-unverified-" + System.identityHashCode(PrecompiledProxyClasses.class);
+			}
+			backendVersion = version;
+		}
+		return version;
+	}
+
+	/**
+	 * Returns deterministic name of the pre-generated proxy class of the passed shape.
+	 */
+	@Nonnull
+	static String getClassName(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final StringBuilder shape = new StringBuilder(getBackendVersion());
+		for (Class<?> anInterface : interfaces) {
+			shape.append(';').append(anInterface.getName());
+		}
+		shape.append('|').append(dispatchMode.name());
+		for (Class<?> constructorArgument : constructorArguments) {
+			shape.append(';').append(constructorArgument.getName());
+		}
+		shape.append('|');
+		for (FieldBackedProperty property : FieldBackedProperty.collect(interfaces, generatedMemberAdvices)) {
+			shape.append(property.getFieldName()).append(':').append(property.getType().getName()).append(';');
+		}
+		shape.append('|');
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			if (advice instanceof DirectDelegationAdvice) {
+				final DirectDelegationAdvice<?> delegationAdvice = (DirectDelegationAdvice<?>) advice;
+				shape.append(delegationAdvice.getDelegateType().getName())
+					.append(delegationAdvice.getDelegateAccessor() == null ? '-' : '+');
+				for (Method delegatedMethod : delegationAdvice.getDelegatedMethods()) {
+					shape.append(';').append(delegatedMethod.toGenericString());
+				}
+				shape.append('|');
+			} else if (advice instanceof PassThroughAdvice) {
+				shape.append("pass-through");
+				for (String signature : ((PassThroughAdvice) advice).getSignatures()) {
+					shape.append(';').append(signature);
+				}
+				shape.append('|');
+			} else if (advice instanceof FrozenStateAdvice) {
+				shape.append("frozen-state|");
+			}
+		}
+		return ByteBuddyProxyGenerator.GENERATED_CLASS_PACKAGE + interfaces[0].getSimpleName() + "_P" + PersistentClassCache.fingerprint(shape.toString());
+	}
+
+	/**
+	 * Returns input classes of the proxy class of the passed shape - i.e. the classes which change makes the byte-code
+	 * of the proxy class stale.
+	 */
+	@Nonnull
+	static Class<?>[] getInputClasses(@Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorArguments, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		final List<Class<?>> inputClasses = new ArrayList<>(
+			interfaces.length + constructorArguments.length + 2 * generatedMemberAdvices.length + BACKEND_CLASSES.length
+		);
+		inputClasses.addAll(Arrays.asList(interfaces));
+		inputClasses.addAll(Arrays.asList(constructorArguments));
+		for (GeneratedMemberAdvice<?> advice : generatedMemberAdvices) {
+			// ADVICES DECIDE WHICH MEMBERS ARE GENERATED
+			inputClasses.add(advice.getClass());
+			if (advice instanceof DirectDelegationAdvice) {
+				inputClasses.add(((DirectDelegationAdvice<?>) advice).getDelegateType());
+			}
+		}
+		// THE GENERATOR ITSELF, THE CLASSES THE GENERATED CODE LINKS AGAINST AND THE LIBRARY IT USES
+		inputClasses.addAll(Arrays.asList(BACKEND_CLASSES));
+		return inputClasses.toArray(new Class<?>[0]);
+	}
+
+	/**
+	 * Returns pre-generated proxy class of passed name if it's present in the passed class loader, otherwise NULL.
+	 * The name carries the {@link #getBackendVersion() backend version}, so the class found was generated by the very
+	 * same backend.
+	 */
+	@Nullable
+	static Class<?> load(@Nonnull String className, @Nonnull Class<?>[] interfaces, @Nonnull ClassLoader classLoader) {
+		if (classLoader.getResource(className.replace('.', '/') + ".class") == null) {
+			return null;
+		}
+		try {
+			final Class<?> precompiledClass = Class.forName(className, false, classLoader);
+			return implementsAll(precompiledClass, interfaces) ? precompiledClass : null;
+		} catch (ClassNotFoundException | LinkageError e) {
+			// FALL BACK TO RUNTIME GENERATION
+			return null;
+		}
+	}
+
+	/**
+	 * Returns true if the class implements the very same interfaces - class of the same name visible from the parent
+	 * class loader may implement different classes of the same names.
+	 */
+	static boolean implementsAll(@Nonnull Class<?> proxyClass, @Nonnull Class<?>[] interfaces) {
+		for (Class<?> anInterface : interfaces) {
+			if (!anInterface.isAssignableFrom(proxyClass)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the slots assigned to the methods of the pre-generated class next to its class file.
+	 */
+	static void writeSlots(@Nonnull File outputDirectory, @Nonnull String className, @Nonnull Map<SignatureToken, Integer> slots) throws IOException {
+		final File slotsFile = new File(outputDirectory, className.replace('.', File.separatorChar) + SLOTS_SUFFIX);
+		Files.write(slotsFile.toPath(), formatSlots(slots).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads the slots assigned to the methods of the pre-generated class indexed by {@link #getSignature(SignatureToken)}.
+	 */
+	@Nonnull
+	static Map<String, Integer> readSlots(@Nonnull Class<?> precompiledClass) {
+		final String resourceName = precompiledClass.getSimpleName() + SLOTS_SUFFIX;
+		try (final InputStream is = precompiledClass.getResourceAsStream(resourceName)) {
+			if (is == null) {
+				throw new IllegalStateException("What the heck? Pre-generated class " + precompiledClass.getName() + " has no " + resourceName + " resource!");
+			}
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return parseSlots(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new IllegalStateException("What the heck? Can't read slots of pre-generated class " + precompiledClass.getName() + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Formats the slots assigned to the methods as lines of the slot and the method signature separated by tab.
+	 */
+	@Nonnull
+	static String formatSlots(@Nonnull Map<SignatureToken, Integer> slots) {
+		final StringBuilder sb = new StringBuilder(slots.size() * 48);
+		for (Entry<SignatureToken, Integer> entry : slots.entrySet()) {
+			sb.append(entry.getValue()).append('\t').append(getSignature(entry.getKey())).append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Parses the output of {@link #formatSlots(Map)} to the slots indexed by {@link #getSignature(SignatureToken)}.
+	 */
+	@Nonnull
+	static Map<String, Integer> parseSlots(@Nonnull String slots) {
+		final Map<String, Integer> result = new HashMap<>(64);
+		for (String line : slots.split("\n")) {
+			if (!line.isEmpty()) {
+				final int separator = line.indexOf('\t');
+				result.put(line.substring(separator + 1), Integer.parseInt(line.substring(0, separator)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns textual signature of the method - name followed by the method descriptor.
+	 */
+	@Nonnull
+	static String getSignature(@Nonnull SignatureToken signatureToken) {
+		return signatureToken.getName() + signatureToken.getDescriptor();
+	}
+
+}
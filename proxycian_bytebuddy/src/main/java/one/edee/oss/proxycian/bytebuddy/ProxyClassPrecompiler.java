@@ -0,0 +1,66 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.recipe.ProxyRecipeFactory;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generates proxy classes of the recipes provided by {@link ProxyRecipeFactory} implementations at build time and
+ * stores them into the output directory of the compiled classes. {@link ByteBuddyProxyGenerator} looks up these
+ * classes in the class loader before it generates the class on its own, so that the application doesn't pay for
+ * the byte-code generation at startup. Recipes not known at build time are still generated at runtime.
+ *
+ * Precompiler is run either by the Maven plugin or from command line:
+ *
+ * java -cp ... one.edee.oss.proxycian.bytebuddy.ProxyClassPrecompiler outputDirectory factoryClassName...
+ */
+public class ProxyClassPrecompiler {
+
+	private ProxyClassPrecompiler() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException("What the heck? Usage: ProxyClassPrecompiler outputDirectory factoryClassName...");
+		}
+		final List<String> classNames = precompile(
+			new File(args[0]),
+			Thread.currentThread().getContextClassLoader(),
+			Arrays.copyOfRange(args, 1, args.length)
+		);
+		for (String className : classNames) {
+			System.out.println("Pre-generated proxy class " + className);
+		}
+	}
+
+	/**
+	 * Instantiates passed {@link ProxyRecipeFactory} implementations in the passed class loader and generates proxy
+	 * classes of all their recipes into the output directory. Returns names of the generated classes.
+	 */
+	@Nonnull
+	public static List<String> precompile(@Nonnull File outputDirectory, @Nonnull ClassLoader classLoader, @Nonnull String... factoryClassNames) throws IOException {
+		final List<String> classNames = new ArrayList<>();
+		for (String factoryClassName : factoryClassNames) {
+			for (ProxyRecipe recipe : createFactory(factoryClassName, classLoader).createRecipes()) {
+				classNames.addAll(ByteBuddyProxyGenerator.precompileProxyClasses(recipe, outputDirectory));
+			}
+		}
+		return classNames;
+	}
+
+	@Nonnull
+	private static ProxyRecipeFactory createFactory(@Nonnull String factoryClassName, @Nonnull ClassLoader classLoader) {
+		try {
+			return (ProxyRecipeFactory) Class.forName(factoryClassName, true, classLoader).getConstructor().newInstance();
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new IllegalArgumentException("What the heck? Can't instantiate recipe factory " + factoryClassName + ": " + e.getMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.cache.ClassLocalCache;
+import one.edee.oss.proxycian.specialized.SuperMethodInvoker;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Invoker of the super / default implementation of the intercepted method through the method handle of the generic
+ * `(Object, Object[])Object` shape - the super method is invoked directly by {@link MethodHandle#invokeExact(Object...)}
+ * and not through the reflection.
+ *
+ * Invokers of the accessor methods ByteBuddy generates in the proxy class for calling super / default implementation
+ * (see {@link net.bytebuddy.implementation.bind.annotation.SuperMethod}) are cached by the accessor method and kept
+ * alongside the proxy class declaring it, so they don't prevent its class loader from being garbage collected.
+ */
+class SuperMethodHandleInvoker implements SuperMethodInvoker {
+	private static final ClassLocalCache<Method, SuperMethodHandleInvoker> CACHED_INVOKERS = new ClassLocalCache<>(Method::getDeclaringClass);
+	private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	/**
+	 * Method handle with type `(Object, Object[])Object` - i.e. accepting proxy instance and array of arguments.
+	 */
+	private final MethodHandle methodHandle;
+
+	/**
+	 * Creates invoker of the method handle accepting the proxy instance followed by the method arguments.
+	 */
+	SuperMethodHandleInvoker(@Nonnull MethodHandle methodHandle) {
+		this.methodHandle = methodHandle
+			.asSpreader(Object[].class, methodHandle.type().parameterCount() - 1)
+			.asType(GENERIC_INVOKER_TYPE);
+	}
+
+	/**
+	 * Returns cached invoker for the passed accessor method.
+	 */
+	@Nonnull
+	static SuperMethodHandleInvoker forAccessor(@Nonnull Method accessorMethod) {
+		SuperMethodHandleInvoker invoker = CACHED_INVOKERS.get(accessorMethod);
+		if (invoker == null) {
+			invoker = CACHED_INVOKERS.computeIfAbsent(accessorMethod, SuperMethodHandleInvoker::unreflect);
+		}
+		return invoker;
+	}
+
+	/**
+	 * Clears the cache of the invokers.
+	 */
+	static void clearCache() {
+		CACHED_INVOKERS.clear();
+	}
+
+	/**
+	 * Creates invoker of the accessor method.
+	 */
+	@Nonnull
+	private static SuperMethodHandleInvoker unreflect(@Nonnull Method accessorMethod) {
+		try {
+			return new SuperMethodHandleInvoker(MethodHandles.publicLookup().unreflect(accessorMethod));
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't access accessor method " + accessorMethod.toGenericString() + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public Object invoke(@Nonnull Object proxy, @Nonnull Object[] args) throws Throwable {
+		return (Object) methodHandle.invokeExact(proxy, args);
+	}
+
+}
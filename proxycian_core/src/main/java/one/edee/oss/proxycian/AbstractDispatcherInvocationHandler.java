@@ -1,27 +1,46 @@
 package one.edee.oss.proxycian;
 
 import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.MethodDispatchTable.DispatchSlots;
 import one.edee.oss.proxycian.trait.ProxyStateAccessor;
 import one.edee.oss.proxycian.trait.StandardJavaMethods;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public abstract class AbstractDispatcherInvocationHandler<T> implements DispatcherInvocationHandler {
-	/* proxyState object unique to each proxy instance */
+	private static final DispatchSlots[] NO_DISPATCH_SLOTS = new DispatchSlots[0];
+	/* count of dispatch slots remembered by the dispatcher - see getDispatchSlots */
+	private static final int MAX_REMEMBERED_DISPATCH_SLOTS = 8;
+	/* proxyState object unique to each proxy instance, NULL when the dispatcher is shared by multiple proxies */
 	protected final T proxyState;
 	/* contains objects that need to be part of the caching key */
 	protected final Object[] cacheKey;
 	/* ordered list of method classifications - ie atomic features of the proxy */
-	protected final List<MethodClassification<?, ?>> methodClassifications = new LinkedList<>();
+	protected final List<MethodClassification<?, ?>> methodClassifications;
+	/* slots of the dispatch tables resolved for this dispatcher, one for each proxy class and proxy state class - see DispatchMode.DISPATCH_TABLE */
+	private volatile DispatchSlots[] dispatchSlots = NO_DISPATCH_SLOTS;
+	/* index of the method classifications - lazily created when the first method is being resolved */
+	private MethodClassificationIndex classificationIndex;
 
     protected AbstractDispatcherInvocationHandler(T proxyState, MethodClassification<?, ?>... methodClassifications) {
 		this.proxyState = proxyState;
+		this.methodClassifications = new LinkedList<>();
 		// firstly add all standard Java Object features
 		this.methodClassifications.add(StandardJavaMethods.hashCodeMethodInvoker());
 		this.methodClassifications.add(StandardJavaMethods.equalsMethodInvoker());
@@ -45,7 +64,7 @@ public abstract class AbstractDispatcherInvocationHandler<T> implements Dispatch
 
 	protected AbstractDispatcherInvocationHandler(T proxyState, Collection<MethodClassification<?, ?>> methodClassifications) {
 		this.proxyState = proxyState;
-		this.methodClassifications.addAll(methodClassifications);
+		this.methodClassifications = new LinkedList<>(methodClassifications);
 		// now compute the cache key
 		this.cacheKey = this.methodClassifications
 			.stream()
@@ -55,21 +74,179 @@ public abstract class AbstractDispatcherInvocationHandler<T> implements Dispatch
 			.toArray(Object[]::new);
 	}
 
+	/**
+	 * Creates dispatcher for the passed proxy state that shares the method classifications, the cache key and
+	 * the classification index with the template dispatcher. Template must not be modified afterwards - it's meant for
+	 * the factories that create many dispatchers of the same recipe.
+	 */
+	protected AbstractDispatcherInvocationHandler(T proxyState, AbstractDispatcherInvocationHandler<?> template) {
+		this.proxyState = proxyState;
+		this.methodClassifications = template.methodClassifications;
+		this.cacheKey = template.cacheKey;
+		this.classificationIndex = template.getClassificationIndex();
+	}
+
 	protected abstract void addImplementationSpecificInvokers(List<MethodClassification<?, ?>> methodClassifications);
 
-	@SuppressWarnings("unchecked")
 	protected <U> CurriedMethodContextInvocationHandler<T, U> getCurriedMethodContextInvocationHandler(Method method) {
-        return methodClassifications.stream()
-                //create curried invocation handler (invocation handler curried with method state)
-                .map(methodClassification -> ((MethodClassification<U, T>)methodClassification).createCurriedMethodContextInvocationHandler(method, proxyState))
-	            //filter out empty results - NULL results means no match
-	            .filter(Objects::nonNull)
-				//return first matching curried method context
-                .findFirst()
-                //return missing invocation handler throwing exception
-                .orElse(StandardJavaMethods.missingImplementationInvoker());
+		return getCurriedMethodContextInvocationHandler(proxyState, method);
+	}
+
+	/**
+	 * Classifies the method for the passed proxy state. Dispatchers shared by multiple proxies don't hold any proxy
+	 * state themselves - the proxy passes its own state on each call.
+	 */
+	protected <U> CurriedMethodContextInvocationHandler<T, U> getCurriedMethodContextInvocationHandler(@Nonnull Object proxyState, @Nonnull Method method) {
+		final MethodClassificationIndex index = getClassificationIndex();
+		// CLASSIFICATION HAPPENS ONLY ON CACHE MISS - RECORD IT SO THAT IT COULD BE RESOLVED UP FRONT ON NEXT START
+		WarmUpRecorder.recordMethod(proxyState, method);
+		//return first matching curried method context (invocation handler curried with method state)
+		final CurriedMethodContextInvocationHandler<T, U> invocationHandler = index.resolve(method, proxyState);
+		//return missing invocation handler throwing exception if there is no match
+		return invocationHandler == null ? StandardJavaMethods.missingImplementationInvoker() : invocationHandler;
     }
 
+	/**
+	 * Returns index of the method classifications - it's created lazily when it's requested for the first time.
+	 */
+	@Nonnull
+	private MethodClassificationIndex getClassificationIndex() {
+		MethodClassificationIndex index = this.classificationIndex;
+		if (index == null) {
+			index = new MethodClassificationIndex(methodClassifications);
+			this.classificationIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns invocation handler for the method in the slot of the dispatch table. The slot is resolved only once for
+	 * the combination of the proxy class, proxy state class and the cache key - all subsequent calls are just array
+	 * lookups.
+	 */
+	protected <U> CurriedMethodContextInvocationHandler<T, U> getCurriedMethodContextInvocationHandler(@Nonnull MethodDispatchTable dispatchTable, int slot, @Nonnull Method method) {
+		return getCurriedMethodContextInvocationHandler(proxyState, dispatchTable, slot, method);
+	}
+
+	/**
+	 * Returns invocation handler for the method in the slot of the dispatch table resolved for the passed proxy state.
+	 * See {@link #getCurriedMethodContextInvocationHandler(MethodDispatchTable, int, Method)}.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <U> CurriedMethodContextInvocationHandler<T, U> getCurriedMethodContextInvocationHandler(@Nonnull Object proxyState, @Nonnull MethodDispatchTable dispatchTable, int slot, @Nonnull Method method) {
+		final DispatchSlots slots = getDispatchSlots(dispatchTable, proxyState.getClass());
+		CurriedMethodContextInvocationHandler<T, U> invocationHandler = (CurriedMethodContextInvocationHandler<T, U>) slots.get(slot);
+		if (invocationHandler == null) {
+			invocationHandler = getCurriedMethodContextInvocationHandler(proxyState, method);
+			slots.set(slot, invocationHandler);
+		}
+		return invocationHandler;
+	}
+
+	/**
+	 * Returns slots of the dispatch table valid for this dispatcher. Dispatchers sharing the same proxy state class
+	 * and the cache key share the same (identical) slots instance.
+	 */
+	@Nonnull
+	protected DispatchSlots getDispatchSlots(@Nonnull MethodDispatchTable dispatchTable) {
+		return getDispatchSlots(dispatchTable, proxyState.getClass());
+	}
+
+	/**
+	 * Returns slots of the dispatch table valid for this dispatcher and the passed proxy state class. Dispatcher
+	 * remembers the slots of several proxy classes and proxy state classes in the small array, so that the dispatcher
+	 * shared by proxies of different proxy state classes finds their slots without any allocation. Only the slots of
+	 * a combination that isn't remembered are looked up in the dispatch table.
+	 */
+	@Nonnull
+	protected DispatchSlots getDispatchSlots(@Nonnull MethodDispatchTable dispatchTable, @Nonnull Class<?> proxyStateClass) {
+		final DispatchSlots[] rememberedSlots = this.dispatchSlots;
+		for (DispatchSlots slots : rememberedSlots) {
+			if (slots.isValidFor(dispatchTable, proxyStateClass)) {
+				return slots;
+			}
+		}
+		final DispatchSlots slots = dispatchTable.getSlots(proxyStateClass, cacheKey);
+		remember(rememberedSlots, slots);
+		return slots;
+	}
+
+	/**
+	 * Adds the slots to the remembered ones. Array is never modified - it's replaced by the copy without the invalidated
+	 * slots, the oldest slots are dropped when the array is full. Slots concurrently remembered by other thread may get
+	 * lost, they're just looked up again.
+	 */
+	private void remember(@Nonnull DispatchSlots[] rememberedSlots, @Nonnull DispatchSlots slots) {
+		final DispatchSlots[] newSlots = new DispatchSlots[Math.min(rememberedSlots.length + 1, MAX_REMEMBERED_DISPATCH_SLOTS)];
+		newSlots[0] = slots;
+		int index = 1;
+		for (int i = 0; i < rememberedSlots.length && index < newSlots.length; i++) {
+			if (rememberedSlots[i].isValid()) {
+				newSlots[index++] = rememberedSlots[i];
+			}
+		}
+		this.dispatchSlots = index == newSlots.length ? newSlots : Arrays.copyOf(newSlots, index);
+	}
+
+	/**
+	 * Resolves invocation handlers of all slots of the dispatch table that know their method. See
+	 * {@link #resolveEagerly(Class, Collection, Function)}.
+	 */
+	protected void resolveEagerly(@Nonnull Class<?> proxyClass, @Nonnull MethodDispatchTable dispatchTable) {
+		final Map<Method, Integer> slotMethods = new LinkedHashMap<>(dispatchTable.getSlotCount());
+		for (int slot = 0; slot < dispatchTable.getSlotCount(); slot++) {
+			final Method method = dispatchTable.getMethod(slot);
+			if (method != null) {
+				slotMethods.putIfAbsent(method, slot);
+			}
+		}
+		resolveEagerly(
+			proxyClass, slotMethods.keySet(),
+			method -> getCurriedMethodContextInvocationHandler(dispatchTable, slotMethods.get(method), method)
+		);
+	}
+
+	/**
+	 * Resolves invocation handlers of the slots of the dispatch table that belong to the passed methods. Methods
+	 * without a slot in the dispatch table are ignored.
+	 */
+	protected void resolve(@Nonnull MethodDispatchTable dispatchTable, @Nonnull Collection<Method> methods) {
+		final Set<Method> methodsToResolve = new HashSet<>(methods);
+		for (int slot = 0; slot < dispatchTable.getSlotCount(); slot++) {
+			final Method method = dispatchTable.getMethod(slot);
+			if (method != null && methodsToResolve.contains(method)) {
+				getCurriedMethodContextInvocationHandler(dispatchTable, slot, method);
+			}
+		}
+	}
+
+	/**
+	 * Resolves invocation handlers of all passed methods of the proxy class up front so that no classification happens
+	 * on the first call of the method. Handlers are resolved (and cached) by the passed resolver.
+	 *
+	 * @throws IllegalStateException when any of the abstract methods is not matched by any classification - such
+	 *                               proxy would fail on the first call of this method
+	 */
+	protected void resolveEagerly(@Nonnull Class<?> proxyClass, @Nonnull Collection<Method> methods, @Nonnull Function<Method, CurriedMethodContextInvocationHandler<?, ?>> resolver) {
+		List<Method> unmatchedMethods = null;
+		for (Method method : methods) {
+			final CurriedMethodContextInvocationHandler<?, ?> invocationHandler = resolver.apply(method);
+			if (Modifier.isAbstract(method.getModifiers()) && StandardJavaMethods.isMissingImplementationInvoker(invocationHandler)) {
+				if (unmatchedMethods == null) {
+					unmatchedMethods = new LinkedList<>();
+				}
+				unmatchedMethods.add(method);
+			}
+		}
+		if (unmatchedMethods != null) {
+			throw new IllegalStateException(
+				"What the heck? Proxy " + proxyClass.getName() + " with state " + proxyState.getClass().getName() +
+					" has no implementation for methods: " +
+					unmatchedMethods.stream().map(Method::toGenericString).collect(Collectors.joining(", "))
+			);
+		}
+	}
+
 	protected ClassMethodCacheKey createCacheKey(@Nonnull Class<?> aClass, @Nonnull Class<?> proxyStateClazz, @Nonnull Method method) {
 		return new ClassMethodCacheKey(aClass, proxyStateClazz, method, cacheKey);
 	}
@@ -0,0 +1,87 @@
+package one.edee.oss.proxycian;
+
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Factory of the proxies compiled from the {@link ProxyRecipe} by the proxy generator. Everything that doesn't depend
+ * on the proxy state - the proxy class, its constructor, the method classifications of the recipe and their index -
+ * is prepared once when the factory is compiled, so that creating the proxy is just a constructor call. Factory is
+ * thread safe and is meant to be kept and reused for all proxies of the recipe.
+ */
+public interface CompiledProxyFactory<T> {
+	/**
+	 * Minimal count of the proxies created by the bulk methods that is split among the threads of the common
+	 * fork-join pool. Smaller batches are created in the calling thread.
+	 */
+	int PARALLEL_THRESHOLD = 4096;
+
+	/**
+	 * Creates new proxy that uses passed `proxyState` object as proxy internal memory.
+	 */
+	@Nonnull
+	T instantiate(@Nonnull Object proxyState);
+
+	/**
+	 * Creates new proxy that uses passed `proxyState` object as proxy internal memory. Passed constructor arguments
+	 * must match the constructor types the factory was compiled for.
+	 */
+	@Nonnull
+	T instantiate(@Nonnull Object proxyState, @Nonnull Object[] constructorArgs);
+
+	/**
+	 * Creates proxy for each of the passed proxy states. Proxies are returned in the array of the same size and order
+	 * created by `arrayFactory` (usually `Type[]::new`). Batches larger than {@link #PARALLEL_THRESHOLD} are created
+	 * in parallel.
+	 */
+	@Nonnull
+	default T[] instantiateAll(@Nonnull Object[] proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		final T[] proxies = arrayFactory.apply(proxyStates.length);
+		final IntStream indexes = IntStream.range(0, proxyStates.length);
+		(proxyStates.length < PARALLEL_THRESHOLD ? indexes : indexes.parallel())
+			.forEach(i -> proxies[i] = instantiate(proxyStates[i]));
+		return proxies;
+	}
+
+	/**
+	 * Creates proxy for each of the passed proxy states. See {@link #instantiateAll(Object[], IntFunction)}.
+	 */
+	@Nonnull
+	default T[] instantiateAll(@Nonnull List<?> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return instantiateAll(proxyStates.toArray(), arrayFactory);
+	}
+
+	/**
+	 * Creates proxy for each of the proxy states of the stream. Proxies are created in parallel only when the passed
+	 * stream is parallel - array of the proxies is pre-sized when the size of the stream is known.
+	 */
+	@Nonnull
+	default T[] instantiateAll(@Nonnull Stream<?> proxyStates, @Nonnull IntFunction<T[]> arrayFactory) {
+		return proxyStates.map(this::instantiate).toArray(arrayFactory);
+	}
+
+	/**
+	 * Creates proxy for each of the passed proxy states using constructor arguments on the same index. Constructor
+	 * arguments must match the constructor types the factory was compiled for. See {@link #instantiateAll(Object[], IntFunction)}.
+	 */
+	@Nonnull
+	default T[] instantiateAll(@Nonnull Object[] proxyStates, @Nonnull Object[][] constructorArgs, @Nonnull IntFunction<T[]> arrayFactory) {
+		if (proxyStates.length != constructorArgs.length) {
+			throw new IllegalArgumentException(
+				"What the heck? Count of the proxy states (" + proxyStates.length + ") differs from the count " +
+					"of the constructor arguments (" + constructorArgs.length + ")!"
+			);
+		}
+		final T[] proxies = arrayFactory.apply(proxyStates.length);
+		final IntStream indexes = IntStream.range(0, proxyStates.length);
+		(proxyStates.length < PARALLEL_THRESHOLD ? indexes : indexes.parallel())
+			.forEach(i -> proxies[i] = instantiate(proxyStates[i], constructorArgs[i]));
+		return proxies;
+	}
+
+}
@@ -1,7 +1,5 @@
 package one.edee.oss.proxycian;
 
-import lombok.RequiredArgsConstructor;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
@@ -14,7 +12,6 @@ import java.util.function.BiFunction;
  * logic for method context creation for multiple implementation paths. This variant of {@link MethodClassification}
  * is suitable for complex method signature matching logic with multiple different outputs.
  */
-@RequiredArgsConstructor
 public class DirectMethodClassification<PROXY, PROXY_STATE> implements MethodClassification<PROXY, PROXY_STATE> {
 
 	/**
@@ -23,17 +20,44 @@ public class DirectMethodClassification<PROXY, PROXY_STATE> implements MethodCla
 	 **/
 	private final String description;
 
+	/**
+	 * Declarative matcher the method must satisfy before {@link #invocationHandlerFactory} is asked or NULL if
+	 * the factory does all the matching on its own.
+	 **/
+	@Nullable private final MethodMatcher methodMatcher;
+
 	/**
 	 * This factory function creates method context (ie. parsed data from method name, annotations and so on)
 	 **/
 	private final BiFunction<Method, PROXY_STATE, CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE>> invocationHandlerFactory;
 
+	public DirectMethodClassification(String description, BiFunction<Method, PROXY_STATE, CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE>> invocationHandlerFactory) {
+		this.description = description;
+		this.methodMatcher = null;
+		this.invocationHandlerFactory = invocationHandlerFactory;
+	}
+
+	public DirectMethodClassification(String description, MethodMatcher methodMatcher, BiFunction<Method, PROXY_STATE, CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE>> invocationHandlerFactory) {
+		this.description = description;
+		this.methodMatcher = methodMatcher;
+		this.invocationHandlerFactory = invocationHandlerFactory;
+	}
+
 	@Nullable
 	@Override
 	public CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> createCurriedMethodContextInvocationHandler(@Nonnull Method classificationMethod, @Nonnull PROXY_STATE proxyState) {
+		if (methodMatcher != null && !methodMatcher.test(classificationMethod)) {
+			return null;
+		}
 		return invocationHandlerFactory.apply(classificationMethod, proxyState);
 	}
 
+	@Nullable
+	@Override
+	public MethodMatcher getMethodMatcher() {
+		return methodMatcher;
+	}
+
 	@Override
 	public String toString() {
 		return description;
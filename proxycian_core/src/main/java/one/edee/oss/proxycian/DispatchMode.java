@@ -0,0 +1,37 @@
+package one.edee.oss.proxycian;
+
+import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+
+/**
+ * Dispatch mode controls how the generated proxy class locates {@link CurriedMethodContextInvocationHandler} for
+ * the called method. Dispatch mode is part of the proxy class contract - proxy classes generated for the same set
+ * of interfaces but with different dispatch mode are different classes.
+ */
+public enum DispatchMode {
+
+	/**
+	 * Each method call creates {@link ClassMethodCacheKey} and looks up the resolved invocation handler in the static
+	 * classification cache of the generator. This is the original (and default) behaviour.
+	 */
+	CLASSIFICATION_CACHE,
+
+	/**
+	 * Each method of the proxy class gets its own slot in the {@link MethodDispatchTable} bound to the proxy class.
+	 * The invocation handler is resolved once per slot and each subsequent method call is a simple indexed array
+	 * load without any key allocation or map lookup.
+	 */
+	DISPATCH_TABLE,
+
+	/**
+	 * Each method of the proxy class calls its own {@code invokedynamic} call site that gets linked directly to
+	 * the resolved invocation handler, so that the JIT can inline it. Call sites are guarded by a switch point that
+	 * is invalidated when the classification cache is cleared - there is no per-call check for that. The call site
+	 * re-links itself when called on proxy with different proxy state class or cache key and falls back to
+	 * the {@link #DISPATCH_TABLE} lookup when it sees too many of them.
+	 *
+	 * Generators that cannot emit custom method bodies treat this mode as {@link #DISPATCH_TABLE}.
+	 */
+	INVOKE_DYNAMIC
+
+}
@@ -31,6 +31,16 @@ public interface MethodClassification<PROXY, PROXY_STATE> {
 	@Nullable
 	CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> createCurriedMethodContextInvocationHandler(@Nonnull Method classificationMethod, @Nonnull PROXY_STATE proxyState);
 
+	/**
+	 * Returns declarative matcher that all methods matched by this classification satisfy or NULL if the classification
+	 * uses opaque matching logic only. Matcher allows {@link MethodClassificationIndex} to skip this classification
+	 * for methods it can't match.
+	 */
+	@Nullable
+	default MethodMatcher getMethodMatcher() {
+		return null;
+	}
+
 	/**
 	 * Shortcut method context when we don't need any context.
 	 */
@@ -0,0 +1,154 @@
+package one.edee.oss.proxycian;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index of the ordered list of {@link MethodClassification} that speeds up looking up the first classification matching
+ * the method. Classifications exposing declarative {@link MethodClassification#getMethodMatcher()} are indexed by their
+ * method name (exact or prefix), declaring type, return type and parameter count. When resolving the method only
+ * classifications with compatible constraints in all indexed attributes (or no constraints at all) are evaluated - so
+ * that the resolution doesn't pay for the classifications that cannot match the method.
+ *
+ * Candidates are evaluated in the original order of the classifications and the first one that returns the invocation
+ * handler wins - the result is therefore the same as the one of the linear scan of the classification list.
+ */
+public class MethodClassificationIndex {
+	/**
+	 * Indexed classifications in their original order.
+	 */
+	private final MethodClassification<?, ?>[] classifications;
+	/**
+	 * Classifications that don't constrain method name.
+	 */
+	private final BitSet anyName;
+	/**
+	 * Classifications with constrained exact method name.
+	 */
+	private final Map<String, BitSet> byName;
+	/**
+	 * Constrained method name prefixes - index in this array is the same as index in {@link #byNamePrefixSets}.
+	 */
+	private final String[] namePrefixes;
+	/**
+	 * Classifications with constrained method name prefix.
+	 */
+	private final BitSet[] byNamePrefixSets;
+	/**
+	 * Classifications indexed by the class that declares the method.
+	 */
+	private final AttributeIndex<Class<?>> byDeclaringType;
+	/**
+	 * Classifications indexed by the return type of the method.
+	 */
+	private final AttributeIndex<Class<?>> byReturnType;
+	/**
+	 * Classifications indexed by the count of method parameters.
+	 */
+	private final AttributeIndex<Integer> byParameterCount;
+
+	public MethodClassificationIndex(@Nonnull Collection<MethodClassification<?, ?>> classifications) {
+		this.classifications = classifications.toArray(new MethodClassification[0]);
+		this.anyName = new BitSet(this.classifications.length);
+		this.byName = new HashMap<>();
+		final Map<String, BitSet> byNamePrefix = new HashMap<>();
+		final MethodMatcher[] matchers = new MethodMatcher[this.classifications.length];
+		for (int i = 0; i < this.classifications.length; i++) {
+			final MethodMatcher matcher = this.classifications[i].getMethodMatcher();
+			matchers[i] = matcher;
+			if (matcher == null || (matcher.getName() == null && matcher.getNamePrefix() == null)) {
+				anyName.set(i);
+			} else if (matcher.getName() != null) {
+				byName.computeIfAbsent(matcher.getName(), name -> new BitSet(this.classifications.length)).set(i);
+			} else {
+				byNamePrefix.computeIfAbsent(matcher.getNamePrefix(), prefix -> new BitSet(this.classifications.length)).set(i);
+			}
+		}
+		this.namePrefixes = byNamePrefix.keySet().toArray(new String[0]);
+		this.byNamePrefixSets = new BitSet[namePrefixes.length];
+		for (int i = 0; i < namePrefixes.length; i++) {
+			this.byNamePrefixSets[i] = byNamePrefix.get(namePrefixes[i]);
+		}
+		this.byDeclaringType = new AttributeIndex<>(matchers, MethodMatcher::getDeclaringType);
+		this.byReturnType = new AttributeIndex<>(matchers, MethodMatcher::getReturnType);
+		this.byParameterCount = new AttributeIndex<>(matchers, MethodMatcher::getParameterCount);
+	}
+
+	/**
+	 * Returns curried invocation handler of the first classification matching passed method or NULL if no
+	 * classification matches it.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Nullable
+	public <PROXY, PROXY_STATE> CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> resolve(@Nonnull Method method, @Nonnull Object proxyState) {
+		final BitSet candidates = getCandidates(method);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			final CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> invocationHandler =
+				((MethodClassification) classifications[i]).createCurriedMethodContextInvocationHandler(method, proxyState);
+			if (invocationHandler != null) {
+				return invocationHandler;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns indexes of the classifications that may match the passed method. Indexes refer to the order of
+	 * the classifications passed in constructor.
+	 */
+	@Nonnull
+	BitSet getCandidates(@Nonnull Method method) {
+		final String methodName = method.getName();
+		final BitSet candidates = (BitSet) anyName.clone();
+		final BitSet namedCandidates = byName.get(methodName);
+		if (namedCandidates != null) {
+			candidates.or(namedCandidates);
+		}
+		for (int i = 0; i < namePrefixes.length; i++) {
+			if (methodName.startsWith(namePrefixes[i])) {
+				candidates.or(byNamePrefixSets[i]);
+			}
+		}
+		candidates.and(byDeclaringType.get(method.getDeclaringClass()));
+		candidates.and(byReturnType.get(method.getReturnType()));
+		candidates.and(byParameterCount.get(method.getParameterCount()));
+		return candidates;
+	}
+
+	/**
+	 * Index of the classifications by single attribute of the method. Each value set contains also all classifications
+	 * that don't constrain the attribute at all so that the lookup is a single hash map lookup.
+	 */
+	private static class AttributeIndex<T> {
+		private final BitSet unconstrained;
+		private final Map<T, BitSet> byValue;
+
+		AttributeIndex(@Nonnull MethodMatcher[] matchers, @Nonnull Function<MethodMatcher, T> attributeAccessor) {
+			this.unconstrained = new BitSet(matchers.length);
+			this.byValue = new HashMap<>();
+			for (int i = 0; i < matchers.length; i++) {
+				final T value = matchers[i] == null ? null : attributeAccessor.apply(matchers[i]);
+				if (value == null) {
+					unconstrained.set(i);
+				} else {
+					byValue.computeIfAbsent(value, key -> new BitSet(matchers.length)).set(i);
+				}
+			}
+			for (BitSet valueSet : byValue.values()) {
+				valueSet.or(unconstrained);
+			}
+		}
+
+		@Nonnull
+		BitSet get(@Nonnull T value) {
+			return byValue.getOrDefault(value, unconstrained);
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+package one.edee.oss.proxycian;
+
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Declarative form of the method matcher. Unlike opaque lambda matchers, the constraints of this matcher are visible
+ * to the {@link MethodClassificationIndex} that uses them to avoid evaluating classifications that cannot match
+ * the method at all.
+ *
+ * Matcher is immutable - each fluent method returns new instance. Constraints not expressible declaratively can be
+ * added by {@link #and(Predicate)} - they're evaluated only when all declarative constraints are satisfied.
+ */
+public class MethodMatcher {
+	private static final Class<?>[] EMPTY_CLASSES = new Class[0];
+	/**
+	 * Exact name of the method or NULL if the name is not constrained.
+	 */
+	@Getter @Nullable private final String name;
+	/**
+	 * Prefix of the method name or NULL if the name prefix is not constrained.
+	 */
+	@Getter @Nullable private final String namePrefix;
+	/**
+	 * Class that must declare the method or NULL if the declaring class is not constrained.
+	 */
+	@Getter @Nullable private final Class<?> declaringType;
+	/**
+	 * Return type of the method or NULL if the return type is not constrained.
+	 */
+	@Getter @Nullable private final Class<?> returnType;
+	/**
+	 * Count of method parameters or NULL if the count is not constrained.
+	 */
+	@Getter @Nullable private final Integer parameterCount;
+	/**
+	 * Exact parameter types of the method or NULL if the parameter types are not constrained.
+	 */
+	@Nullable private final Class<?>[] parameterTypes;
+	/**
+	 * Annotations that must be present on the method.
+	 */
+	@Nonnull private final Class<? extends Annotation>[] annotations;
+	/**
+	 * Additional (opaque) predicate or NULL if there is none.
+	 */
+	@Nullable private final Predicate<Method> additionalPredicate;
+
+	/**
+	 * Returns matcher that matches all methods.
+	 */
+	public static MethodMatcher anyMethod() {
+		return new MethodMatcher(null, null, null, null, null, null, emptyAnnotations(), null);
+	}
+
+	/**
+	 * Returns matcher that matches methods with exactly the same name.
+	 */
+	public static MethodMatcher named(@Nonnull String name) {
+		return new MethodMatcher(name, null, null, null, null, null, emptyAnnotations(), null);
+	}
+
+	/**
+	 * Returns matcher that matches methods which name starts with passed prefix.
+	 */
+	public static MethodMatcher nameStartingWith(@Nonnull String namePrefix) {
+		return new MethodMatcher(null, namePrefix, null, null, null, null, emptyAnnotations(), null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Annotation>[] emptyAnnotations() {
+		return (Class<? extends Annotation>[]) EMPTY_CLASSES;
+	}
+
+	private MethodMatcher(@Nullable String name, @Nullable String namePrefix, @Nullable Class<?> declaringType, @Nullable Class<?> returnType, @Nullable Integer parameterCount, @Nullable Class<?>[] parameterTypes, @Nonnull Class<? extends Annotation>[] annotations, @Nullable Predicate<Method> additionalPredicate) {
+		this.name = name;
+		this.namePrefix = namePrefix;
+		this.declaringType = declaringType;
+		this.returnType = returnType;
+		this.parameterCount = parameterCount;
+		this.parameterTypes = parameterTypes;
+		this.annotations = annotations;
+		this.additionalPredicate = additionalPredicate;
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods declared directly by the passed class.
+	 */
+	public MethodMatcher declaredBy(@Nonnull Class<?> declaringType) {
+		return new MethodMatcher(name, namePrefix, declaringType, returnType, parameterCount, parameterTypes, annotations, additionalPredicate);
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods with exactly the passed return type.
+	 */
+	public MethodMatcher returning(@Nonnull Class<?> returnType) {
+		return new MethodMatcher(name, namePrefix, declaringType, returnType, parameterCount, parameterTypes, annotations, additionalPredicate);
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods with passed count of parameters.
+	 */
+	public MethodMatcher withParameterCount(int parameterCount) {
+		if (parameterTypes != null && parameterTypes.length != parameterCount) {
+			throw new IllegalArgumentException("What the heck? Matcher already requires " + parameterTypes.length + " parameters!");
+		}
+		return new MethodMatcher(name, namePrefix, declaringType, returnType, parameterCount, parameterTypes, annotations, additionalPredicate);
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods with exactly the passed parameter types.
+	 */
+	public MethodMatcher withParameterTypes(@Nonnull Class<?>... parameterTypes) {
+		if (parameterCount != null && parameterCount != parameterTypes.length) {
+			throw new IllegalArgumentException("What the heck? Matcher already requires " + parameterCount + " parameters!");
+		}
+		return new MethodMatcher(name, namePrefix, declaringType, returnType, parameterTypes.length, parameterTypes.clone(), annotations, additionalPredicate);
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods annotated with passed annotation.
+	 */
+	public MethodMatcher annotatedWith(@Nonnull Class<? extends Annotation> annotation) {
+		final Class<? extends Annotation>[] newAnnotations = Arrays.copyOf(annotations, annotations.length + 1);
+		newAnnotations[annotations.length] = annotation;
+		return new MethodMatcher(name, namePrefix, declaringType, returnType, parameterCount, parameterTypes, newAnnotations, additionalPredicate);
+	}
+
+	/**
+	 * Returns copy of this matcher that matches only methods that satisfy also passed predicate.
+	 */
+	public MethodMatcher and(@Nonnull Predicate<Method> predicate) {
+		return new MethodMatcher(
+			name, namePrefix, declaringType, returnType, parameterCount, parameterTypes, annotations,
+			additionalPredicate == null ? predicate : additionalPredicate.and(predicate)
+		);
+	}
+
+	/**
+	 * Returns true if passed method satisfies all constraints of this matcher.
+	 */
+	public boolean test(@Nonnull Method method) {
+		if (name != null && !name.equals(method.getName())) {
+			return false;
+		}
+		if (namePrefix != null && !method.getName().startsWith(namePrefix)) {
+			return false;
+		}
+		if (declaringType != null && declaringType != method.getDeclaringClass()) {
+			return false;
+		}
+		if (returnType != null && returnType != method.getReturnType()) {
+			return false;
+		}
+		if (parameterCount != null && parameterCount != method.getParameterCount()) {
+			return false;
+		}
+		if (parameterTypes != null && !Arrays.equals(parameterTypes, method.getParameterTypes())) {
+			return false;
+		}
+		for (Class<? extends Annotation> annotation : annotations) {
+			if (!method.isAnnotationPresent(annotation)) {
+				return false;
+			}
+		}
+		return additionalPredicate == null || additionalPredicate.test(method);
+	}
+
+	@Override
+	public String toString() {
+		final List<String> constraints = new LinkedList<>();
+		if (name != null) {
+			constraints.add("named `" + name + "`");
+		}
+		if (namePrefix != null) {
+			constraints.add("name starting with `" + namePrefix + "`");
+		}
+		if (declaringType != null) {
+			constraints.add("declared by " + declaringType.getName());
+		}
+		if (returnType != null) {
+			constraints.add("returning " + returnType.getName());
+		}
+		if (parameterTypes != null) {
+			constraints.add("with parameters " + Arrays.toString(parameterTypes));
+		} else if (parameterCount != null) {
+			constraints.add("with " + parameterCount + " parameters");
+		}
+		for (Class<? extends Annotation> annotation : annotations) {
+			constraints.add("annotated with @" + annotation.getSimpleName());
+		}
+		if (additionalPredicate != null) {
+			constraints.add("matching additional predicate");
+		}
+		return constraints.isEmpty() ? "any method" : String.join(", ", constraints);
+	}
+
+}
@@ -1,7 +1,5 @@
 package one.edee.oss.proxycian;
 
-import lombok.RequiredArgsConstructor;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
@@ -18,7 +16,6 @@ import java.util.function.BiPredicate;
  * Predicate and result of transformation lambda are cached and thus only {@link #invocationHandler} is executed for
  * second and additional calls of the same method on the proxy.
  */
-@RequiredArgsConstructor
 public class PredicateMethodClassification<PROXY, METHOD_CONTEXT, PROXY_STATE> implements MethodClassification<PROXY, PROXY_STATE> {
 
 	/**
@@ -27,6 +24,11 @@ public class PredicateMethodClassification<PROXY, METHOD_CONTEXT, PROXY_STATE> i
 	 **/
 	private final String description;
 
+	/**
+	 * Declarative form of the {@link #methodMatcher} or NULL if the classification was created with opaque predicate.
+	 **/
+	@Nullable private final MethodMatcher declarativeMatcher;
+
 	/**
 	 * This predicate checks method and returns true only if this classification should be applied on method
 	 **/
@@ -46,6 +48,22 @@ public class PredicateMethodClassification<PROXY, METHOD_CONTEXT, PROXY_STATE> i
 	 */
 	private final MethodInvocationHandler<PROXY, METHOD_CONTEXT, PROXY_STATE> invocationHandler;
 
+	public PredicateMethodClassification(String description, BiPredicate<Method, PROXY_STATE> methodMatcher, BiFunction<Method, PROXY_STATE, METHOD_CONTEXT> methodContextFactory, MethodInvocationHandler<PROXY, METHOD_CONTEXT, PROXY_STATE> invocationHandler) {
+		this.description = description;
+		this.declarativeMatcher = null;
+		this.methodMatcher = methodMatcher;
+		this.methodContextFactory = methodContextFactory;
+		this.invocationHandler = invocationHandler;
+	}
+
+	public PredicateMethodClassification(String description, MethodMatcher methodMatcher, BiFunction<Method, PROXY_STATE, METHOD_CONTEXT> methodContextFactory, MethodInvocationHandler<PROXY, METHOD_CONTEXT, PROXY_STATE> invocationHandler) {
+		this.description = description;
+		this.declarativeMatcher = methodMatcher;
+		this.methodMatcher = (method, proxyState) -> methodMatcher.test(method);
+		this.methodContextFactory = methodContextFactory;
+		this.invocationHandler = invocationHandler;
+	}
+
 	@Nullable
 	@Override
 	public CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> createCurriedMethodContextInvocationHandler(@Nonnull Method classificationMethod, @Nonnull PROXY_STATE proxyState) {
@@ -59,6 +77,12 @@ public class PredicateMethodClassification<PROXY, METHOD_CONTEXT, PROXY_STATE> i
 		}
 	}
 
+	@Nullable
+	@Override
+	public MethodMatcher getMethodMatcher() {
+		return declarativeMatcher;
+	}
+
 	@Override
 	public String toString() {
 		return description;
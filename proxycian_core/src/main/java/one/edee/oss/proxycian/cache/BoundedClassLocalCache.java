@@ -0,0 +1,292 @@
+package one.edee.oss.proxycian.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link ClassLocalCache} with optional upper bound of its size. When the count of the cached values exceeds
+ * the maximum size, entries are evicted according to the {@link EvictionPolicy} down to 90% of the maximum size so
+ * that the eviction cost is amortized over multiple insertions. Cache is unbounded by default.
+ *
+ * Cache protects against stampedes - when multiple threads miss the same key at once, only the first one computes
+ * the value (outside any lock) and the others wait for the result of this very key. Invalidation might be scoped to
+ * the single owner class or to the keys matching the predicate so that unrelated entries needn't be resolved again.
+ */
+public class BoundedClassLocalCache<K, V> {
+	private static final Comparator<EvictionCandidate<?, ?>> LRU_ORDER = Comparator.comparingLong(it -> it.lastAccess);
+	private static final Comparator<EvictionCandidate<?, ?>> LFU_ORDER = Comparator.<EvictionCandidate<?, ?>>comparingLong(it -> it.hits)
+		.thenComparingLong(it -> it.lastAccess);
+	private final ClassLocalCache<K, CacheEntry<V>> entries;
+	private final Function<K, Class<?>> ownerResolver;
+	/**
+	 * Logical clock used for recording the last access to the entries. The clock advances only when new value is
+	 * inserted so that reading values doesn't contend on it - values read since the last insertion are considered
+	 * to be used equally recently.
+	 */
+	private final AtomicLong clock = new AtomicLong();
+	/**
+	 * Approximate count of the cached values - recomputed precisely on each eviction.
+	 */
+	private final AtomicInteger approximateSize = new AtomicInteger();
+	/**
+	 * Lock ensuring that only one thread evicts the entries at a time - other threads don't wait for it.
+	 */
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private volatile int maximumSize = Integer.MAX_VALUE;
+	private volatile EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+	public BoundedClassLocalCache(@Nonnull Function<K, Class<?>> ownerResolver) {
+		this.ownerResolver = ownerResolver;
+		this.entries = new ClassLocalCache<>(ownerResolver);
+	}
+
+	/**
+	 * Sets maximum count of the cached values and the policy that selects the values to evict when the count is
+	 * exceeded. Exceeding entries are evicted immediately.
+	 */
+	public void configure(int maximumSize, @Nonnull EvictionPolicy evictionPolicy) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("What the heck? Maximum size of the cache must be positive, but was " + maximumSize + "!");
+		}
+		this.maximumSize = maximumSize;
+		this.evictionPolicy = evictionPolicy;
+		evictIfNecessary();
+	}
+
+	/**
+	 * Returns value cached for the key or NULL if there is none (or it's still being computed).
+	 */
+	@Nullable
+	public V get(@Nonnull K key) {
+		final CacheEntry<V> entry = this.entries.get(key);
+		if (entry != null && entry.isDone() && !entry.isCompletedExceptionally()) {
+			recordAccess(entry);
+			return entry.join();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns value cached for the key or computes it by the passed function. Function is called at most once for
+	 * the key at any time - concurrent requests for the same key wait for the result of the first one.
+	 */
+	@Nonnull
+	public V computeIfAbsent(@Nonnull K key, @Nonnull Function<? super K, ? extends V> valueFactory) {
+		final ConcurrentMap<K, CacheEntry<V>> segment = this.entries.getSegment(this.ownerResolver.apply(key));
+		CacheEntry<V> entry = segment.get(key);
+		if (entry == null) {
+			final CacheEntry<V> newEntry = new CacheEntry<>(Thread.currentThread());
+			entry = segment.putIfAbsent(key, newEntry);
+			if (entry == null) {
+				return compute(segment, key, newEntry, valueFactory);
+			}
+		}
+		return await(key, entry);
+	}
+
+	/**
+	 * Stores value for the key.
+	 */
+	public void put(@Nonnull K key, @Nonnull V value) {
+		final CacheEntry<V> entry = new CacheEntry<>(null);
+		entry.lastAccess = this.clock.incrementAndGet();
+		entry.complete(value);
+		if (this.entries.getSegment(this.ownerResolver.apply(key)).put(key, entry) == null) {
+			this.approximateSize.incrementAndGet();
+			evictIfNecessary();
+		}
+	}
+
+	/**
+	 * Removes all values cached for the passed owner class.
+	 */
+	public void invalidate(@Nonnull Class<?> ownerType) {
+		final ConcurrentMap<K, CacheEntry<V>> segment = this.entries.getSegment(ownerType);
+		this.approximateSize.addAndGet(-segment.size());
+		segment.clear();
+	}
+
+	/**
+	 * Removes all values which keys match the passed predicate.
+	 */
+	public void invalidate(@Nonnull Predicate<K> keyPredicate) {
+		for (ConcurrentMap<K, CacheEntry<V>> segment : this.entries.getSegments()) {
+			segment.keySet().removeIf(keyPredicate);
+		}
+		this.approximateSize.set(size());
+	}
+
+	/**
+	 * Returns count of the values cached for all owner classes that are still alive.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns true if there is no value cached for any owner class that is still alive.
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Removes all cached values.
+	 */
+	public void clear() {
+		this.entries.clear();
+		this.approximateSize.set(0);
+	}
+
+	/**
+	 * Computes the value by the factory and publishes it to all waiting threads.
+	 */
+	@Nonnull
+	private V compute(@Nonnull ConcurrentMap<K, CacheEntry<V>> segment, @Nonnull K key, @Nonnull CacheEntry<V> entry, @Nonnull Function<? super K, ? extends V> valueFactory) {
+		final V value;
+		try {
+			value = valueFactory.apply(key);
+		} catch (RuntimeException | Error ex) {
+			// ALLOW NEXT REQUEST TO TRY IT AGAIN
+			segment.remove(key, entry);
+			entry.computingThread = null;
+			entry.completeExceptionally(ex);
+			throw ex;
+		}
+		entry.computingThread = null;
+		entry.lastAccess = this.clock.incrementAndGet();
+		entry.complete(value);
+		this.approximateSize.incrementAndGet();
+		evictIfNecessary();
+		return value;
+	}
+
+	/**
+	 * Waits for the value computed by other thread.
+	 */
+	@Nonnull
+	private V await(@Nonnull K key, @Nonnull CacheEntry<V> entry) {
+		if (!entry.isDone() && entry.computingThread == Thread.currentThread()) {
+			throw new IllegalStateException("What the heck? Value for " + key + " is requested recursively during its own computation!");
+		}
+		try {
+			final V value = entry.join();
+			recordAccess(entry);
+			return value;
+		} catch (CompletionException ex) {
+			final Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Records access to the entry - statistics are collected only when the cache is bounded.
+	 */
+	private void recordAccess(@Nonnull CacheEntry<V> entry) {
+		if (this.maximumSize != Integer.MAX_VALUE) {
+			entry.recordAccess(this.clock.get());
+		}
+	}
+
+	/**
+	 * Evicts the entries when the cache exceeds its maximum size. If other thread is already evicting, the method
+	 * returns immediately.
+	 */
+	private void evictIfNecessary() {
+		final int maximumSize = this.maximumSize;
+		if (this.approximateSize.get() <= maximumSize || !this.evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			final List<EvictionCandidate<K, V>> candidates = new ArrayList<>();
+			for (ConcurrentMap<K, CacheEntry<V>> segment : this.entries.getSegments()) {
+				for (Entry<K, CacheEntry<V>> entry : segment.entrySet()) {
+					// ENTRIES BEING COMPUTED ARE NEVER EVICTED
+					if (entry.getValue().isDone()) {
+						candidates.add(new EvictionCandidate<>(segment, entry.getKey(), entry.getValue()));
+					}
+				}
+			}
+			int size = candidates.size();
+			if (size > maximumSize) {
+				candidates.sort(this.evictionPolicy == EvictionPolicy.LFU ? LFU_ORDER : LRU_ORDER);
+				// EVICT LITTLE BIT MORE SO THAT THE NEXT INSERTIONS DON'T TRIGGER EVICTION AGAIN
+				final int targetSize = maximumSize - maximumSize / 10;
+				for (int i = 0; i < candidates.size() && size > targetSize; i++) {
+					if (candidates.get(i).evict()) {
+						size--;
+					}
+				}
+			}
+			this.approximateSize.set(size);
+		} finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Cached value (or the future of the value being computed) with its usage statistics. Statistics are updated
+	 * without synchronization - lost updates only make the eviction slightly less precise.
+	 */
+	private static class CacheEntry<V> extends CompletableFuture<V> {
+		private volatile Thread computingThread;
+		private volatile long lastAccess;
+		private volatile long hits;
+
+		CacheEntry(@Nullable Thread computingThread) {
+			this.computingThread = computingThread;
+		}
+
+		@SuppressWarnings("NonAtomicOperationOnVolatileField")
+		void recordAccess(long tick) {
+			this.lastAccess = tick;
+			this.hits++;
+		}
+	}
+
+	/**
+	 * Snapshot of the entry statistics taken at the start of the eviction so that the entries could be sorted while
+	 * other threads keep using them.
+	 */
+	private static class EvictionCandidate<K, V> {
+		private final ConcurrentMap<K, CacheEntry<V>> segment;
+		private final K key;
+		private final CacheEntry<V> entry;
+		private final long lastAccess;
+		private final long hits;
+
+		EvictionCandidate(@Nonnull ConcurrentMap<K, CacheEntry<V>> segment, @Nonnull K key, @Nonnull CacheEntry<V> entry) {
+			this.segment = segment;
+			this.key = key;
+			this.entry = entry;
+			this.lastAccess = entry.lastAccess;
+			this.hits = entry.hits;
+		}
+
+		/**
+		 * Removes the entry from the cache unless it has been replaced in the meantime.
+		 */
+		boolean evict() {
+			return this.segment.remove(this.key, this.entry);
+		}
+	}
+
+}
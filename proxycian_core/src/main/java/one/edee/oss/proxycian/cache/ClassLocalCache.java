@@ -0,0 +1,146 @@
+package one.edee.oss.proxycian.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache which entries are stored alongside the class they belong to. Each key has its owner class (resolved by
+ * the function passed in constructor) and the entries of the same owner class are kept in the segment attached to that
+ * class by {@link ClassValue}. The cache itself keeps no strong reference to the owner classes, their keys or values -
+ * when the class loader of the owner class becomes unreachable (i.e. the module gets redeployed), the whole segment
+ * is garbage collected together with it without anyone calling {@link #clear()}.
+ *
+ * Keys and values may reference the owner class and classes of its class loader (or its parents) freely. They should
+ * not reference classes of unrelated class loaders that should be released sooner than the owner class.
+ */
+public class ClassLocalCache<K, V> {
+	/**
+	 * Function that resolves the owner class of the key.
+	 */
+	private final Function<K, Class<?>> ownerResolver;
+	/**
+	 * Weak references to all segments created so far - allows to enumerate and clear the cache.
+	 */
+	private final ConcurrentLinkedQueue<WeakReference<ConcurrentMap<K, V>>> segmentRegistry = new ConcurrentLinkedQueue<>();
+	/**
+	 * Segments attached to the owner classes.
+	 */
+	private final ClassValue<ConcurrentMap<K, V>> segments = new ClassValue<ConcurrentMap<K, V>>() {
+		@Override
+		protected ConcurrentMap<K, V> computeValue(@Nonnull Class<?> type) {
+			final ConcurrentMap<K, V> segment = new ConcurrentHashMap<>(8);
+			segmentRegistry.add(new WeakReference<>(segment));
+			return segment;
+		}
+	};
+
+	public ClassLocalCache(@Nonnull Function<K, Class<?>> ownerResolver) {
+		this.ownerResolver = ownerResolver;
+	}
+
+	/**
+	 * Returns live segment of the cache attached to the passed owner class.
+	 */
+	@Nonnull
+	public ConcurrentMap<K, V> getSegment(@Nonnull Class<?> ownerType) {
+		return this.segments.get(ownerType);
+	}
+
+	/**
+	 * Returns live segments of all owner classes that haven't been garbage collected yet.
+	 */
+	@Nonnull
+	public List<ConcurrentMap<K, V>> getSegments() {
+		final List<ConcurrentMap<K, V>> liveSegments = new ArrayList<>();
+		final Iterator<WeakReference<ConcurrentMap<K, V>>> it = this.segmentRegistry.iterator();
+		while (it.hasNext()) {
+			final ConcurrentMap<K, V> segment = it.next().get();
+			if (segment == null) {
+				it.remove();
+			} else {
+				liveSegments.add(segment);
+			}
+		}
+		return liveSegments;
+	}
+
+	/**
+	 * Returns value cached for the key or NULL if there is none.
+	 */
+	@Nullable
+	public V get(@Nonnull K key) {
+		return getSegment(this.ownerResolver.apply(key)).get(key);
+	}
+
+	/**
+	 * Returns true if there is value cached for the key.
+	 */
+	public boolean containsKey(@Nonnull K key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Stores value for the key.
+	 */
+	public void put(@Nonnull K key, @Nonnull V value) {
+		getSegment(this.ownerResolver.apply(key)).put(key, value);
+	}
+
+	/**
+	 * Returns value cached for the key or computes it by the passed function - see
+	 * {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}.
+	 */
+	@Nonnull
+	public V computeIfAbsent(@Nonnull K key, @Nonnull Function<? super K, ? extends V> valueFactory) {
+		return getSegment(this.ownerResolver.apply(key)).computeIfAbsent(key, valueFactory);
+	}
+
+	/**
+	 * Returns count of the values cached for all owner classes that are still alive.
+	 */
+	public int size() {
+		int size = 0;
+		for (ConcurrentMap<K, V> segment : getSegments()) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns true if there is no value cached for any owner class that is still alive.
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns snapshot of the values cached for all owner classes that are still alive.
+	 */
+	@Nonnull
+	public Collection<V> values() {
+		final List<V> values = new ArrayList<>();
+		for (ConcurrentMap<K, V> segment : getSegments()) {
+			values.addAll(segment.values());
+		}
+		return values;
+	}
+
+	/**
+	 * Removes all cached values. Empty segments stay attached to their owner classes.
+	 */
+	public void clear() {
+		for (ConcurrentMap<K, V> segment : getSegments()) {
+			segment.clear();
+		}
+	}
+
+}
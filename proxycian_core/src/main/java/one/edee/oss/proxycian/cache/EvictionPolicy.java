@@ -0,0 +1,19 @@
+package one.edee.oss.proxycian.cache;
+
+/**
+ * Policy that decides which entries of the {@link BoundedClassLocalCache} are evicted when the cache exceeds its
+ * maximum size.
+ */
+public enum EvictionPolicy {
+
+	/**
+	 * Least recently used entries are evicted first.
+	 */
+	LRU,
+	/**
+	 * Least frequently used entries are evicted first, entries used equally often are evicted from the least recently
+	 * used ones.
+	 */
+	LFU
+
+}
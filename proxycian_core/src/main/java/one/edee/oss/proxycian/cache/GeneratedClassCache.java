@@ -0,0 +1,240 @@
+package one.edee.oss.proxycian.cache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the generated proxy classes. Classes are not generated inside {@link ConcurrentHashMap#computeIfAbsent}
+ * that would hold the lock of the hash bin for the whole time of bytecode generation and would block threads asking
+ * for unrelated keys that happen to fall into the same bin. Instead, the first thread asking for the key registers
+ * a future and generates the class outside any lock - other threads asking for the same key wait for the future
+ * of this very key only. Waiting threads are parked by the future (no monitor is held) so that virtual threads don't
+ * pin their carrier threads while waiting.
+ *
+ * When generation fails, the future is removed from the cache so that the next request tries to generate the class
+ * again.
+ *
+ * Cached classes are kept in {@link ClassLocalCache} segments attached to the owner type - the most specific type
+ * the generated class is derived from - and the class loader the class is generated into is part of the key. Both
+ * the generated class and the class loader are referenced weakly: the generated class is kept alive by the class
+ * loader that defined it, so that the redeployed class loaders are released together with their generated classes
+ * without anyone calling {@link #clear()}.
+ */
+public class GeneratedClassCache<K> {
+	private final ClassLocalCache<ClassLoaderBoundKey<K>, Object> classes = new ClassLocalCache<>(ClassLoaderBoundKey::getOwnerType);
+
+	/**
+	 * Returns class cached for the passed key or generates it by passed factory. Factory is called at most once
+	 * for the key at any time. Owner type is the type the cached class is attached to - it must be visible
+	 * from the passed class loader, that is the loader the class is generated into (NULL when the class loader is
+	 * derived from the owner type by the factory).
+	 */
+	@Nonnull
+	public Class<?> getOrCreate(@Nonnull Class<?> ownerType, @Nullable ClassLoader classLoader, @Nonnull K key, @Nonnull Supplier<Class<?>> classFactory) {
+		final ConcurrentMap<ClassLoaderBoundKey<K>, Object> segment = this.classes.getSegment(ownerType);
+		final ClassLoaderBoundKey<K> boundKey = new ClassLoaderBoundKey<>(ownerType, classLoader, key);
+		while (true) {
+			final Object cachedValue = segment.get(boundKey);
+			if (cachedValue instanceof GeneratedClassReference) {
+				final Class<?> generatedClass = ((GeneratedClassReference) cachedValue).get();
+				if (generatedClass != null) {
+					return generatedClass;
+				}
+				// CLASS HAS BEEN GARBAGE COLLECTED - GENERATE IT AGAIN
+				segment.remove(boundKey, cachedValue);
+			} else if (cachedValue instanceof GenerationFuture) {
+				return await(key, (GenerationFuture) cachedValue);
+			} else {
+				final GenerationFuture newFuture = new GenerationFuture(Thread.currentThread());
+				if (segment.putIfAbsent(boundKey, newFuture) == null) {
+					return generate(segment, boundKey, newFuture, classFactory);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns future of the class cached for the passed key or generates the class by passed factory in the passed
+	 * executor. Concurrent requests for the same key - both synchronous and asynchronous ones - share the single
+	 * generation. See {@link #getOrCreate(Class, ClassLoader, Object, Supplier)}.
+	 */
+	@Nonnull
+	public CompletableFuture<Class<?>> getOrCreateAsync(@Nonnull Class<?> ownerType, @Nullable ClassLoader classLoader, @Nonnull K key, @Nonnull Supplier<Class<?>> classFactory, @Nonnull Executor executor) {
+		final ConcurrentMap<ClassLoaderBoundKey<K>, Object> segment = this.classes.getSegment(ownerType);
+		final ClassLoaderBoundKey<K> boundKey = new ClassLoaderBoundKey<>(ownerType, classLoader, key);
+		while (true) {
+			final Object cachedValue = segment.get(boundKey);
+			if (cachedValue instanceof GeneratedClassReference) {
+				final Class<?> generatedClass = ((GeneratedClassReference) cachedValue).get();
+				if (generatedClass != null) {
+					return CompletableFuture.completedFuture(generatedClass);
+				}
+				// CLASS HAS BEEN GARBAGE COLLECTED - GENERATE IT AGAIN
+				segment.remove(boundKey, cachedValue);
+			} else if (cachedValue instanceof GenerationFuture) {
+				// CALLERS MUST NOT BE ABLE TO COMPLETE THE SHARED FUTURE
+				return ((GenerationFuture) cachedValue).thenApply(Function.identity());
+			} else {
+				final GenerationFuture newFuture = new GenerationFuture(null);
+				if (segment.putIfAbsent(boundKey, newFuture) == null) {
+					try {
+						executor.execute(() -> {
+							newFuture.generatingThread = Thread.currentThread();
+							try {
+								generate(segment, boundKey, newFuture, classFactory);
+							} catch (RuntimeException | Error ignored) {
+								// FAILURE HAS BEEN PUBLISHED BY THE FUTURE
+							}
+						});
+					} catch (RuntimeException ex) {
+						// EXECUTOR REJECTED THE TASK - ALLOW NEXT REQUEST TO TRY IT AGAIN
+						segment.remove(boundKey, newFuture);
+						newFuture.completeExceptionally(ex);
+					}
+					return newFuture.thenApply(Function.identity());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached classes.
+	 */
+	public void clear() {
+		this.classes.clear();
+	}
+
+	/**
+	 * Generates the class by the factory and publishes it to all waiting threads.
+	 */
+	@Nonnull
+	private Class<?> generate(@Nonnull ConcurrentMap<ClassLoaderBoundKey<K>, Object> segment, @Nonnull ClassLoaderBoundKey<K> key, @Nonnull GenerationFuture future, @Nonnull Supplier<Class<?>> classFactory) {
+		final Class<?> generatedClass;
+		try {
+			generatedClass = classFactory.get();
+		} catch (RuntimeException | Error ex) {
+			// ALLOW NEXT REQUEST TO TRY IT AGAIN
+			segment.remove(key, future);
+			future.generatingThread = null;
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		// DON'T KEEP THE THREAD NOR THE CLASS REACHABLE FROM THE CACHE
+		segment.replace(key, future, new GeneratedClassReference(generatedClass));
+		future.generatingThread = null;
+		future.complete(generatedClass);
+		// DROP ENTRIES OF THE CLASS LOADERS THAT HAVE BEEN GARBAGE COLLECTED IN THE MEANTIME
+		segment.entrySet().removeIf(
+			it -> it.getKey().isClassLoaderCollected() ||
+				(it.getValue() instanceof GeneratedClassReference && ((GeneratedClassReference) it.getValue()).get() == null)
+		);
+		return generatedClass;
+	}
+
+	/**
+	 * Waits for the class generated by other thread.
+	 */
+	@Nonnull
+	private Class<?> await(@Nonnull K key, @Nonnull GenerationFuture future) {
+		final Class<?> generatedClass = future.getNow(null);
+		if (generatedClass != null) {
+			return generatedClass;
+		}
+		if (future.generatingThread == Thread.currentThread()) {
+			throw new IllegalStateException("What the heck? Class for " + key + " is requested recursively during its own generation!");
+		}
+		try {
+			return future.join();
+		} catch (CompletionException ex) {
+			final Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Future of the class being generated that remembers the thread generating it.
+	 */
+	private static class GenerationFuture extends CompletableFuture<Class<?>> {
+		private volatile Thread generatingThread;
+
+		GenerationFuture(@Nullable Thread generatingThread) {
+			this.generatingThread = generatingThread;
+		}
+	}
+
+	/**
+	 * Weak reference to already generated class.
+	 */
+	private static class GeneratedClassReference extends WeakReference<Class<?>> {
+
+		GeneratedClassReference(@Nonnull Class<?> generatedClass) {
+			super(generatedClass);
+		}
+
+	}
+
+	/**
+	 * Cache key combined with the class loader the class is generated into. Class loader is referenced weakly and
+	 * compared by identity.
+	 */
+	private static class ClassLoaderBoundKey<K> {
+		private final Class<?> ownerType;
+		private final WeakReference<ClassLoader> classLoader;
+		private final K key;
+		private final int hashCode;
+
+		ClassLoaderBoundKey(@Nonnull Class<?> ownerType, @Nullable ClassLoader classLoader, @Nonnull K key) {
+			this.ownerType = ownerType;
+			this.classLoader = classLoader == null ? null : new WeakReference<>(classLoader);
+			this.key = key;
+			this.hashCode = 31 * System.identityHashCode(classLoader) + key.hashCode();
+		}
+
+		@Nonnull
+		Class<?> getOwnerType() {
+			return this.ownerType;
+		}
+
+		boolean isClassLoaderCollected() {
+			return this.classLoader != null && this.classLoader.get() == null;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final ClassLoaderBoundKey<?> that = (ClassLoaderBoundKey<?>) o;
+			if (this.hashCode != that.hashCode || !this.key.equals(that.key)) return false;
+			if (this.classLoader == null || that.classLoader == null) {
+				return this.classLoader == that.classLoader;
+			}
+			final ClassLoader thisClassLoader = this.classLoader.get();
+			return thisClassLoader != null && thisClassLoader == that.classLoader.get();
+		}
+
+		@Override
+		public String toString() {
+			return this.key.toString();
+		}
+	}
+
+}
@@ -0,0 +1,269 @@
+package one.edee.oss.proxycian.cache;
+
+import lombok.Getter;
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DispatchMode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatch table is bound to a single proxy class generated in {@link DispatchMode#DISPATCH_TABLE} mode. Each method
+ * of the proxy class has its own slot (index) in the table. The slot index is either baked directly into the generated
+ * byte-code or resolved by the identity of the {@link Method} instance the byte-code library passes to the dispatcher.
+ *
+ * Resolved {@link CurriedMethodContextInvocationHandler} depend not only on the proxy class and the method but also on
+ * the class of the proxy state and on the cache key of the dispatcher (see {@link ClassMethodCacheKey}). That's why
+ * the table keeps separate {@link DispatchSlots} for each such combination - dispatcher looks them up once and then
+ * keeps the reference to them.
+ */
+public class MethodDispatchTable {
+	/**
+	 * Count of the slots in the table - i.e. count of the intercepted methods of the proxy class.
+	 */
+	@Getter private final int slotCount;
+	/**
+	 * Intercepted methods indexed by their slot, NULL if the methods are not known.
+	 */
+	private final Method[] slotMethods;
+	/**
+	 * Open addressing hash table of intercepted methods compared by identity.
+	 */
+	private final Method[] methods;
+	/**
+	 * Slot indexes matching the {@link #methods} positions.
+	 */
+	private final int[] methodSlots;
+	/**
+	 * Resolved slots for particular proxy state class and dispatcher cache key.
+	 */
+	private final Map<DispatchSlotsKey, DispatchSlots> slots = new ConcurrentHashMap<>(8);
+	/**
+	 * Switch point that stays valid as long as all slots requested from this table were requested for the same
+	 * combination of proxy state class and dispatcher cache key - i.e. as long as all proxies of the class are
+	 * dispatched by the same slots. Call sites may link directly to the handlers of such slots without checking
+	 * the dispatcher of the proxy on each call. Once invalidated, the switch point is never valid again.
+	 */
+	@Getter private final SwitchPoint monomorphicSwitchPoint = new SwitchPoint();
+	/**
+	 * The first combination of proxy state class and dispatcher cache key the slots were requested for. It's kept
+	 * even if the table is invalidated, because proxies of the first combination may still exist.
+	 */
+	private DispatchSlotsKey monomorphicKey;
+	/**
+	 * Switch point that stays valid until the table is {@link #invalidate() invalidated}. Call sites linked to the
+	 * handlers of this table are guarded by it, so that invalidation of the table unlinks only the call sites of
+	 * the proxy class the table belongs to. Invalidated switch point is replaced with the new one.
+	 */
+	@Getter private volatile SwitchPoint invalidationSwitchPoint = new SwitchPoint();
+
+	/**
+	 * Creates dispatch table for the proxy class that has the slot indexes baked in its byte-code.
+	 */
+	public MethodDispatchTable(int slotCount) {
+		this.slotCount = slotCount;
+		this.slotMethods = null;
+		this.methods = null;
+		this.methodSlots = null;
+	}
+
+	/**
+	 * Creates dispatch table for the proxy class that passes the same {@link Method} instances to the dispatcher on each
+	 * call. Position of the method in the array is the slot index of the method, NULL positions are skipped.
+	 */
+	public MethodDispatchTable(@Nonnull Method[] slotMethods) {
+		this.slotCount = slotMethods.length;
+		this.slotMethods = slotMethods;
+		int capacity = 2;
+		while (capacity < slotMethods.length * 2) {
+			capacity <<= 1;
+		}
+		this.methods = new Method[capacity];
+		this.methodSlots = new int[capacity];
+		final int mask = capacity - 1;
+		for (int slot = 0; slot < slotMethods.length; slot++) {
+			final Method method = slotMethods[slot];
+			if (method != null) {
+				int index = System.identityHashCode(method) & mask;
+				while (this.methods[index] != null) {
+					index = (index + 1) & mask;
+				}
+				this.methods[index] = method;
+				this.methodSlots[index] = slot;
+			}
+		}
+	}
+
+	/**
+	 * Returns slot index of the passed method or -1 when the method is not part of this table. The method is compared
+	 * by identity.
+	 */
+	public int getSlot(@Nonnull Method method) {
+		if (this.methods == null) {
+			return -1;
+		}
+		final int mask = this.methods.length - 1;
+		int index = System.identityHashCode(method) & mask;
+		Method examinedMethod;
+		while ((examinedMethod = this.methods[index]) != null) {
+			if (examinedMethod == method) {
+				return this.methodSlots[index];
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns intercepted method of the passed slot or NULL if the method is not known to this table.
+	 */
+	@Nullable
+	public Method getMethod(int slot) {
+		return this.slotMethods == null ? null : this.slotMethods[slot];
+	}
+
+	/**
+	 * Returns slots for passed combination of proxy state class and dispatcher cache key.
+	 */
+	@Nonnull
+	public DispatchSlots getSlots(@Nonnull Class<?> proxyStateClass, @Nonnull Object[] cacheKey) {
+		final DispatchSlotsKey dispatchSlotsKey = new DispatchSlotsKey(proxyStateClass, cacheKey);
+		if (!this.monomorphicSwitchPoint.hasBeenInvalidated()) {
+			// SWITCH POINT MUST BE INVALIDATED BEFORE THE SLOTS OF THE OTHER COMBINATION ARE HANDED OUT
+			verifyMonomorphic(dispatchSlotsKey);
+		}
+		return this.slots.computeIfAbsent(
+			dispatchSlotsKey,
+			key -> new DispatchSlots(this, proxyStateClass, this.slotCount)
+		);
+	}
+
+	/**
+	 * Returns true if all slots requested from this table were requested for the same combination of proxy state
+	 * class and dispatcher cache key. See {@link #getMonomorphicSwitchPoint()}.
+	 */
+	public boolean isMonomorphic() {
+		return !this.monomorphicSwitchPoint.hasBeenInvalidated();
+	}
+
+	/**
+	 * Invalidates all resolved slots. Dispatchers holding the reference to invalidated slots will look up new ones
+	 * on their next method call, call sites guarded by {@link #getInvalidationSwitchPoint()} will re-link.
+	 */
+	public void invalidate() {
+		for (DispatchSlots dispatchSlots : this.slots.values()) {
+			dispatchSlots.valid = false;
+		}
+		this.slots.clear();
+		final SwitchPoint invalidatedSwitchPoint;
+		synchronized (this) {
+			invalidatedSwitchPoint = this.invalidationSwitchPoint;
+			this.invalidationSwitchPoint = new SwitchPoint();
+		}
+		SwitchPoint.invalidateAll(new SwitchPoint[]{invalidatedSwitchPoint});
+	}
+
+	/**
+	 * Remembers the first combination of proxy state class and dispatcher cache key and invalidates
+	 * {@link #monomorphicSwitchPoint} when the slots are requested for any other combination.
+	 */
+	private synchronized void verifyMonomorphic(@Nonnull DispatchSlotsKey dispatchSlotsKey) {
+		if (this.monomorphicKey == null) {
+			this.monomorphicKey = dispatchSlotsKey;
+		} else if (!this.monomorphicKey.equals(dispatchSlotsKey) && !this.monomorphicSwitchPoint.hasBeenInvalidated()) {
+			SwitchPoint.invalidateAll(new SwitchPoint[]{this.monomorphicSwitchPoint});
+		}
+	}
+
+	/**
+	 * Resolved invocation handlers indexed by slot. The handlers are immutable and safely published thanks to their
+	 * final fields - so the race of two threads resolving the same slot is benign.
+	 */
+	public static class DispatchSlots {
+		private final MethodDispatchTable table;
+		private final Class<?> proxyStateClass;
+		private final CurriedMethodContextInvocationHandler<?, ?>[] handlers;
+		private volatile boolean valid = true;
+
+		private DispatchSlots(MethodDispatchTable table, Class<?> proxyStateClass, int slotCount) {
+			this.table = table;
+			this.proxyStateClass = proxyStateClass;
+			this.handlers = new CurriedMethodContextInvocationHandler[slotCount];
+		}
+
+		/**
+		 * Returns true if the slots were not invalidated yet.
+		 */
+		public boolean isValid() {
+			return this.valid;
+		}
+
+		/**
+		 * Returns true if the slots belong to the passed table and were not invalidated in the meantime.
+		 */
+		public boolean isValidFor(@Nonnull MethodDispatchTable table) {
+			return this.table == table && this.valid;
+		}
+
+		/**
+		 * Returns true if the slots belong to the passed table and proxy state class and were not invalidated
+		 * in the meantime.
+		 */
+		public boolean isValidFor(@Nonnull MethodDispatchTable table, @Nonnull Class<?> proxyStateClass) {
+			return this.table == table && this.proxyStateClass == proxyStateClass && this.valid;
+		}
+
+		/**
+		 * Returns resolved invocation handler for the slot or NULL if the slot hasn't been resolved yet.
+		 */
+		@Nullable
+		public CurriedMethodContextInvocationHandler<?, ?> get(int slot) {
+			return this.handlers[slot];
+		}
+
+		/**
+		 * Stores resolved invocation handler to the slot.
+		 */
+		public void set(int slot, @Nonnull CurriedMethodContextInvocationHandler<?, ?> handler) {
+			this.handlers[slot] = handler;
+		}
+
+	}
+
+	/**
+	 * Key for the {@link DispatchSlots} lookup.
+	 */
+	private static class DispatchSlotsKey {
+		private final Class<?> proxyStateClass;
+		private final Object[] cacheKey;
+		private final int hash;
+
+		DispatchSlotsKey(Class<?> proxyStateClass, Object[] cacheKey) {
+			this.proxyStateClass = proxyStateClass;
+			this.cacheKey = cacheKey;
+			this.hash = 31 * proxyStateClass.hashCode() + Arrays.hashCode(cacheKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final DispatchSlotsKey that = (DispatchSlotsKey) o;
+			return this.hash == that.hash &&
+				Objects.equals(this.proxyStateClass, that.proxyStateClass) &&
+				Arrays.equals(this.cacheKey, that.cacheKey);
+		}
+	}
+
+}
@@ -0,0 +1,279 @@
+package one.edee.oss.proxycian.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Directory with the byte-code of the generated proxy classes that survives JVM restarts. Generator stores the bytes
+ * of each class it generates under the stable key derived from the shape of the class, and on the next start
+ * defines the stored bytes directly instead of generating them again.
+ *
+ * Each entry carries the fingerprint of its input classes - the classes the proxy is generated from, their whole type
+ * hierarchy and the classes of the generator itself. When any of these classes changes (or the JVM specification
+ * version does), the entry is considered stale and is ignored and overwritten by the freshly generated class.
+ *
+ * Entries are written to the temporary file first and moved to their place atomically, so that concurrently starting
+ * JVMs sharing the same directory never read partially written entry.
+ */
+public class PersistentClassCache {
+	private static final int MAGIC = 0x50524F58;
+	private static final int FORMAT_VERSION = 1;
+	private static final String ENTRY_SUFFIX = ".proxy";
+	@Getter private final File directory;
+	private final String backend;
+
+	/**
+	 * @param directory directory the entries are stored in - it's created if it doesn't exist
+	 * @param backend   identification of the generator that distinguishes its entries from the entries of others
+	 */
+	public PersistentClassCache(@Nonnull File directory, @Nonnull String backend) {
+		this.directory = directory;
+		this.backend = backend;
+	}
+
+	/**
+	 * Returns hexadecimal SHA-1 fingerprint (its first 8 bytes) of the passed text.
+	 */
+	@Nonnull
+	public static String fingerprint(@Nonnull String text) {
+		return toHex(sha1().digest(text.getBytes(StandardCharsets.UTF_8)), 8);
+	}
+
+	/**
+	 * Returns hexadecimal SHA-1 fingerprint (its first 8 bytes) of the byte-code of exactly the passed classes - unlike
+	 * the fingerprint of the input classes it neither includes their type hierarchy nor the JVM version.
+	 */
+	@Nonnull
+	public static String fingerprint(@Nonnull Class<?>... classes) throws IOException {
+		final MessageDigest digest = sha1();
+		for (Class<?> clazz : classes) {
+			digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+			if (clazz.getClassLoader() != null) {
+				digest.update(readClassFile(clazz));
+			}
+		}
+		return toHex(digest.digest(), 8);
+	}
+
+	/**
+	 * Returns classes stored for the key or NULL when there are none or when they were generated from the input
+	 * classes different to the passed ones.
+	 */
+	@Nullable
+	public CachedClasses load(@Nonnull String key, @Nonnull Class<?>... inputClasses) {
+		final File entryFile = getEntryFile(key);
+		try (final DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryFile.toPath())))) {
+			if (is.readInt() != MAGIC || is.readInt() != FORMAT_VERSION || !this.backend.equals(is.readUTF())) {
+				return null;
+			}
+			if (!getInputFingerprint(inputClasses).equals(is.readUTF())) {
+				// INPUT CLASSES HAVE CHANGED - ENTRY WILL BE OVERWRITTEN BY THE NEWLY GENERATED CLASS
+				return null;
+			}
+			final String className = is.readUTF();
+			final int classCount = is.readInt();
+			final Map<String, byte[]> classes = new LinkedHashMap<>(classCount * 2);
+			for (int i = 0; i < classCount; i++) {
+				final String name = is.readUTF();
+				final byte[] bytes = new byte[is.readInt()];
+				is.readFully(bytes);
+				classes.put(name, bytes);
+			}
+			final int attributeCount = is.readInt();
+			final Map<String, String> attributes = new LinkedHashMap<>(attributeCount * 2);
+			for (int i = 0; i < attributeCount; i++) {
+				attributes.put(is.readUTF(), readString(is));
+			}
+			return new CachedClasses(className, classes, attributes);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			// CORRUPTED ENTRY - TREAT IT AS MISSING
+			return null;
+		}
+	}
+
+	/**
+	 * Stores classes for the key along with the fingerprint of the input classes they were generated from.
+	 */
+	public void store(@Nonnull String key, @Nonnull CachedClasses cachedClasses, @Nonnull Class<?>... inputClasses) throws IOException {
+		Files.createDirectories(this.directory.toPath());
+		final Path entryPath = getEntryFile(key).toPath();
+		final Path tempPath = Files.createTempFile(this.directory.toPath(), key, ".tmp");
+		try {
+			try (final DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				os.writeInt(MAGIC);
+				os.writeInt(FORMAT_VERSION);
+				os.writeUTF(this.backend);
+				os.writeUTF(getInputFingerprint(inputClasses));
+				os.writeUTF(cachedClasses.getClassName());
+				os.writeInt(cachedClasses.getClasses().size());
+				for (Entry<String, byte[]> entry : cachedClasses.getClasses().entrySet()) {
+					os.writeUTF(entry.getKey());
+					os.writeInt(entry.getValue().length);
+					os.write(entry.getValue());
+				}
+				os.writeInt(cachedClasses.getAttributes().size());
+				for (Entry<String, String> entry : cachedClasses.getAttributes().entrySet()) {
+					os.writeUTF(entry.getKey());
+					writeString(os, entry.getValue());
+				}
+			}
+			try {
+				Files.move(tempPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * Removes all entries from the directory.
+	 */
+	public void clear() throws IOException {
+		final File[] entries = this.directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+		if (entries != null) {
+			for (File entry : entries) {
+				Files.deleteIfExists(entry.toPath());
+			}
+		}
+	}
+
+	@Nonnull
+	private File getEntryFile(@Nonnull String key) {
+		return new File(this.directory, key + ENTRY_SUFFIX);
+	}
+
+	/**
+	 * Computes fingerprint of the byte-code of the passed classes and of all their super classes and interfaces.
+	 * Classes of the bootstrap class loader are represented by the JVM specification version.
+	 */
+	@Nonnull
+	private static String getInputFingerprint(@Nonnull Class<?>[] inputClasses) throws IOException {
+		final Set<Class<?>> hierarchy = new TreeSet<>(Comparator.comparing(Class::getName));
+		for (Class<?> inputClass : inputClasses) {
+			collectHierarchy(inputClass, hierarchy);
+		}
+		final MessageDigest digest = sha1();
+		digest.update(System.getProperty("java.specification.version", "").getBytes(StandardCharsets.UTF_8));
+		for (Class<?> clazz : hierarchy) {
+			digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+			if (clazz.getClassLoader() != null) {
+				digest.update(readClassFile(clazz));
+			}
+		}
+		return toHex(digest.digest(), 20);
+	}
+
+	private static void collectHierarchy(@Nullable Class<?> clazz, @Nonnull Set<Class<?>> hierarchy) {
+		if (clazz == null || clazz.isPrimitive()) {
+			return;
+		}
+		if (clazz.isArray()) {
+			collectHierarchy(clazz.getComponentType(), hierarchy);
+		} else if (hierarchy.add(clazz)) {
+			collectHierarchy(clazz.getSuperclass(), hierarchy);
+			for (Class<?> anInterface : clazz.getInterfaces()) {
+				collectHierarchy(anInterface, hierarchy);
+			}
+		}
+	}
+
+	@Nonnull
+	private static byte[] readClassFile(@Nonnull Class<?> clazz) throws IOException {
+		final String resourceName = clazz.getName().replace('.', '/') + ".class";
+		try (final InputStream is = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+			if (is == null) {
+				// CLASS DEFINED AT RUNTIME - IT CANNOT BE VALIDATED, SO THE ENTRY MUST NOT MATCH IN ANOTHER JVM
+				return String.valueOf(System.identityHashCode(clazz)).getBytes(StandardCharsets.UTF_8);
+			}
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Writes string that might exceed the limit of {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private static void writeString(@Nonnull DataOutputStream os, @Nonnull String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		os.writeInt(bytes.length);
+		os.write(bytes);
+	}
+
+	@Nonnull
+	private static String readString(@Nonnull DataInputStream is) throws IOException {
+		final byte[] bytes = new byte[is.readInt()];
+		is.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Nonnull
+	private static MessageDigest sha1() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("What the heck? SHA-1 is not available: " + e.getMessage(), e);
+		}
+	}
+
+	@Nonnull
+	private static String toHex(@Nonnull byte[] bytes, int length) {
+		final StringBuilder hex = new StringBuilder(length * 2);
+		for (int i = 0; i < length; i++) {
+			hex.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16)).append(Character.forDigit(bytes[i] & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Byte-code of the proxy class and its auxiliary classes (in the order they need to be defined) together with
+	 * the generator specific attributes needed to initialize the class after it's defined.
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	public static class CachedClasses {
+		private final String className;
+		private final Map<String, byte[]> classes;
+		private final Map<String, String> attributes;
+
+		public CachedClasses(@Nonnull String className, @Nonnull byte[] bytes) {
+			this(className, Collections.singletonMap(className, bytes), Collections.emptyMap());
+		}
+
+	}
+
+}
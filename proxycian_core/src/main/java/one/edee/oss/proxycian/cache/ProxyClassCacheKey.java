@@ -0,0 +1,91 @@
+package one.edee.oss.proxycian.cache;
+
+import lombok.Getter;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.recipe.GeneratedMemberAdvice;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * This class can be used as caching key for generated proxy classes.
+ */
+public class ProxyClassCacheKey {
+	private static final GeneratedMemberAdvice<?>[] NO_GENERATED_MEMBER_ADVICES = new GeneratedMemberAdvice[0];
+	@Getter private final Class<?>[] interfaces;
+	@Getter private final DispatchMode dispatchMode;
+	@Getter private final GeneratedMemberAdvice<?>[] generatedMemberAdvices;
+	/**
+	 * The most specific of the interfaces - i.e. the one loaded by the class loader that is a descendant of
+	 * the class loaders of all other interfaces.
+	 */
+	@Getter private final Class<?> ownerType;
+	private final int hashCode;
+
+	public ProxyClassCacheKey(@Nonnull Class<?>[] interfaces, @Nonnull DispatchMode dispatchMode) {
+		this(interfaces, dispatchMode, NO_GENERATED_MEMBER_ADVICES);
+	}
+
+	public ProxyClassCacheKey(@Nonnull Class<?>[] interfaces, @Nonnull DispatchMode dispatchMode, @Nonnull GeneratedMemberAdvice<?>[] generatedMemberAdvices) {
+		this.interfaces = interfaces;
+		this.dispatchMode = dispatchMode;
+		this.generatedMemberAdvices = generatedMemberAdvices;
+		this.ownerType = getMostSpecificType(interfaces);
+		this.hashCode = 31 * (31 * Arrays.hashCode(interfaces) + dispatchMode.hashCode()) + Arrays.hashCode(generatedMemberAdvices);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		if (((ProxyClassCacheKey) o).hashCode != this.hashCode) return false;
+		ProxyClassCacheKey that = (ProxyClassCacheKey) o;
+		return dispatchMode == that.dispatchMode && Arrays.equals(interfaces, that.interfaces) && Arrays.equals(generatedMemberAdvices, that.generatedMemberAdvices);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(interfaces) + " (" + dispatchMode + ")";
+	}
+
+	/**
+	 * Returns the type loaded by the most specific class loader - i.e. the class loader which has the class loaders
+	 * of all other types among its ancestors.
+	 */
+	@Nonnull
+	private static Class<?> getMostSpecificType(@Nonnull Class<?>[] types) {
+		Class<?> mostSpecificType = types.length == 0 ? Object.class : types[0];
+		for (int i = 1; i < types.length; i++) {
+			final ClassLoader classLoader = types[i].getClassLoader();
+			final ClassLoader mostSpecificClassLoader = mostSpecificType.getClassLoader();
+			if (classLoader != mostSpecificClassLoader && isAncestor(mostSpecificClassLoader, classLoader)) {
+				mostSpecificType = types[i];
+			}
+		}
+		return mostSpecificType;
+	}
+
+	/**
+	 * Returns true if the first class loader is among parents of the second one. NULL represents bootstrap class
+	 * loader that is ancestor of all class loaders.
+	 */
+	private static boolean isAncestor(@Nullable ClassLoader ancestor, @Nullable ClassLoader classLoader) {
+		if (ancestor == null) {
+			return classLoader != null;
+		}
+		ClassLoader examinedClassLoader = classLoader;
+		while (examinedClassLoader != null) {
+			examinedClassLoader = examinedClassLoader.getParent();
+			if (examinedClassLoader == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
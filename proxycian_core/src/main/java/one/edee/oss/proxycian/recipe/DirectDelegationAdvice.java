@@ -0,0 +1,36 @@
+package one.edee.oss.proxycian.recipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Advice that asks the proxy generator to implement delegated methods as direct calls on the delegate object. Generated
+ * method reads the proxy state, optionally applies {@link #getDelegateAccessor()} on it, casts the result to
+ * {@link #getDelegateType()} and invokes the same method on it. There is no reflection and no dispatcher involved
+ * and JIT is able to inline the delegate method through the proxy.
+ */
+public interface DirectDelegationAdvice<S> extends GeneratedMemberAdvice<S> {
+
+	/**
+	 * Returns type the delegate object is cast to. Delegate must be instance of this type.
+	 */
+	@Nonnull
+	Class<?> getDelegateType();
+
+	/**
+	 * Returns function that extracts delegate object from the proxy state or NULL if the proxy state itself is
+	 * the delegate.
+	 */
+	@Nullable
+	Function<Object, Object> getDelegateAccessor();
+
+	/**
+	 * Returns methods of the {@link #getDelegateType()} that should be delegated directly.
+	 */
+	@Nonnull
+	List<Method> getDelegatedMethods();
+
+}
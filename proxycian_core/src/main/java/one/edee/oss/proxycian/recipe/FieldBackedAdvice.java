@@ -0,0 +1,19 @@
+package one.edee.oss.proxycian.recipe;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+
+/**
+ * Advice that asks the proxy generator to implement JavaBean properties as real typed fields of the proxy class.
+ * Getter and setter of the matched property pair are then generated as direct field access and don't go through
+ * the dispatcher at all - property access costs the same as on hand-written POJO.
+ */
+public interface FieldBackedAdvice<S> extends GeneratedMemberAdvice<S> {
+
+	/**
+	 * Returns true if the getter or setter method should be implemented by direct access to the generated field.
+	 * The field is generated only when both getter and setter of the same property are matched.
+	 */
+	boolean isFieldBacked(@Nonnull Method method);
+
+}
@@ -0,0 +1,113 @@
+package one.edee.oss.proxycian.recipe;
+
+import lombok.Getter;
+import org.apache.commons.lang.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes JavaBean property that is implemented by the generated field of the proxy class. See
+ * {@link FieldBackedAdvice}.
+ */
+public class FieldBackedProperty {
+	/**
+	 * All generated property fields start with this prefix so that they can't collide with fields of the proxied class.
+	 */
+	public static final String FIELD_PREFIX = "property$";
+	private static final String GET = "get";
+	private static final String IS = "is";
+	private static final String SET = "set";
+
+	/**
+	 * Name of the JavaBean property.
+	 */
+	@Getter private final String name;
+	/**
+	 * Type of the JavaBean property and the generated field.
+	 */
+	@Getter private final Class<?> type;
+	@Getter private final Method getter;
+	@Getter private final Method setter;
+
+	private FieldBackedProperty(@Nonnull String name, @Nonnull Class<?> type, @Nonnull Method getter, @Nonnull Method setter) {
+		this.name = name;
+		this.type = type;
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/**
+	 * Returns name of the property the generated field belongs to or NULL if the field is not generated property field.
+	 */
+	public static String getPropertyName(@Nonnull String fieldName) {
+		return fieldName.startsWith(FIELD_PREFIX) ? fieldName.substring(FIELD_PREFIX.length()) : null;
+	}
+
+	/**
+	 * Collects all JavaBean property pairs of the passed interfaces / abstract class that are matched by any of
+	 * the passed advices.
+	 */
+	@Nonnull
+	public static List<FieldBackedProperty> collect(@Nonnull Class<?>[] interfaces, @Nonnull GeneratedMemberAdvice<?>[] advices) {
+		if (advices.length == 0) {
+			return Collections.emptyList();
+		}
+		final Map<String, Method> getters = new LinkedHashMap<>();
+		final Map<String, Method> setters = new LinkedHashMap<>();
+		for (Class<?> anInterface : interfaces) {
+			for (Method method : anInterface.getMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || !isFieldBacked(method, advices)) {
+					continue;
+				}
+				final String methodName = method.getName();
+				if (method.getParameterCount() == 0 && methodName.startsWith(GET) && !void.class.equals(method.getReturnType())) {
+					getters.putIfAbsent(StringUtils.uncapitalize(methodName.substring(GET.length())), method);
+				} else if (method.getParameterCount() == 0 && methodName.startsWith(IS) && boolean.class.equals(method.getReturnType())) {
+					getters.putIfAbsent(StringUtils.uncapitalize(methodName.substring(IS.length())), method);
+				} else if (method.getParameterCount() == 1 && methodName.startsWith(SET) && void.class.equals(method.getReturnType())) {
+					setters.putIfAbsent(StringUtils.uncapitalize(methodName.substring(SET.length())), method);
+				}
+			}
+		}
+		final List<FieldBackedProperty> properties = new LinkedList<>();
+		for (Map.Entry<String, Method> entry : getters.entrySet()) {
+			final String propertyName = entry.getKey();
+			final Method getter = entry.getValue();
+			final Method setter = setters.get(propertyName);
+			if (!propertyName.isEmpty() && setter != null && getter.getReturnType().equals(setter.getParameterTypes()[0])) {
+				properties.add(new FieldBackedProperty(propertyName, getter.getReturnType(), getter, setter));
+			}
+		}
+		return properties;
+	}
+
+	private static boolean isFieldBacked(@Nonnull Method method, @Nonnull GeneratedMemberAdvice<?>[] advices) {
+		for (GeneratedMemberAdvice<?> advice : advices) {
+			if (advice instanceof FieldBackedAdvice && ((FieldBackedAdvice<?>) advice).isFieldBacked(method)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns name of the generated field.
+	 */
+	@Nonnull
+	public String getFieldName() {
+		return FIELD_PREFIX + name;
+	}
+
+	@Override
+	public String toString() {
+		return "Field backed property `" + name + "` of type " + type.getName();
+	}
+
+}
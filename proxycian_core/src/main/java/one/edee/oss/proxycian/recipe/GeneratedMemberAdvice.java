@@ -0,0 +1,15 @@
+package one.edee.oss.proxycian.recipe;
+
+/**
+ * Marker for advices that ask the proxy generator to emit some members directly into the byte-code of the proxy
+ * class instead of dispatching the calls through the method classifications. Such advices alter the shape of
+ * the generated class and thus become part of the proxy class cache key - advices of this type should implement
+ * {@link Object#equals(Object)} and {@link Object#hashCode()} so that equal recipes share the same proxy class.
+ *
+ * Generators that cannot emit the members ignore the advice and the methods are handled by the method
+ * classifications of the advice as usual. That's why the advice still needs to provide classifications for all
+ * methods it matches.
+ */
+public interface GeneratedMemberAdvice<S> extends Advice<S> {
+
+}
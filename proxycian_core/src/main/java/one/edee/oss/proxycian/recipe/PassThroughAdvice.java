@@ -0,0 +1,186 @@
+package one.edee.oss.proxycian.recipe;
+
+import lombok.Getter;
+import one.edee.oss.proxycian.MethodClassification;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Advice that asks the proxy generator not to override the listed concrete methods of the proxied abstract class
+ * (or the default methods of the proxied interfaces) at all. Calls of such methods don't go through the dispatcher
+ * and the inherited logic runs at native speed. The advice is never part of the recipe advices - the recipe in
+ * {@link ProxyRecipe#withSelectiveInterception() selective interception mode} derives it from its classifications,
+ * see {@link #collect(Class[], MethodClassification[])}.
+ *
+ * Generators that cannot leave the methods out override them as usual and the calls end up in the super method
+ * anyway - that's why the advice provides no classifications. Advice is derived from the recipe and is not meant
+ * to be serialized.
+ */
+public class PassThroughAdvice implements GeneratedMemberAdvice<Object> {
+	private static final long serialVersionUID = -2867392087593870815L;
+	/**
+	 * Concrete methods no classification claims - i.e. the methods handled only by the super method invoker.
+	 */
+	@Getter private final Set<Method> passThroughMethods;
+	/**
+	 * Sorted signatures (name and parameter types) of the {@link #passThroughMethods}.
+	 */
+	@Getter private final SortedSet<String> signatures;
+
+	private PassThroughAdvice(@Nonnull Set<Method> passThroughMethods) {
+		final SortedSet<String> theSignatures = new TreeSet<>();
+		for (Method method : passThroughMethods) {
+			theSignatures.add(getSignature(method));
+		}
+		this.passThroughMethods = Collections.unmodifiableSet(passThroughMethods);
+		this.signatures = Collections.unmodifiableSortedSet(theSignatures);
+	}
+
+	/**
+	 * Collects all concrete methods of the passed interfaces / abstract class none of the passed classifications
+	 * matches. Classifications with opaque matcher are asked with NULL proxy state - classification that fails
+	 * without the proxy state is considered to match the method. Methods declared by {@link Object} are never passed
+	 * through, because they're always handled by the standard classifications of the dispatcher.
+	 */
+	@Nonnull
+	public static PassThroughAdvice collect(@Nonnull Class<?>[] interfaces, @Nonnull MethodClassification<?, ?>[] classifications) {
+		final Map<String, Method> concreteMethods = new LinkedHashMap<>();
+		final Set<String> abstractMethods = new HashSet<>();
+		for (Class<?> anInterface : interfaces) {
+			for (Method method : getOverridableMethods(anInterface)) {
+				final String signature = getSignature(method);
+				if (Modifier.isAbstract(method.getModifiers())) {
+					abstractMethods.add(signature);
+				} else {
+					concreteMethods.putIfAbsent(signature, method);
+				}
+			}
+		}
+		final Set<Method> passThroughMethods = new HashSet<>(concreteMethods.size());
+		for (Map.Entry<String, Method> entry : concreteMethods.entrySet()) {
+			final Method method = entry.getValue();
+			// ABSTRACT METHOD OF THE SAME SIGNATURE IN OTHER INTERFACE MUST BE IMPLEMENTED BY THE PROXY
+			if (!abstractMethods.contains(entry.getKey()) && !isDeclaredByObject(method) && !isClaimed(method, classifications)) {
+				passThroughMethods.add(method);
+			}
+		}
+		return new PassThroughAdvice(passThroughMethods);
+	}
+
+	/**
+	 * Returns true if the proxy class should not override the passed method. Methods are compared by their name and
+	 * parameter types.
+	 */
+	public boolean isPassThrough(@Nonnull Method method) {
+		return this.signatures.contains(getSignature(method));
+	}
+
+	/**
+	 * Returns true if there is no method to pass through.
+	 */
+	public boolean isEmpty() {
+		return this.signatures.isEmpty();
+	}
+
+	@Override
+	public Class<Object> getRequestedStateContract() {
+		return Object.class;
+	}
+
+	@Override
+	public List<MethodClassification<?, Object>> getMethodClassification() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return this.signatures.equals(((PassThroughAdvice) o).signatures);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.signatures.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "Pass through " + this.signatures;
+	}
+
+	/**
+	 * Returns public methods of the type and all non-public methods of the class and its superclasses that might be
+	 * overridden by the proxy class.
+	 */
+	@Nonnull
+	private static Set<Method> getOverridableMethods(@Nonnull Class<?> type) {
+		// MOST SPECIFIC METHODS GO FIRST
+		final Set<Method> methods = new LinkedHashSet<>();
+		Collections.addAll(methods, type.getMethods());
+		Class<?> examinedClass = type.isInterface() ? null : type;
+		while (examinedClass != null && examinedClass != Object.class) {
+			for (Method method : examinedClass.getDeclaredMethods()) {
+				if (Modifier.isProtected(method.getModifiers())) {
+					methods.add(method);
+				}
+			}
+			examinedClass = examinedClass.getSuperclass();
+		}
+		methods.removeIf(
+			method -> Modifier.isStatic(method.getModifiers()) || Modifier.isFinal(method.getModifiers()) ||
+				method.isBridge() || method.isSynthetic()
+		);
+		return methods;
+	}
+
+	private static boolean isDeclaredByObject(@Nonnull Method method) {
+		try {
+			Object.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static boolean isClaimed(@Nonnull Method method, @Nonnull MethodClassification<?, ?>[] classifications) {
+		for (MethodClassification<?, ?> classification : classifications) {
+			if (classification.getMethodMatcher() != null) {
+				if (classification.getMethodMatcher().test(method)) {
+					return true;
+				}
+			} else {
+				try {
+					if (classification.createCurriedMethodContextInvocationHandler(method, null) != null) {
+						return true;
+					}
+				} catch (RuntimeException e) {
+					// CLASSIFICATION DEPENDS ON THE PROXY STATE - THE METHOD MUST BE INTERCEPTED
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Nonnull
+	private static String getSignature(@Nonnull Method method) {
+		final StringBuilder signature = new StringBuilder(method.getName()).append('(');
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			signature.append(parameterType.getName()).append(';');
+		}
+		return signature.append(')').toString();
+	}
+
+}
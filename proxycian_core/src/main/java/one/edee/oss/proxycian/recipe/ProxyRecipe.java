@@ -3,18 +3,22 @@ package one.edee.oss.proxycian.recipe;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
+import one.edee.oss.proxycian.DispatchMode;
 import one.edee.oss.proxycian.MethodClassification;
 import one.edee.oss.proxycian.OnInstantiationCallback;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.utils.ArrayUtils;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 import static java.util.Optional.ofNullable;
 
@@ -33,11 +37,34 @@ public class ProxyRecipe implements Serializable {
 	private static final long serialVersionUID = -4034411993592819942L;
 	private static final Class<?>[] EMPTY_CLASSES = new Class[0];
 	private static final MethodClassification<?, ?>[] EMPTY_METHOD_CLASSIFICATION = new MethodClassification[0];
+	private static final GeneratedMemberAdvice<?>[] EMPTY_GENERATED_MEMBER_ADVICES = new GeneratedMemberAdvice[0];
 
 	@Getter private final OnInstantiationCallback instantiationCallback;
 	@Getter private final Class<?>[] interfaces;
 	@Getter private final Advice<?>[] advices;
+	@Getter private final DispatchMode dispatchMode;
+	/**
+	 * When true, generators resolve classifications of all methods of the proxy class before the first proxy of
+	 * the class and proxy state class is handed out - see {@link #withEagerResolution()}.
+	 */
+	@Getter private final boolean eagerResolution;
+	/**
+	 * When true, generators don't override concrete methods no classification claims - see {@link #withSelectiveInterception()}.
+	 */
+	@Getter private final boolean selectiveInterception;
 	private final Set<Class<?>> verifiedStateClasses = ConcurrentHashMap.newKeySet();
+	@EqualsAndHashCode.Exclude @ToString.Exclude
+	private final Map<Class<?>, Set<Class<?>>> eagerlyResolvedClasses = new ConcurrentHashMap<>(8);
+	/**
+	 * Method classifications of all advices - computed only once, see {@link #getMethodClassificationsWith(PredicateMethodClassification[])}.
+	 */
+	@EqualsAndHashCode.Exclude @ToString.Exclude
+	private transient volatile MethodClassification<?, ?>[] adviceMethodClassifications;
+	/**
+	 * Objects derived from this recipe by the proxy generators - see {@link #getMemoized(Object, Function)}.
+	 */
+	@EqualsAndHashCode.Exclude @ToString.Exclude
+	private transient volatile Map<Object, Object> memoized;
 
 	/**
 	 * Combines abstract class with interfaces together.
@@ -96,6 +123,9 @@ public class ProxyRecipe implements Serializable {
 	public ProxyRecipe(Class<?>[] interfaces, Advice<?>[] advices, OnInstantiationCallback instantiationCallback) {
 		this.instantiationCallback = instantiationCallback;
 		this.advices = advices;
+		this.dispatchMode = DispatchMode.CLASSIFICATION_CACHE;
+		this.eagerResolution = false;
+		this.selectiveInterception = false;
 		List<Class<?>> additionalInterfaces = null;
 		for (Advice<?> advice : advices) {
 			if (advice instanceof IntroductionAdvice) {
@@ -115,6 +145,111 @@ public class ProxyRecipe implements Serializable {
 			ArrayUtils.mergeArrays(interfaces, additionalInterfaces.toArray(EMPTY_CLASSES));
 	}
 
+	/**
+	 * Creates copy of the original recipe with different dispatch mode, resolution mode or interception mode.
+	 */
+	private ProxyRecipe(ProxyRecipe original, DispatchMode dispatchMode, boolean eagerResolution, boolean selectiveInterception) {
+		this.instantiationCallback = original.instantiationCallback;
+		this.interfaces = original.interfaces;
+		this.advices = original.advices;
+		this.dispatchMode = dispatchMode;
+		this.eagerResolution = eagerResolution;
+		this.selectiveInterception = selectiveInterception;
+	}
+
+	/**
+	 * Returns copy of this recipe that generates proxy classes using passed {@link DispatchMode}.
+	 */
+	public ProxyRecipe withDispatchMode(DispatchMode dispatchMode) {
+		return this.dispatchMode == dispatchMode ? this : new ProxyRecipe(this, dispatchMode, this.eagerResolution, this.selectiveInterception);
+	}
+
+	/**
+	 * Returns copy of this recipe that resolves classifications of all methods of the proxy class before the first
+	 * proxy is handed out. Resolution latency is thus moved from the first calls of the proxy methods to the first
+	 * instantiation of the proxy and abstract methods with no matching classification are reported immediately
+	 * instead of failing on their first call.
+	 */
+	public ProxyRecipe withEagerResolution() {
+		return this.eagerResolution ? this : new ProxyRecipe(this, this.dispatchMode, true, this.selectiveInterception);
+	}
+
+	/**
+	 * Returns copy of this recipe whose proxy classes override only the abstract methods and the concrete methods
+	 * claimed by some classification of the recipe. Other concrete methods of the abstract class (and default methods
+	 * of the interfaces) are left as they are and their calls don't go through the dispatcher at all. Classifications
+	 * are consulted when the proxy class is generated, so they should match the methods regardless of the proxy
+	 * state - see {@link PassThroughAdvice#collect(Class[], MethodClassification[])}.
+	 */
+	public ProxyRecipe withSelectiveInterception() {
+		return this.selectiveInterception ? this : new ProxyRecipe(this, this.dispatchMode, this.eagerResolution, true);
+	}
+
+	/**
+	 * Returns advice listing the concrete methods the proxy class should not override or NULL if the recipe is not in
+	 * selective interception mode or there is no such method. Advice is computed only once.
+	 */
+	@Nullable
+	public PassThroughAdvice getPassThroughAdvice() {
+		if (!this.selectiveInterception) {
+			return null;
+		}
+		final PassThroughAdvice passThroughAdvice = getMemoized(
+			PassThroughAdvice.class,
+			recipe -> PassThroughAdvice.collect(recipe.interfaces, recipe.getMethodClassificationsWith())
+		);
+		return passThroughAdvice.isEmpty() ? null : passThroughAdvice;
+	}
+
+	/**
+	 * Calls passed resolver if the recipe is in eager resolution mode and the combination of the proxy class and
+	 * the proxy state class hasn't been resolved yet. Method is expected to be called by the proxy generators.
+	 */
+	public void resolveEagerly(@Nonnull Class<?> proxyClass, @Nonnull Object proxyState, @Nonnull Runnable resolver) {
+		if (this.eagerResolution) {
+			final Set<Class<?>> resolvedStateClasses = this.eagerlyResolvedClasses.computeIfAbsent(proxyClass, aClass -> ConcurrentHashMap.newKeySet());
+			if (!resolvedStateClasses.contains(proxyState.getClass())) {
+				resolver.run();
+				resolvedStateClasses.add(proxyState.getClass());
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the passed proxy class might have been generated from this recipe - i.e. it implements all
+	 * the interfaces of the recipe.
+	 */
+	public boolean isImplementedBy(@Nonnull Class<?> proxyClass) {
+		for (Class<?> anInterface : interfaces) {
+			if (!anInterface.isAssignableFrom(proxyClass)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns advices that ask the generator to emit members directly into the byte-code of the proxy class including
+	 * the {@link #getPassThroughAdvice()}.
+	 */
+	public GeneratedMemberAdvice<?>[] getGeneratedMemberAdvices() {
+		List<GeneratedMemberAdvice<?>> generatedMemberAdvices = null;
+		final PassThroughAdvice passThroughAdvice = getPassThroughAdvice();
+		if (passThroughAdvice != null) {
+			generatedMemberAdvices = new LinkedList<>();
+			generatedMemberAdvices.add(passThroughAdvice);
+		}
+		for (Advice<?> advice : advices) {
+			if (advice instanceof GeneratedMemberAdvice) {
+				if (generatedMemberAdvices == null) {
+					generatedMemberAdvices = new LinkedList<>();
+				}
+				generatedMemberAdvices.add((GeneratedMemberAdvice<?>) advice);
+			}
+		}
+		return generatedMemberAdvices == null ? EMPTY_GENERATED_MEMBER_ADVICES : generatedMemberAdvices.toArray(EMPTY_GENERATED_MEMBER_ADVICES);
+	}
+
 	/**
 	 * Method verifies whether proxy state is compliant with all advices used in this recipe.
 	 */
@@ -153,14 +288,46 @@ public class ProxyRecipe implements Serializable {
 
 	/**
 	 * Returns complete list of method classifications defined by this recipe and adds all classifications from the parameters
-	 * of the method.
+	 * of the method. Classifications of the advices are created only once - when no base classifications are passed,
+	 * the same array is returned on each call and must not be modified.
 	 */
 	public MethodClassification<?, ?>[] getMethodClassificationsWith(PredicateMethodClassification<?, ?, ?>... baseMethodClassifications) {
-		final List<MethodClassification<?, ?>> methodClassifications = new LinkedList<>(Arrays.asList(baseMethodClassifications));
-		for (Advice<?> advice : advices) {
-			methodClassifications.addAll(advice.getMethodClassification());
+		MethodClassification<?, ?>[] adviceClassifications = this.adviceMethodClassifications;
+		if (adviceClassifications == null) {
+			final List<MethodClassification<?, ?>> methodClassifications = new LinkedList<>();
+			for (Advice<?> advice : advices) {
+				methodClassifications.addAll(advice.getMethodClassification());
+			}
+			adviceClassifications = methodClassifications.toArray(EMPTY_METHOD_CLASSIFICATION);
+			this.adviceMethodClassifications = adviceClassifications;
+		}
+		if (baseMethodClassifications.length == 0) {
+			return adviceClassifications;
+		}
+		final MethodClassification<?, ?>[] result = new MethodClassification[baseMethodClassifications.length + adviceClassifications.length];
+		System.arraycopy(baseMethodClassifications, 0, result, 0, baseMethodClassifications.length);
+		System.arraycopy(adviceClassifications, 0, result, baseMethodClassifications.length, adviceClassifications.length);
+		return result;
+	}
+
+	/**
+	 * Returns object memoized for the passed key or creates it by the passed factory. Proxy generators use it for
+	 * the objects derived from the recipe only (such as the dispatcher templates with the complete classification
+	 * lists), so that they are created once per recipe and not for each proxy instance.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getMemoized(@Nonnull Object key, @Nonnull Function<ProxyRecipe, T> factory) {
+		Map<Object, Object> memoizedObjects = this.memoized;
+		if (memoizedObjects == null) {
+			synchronized (this) {
+				memoizedObjects = this.memoized;
+				if (memoizedObjects == null) {
+					memoizedObjects = new ConcurrentHashMap<>(4);
+					this.memoized = memoizedObjects;
+				}
+			}
 		}
-		return methodClassifications.toArray(EMPTY_METHOD_CLASSIFICATION);
+		return (T) memoizedObjects.computeIfAbsent(key, theKey -> factory.apply(this));
 	}
 
 }
@@ -0,0 +1,18 @@
+package one.edee.oss.proxycian.recipe;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+
+/**
+ * Provides the recipes of the proxies the application is going to create so that their proxy classes could be
+ * generated at build time instead of at runtime. Implementations must have public no-arg constructor.
+ */
+public interface ProxyRecipeFactory {
+
+	/**
+	 * Returns recipes of all proxies which classes should be generated at build time.
+	 */
+	@Nonnull
+	Collection<ProxyRecipe> createRecipes();
+
+}
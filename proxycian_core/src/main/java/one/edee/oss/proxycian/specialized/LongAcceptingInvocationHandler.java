@@ -0,0 +1,33 @@
+package one.edee.oss.proxycian.specialized;
+
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * Specialized {@link CurriedMethodContextInvocationHandler} for void methods with single primitive {@code long}
+ * argument. Generators that recognize this contract call {@link #invokeWithLong(Object, Object, long)} directly without
+ * allocating arguments array, super method callable and without boxing the argument. Other callers use generic
+ * {@link #invoke(Object, Method, Object[], Object, Callable)} method.
+ */
+@FunctionalInterface
+public interface LongAcceptingInvocationHandler<PROXY, PROXY_STATE> extends CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> {
+
+	/**
+	 * Specialized variant of {@link #invoke(Object, Method, Object[], Object, Callable)}.
+	 *
+	 * @param proxy      reference to the proxy instance
+	 * @param proxyState references to the state object unique for each proxy instance
+	 * @param argument   the only argument of the method invocation
+	 * @throws Throwable propagated exception if thrown in invocation
+	 */
+	void invokeWithLong(PROXY proxy, PROXY_STATE proxyState, long argument) throws Throwable;
+
+	@Override
+	default Object invoke(PROXY proxy, Method method, Object[] args, PROXY_STATE proxyState, Callable<Object> invokeSuper) throws Throwable {
+		invokeWithLong(proxy, proxyState, (Long) args[0]);
+		return null;
+	}
+
+}
@@ -0,0 +1,32 @@
+package one.edee.oss.proxycian.specialized;
+
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * Specialized {@link CurriedMethodContextInvocationHandler} for methods without arguments returning primitive
+ * {@code long}. Generators that recognize this contract call {@link #invokeLong(Object, Object)} directly without
+ * allocating arguments array, super method callable and without boxing the result. Other callers use generic
+ * {@link #invoke(Object, Method, Object[], Object, Callable)} method.
+ */
+@FunctionalInterface
+public interface LongReturningInvocationHandler<PROXY, PROXY_STATE> extends CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> {
+
+	/**
+	 * Specialized variant of {@link #invoke(Object, Method, Object[], Object, Callable)}.
+	 *
+	 * @param proxy      reference to the proxy instance
+	 * @param proxyState references to the state object unique for each proxy instance
+	 * @return result of the invocation
+	 * @throws Throwable propagated exception if thrown in invocation
+	 */
+	long invokeLong(PROXY proxy, PROXY_STATE proxyState) throws Throwable;
+
+	@Override
+	default Object invoke(PROXY proxy, Method method, Object[] args, PROXY_STATE proxyState, Callable<Object> invokeSuper) throws Throwable {
+		return invokeLong(proxy, proxyState);
+	}
+
+}
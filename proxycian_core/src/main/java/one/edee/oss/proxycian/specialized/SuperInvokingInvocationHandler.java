@@ -0,0 +1,39 @@
+package one.edee.oss.proxycian.specialized;
+
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+
+/**
+ * Specialized {@link CurriedMethodContextInvocationHandler} for handlers calling super / default implementation of
+ * the method. Generators that recognize this contract call {@link #invokeWithSuper(Object, Method, Object[], Object, SuperMethodInvoker)}
+ * with the reusable {@link SuperMethodInvoker} of the method instead of allocating new super method callable on each
+ * call. Other callers use generic {@link #invoke(Object, Method, Object[], Object, Callable)} method.
+ */
+@FunctionalInterface
+public interface SuperInvokingInvocationHandler<PROXY, PROXY_STATE> extends CurriedMethodContextInvocationHandler<PROXY, PROXY_STATE> {
+
+	/**
+	 * Specialized variant of {@link #invoke(Object, Method, Object[], Object, Callable)}.
+	 *
+	 * @param proxy       reference to the proxy instance
+	 * @param method      reference to the proxy method
+	 * @param args        arguments of method invocations
+	 * @param proxyState  references to the state object unique for each proxy instance
+	 * @param invokeSuper invoker of the super method or NULL if the method has no implementation
+	 * @return result of the invocation
+	 * @throws Throwable propagated exception if thrown in invocation
+	 */
+	Object invokeWithSuper(PROXY proxy, Method method, Object[] args, PROXY_STATE proxyState, @Nullable SuperMethodInvoker invokeSuper) throws Throwable;
+
+	@Override
+	default Object invoke(PROXY proxy, Method method, Object[] args, PROXY_STATE proxyState, Callable<Object> invokeSuper) throws Throwable {
+		return invokeWithSuper(
+			proxy, method, args, proxyState,
+			invokeSuper == null ? null : (theProxy, theArgs) -> invokeSuper.call()
+		);
+	}
+
+}
@@ -0,0 +1,41 @@
+package one.edee.oss.proxycian.specialized;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+
+/**
+ * Invoker of the super / default implementation of the proxy method. Unlike the {@link Callable} passed to
+ * {@link one.edee.oss.proxycian.CurriedMethodContextInvocationHandler} the invoker doesn't capture the proxy instance
+ * nor the arguments of the call - they're supplied when the super method is actually called. Generators therefore
+ * create single invoker per method and pass the very same instance to all calls of the method.
+ */
+@FunctionalInterface
+public interface SuperMethodInvoker {
+
+	/**
+	 * Invokes the super / default implementation of the method on the proxy instance.
+	 *
+	 * @param proxy reference to the proxy instance
+	 * @param args  arguments of method invocation
+	 * @return result of the invocation
+	 * @throws Throwable propagated exception if thrown in invocation
+	 */
+	Object invoke(Object proxy, Object[] args) throws Throwable;
+
+	/**
+	 * Returns callable invoking the super method with the passed proxy and arguments. It's used for invocation handlers
+	 * that don't implement {@link SuperInvokingInvocationHandler} contract.
+	 */
+	default Callable<Object> asCallable(Object proxy, Object[] args) {
+		return () -> {
+			try {
+				return invoke(proxy, args);
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
+		};
+	}
+
+}
@@ -1,5 +1,6 @@
 package one.edee.oss.proxycian.trait;
 
+import one.edee.oss.proxycian.MethodMatcher;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.util.ReflectionUtils;
 
@@ -13,7 +14,7 @@ public interface ProxyStateAccessor {
 	static PredicateMethodClassification<ProxyStateAccessor, Void, Object> getProxyStateMethodInvoker() {
 		return new PredicateMethodClassification<>(
 			/* description */   "ProxyStateAccessor.getProxyState()",
-			/* matcher */       (method, proxyState) -> ReflectionUtils.isMethodDeclaredOn(method, ProxyStateAccessor.class, "getProxyState"),
+			/* matcher */       MethodMatcher.named("getProxyState").withParameterCount(0).and(method -> ReflectionUtils.isMethodDeclaredOn(method, ProxyStateAccessor.class, "getProxyState")),
 			/* methodContext */ noContext(),
 			/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> proxyState
 		);
@@ -4,6 +4,8 @@ import lombok.extern.log4j.Log4j2;
 import one.edee.oss.proxycian.DispatcherInvocationHandler;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.ProxyStateWithConstructorArgs;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStore;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
 import one.edee.oss.proxycian.util.ReflectionUtils;
 
 import javax.annotation.Nonnull;
@@ -90,18 +92,25 @@ public interface SerializableProxy extends Serializable {
 		private final T proxyState;
 		private final DeserializationProxyFactory deserializationProxyFactory;
 		private final Map<String, Serializable> fieldValues;
+		private final Map<String, Serializable> propertyFieldValues;
 
 		private SerializableProxyDescriptor(DeserializationProxyFactory deserializationProxyFactory, Object proxy, T proxyState, Class<?>... interfaces) {
 			this.interfaces = interfaces;
 			this.proxyState = proxyState;
 			this.deserializationProxyFactory = deserializationProxyFactory;
 			this.fieldValues = !interfaces[0].isInterface() ? gatherFieldValues(proxy, interfaces[0]) : Collections.emptyMap();
+			// VALUES OF GENERATED PROPERTY FIELDS ARE NOT PART OF THE PROXY STATE
+			this.propertyFieldValues = BeanMemoryStoreView.getFieldValues(proxy);
 		}
 
 		/**
 		 * This method will be called by JDK to deserialize object.
 		 */
 		protected Object readResolve() throws ObjectStreamException {
+			if (propertyFieldValues != null && proxyState instanceof BeanMemoryStore) {
+				// DESERIALIZED STATE IS OUR OWN COPY - PROXY INITIALIZES ITS PROPERTY FIELDS FROM IT (IF IT HAS ANY)
+				propertyFieldValues.forEach(((BeanMemoryStore) proxyState)::putValueToMemoryStore);
+			}
 			final Object deserializedProxy = proxyState instanceof ProxyStateWithConstructorArgs ?
 				deserializationProxyFactory.deserialize(
 					(ProxyStateWithConstructorArgs) proxyState, interfaces,
@@ -2,33 +2,38 @@ package one.edee.oss.proxycian.trait;
 
 
 import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DirectMethodClassification;
 import one.edee.oss.proxycian.PredicateMethodClassification;
+import one.edee.oss.proxycian.specialized.SuperInvokingInvocationHandler;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
 
+import java.io.Serializable;
 import java.lang.reflect.Modifier;
+import java.util.Map;
 
 import static one.edee.oss.proxycian.MethodClassification.noContext;
+import static one.edee.oss.proxycian.MethodMatcher.named;
 import static one.edee.oss.proxycian.util.ReflectionUtils.isMethodDeclaredOn;
 import static one.edee.oss.proxycian.util.ReflectionUtils.isNonPublicMethodDeclaredOn;
 
 public interface StandardJavaMethods {
 
 	/** METHOD CONTRACT: catch all real (not abstract) methods and delegate calls to them **/
-    static PredicateMethodClassification<ProxyStateAccessor, Void, Object> realMethodInvoker() {
-        return new PredicateMethodClassification<>(
-        /* description */   "delegate to default / super implementation",
-        /* matcher */       (method, proxyState) -> !Modifier.isAbstract(method.getModifiers()) || method.isDefault(),
-        /* methodContext */ noContext(),
-        /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> invokeSuper.call()
-        );
-    }
+	static DirectMethodClassification<ProxyStateAccessor, Object> realMethodInvoker() {
+		return new DirectMethodClassification<>(
+		/* description */   "delegate to default / super implementation",
+		/* invocation */    (method, proxyState) -> !Modifier.isAbstract(method.getModifiers()) || method.isDefault() ?
+			RealMethodInvoker.INSTANCE : null
+		);
+	}
 
 	/** METHOD CONTRACT: String toString() **/
     static PredicateMethodClassification<ProxyStateAccessor, Void, Object> toStringMethodInvoker() {
         return new PredicateMethodClassification<>(
         /* description */   "Object.toString()",
-        /* matcher */       (method, proxyState) -> isMethodDeclaredOn(method, Object.class, "toString"),
+        /* matcher */       named("toString").withParameterCount(0).and(method -> isMethodDeclaredOn(method, Object.class, "toString")),
         /* methodContext */ noContext(),
-        /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> proxyState.toString()
+        /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> BeanMemoryStoreView.toString(proxy, proxyState)
         );
     }
 
@@ -36,9 +41,13 @@ public interface StandardJavaMethods {
     static PredicateMethodClassification<ProxyStateAccessor, Void, Object> hashCodeMethodInvoker() {
         return new PredicateMethodClassification<>(
         /* description */   "Object.hashCode()",
-        /* matcher */       (method, proxyState) -> isMethodDeclaredOn(method, Object.class, "hashCode"),
+        /* matcher */       named("hashCode").withParameterCount(0).and(method -> isMethodDeclaredOn(method, Object.class, "hashCode")),
         /* methodContext */ noContext(),
-        /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> proxyState.hashCode()
+        /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
+                                        // VALUES OF THE GENERATED PROPERTY FIELDS ARE NOT PART OF THE PROXY STATE
+                                        final Map<String, Serializable> fieldValues = BeanMemoryStoreView.getFieldValues(proxy);
+                                        return fieldValues.isEmpty() ? proxyState.hashCode() : 31 * proxyState.hashCode() + fieldValues.hashCode();
+                                    }
         );
     }
 
@@ -46,12 +55,13 @@ public interface StandardJavaMethods {
     static PredicateMethodClassification<ProxyStateAccessor, Void, Object> equalsMethodInvoker() {
         return new PredicateMethodClassification<>(
         /* description */   "Object.equals(Object)",
-        /* matcher */       (method, proxyState) -> isMethodDeclaredOn(method, Object.class, "equals", Object.class),
+        /* matcher */       named("equals").withParameterTypes(Object.class).and(method -> isMethodDeclaredOn(method, Object.class, "equals", Object.class)),
         /* methodContext */ noContext(),
         /* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
                                         args[0] != null &&
                                         proxy.getClass().equals(args[0].getClass()) &&
-                                        proxyState.equals(((ProxyStateAccessor)args[0]).getProxyState())
+                                        proxyState.equals(((ProxyStateAccessor)args[0]).getProxyState()) &&
+                                        BeanMemoryStoreView.getFieldValues(proxy).equals(BeanMemoryStoreView.getFieldValues(args[0]))
         );
     }
 
@@ -59,7 +69,7 @@ public interface StandardJavaMethods {
 	static PredicateMethodClassification<ProxyStateAccessor, Void, Object> cloneMethodInvoker(CloneLambda<ProxyStateAccessor> cloner) {
 		return new PredicateMethodClassification<>(
 			/* description */   "Object.clone(Object)",
-			/* matcher */       (method, proxyState) -> isNonPublicMethodDeclaredOn(method, Object.class, "clone"),
+			/* matcher */       named("clone").withParameterCount(0).and(method -> isNonPublicMethodDeclaredOn(method, Object.class, "clone")),
 			/* methodContext */ noContext(),
 			/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> cloner.clone(proxy)
 		);
@@ -68,13 +78,38 @@ public interface StandardJavaMethods {
 	/** METHOD CONTRACT: catch everything else and throw exception **/
 	@SuppressWarnings("rawtypes")
 	static CurriedMethodContextInvocationHandler missingImplementationInvoker() {
-        return (proxy, method, args, proxyState, invokeSuper) -> {
-            throw new UnsupportedOperationException(
-                    "Method " + method.toGenericString() + " is not supported by this proxy!"
-            );
-        };
+        return MissingImplementationInvoker.INSTANCE;
     }
 
+	/**
+	 * Returns true if the passed invocation handler is the one returned by {@link #missingImplementationInvoker()} -
+	 * i.e. no method classification matched the method.
+	 */
+	static boolean isMissingImplementationInvoker(CurriedMethodContextInvocationHandler<?, ?> invocationHandler) {
+		return invocationHandler == MissingImplementationInvoker.INSTANCE;
+	}
+
+	/**
+	 * Holder of the shared invocation handler for methods no classification matched.
+	 */
+	class MissingImplementationInvoker {
+		@SuppressWarnings("rawtypes")
+		private static final CurriedMethodContextInvocationHandler INSTANCE = (proxy, method, args, proxyState, invokeSuper) -> {
+			throw new UnsupportedOperationException(
+				"Method " + method.toGenericString() + " is not supported by this proxy!"
+			);
+		};
+	}
+
+	/**
+	 * Holder of the shared invocation handler delegating to the default / super implementation. It implements
+	 * {@link SuperInvokingInvocationHandler} so that the generators needn't create super method callable for it.
+	 */
+	class RealMethodInvoker {
+		@SuppressWarnings("rawtypes")
+		private static final SuperInvokingInvocationHandler INSTANCE = (proxy, method, args, proxyState, invokeSuper) -> invokeSuper.invoke(proxy, args);
+	}
+
 	interface CloneLambda<T> {
 
 		T clone(T t) throws CloneNotSupportedException;
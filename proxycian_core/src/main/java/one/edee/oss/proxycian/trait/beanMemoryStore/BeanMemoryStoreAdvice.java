@@ -1,11 +1,24 @@
 package one.edee.oss.proxycian.trait.beanMemoryStore;
 
+import one.edee.oss.proxycian.DirectMethodClassification;
 import one.edee.oss.proxycian.MethodClassification;
+import one.edee.oss.proxycian.MethodMatcher;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.FieldBackedAdvice;
+import one.edee.oss.proxycian.specialized.BooleanAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.BooleanReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.DoubleReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntReturningInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.LongReturningInvocationHandler;
 import one.edee.oss.proxycian.trait.localDataStore.LocalDataStore;
 import org.apache.commons.lang.StringUtils;
 
+import javax.annotation.Nonnull;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -30,6 +43,12 @@ public class BeanMemoryStoreAdvice implements Advice<BeanMemoryStore> {
 	 * This instance matches only abstract - non implemented Java bean methods.
 	 */
 	public static final BeanMemoryStoreAdvice ABSTRACT_METHOD_INSTANCE = new BeanMemoryStoreAdvice(method -> Modifier.isAbstract(method.getModifiers()));
+	/**
+	 * This instance matches only abstract - non implemented Java bean methods. Generators that support it implement
+	 * matched getter / setter pairs as real typed fields of the proxy - use {@link BeanMemoryStoreView} to access
+	 * the memory store of such proxies.
+	 */
+	public static final BeanMemoryStoreAdvice FIELD_BACKED_INSTANCE = new FieldBackedBeanMemoryStoreAdvice();
 	private static final String SET = "set";
 	private static final String GET = "get";
 	private static final String IS = "is";
@@ -48,10 +67,46 @@ public class BeanMemoryStoreAdvice implements Advice<BeanMemoryStore> {
 
 	@Override
 	public List<MethodClassification<?, BeanMemoryStore>> getMethodClassification() {
-		return Arrays.asList(
+		return Arrays.<MethodClassification<?, BeanMemoryStore>>asList(
+			new DirectMethodClassification<Object, BeanMemoryStore>(
+				/* description */   "JavaBean int setter",
+				/* matcher */       setter(int.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, SET);
+					return (IntAcceptingInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState, argument) ->
+						theProxyState.putValueToMemoryStore(propertyName, argument);
+				}
+			),
+			new DirectMethodClassification<Object, BeanMemoryStore>(
+				/* description */   "JavaBean long setter",
+				/* matcher */       setter(long.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, SET);
+					return (LongAcceptingInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState, argument) ->
+						theProxyState.putValueToMemoryStore(propertyName, argument);
+				}
+			),
+			new DirectMethodClassification<Object, BeanMemoryStore>(
+				/* description */   "JavaBean double setter",
+				/* matcher */       setter(double.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, SET);
+					return (DoubleAcceptingInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState, argument) ->
+						theProxyState.putValueToMemoryStore(propertyName, argument);
+				}
+			),
+			new DirectMethodClassification<Object, BeanMemoryStore>(
+				/* description */   "JavaBean boolean setter",
+				/* matcher */       setter(boolean.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, SET);
+					return (BooleanAcceptingInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState, argument) ->
+						theProxyState.putValueToMemoryStore(propertyName, argument);
+				}
+			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean setter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(SET) && void.class.equals(method.getReturnType()) && method.getParameterCount() == 1,
+				/* matcher */       setter(),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(SET.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
 					proxyState.putValueToMemoryStore(methodContext, (Serializable) args[0]);
@@ -60,92 +115,163 @@ public class BeanMemoryStoreAdvice implements Advice<BeanMemoryStore> {
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean short getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && short.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
+				/* matcher */       getter(GET, short.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
 				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse((short) 0)
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean byte getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && byte.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
+				/* matcher */       getter(GET, byte.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
 				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse((byte) 0)
 			),
-			new PredicateMethodClassification<>(
+			new DirectMethodClassification<Object, BeanMemoryStore>(
 				/* description */   "JavaBean int getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && int.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
-				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
-				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
-				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse(0)
+				/* matcher */       getter(GET, int.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, GET);
+					return (IntReturningInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState) -> {
+						final Integer value = theProxyState.getValueFromMemoryStore(propertyName);
+						return value == null ? 0 : value;
+					};
+				}
 			),
-			new PredicateMethodClassification<>(
+			new DirectMethodClassification<Object, BeanMemoryStore>(
 				/* description */   "JavaBean long getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && long.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
-				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
-				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
-				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse((long) 0)
+				/* matcher */       getter(GET, long.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, GET);
+					return (LongReturningInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState) -> {
+						final Long value = theProxyState.getValueFromMemoryStore(propertyName);
+						return value == null ? 0L : value;
+					};
+				}
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean float getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && float.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
+				/* matcher */       getter(GET, float.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
 				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse((float) 0)
 			),
-			new PredicateMethodClassification<>(
+			new DirectMethodClassification<Object, BeanMemoryStore>(
 				/* description */   "JavaBean double getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && double.class.equals(method.getReturnType()) && method.getParameterCount() == 0,
-				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
-				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
-				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse((double) 0)
+				/* matcher */       getter(GET, double.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, GET);
+					return (DoubleReturningInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState) -> {
+						final Double value = theProxyState.getValueFromMemoryStore(propertyName);
+						return value == null ? 0.0 : value;
+					};
+				}
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean object getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(GET) && method.getParameterCount() == 0,
+				/* matcher */       getter(GET),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(GET.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
 				proxyState.getValueFromMemoryStore(methodContext)
 			),
+			new DirectMethodClassification<Object, BeanMemoryStore>(
+				/* description */   "JavaBean primitive boolean getter",
+				/* matcher */       getter(IS, boolean.class),
+				/* invocation */    (method, proxyState) -> {
+					final String propertyName = getPropertyName(method, IS);
+					return (BooleanReturningInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState) -> {
+						final Boolean value = theProxyState.getValueFromMemoryStore(propertyName);
+						return value != null && value;
+					};
+				}
+			),
 			new PredicateMethodClassification<>(
 				/* description */   "JavaBean boolean getter",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(IS) && method.getParameterCount() == 0,
+				/* matcher */       getter(IS),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(IS.length())),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
 				ofNullable(proxyState.getValueFromMemoryStore(methodContext)).orElse(false)
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "add to list returning void",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(ADD) && method.getParameterCount() == 1 && method.getReturnType().equals(void.class),
+				/* matcher */       collectionModifier(ADD, void.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(ADD.length())) + "s",
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
-					proxyState.addValueToCollectionInMemoryStore(methodContext, (Serializable) args[0]);
+					BeanMemoryStoreView.of(proxy, proxyState).addValueToCollectionInMemoryStore(methodContext, (Serializable) args[0]);
 					return null;
 				}
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "add to list returning boolean",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(ADD) && method.getParameterCount() == 1 && method.getReturnType().equals(boolean.class),
+				/* matcher */       collectionModifier(ADD, boolean.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(ADD.length())) + "s",
-				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> proxyState.addValueToCollectionInMemoryStore(methodContext, (Serializable) args[0])
+				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> BeanMemoryStoreView.of(proxy, proxyState).addValueToCollectionInMemoryStore(methodContext, (Serializable) args[0])
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "remove from list returning boolean",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(REMOVE) && method.getParameterCount() == 1 && method.getReturnType().equals(boolean.class),
+				/* matcher */       collectionModifier(REMOVE, boolean.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(REMOVE.length())) + "s",
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) ->
-				proxyState.removeValueFromCollectionInMemoryStore(methodContext, (Serializable) args[0])
+				BeanMemoryStoreView.of(proxy, proxyState).removeValueFromCollectionInMemoryStore(methodContext, (Serializable) args[0])
 			),
 			new PredicateMethodClassification<>(
 				/* description */   "remove from list returning void",
-				/* matcher */       (method, proxyState) -> basePredicate.test(method) && method.getName().startsWith(REMOVE) && method.getParameterCount() == 1 && method.getReturnType().equals(void.class),
+				/* matcher */       collectionModifier(REMOVE, void.class),
 				/* methodContext */ (method, proxyState) -> StringUtils.uncapitalize(method.getName().substring(REMOVE.length())) + "s",
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
-					proxyState.removeValueFromCollectionInMemoryStore(methodContext, (Serializable) args[0]);
+					BeanMemoryStoreView.of(proxy, proxyState).removeValueFromCollectionInMemoryStore(methodContext, (Serializable) args[0]);
 					return null;
 				}
 			)
 		);
 	}
 
+	private MethodMatcher getter(String prefix) {
+		return MethodMatcher.nameStartingWith(prefix).withParameterCount(0).and(basePredicate);
+	}
+
+	private MethodMatcher getter(String prefix, Class<?> returnType) {
+		return getter(prefix).returning(returnType);
+	}
+
+	private MethodMatcher setter() {
+		return MethodMatcher.nameStartingWith(SET).returning(void.class).withParameterCount(1).and(basePredicate);
+	}
+
+	private MethodMatcher setter(Class<?> argumentType) {
+		return MethodMatcher.nameStartingWith(SET).returning(void.class).withParameterTypes(argumentType).and(basePredicate);
+	}
+
+	private MethodMatcher collectionModifier(String prefix, Class<?> returnType) {
+		return MethodMatcher.nameStartingWith(prefix).returning(returnType).withParameterCount(1).and(basePredicate);
+	}
+
+	private static String getPropertyName(Method method, String prefix) {
+		return StringUtils.uncapitalize(method.getName().substring(prefix.length()));
+	}
+
+	/**
+	 * Variant of the advice that asks the generator to implement matched JavaBean properties as fields.
+	 */
+	private static class FieldBackedBeanMemoryStoreAdvice extends BeanMemoryStoreAdvice implements FieldBackedAdvice<BeanMemoryStore> {
+		private static final long serialVersionUID = -3640409458416096245L;
+
+		private FieldBackedBeanMemoryStoreAdvice() {
+			super((Predicate<Method> & Serializable) method -> Modifier.isAbstract(method.getModifiers()));
+		}
+
+		@Override
+		public boolean isFieldBacked(@Nonnull Method method) {
+			return Modifier.isAbstract(method.getModifiers());
+		}
+
+		/**
+		 * Keeps the instance singleton so that proxy classes are shared after deserialization.
+		 */
+		private Object readResolve() throws ObjectStreamException {
+			return FIELD_BACKED_INSTANCE;
+		}
+
+	}
+
 }
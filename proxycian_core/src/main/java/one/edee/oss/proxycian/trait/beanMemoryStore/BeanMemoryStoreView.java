@@ -0,0 +1,213 @@
+package one.edee.oss.proxycian.trait.beanMemoryStore;
+
+import one.edee.oss.proxycian.recipe.FieldBackedAdvice;
+import one.edee.oss.proxycian.recipe.FieldBackedProperty;
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * View of the {@link BeanMemoryStore} over the proxy with generated property fields (see {@link FieldBackedAdvice}).
+ * Values of the properties implemented by generated fields are read from and written to the fields of the proxy
+ * instance, all other values are delegated to the proxy state.
+ *
+ * Proxy state doesn't see the values of the generated fields - always access the memory store of such proxies through
+ * this view.
+ */
+public class BeanMemoryStoreView implements BeanMemoryStore {
+	private static final ClassValue<Map<String, Field>> PROPERTY_FIELDS = new ClassValue<Map<String, Field>>() {
+		@Override
+		protected Map<String, Field> computeValue(Class<?> type) {
+			Map<String, Field> fields = null;
+			final Field[] declaredFields = type.getDeclaredFields();
+			// ALPHABETICAL ORDER KEEPS THE STRING REPRESENTATION OF THE PROXY STABLE
+			Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+			for (Field field : declaredFields) {
+				final String propertyName = FieldBackedProperty.getPropertyName(field.getName());
+				if (propertyName != null && !Modifier.isStatic(field.getModifiers())) {
+					if (fields == null) {
+						fields = new LinkedHashMap<>(16);
+					}
+					field.setAccessible(true);
+					fields.put(propertyName, field);
+				}
+			}
+			return fields == null ? Collections.emptyMap() : fields;
+		}
+	};
+	private static final Map<Class<?>, Object> DEFAULT_VALUES;
+	private final Object proxy;
+	private final Map<String, Field> fields;
+	private final BeanMemoryStore delegate;
+
+	static {
+		final Map<Class<?>, Object> defaultValues = new HashMap<>(16);
+		defaultValues.put(boolean.class, false);
+		defaultValues.put(byte.class, (byte) 0);
+		defaultValues.put(short.class, (short) 0);
+		defaultValues.put(char.class, (char) 0);
+		defaultValues.put(int.class, 0);
+		defaultValues.put(long.class, 0L);
+		defaultValues.put(float.class, 0f);
+		defaultValues.put(double.class, 0d);
+		DEFAULT_VALUES = Collections.unmodifiableMap(defaultValues);
+	}
+
+	private BeanMemoryStoreView(@Nonnull Object proxy, @Nonnull Map<String, Field> fields, @Nonnull BeanMemoryStore delegate) {
+		this.proxy = proxy;
+		this.fields = fields;
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns memory store of the passed proxy.
+	 */
+	@Nonnull
+	public static BeanMemoryStore of(@Nonnull ProxyStateAccessor proxy) {
+		return of(proxy, (BeanMemoryStore) proxy.getProxyState());
+	}
+
+	/**
+	 * Returns memory store of the passed proxy. If the proxy has no generated property fields the proxy state is
+	 * returned directly.
+	 */
+	@Nonnull
+	public static BeanMemoryStore of(@Nonnull Object proxy, @Nonnull BeanMemoryStore proxyState) {
+		final Map<String, Field> fields = PROPERTY_FIELDS.get(proxy.getClass());
+		return fields.isEmpty() ? proxyState : new BeanMemoryStoreView(proxy, fields, proxyState);
+	}
+
+	/**
+	 * Initializes generated property fields of the freshly created proxy with values found in its proxy state.
+	 */
+	public static void load(@Nonnull Object proxy, Object proxyState) {
+		if (proxyState instanceof BeanMemoryStore) {
+			final Map<String, Field> fields = PROPERTY_FIELDS.get(proxy.getClass());
+			for (Map.Entry<String, Field> entry : fields.entrySet()) {
+				final Serializable value = ((BeanMemoryStore) proxyState).getValueFromMemoryStore(entry.getKey());
+				if (value != null) {
+					writeField(proxy, entry.getValue(), value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies values of the generated property fields of the proxy to the passed memory store.
+	 */
+	public static void flush(@Nonnull Object proxy, Object memoryStore) {
+		if (memoryStore instanceof BeanMemoryStore) {
+			final Map<String, Field> fields = PROPERTY_FIELDS.get(proxy.getClass());
+			for (Map.Entry<String, Field> entry : fields.entrySet()) {
+				((BeanMemoryStore) memoryStore).putValueToMemoryStore(entry.getKey(), (Serializable) readField(proxy, entry.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * Returns non-null values of the generated property fields of the proxy indexed by property name.
+	 */
+	@Nonnull
+	public static Map<String, Serializable> getFieldValues(@Nonnull Object proxy) {
+		final Map<String, Field> fields = PROPERTY_FIELDS.get(proxy.getClass());
+		if (fields.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, Serializable> values = new LinkedHashMap<>(fields.size());
+		for (Map.Entry<String, Field> entry : fields.entrySet()) {
+			final Object value = readField(proxy, entry.getValue());
+			if (value != null) {
+				values.put(entry.getKey(), (Serializable) value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns string representation of the proxy - i.e. the string representation of its proxy state followed by
+	 * non-null values of the generated property fields, which the proxy state doesn't see.
+	 */
+	@Nonnull
+	public static String toString(@Nonnull Object proxy, @Nonnull Object proxyState) {
+		final Map<String, Serializable> fieldValues = getFieldValues(proxy);
+		return fieldValues.isEmpty() ? proxyState.toString() : proxyState + " " + fieldValues;
+	}
+
+	@Override
+	public <T extends Serializable> void putValueToMemoryStore(String name, T value) {
+		final Field field = fields.get(name);
+		if (field == null) {
+			delegate.putValueToMemoryStore(name, value);
+		} else {
+			writeField(proxy, field, value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Serializable> T getValueFromMemoryStore(String name) {
+		final Field field = fields.get(name);
+		return field == null ? delegate.getValueFromMemoryStore(name) : (T) readField(proxy, field);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Serializable> boolean addValueToCollectionInMemoryStore(String name, T value) {
+		final Field field = fields.get(name);
+		if (field == null) {
+			return delegate.addValueToCollectionInMemoryStore(name, value);
+		} else {
+			Collection<T> collection = (Collection<T>) readField(proxy, field);
+			if (collection == null) {
+				collection = new LinkedList<>();
+				writeField(proxy, field, collection);
+			}
+			return collection.add(value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends Serializable> boolean removeValueFromCollectionInMemoryStore(String name, T value) {
+		final Field field = fields.get(name);
+		if (field == null) {
+			return delegate.removeValueFromCollectionInMemoryStore(name, value);
+		} else {
+			final Collection<T> collection = (Collection<T>) readField(proxy, field);
+			return collection != null && collection.remove(value);
+		}
+	}
+
+	private static Object readField(@Nonnull Object proxy, @Nonnull Field field) {
+		try {
+			return field.get(proxy);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Generated field " + field.getName() + " is not accessible!", e);
+		}
+	}
+
+	private static void writeField(@Nonnull Object proxy, @Nonnull Field field, Object value) {
+		try {
+			if (value == null && field.getType().isPrimitive()) {
+				// PRIMITIVE FIELDS CANNOT HOLD NULL - RESET THEM TO THE DEFAULT VALUE
+				field.set(proxy, DEFAULT_VALUES.get(field.getType()));
+			} else {
+				field.set(proxy, value);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Generated field " + field.getName() + " is not accessible!", e);
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+package one.edee.oss.proxycian.trait.delegate;
+
+import lombok.Getter;
+import one.edee.oss.proxycian.util.ReflectionUtils;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Call site of the single delegated method. Delegate objects returned by the delegate accessor may differ in runtime
+ * class between proxy instances sharing the same proxy state class - so the target method is resolved by the runtime
+ * class of the delegate on each call.
+ *
+ * Resolved method handles are kept in the small polymorphic inline cache that is scanned by identity of the delegate
+ * class - most of the call sites see one or two delegate classes. When the call site sees more than
+ * {@link #MAX_POLYMORPHIC_ENTRIES} delegate classes it becomes megamorphic and falls back to the hash map lookup.
+ */
+public class DelegateCallSite {
+	/**
+	 * Maximal count of delegate classes the call site caches in its inline cache.
+	 */
+	public static final int MAX_POLYMORPHIC_ENTRIES = 4;
+	private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	private static final CacheEntry[] EMPTY_ENTRIES = new CacheEntry[0];
+	/**
+	 * Method of the proxied interface this call site delegates.
+	 */
+	@Getter private final Method method;
+	/**
+	 * Inline cache - array is never modified, it's replaced by a longer copy when new delegate class is seen.
+	 */
+	private volatile CacheEntry[] entries = EMPTY_ENTRIES;
+	/**
+	 * Megamorphic cache - initialized when inline cache overflows.
+	 */
+	private volatile Map<Class<?>, MethodHandle> megamorphicCache;
+
+	public DelegateCallSite(@Nonnull Method method) {
+		this.method = method;
+	}
+
+	/**
+	 * Invokes the delegated method on passed delegate with passed arguments.
+	 */
+	public Object invoke(@Nonnull Object delegate, @Nonnull Object[] args) throws Throwable {
+		return (Object) getMethodHandle(delegate.getClass()).invokeExact(delegate, args);
+	}
+
+	/**
+	 * Returns true if the call site became megamorphic (i.e. has seen more than {@link #MAX_POLYMORPHIC_ENTRIES}
+	 * delegate classes).
+	 */
+	public boolean isMegamorphic() {
+		return megamorphicCache != null;
+	}
+
+	@Override
+	public String toString() {
+		return "Delegate call site: " + method.toGenericString();
+	}
+
+	/**
+	 * Returns method handle with type `(Object, Object[])Object` that invokes the delegated method on the instance
+	 * of passed delegate class.
+	 */
+	@Nonnull
+	private MethodHandle getMethodHandle(@Nonnull Class<?> delegateClass) {
+		final CacheEntry[] currentEntries = this.entries;
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < currentEntries.length; i++) {
+			final CacheEntry entry = currentEntries[i];
+			if (entry.getDelegateClass() == delegateClass) {
+				return entry.getMethodHandle();
+			}
+		}
+		final Map<Class<?>, MethodHandle> currentMegamorphicCache = this.megamorphicCache;
+		if (currentMegamorphicCache != null) {
+			return currentMegamorphicCache.computeIfAbsent(delegateClass, this::resolveMethodHandle);
+		}
+		return addEntry(delegateClass);
+	}
+
+	/**
+	 * Resolves method handle for the new delegate class and stores it either to the inline cache or to
+	 * the megamorphic cache if the inline cache is full.
+	 */
+	@Nonnull
+	private synchronized MethodHandle addEntry(@Nonnull Class<?> delegateClass) {
+		final CacheEntry[] currentEntries = this.entries;
+		for (CacheEntry entry : currentEntries) {
+			if (entry.getDelegateClass() == delegateClass) {
+				return entry.getMethodHandle();
+			}
+		}
+		if (this.megamorphicCache != null) {
+			return this.megamorphicCache.computeIfAbsent(delegateClass, this::resolveMethodHandle);
+		}
+		final MethodHandle methodHandle = resolveMethodHandle(delegateClass);
+		if (currentEntries.length < MAX_POLYMORPHIC_ENTRIES) {
+			final CacheEntry[] newEntries = new CacheEntry[currentEntries.length + 1];
+			System.arraycopy(currentEntries, 0, newEntries, 0, currentEntries.length);
+			newEntries[currentEntries.length] = new CacheEntry(delegateClass, methodHandle);
+			this.entries = newEntries;
+		} else {
+			final Map<Class<?>, MethodHandle> newMegamorphicCache = new ConcurrentHashMap<>(16);
+			for (CacheEntry entry : currentEntries) {
+				newMegamorphicCache.put(entry.getDelegateClass(), entry.getMethodHandle());
+			}
+			newMegamorphicCache.put(delegateClass, methodHandle);
+			this.megamorphicCache = newMegamorphicCache;
+			this.entries = EMPTY_ENTRIES;
+		}
+		return methodHandle;
+	}
+
+	@Nonnull
+	private MethodHandle resolveMethodHandle(@Nonnull Class<?> delegateClass) {
+		final Method delegateMethod = ReflectionUtils.getPublicMethod(delegateClass, method.getName(), method.getParameterTypes());
+		if (delegateMethod == null) {
+			throw new IllegalStateException("What the heck? Method " + method.toGenericString() + " is not defined on delegate " + delegateClass.getName() + "!");
+		}
+		try {
+			if (!Modifier.isPublic(delegateMethod.getDeclaringClass().getModifiers())) {
+				delegateMethod.setAccessible(true);
+			}
+			return MethodHandles.lookup()
+				.unreflect(delegateMethod)
+				.asSpreader(Object[].class, delegateMethod.getParameterCount())
+				.asType(GENERIC_INVOKER_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Method " + method.toGenericString() + " is not accessible on delegate " + delegateClass.getName() + "!", e);
+		}
+	}
+
+	/**
+	 * Single entry of the inline cache.
+	 */
+	private static class CacheEntry {
+		@Getter private final Class<?> delegateClass;
+		@Getter private final MethodHandle methodHandle;
+
+		CacheEntry(@Nonnull Class<?> delegateClass, @Nonnull MethodHandle methodHandle) {
+			this.delegateClass = delegateClass;
+			this.methodHandle = methodHandle;
+		}
+	}
+
+}
@@ -3,15 +3,20 @@ package one.edee.oss.proxycian.trait.delegate;
 import one.edee.oss.proxycian.CacheKeyAffectingMethodClassification;
 import one.edee.oss.proxycian.MethodClassification;
 import one.edee.oss.proxycian.PredicateMethodClassification;
+import one.edee.oss.proxycian.recipe.DirectDelegationAdvice;
 import one.edee.oss.proxycian.recipe.IntroductionAdvice;
 import one.edee.oss.proxycian.recipe.SelfVerifiableState;
 import one.edee.oss.proxycian.util.ReflectionUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -66,6 +71,31 @@ public class DelegateCallsAdvice<T> implements IntroductionAdvice<T>, SelfVerifi
 		return new DelegateCallsAdvice<>(iface, delegateAccessor, true);
 	}
 
+	/**
+	 * Returns advice that asks the generator to implement delegated methods as direct calls on the proxy state
+	 * (see {@link DirectDelegationAdvice}). Proxy state must be instance of the passed interface.
+	 */
+	public static <T> DelegateCallsAdvice<T> getDirectInstance(Class<T> iface) {
+		return new DirectDelegateCallsAdvice<>(iface, null);
+	}
+
+	/**
+	 * Returns advice that asks the generator to implement delegated methods as direct calls on the object returned by
+	 * passed accessor (see {@link DirectDelegationAdvice}). The object must be instance of the passed interface.
+	 */
+	public static <T> DelegateCallsAdvice<T> getDirectInstance(Class<T> iface, Function<Object, Object> delegateAccessor) {
+		return new DirectDelegateCallsAdvice<>(iface, delegateAccessor);
+	}
+
+	/**
+	 * Returns function that extracts delegate object from the proxy state or NULL if the proxy state itself is
+	 * the delegate.
+	 */
+	@Nullable
+	public Function<Object, Object> getDelegateAccessor() {
+		return delegateAccessor;
+	}
+
 	@Override
 	public boolean verifyCompatibility(@Nonnull Object proxyState, @Nonnull Class<?> withRequestedInterface) {
 		return considerVerified || withRequestedInterface.isInstance(delegateAccessor == null ? proxyState : delegateAccessor.apply(proxyState));
@@ -92,6 +122,52 @@ public class DelegateCallsAdvice<T> implements IntroductionAdvice<T>, SelfVerifi
 		}
 	}
 
+	/**
+	 * Variant of the advice that asks the generator to call the delegate directly from the byte-code of the proxy
+	 * class. Method classifications remain in place for generators that don't support direct delegation.
+	 */
+	private static class DirectDelegateCallsAdvice<T> extends DelegateCallsAdvice<T> implements DirectDelegationAdvice<T> {
+		private static final long serialVersionUID = 2262931367254383245L;
+
+		private DirectDelegateCallsAdvice(Class<T> iface, Function<Object, Object> delegateAccessor) {
+			super(iface, delegateAccessor, false);
+		}
+
+		@Nonnull
+		@Override
+		public Class<?> getDelegateType() {
+			return getRequestedStateContract();
+		}
+
+		@Nonnull
+		@Override
+		public List<Method> getDelegatedMethods() {
+			final List<Method> delegatedMethods = new ArrayList<>(32);
+			for (Class<?> anInterface : getInterfacesToImplement()) {
+				for (Method method : anInterface.getMethods()) {
+					if (!Modifier.isStatic(method.getModifiers())) {
+						delegatedMethods.add(method);
+					}
+				}
+			}
+			return delegatedMethods;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final DirectDelegateCallsAdvice<?> that = (DirectDelegateCallsAdvice<?>) o;
+			return getDelegateType().equals(that.getDelegateType()) && Objects.equals(getDelegateAccessor(), that.getDelegateAccessor());
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * getDelegateType().hashCode() + Objects.hashCode(getDelegateAccessor());
+		}
+
+	}
+
 	/**
 	 * Special classification that carries {@link #delegateAccessor} around with it. This lambda must be part of the
 	 * caching key so that multiple {@link DelegateCallsAdvice} can be used for different proxies.
@@ -99,7 +175,7 @@ public class DelegateCallsAdvice<T> implements IntroductionAdvice<T>, SelfVerifi
 	 * @param <U>
 	 * @param <S>
 	 */
-	public static class DelegatingMethodClassification<U, S> extends PredicateMethodClassification<U, Method, S> implements CacheKeyAffectingMethodClassification {
+	public static class DelegatingMethodClassification<U, S> extends PredicateMethodClassification<U, DelegateCallSite, S> implements CacheKeyAffectingMethodClassification {
 		private final Function<Object, Object> delegateAccessor;
 
 		public DelegatingMethodClassification(Class<S> iface, Function<Object, Object> delegateAccessor) {
@@ -109,16 +185,10 @@ public class DelegateCallsAdvice<T> implements IntroductionAdvice<T>, SelfVerifi
 					final Object targetState = delegateAccessor == null ? proxyState : delegateAccessor.apply(proxyState);
 					return ReflectionUtils.isMatchingMethodPresentOn(method, iface) && ReflectionUtils.isMatchingMethodPresentOn(method, targetState.getClass());
 				},
-				/* methodContext */ (method, proxyState) -> {
-					try {
-						final Object targetState = delegateAccessor == null ? proxyState : delegateAccessor.apply(proxyState);
-						return targetState.getClass().getMethod(method.getName(), method.getParameterTypes());
-					} catch (NoSuchMethodException e) {
-						throw new IllegalStateException("Method " + method.toGenericString() + " is unexpectedly not defined on " + iface.toString() + "!");
-					}
-				},
+				/* methodContext */ (method, proxyState) -> new DelegateCallSite(method),
 				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
 					final Object targetState = delegateAccessor == null ? proxyState : delegateAccessor.apply(proxyState);
+					// DELEGATE CLASS MAY DIFFER AMONG PROXIES SHARING THE SAME PROXY STATE CLASS
 					return methodContext.invoke(targetState, args);
 				}
 			);
@@ -0,0 +1,22 @@
+package one.edee.oss.proxycian.trait.frozenState;
+
+/**
+ * Proxies with this unimplemented interface can freeze their state by {@link FrozenStateAdvice}. Frozen proxy cannot
+ * be changed any more and computes its hash code only once. Advice must be added to the recipe in order to enable
+ * this functionality - before the advices handling JavaBean methods, that would consider {@link #isFrozen()} to be
+ * a getter otherwise.
+ */
+public interface FrozenState {
+
+	/**
+	 * Freezes the proxy state - all following attempts to change it fail with {@link IllegalStateException}. Freezing
+	 * already frozen proxy has no effect.
+	 */
+	void freeze();
+
+	/**
+	 * Returns true if the proxy state has been frozen.
+	 */
+	boolean isFrozen();
+
+}
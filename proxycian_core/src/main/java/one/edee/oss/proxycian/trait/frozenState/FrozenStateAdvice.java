@@ -0,0 +1,105 @@
+package one.edee.oss.proxycian.trait.frozenState;
+
+import one.edee.oss.proxycian.MethodClassification;
+import one.edee.oss.proxycian.PredicateMethodClassification;
+import one.edee.oss.proxycian.recipe.GeneratedMemberAdvice;
+import one.edee.oss.proxycian.recipe.IntroductionAdvice;
+import one.edee.oss.proxycian.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static one.edee.oss.proxycian.MethodClassification.noContext;
+
+/**
+ * Backs logic of {@link FrozenState}.
+ *
+ * The freezing is done by the proxy itself - generators keep the frozen flag and the hash code computed at the moment
+ * of freezing in the per-proxy memory (fields of the proxy class or its per-proxy method handler), return the cached
+ * hash code from {@link Object#hashCode()} of the frozen proxy and reject all {@link #isStateChangingMethod(Method) state
+ * changing methods} of the frozen proxy with {@link IllegalStateException} - including the setters of the field backed
+ * properties that never reach the proxy state. The state is frozen as well so that it may guard its own mutations.
+ *
+ * The method classifications of the advice are the fallback for the generators that can't do this - they only delegate
+ * the freezing to the {@link FrozenStateProvider} state, which is then solely responsible for rejecting the changes
+ * and caching its hash code.
+ */
+public class FrozenStateAdvice implements IntroductionAdvice<FrozenStateProvider>, GeneratedMemberAdvice<FrozenStateProvider> {
+	private static final long serialVersionUID = -3176409547736512391L;
+	public static final FrozenStateAdvice INSTANCE = new FrozenStateAdvice();
+	private static final String[] STATE_CHANGING_METHOD_PREFIXES = new String[]{"set", "add", "remove"};
+
+	private FrozenStateAdvice() {}
+
+	/**
+	 * Returns true if the method changes the state of the proxy and must be rejected by the frozen proxy. See
+	 * {@link #isStateChangingMethod(String, int)}.
+	 */
+	public static boolean isStateChangingMethod(Method method) {
+		return isStateChangingMethod(method.getName(), method.getParameterCount());
+	}
+
+	/**
+	 * Returns true if the method of passed name and parameter count changes the state of the proxy - i.e. it's
+	 * a JavaBean setter or a collection modifier (starts with `set`, `add` or `remove`) accepting single argument.
+	 * Such methods are rejected by the frozen proxy. The rule is shared by all generators so that they reject the same
+	 * methods regardless of the way they describe them.
+	 */
+	public static boolean isStateChangingMethod(String methodName, int parameterCount) {
+		if (parameterCount != 1) {
+			return false;
+		}
+		for (String prefix : STATE_CHANGING_METHOD_PREFIXES) {
+			if (methodName.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public List<Class<?>> getInterfacesToImplement() {
+		return Collections.singletonList(
+			FrozenState.class
+		);
+	}
+
+	@Override
+	public Class<FrozenStateProvider> getRequestedStateContract() {
+		return FrozenStateProvider.class;
+	}
+
+	@Override
+	public List<MethodClassification<?, FrozenStateProvider>> getMethodClassification() {
+		return Arrays.asList(
+			new PredicateMethodClassification<>(
+				/* description */   "FrozenState.freeze()",
+				/* matcher */       (method, proxyState) -> ReflectionUtils.isMethodDeclaredOn(method, FrozenState.class, "freeze"),
+				/* methodContext */ noContext(),
+				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> {
+					proxyState.freeze();
+					return null;
+				}
+			),
+			new PredicateMethodClassification<>(
+				/* description */   "FrozenState.isFrozen()",
+				/* matcher */       (method, proxyState) -> ReflectionUtils.isMethodDeclaredOn(method, FrozenState.class, "isFrozen"),
+				/* methodContext */ noContext(),
+				/* invocation */    (proxy, method, args, methodContext, proxyState, invokeSuper) -> proxyState.isFrozen()
+			)
+		);
+	}
+
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj || !(obj == null || getClass() != obj.getClass());
+	}
+
+}
@@ -0,0 +1,23 @@
+package one.edee.oss.proxycian.trait.frozenState;
+
+/**
+ * This interface must be implemented by the proxy state object in order {@link FrozenStateAdvice} can work.
+ *
+ * The proxy itself rejects its setters and caches its hash code once it's frozen - see {@link FrozenStateAdvice}. Frozen
+ * state should still reject all mutations that bypass the setters of the proxy with {@link IllegalStateException}.
+ * The generators that can't keep the frozen state in the proxy rely solely on the state - it must reject all mutations
+ * then and cache its hash code when it's frozen.
+ */
+public interface FrozenStateProvider {
+
+	/**
+	 * Freezes the state and caches its hash code. Freezing already frozen state has no effect.
+	 */
+	void freeze();
+
+	/**
+	 * Returns true if the state has been frozen.
+	 */
+	boolean isFrozen();
+
+}
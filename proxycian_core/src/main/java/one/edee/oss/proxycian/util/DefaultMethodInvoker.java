@@ -0,0 +1,82 @@
+package one.edee.oss.proxycian.util;
+
+import lombok.Getter;
+import one.edee.oss.proxycian.cache.BoundedClassLocalCache;
+import one.edee.oss.proxycian.cache.EvictionPolicy;
+import one.edee.oss.proxycian.specialized.SuperMethodInvoker;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Invoker of the default interface method implementation on the proxy instance. Method handle found by
+ * {@link ReflectionUtils#findMethodHandle(Method)} is adapted only once to the generic `(Object, Object[])Object` shape
+ * so that it could be invoked by {@link MethodHandle#invokeExact(Object...)} without binding the proxy instance
+ * and converting the arguments on each call.
+ *
+ * Invokers are cached by the {@link Method} - the handle is independent of the proxy class and thus shared by all
+ * proxies and proxy generators. Invokers are kept alongside the class declaring the method, so they don't prevent
+ * its class loader from being garbage collected.
+ */
+public class DefaultMethodInvoker implements SuperMethodInvoker {
+	private static final BoundedClassLocalCache<Method, DefaultMethodInvoker> CACHED_INVOKERS = new BoundedClassLocalCache<>(Method::getDeclaringClass);
+	private static final MethodType GENERIC_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+	/**
+	 * Default method this invoker calls.
+	 */
+	@Getter private final Method method;
+	/**
+	 * Method handle with type `(Object, Object[])Object` - i.e. accepting proxy instance and array of arguments.
+	 */
+	@Getter private final MethodHandle methodHandle;
+
+	private DefaultMethodInvoker(@Nonnull Method method) {
+		this.method = method;
+		this.methodHandle = ReflectionUtils.findMethodHandle(method)
+			.asSpreader(Object[].class, method.getParameterCount())
+			.asType(GENERIC_INVOKER_TYPE);
+	}
+
+	/**
+	 * Returns cached invoker for the passed default method.
+	 */
+	@Nonnull
+	public static DefaultMethodInvoker get(@Nonnull Method method) {
+		DefaultMethodInvoker invoker = CACHED_INVOKERS.get(method);
+		if (invoker == null) {
+			invoker = CACHED_INVOKERS.computeIfAbsent(method, DefaultMethodInvoker::new);
+		}
+		return invoker;
+	}
+
+	/**
+	 * Limits the count of the cached invokers. When the limit is exceeded, invokers chosen by the passed eviction
+	 * policy are dropped and created again on their next use. The cache is unbounded by default.
+	 */
+	public static void configureCache(int maximumSize, @Nonnull EvictionPolicy evictionPolicy) {
+		CACHED_INVOKERS.configure(maximumSize, evictionPolicy);
+	}
+
+	/**
+	 * Clears the cache of the invokers.
+	 */
+	public static void clearCache() {
+		CACHED_INVOKERS.clear();
+	}
+
+	/**
+	 * Invokes the default method on the proxy instance with passed arguments.
+	 */
+	@Override
+	public Object invoke(@Nonnull Object proxy, @Nonnull Object[] args) throws Throwable {
+		return (Object) methodHandle.invokeExact(proxy, args);
+	}
+
+	@Override
+	public String toString() {
+		return "Default method invoker: " + method.toGenericString();
+	}
+
+}
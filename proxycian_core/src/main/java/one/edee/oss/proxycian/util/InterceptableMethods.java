@@ -0,0 +1,77 @@
+package one.edee.oss.proxycian.util;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects methods the proxy class is able to intercept - see {@link ReflectionUtils#getInterceptableMethods(Class)}.
+ */
+class InterceptableMethods {
+
+	private InterceptableMethods() {}
+
+	/**
+	 * Returns all methods the passed proxy class inherits and is able to intercept - i.e. non-static, non-final,
+	 * public or protected methods of its superclass chain and all its interfaces except the finalizer. When multiple
+	 * types declare method with the same signature, declaration on the most specific class wins over the interface
+	 * ones.
+	 */
+	@Nonnull
+	static Collection<Method> collect(@Nonnull Class<?> proxyClass) {
+		final Map<List<Object>, Method> methods = new LinkedHashMap<>(64);
+		final Set<Class<?>> interfaces = new LinkedHashSet<>();
+		for (Class<?> examinedClass = proxyClass; examinedClass != null; examinedClass = examinedClass.getSuperclass()) {
+			if (examinedClass != proxyClass) {
+				for (Method method : examinedClass.getDeclaredMethods()) {
+					final int modifiers = method.getModifiers();
+					if ((Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) && !Modifier.isFinal(modifiers)) {
+						addInterceptableMethod(methods, method);
+					}
+				}
+			}
+			collectInterfaces(examinedClass, interfaces);
+		}
+		for (Class<?> anInterface : interfaces) {
+			for (Method method : anInterface.getDeclaredMethods()) {
+				if (Modifier.isPublic(method.getModifiers())) {
+					addInterceptableMethod(methods, method);
+				}
+			}
+		}
+		return methods.values();
+	}
+
+	/**
+	 * Registers method to the map of interceptable methods unless there is already method with the same signature.
+	 */
+	private static void addInterceptableMethod(@Nonnull Map<List<Object>, Method> methods, @Nonnull Method method) {
+		if (!Modifier.isStatic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic() &&
+			!ReflectionUtils.isMethodMatching(method, "finalize")) {
+			final List<Object> signature = new ArrayList<>(method.getParameterCount() + 1);
+			signature.add(method.getName());
+			Collections.addAll(signature, method.getParameterTypes());
+			methods.putIfAbsent(signature, method);
+		}
+	}
+
+	/**
+	 * Collects all interfaces (including the super interfaces) implemented by the passed class.
+	 */
+	private static void collectInterfaces(@Nonnull Class<?> aClass, @Nonnull Set<Class<?>> interfaces) {
+		for (Class<?> anInterface : aClass.getInterfaces()) {
+			if (interfaces.add(anInterface)) {
+				collectInterfaces(anInterface, interfaces);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+package one.edee.oss.proxycian.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the methods of a single class by their signature (name and parameter types). It allows to look up methods
+ * the same way as {@link Class#getMethod(String, Class[])} and {@link Class#getDeclaredMethod(String, Class[])} do
+ * but without throwing {@link NoSuchMethodException} when the method is missing and without copying the method
+ * instances on each lookup. Indexes are computed once per class and kept in {@link ClassValue}.
+ */
+class MethodSignatureIndex {
+	private static final ClassValue<MethodSignatureIndex> INDEXES = new ClassValue<MethodSignatureIndex>() {
+		@Override
+		protected MethodSignatureIndex computeValue(@Nonnull Class<?> type) {
+			return new MethodSignatureIndex(type);
+		}
+	};
+	/**
+	 * Public methods of the class including the inherited ones - see {@link Class#getMethods()}.
+	 */
+	private final Map<MethodSignature, Method> publicMethods;
+	/**
+	 * Methods declared by the class - see {@link Class#getDeclaredMethods()}.
+	 */
+	private final Map<MethodSignature, Method> declaredMethods;
+
+	/**
+	 * Returns index of the methods of the passed class.
+	 */
+	@Nonnull
+	static MethodSignatureIndex of(@Nonnull Class<?> aClass) {
+		return INDEXES.get(aClass);
+	}
+
+	private MethodSignatureIndex(@Nonnull Class<?> aClass) {
+		this.publicMethods = index(aClass.getMethods());
+		this.declaredMethods = index(aClass.getDeclaredMethods());
+	}
+
+	/**
+	 * Returns the same method as {@link Class#getMethod(String, Class[])} or NULL if there is no such method.
+	 */
+	@Nullable
+	Method getPublicMethod(@Nonnull String name, @Nonnull Class<?>... parameterTypes) {
+		return publicMethods.get(new MethodSignature(name, parameterTypes));
+	}
+
+	/**
+	 * Returns the same method as {@link Class#getDeclaredMethod(String, Class[])} or NULL if there is no such method.
+	 */
+	@Nullable
+	Method getDeclaredMethod(@Nonnull String name, @Nonnull Class<?>... parameterTypes) {
+		return declaredMethods.get(new MethodSignature(name, parameterTypes));
+	}
+
+	/**
+	 * Indexes passed methods by signature. When multiple methods share the signature (bridge methods, methods
+	 * inherited from multiple types), the one {@link Class} lookup methods would return is kept.
+	 */
+	@Nonnull
+	private static Map<MethodSignature, Method> index(@Nonnull Method[] methods) {
+		final Map<MethodSignature, Method> index = new HashMap<>(methods.length * 2);
+		for (Method method : methods) {
+			index.merge(new MethodSignature(method.getName(), method.getParameterTypes()), method, MethodSignatureIndex::choose);
+		}
+		return index;
+	}
+
+	/**
+	 * Chooses between two methods with the same signature - class methods win over interface methods, then the method
+	 * with more specific return type wins and finally the method declared by more specific type wins.
+	 */
+	@Nonnull
+	private static Method choose(@Nonnull Method existing, @Nonnull Method candidate) {
+		final boolean existingOnInterface = existing.getDeclaringClass().isInterface();
+		final boolean candidateOnInterface = candidate.getDeclaringClass().isInterface();
+		if (existingOnInterface != candidateOnInterface) {
+			return existingOnInterface ? candidate : existing;
+		}
+		if (existing.getReturnType() != candidate.getReturnType()) {
+			return existing.getReturnType().isAssignableFrom(candidate.getReturnType()) ? candidate : existing;
+		}
+		return existing.getDeclaringClass().isAssignableFrom(candidate.getDeclaringClass()) ? candidate : existing;
+	}
+
+	/**
+	 * Method signature - name and parameter types.
+	 */
+	private static class MethodSignature {
+		private final String name;
+		private final Class<?>[] parameterTypes;
+		private final int hashCode;
+
+		MethodSignature(@Nonnull String name, @Nonnull Class<?>[] parameterTypes) {
+			this.name = name;
+			this.parameterTypes = parameterTypes;
+			this.hashCode = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final MethodSignature that = (MethodSignature) o;
+			return name.equals(that.name) && Arrays.equals(parameterTypes, that.parameterTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+}
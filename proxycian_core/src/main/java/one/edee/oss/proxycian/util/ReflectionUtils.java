@@ -1,5 +1,6 @@
 package one.edee.oss.proxycian.util;
 
+import javax.annotation.Nullable;
 import java.beans.FeatureDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
@@ -11,6 +12,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.stream.Stream;
@@ -92,34 +94,20 @@ public interface ReflectionUtils {
 	}
 
 	/**
-	 * Returns true if method equals method onClass with the same name and same parameters.
+	 * Returns true if method equals method onClass with the same name and same parameters. Methods are looked up in
+	 * the precomputed index of the class - no exception is thrown when the method is missing.
 	 */
 	static boolean isMethodDeclaredOn(Method method, Class<?> onClass, String withSameName, Class<?>... withSameTypes) {
-		try {
-			return method.equals(onClass.getMethod(withSameName, withSameTypes));
-		} catch (NoSuchMethodException ex) {
-			return false;
-		} catch (Exception ex) {
-			throw new IllegalStateException(
-				"Matcher " + onClass.getName() + " failed to process " + method.toGenericString() + ": " + ex.getMessage(), ex
-			);
-		}
+		return method.equals(MethodSignatureIndex.of(onClass).getPublicMethod(withSameName, withSameTypes));
 	}
 
 	/**
-	 * Returns true if method equals method onClass with the same name and same parameters.
+	 * Returns true if method equals method onClass with the same name and same parameters. Methods are looked up in
+	 * the precomputed index of the class - no exception is thrown when the method is missing.
 	 */
 	static boolean isNonPublicMethodDeclaredOn(Method method, Class<?> onClass, String withSameName, Class<?>... withSameTypes) {
-		try {
-			final Method lookedUpMethod = onClass.getDeclaredMethod(withSameName, withSameTypes);
-			return method.equals(lookedUpMethod) && !Modifier.isPublic(lookedUpMethod.getModifiers());
-		} catch (NoSuchMethodException ex) {
-			return false;
-		} catch (Exception ex) {
-			throw new IllegalStateException(
-				"Matcher " + onClass.getName() + " failed to process " + method.toGenericString() + ": " + ex.getMessage(), ex
-			);
-		}
+		final Method lookedUpMethod = MethodSignatureIndex.of(onClass).getDeclaredMethod(withSameName, withSameTypes);
+		return lookedUpMethod != null && method.equals(lookedUpMethod) && !Modifier.isPublic(lookedUpMethod.getModifiers());
 	}
 
 	/**
@@ -130,18 +118,29 @@ public interface ReflectionUtils {
 	}
 
 	/**
-	 * Returns true if method equals method onClass with the same name and same parameters.
+	 * Returns all methods the passed proxy class inherits and is able to intercept - i.e. non-static, non-final,
+	 * public or protected methods of its superclass chain and all its interfaces except the finalizer. When multiple
+	 * types declare method with the same signature, declaration on the most specific class wins over the interface
+	 * ones.
+	 */
+	static Collection<Method> getInterceptableMethods(Class<?> proxyClass) {
+		return InterceptableMethods.collect(proxyClass);
+	}
+
+	/**
+	 * Returns the same method as {@link Class#getMethod(String, Class[])} or NULL if there is no such method. Methods are
+	 * looked up in the precomputed index of the class - no exception is thrown when the method is missing.
+	 */
+	@Nullable
+	static Method getPublicMethod(Class<?> onClass, String name, Class<?>... parameterTypes) {
+		return MethodSignatureIndex.of(onClass).getPublicMethod(name, parameterTypes);
+	}
+
+	/**
+	 * Returns true if onClass has public method with the same name and same parameters. Methods are looked up in
+	 * the precomputed index of the class - no exception is thrown when the method is missing.
 	 */
 	static boolean isMatchingMethodPresentOn(Method method, Class<?> onClass) {
-		try {
-			onClass.getMethod(method.getName(), method.getParameterTypes());
-			return true;
-		} catch (NoSuchMethodException ex) {
-			return false;
-		} catch (Exception ex) {
-			throw new IllegalStateException(
-				"Matcher " + onClass.getName() + " failed to process " + method.toGenericString() + ": " + ex.getMessage(), ex
-			);
-		}
+		return MethodSignatureIndex.of(onClass).getPublicMethod(method.getName(), method.getParameterTypes()) != null;
 	}
 }
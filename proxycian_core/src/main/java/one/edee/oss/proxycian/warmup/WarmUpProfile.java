@@ -0,0 +1,382 @@
+package one.edee.oss.proxycian.warmup;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Profile of the proxy classes, recipes and methods requested during the recorded run (see {@link WarmUpRecorder}).
+ * Profile replayed on startup lets the generator create the proxy classes and resolve method classifications before
+ * the first proxy is requested.
+ *
+ * Profile is stored as compact UTF-8 text file with one entry per line and the tab separated fields:
+ *
+ * - C generator dispatchMode interfaces constructorTypes - proxy class created without recipe
+ * - R generator serializable proxyStateClass constructorTypes recipe - proxy instantiated from the recipe, the recipe
+ * is stored in the form of Base64 encoded Java serialization and the constructor types are `-` when the proxy
+ * was created without constructor arguments
+ * - M proxyStateClass declaringClass methodName parameterTypes - method classified for the proxy state class
+ *
+ * Class names in the lists are separated by comma.
+ */
+public class WarmUpProfile {
+	private static final String HEADER = "# Proxycian warm-up profile 1";
+	private static final String NO_CONSTRUCTOR = "-";
+	private static final String[] EMPTY_NAMES = new String[0];
+	private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>(16);
+	@Getter private final Collection<ProxyClassUsage> proxyClasses;
+	@Getter private final Collection<RecipeUsage> recipes;
+	@Getter private final Collection<MethodUsage> methods;
+
+	static {
+		for (Class<?> primitiveType : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class, void.class}) {
+			PRIMITIVE_TYPES.put(primitiveType.getName(), primitiveType);
+		}
+	}
+
+	public WarmUpProfile(@Nonnull Collection<ProxyClassUsage> proxyClasses, @Nonnull Collection<RecipeUsage> recipes, @Nonnull Collection<MethodUsage> methods) {
+		this.proxyClasses = proxyClasses;
+		this.recipes = recipes;
+		this.methods = methods;
+	}
+
+	/**
+	 * Reads profile from the file written by {@link #write(File)}. Unknown lines are skipped.
+	 */
+	@Nonnull
+	public static WarmUpProfile read(@Nonnull File file) throws IOException {
+		final Set<ProxyClassUsage> proxyClasses = new LinkedHashSet<>();
+		final Set<RecipeUsage> recipes = new LinkedHashSet<>();
+		final Set<MethodUsage> methods = new LinkedHashSet<>();
+		try (final BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String[] fields = line.split("\t", -1);
+				if ("C".equals(fields[0]) && fields.length == 5) {
+					proxyClasses.add(
+						new ProxyClassUsage(fields[1], DispatchMode.valueOf(fields[2]), splitNames(fields[3]), splitNames(fields[4]))
+					);
+				} else if ("R".equals(fields[0]) && fields.length == 6) {
+					recipes.add(
+						new RecipeUsage(
+							fields[1], Boolean.parseBoolean(fields[2]), fields[3],
+							NO_CONSTRUCTOR.equals(fields[4]) ? null : splitNames(fields[4]),
+							fields[5]
+						)
+					);
+				} else if ("M".equals(fields[0]) && fields.length == 5) {
+					methods.add(new MethodUsage(fields[1], fields[2], fields[3], splitNames(fields[4])));
+				}
+			}
+		}
+		return new WarmUpProfile(proxyClasses, recipes, methods);
+	}
+
+	/**
+	 * Returns class of the passed name (including primitive types) from the class loader.
+	 *
+	 * @throws IllegalStateException when the class is not present in the class loader
+	 */
+	@Nonnull
+	static Class<?> resolveClass(@Nonnull String className, @Nonnull ClassLoader classLoader) {
+		final Class<?> primitiveType = PRIMITIVE_TYPES.get(className);
+		if (primitiveType != null) {
+			return primitiveType;
+		}
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("What the heck? Class " + className + " from the warm-up profile is not present: " + e.getMessage(), e);
+		}
+	}
+
+	@Nonnull
+	static Class<?>[] resolveClasses(@Nonnull String[] classNames, @Nonnull ClassLoader classLoader) {
+		final Class<?>[] classes = new Class<?>[classNames.length];
+		for (int i = 0; i < classNames.length; i++) {
+			classes[i] = resolveClass(classNames[i], classLoader);
+		}
+		return classes;
+	}
+
+	@Nonnull
+	static String[] getNames(@Nonnull Class<?>[] classes) {
+		final String[] names = new String[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			names[i] = classes[i].getName();
+		}
+		return names;
+	}
+
+	@Nonnull
+	private static String[] splitNames(@Nonnull String names) {
+		return names.isEmpty() ? EMPTY_NAMES : names.split(",");
+	}
+
+	@Nonnull
+	private static String joinNames(@Nonnull String[] names) {
+		return String.join(",", names);
+	}
+
+	/**
+	 * Writes the profile to the file so that it could be replayed on the next start.
+	 */
+	public void write(@Nonnull File file) throws IOException {
+		try (final BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(HEADER);
+			writer.newLine();
+			for (ProxyClassUsage usage : this.proxyClasses) {
+				writer.write(
+					String.join(
+						"\t", "C", usage.getGenerator(), usage.getDispatchMode().name(),
+						joinNames(usage.getInterfaces()), joinNames(usage.getConstructorTypes())
+					)
+				);
+				writer.newLine();
+			}
+			for (RecipeUsage usage : this.recipes) {
+				writer.write(
+					String.join(
+						"\t", "R", usage.getGenerator(), String.valueOf(usage.isSerializable()), usage.getProxyStateClass(),
+						usage.getConstructorTypes() == null ? NO_CONSTRUCTOR : joinNames(usage.getConstructorTypes()),
+						usage.getRecipe()
+					)
+				);
+				writer.newLine();
+			}
+			for (MethodUsage usage : this.methods) {
+				writer.write(
+					String.join(
+						"\t", "M", usage.getProxyStateClass(), usage.getDeclaringClass(), usage.getMethodName(),
+						joinNames(usage.getParameterTypes())
+					)
+				);
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Returns methods recorded for the proxy state class that are implemented by the proxy class. Methods that are
+	 * no longer present are skipped.
+	 */
+	@Nonnull
+	public List<Method> getMethods(@Nonnull Class<?> proxyClass, @Nonnull Class<?> proxyStateClass) {
+		final ClassLoader classLoader = proxyClass.getClassLoader();
+		final List<Method> result = new ArrayList<>();
+		for (MethodUsage usage : this.methods) {
+			if (usage.getProxyStateClass().equals(proxyStateClass.getName())) {
+				try {
+					final Method method = usage.getMethod(classLoader);
+					if (method.getDeclaringClass().isAssignableFrom(proxyClass)) {
+						result.add(method);
+					}
+				} catch (IllegalStateException ignored) {
+					// METHOD NO LONGER EXISTS - THERE IS NOTHING TO WARM UP
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replays entries recorded by the passed generator in the executor - each entry in separate task. Entries that
+	 * cannot be replayed (their classes no longer exist or changed) are skipped, since the warm-up is only
+	 * an optimization. Returned future completes when all entries have been replayed.
+	 */
+	@Nonnull
+	public CompletableFuture<Void> replay(@Nonnull String generator, @Nonnull Executor executor, @Nonnull Consumer<ProxyClassUsage> proxyClassReplayer, @Nonnull Consumer<RecipeUsage> recipeReplayer) {
+		final List<CompletableFuture<Void>> tasks = new ArrayList<>(this.proxyClasses.size() + this.recipes.size());
+		for (ProxyClassUsage usage : this.proxyClasses) {
+			if (generator.equals(usage.getGenerator())) {
+				tasks.add(CompletableFuture.runAsync(() -> replay(usage, proxyClassReplayer), executor));
+			}
+		}
+		for (RecipeUsage usage : this.recipes) {
+			if (generator.equals(usage.getGenerator())) {
+				tasks.add(CompletableFuture.runAsync(() -> replay(usage, recipeReplayer), executor));
+			}
+		}
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+	}
+
+	private static <T> void replay(@Nonnull T usage, @Nonnull Consumer<T> replayer) {
+		try {
+			replayer.accept(usage);
+		} catch (RuntimeException | LinkageError ignored) {
+			// ENTRY IS OUTDATED - PROXY WILL BE CREATED AND RESOLVED ON ITS FIRST USE AS USUAL
+		}
+	}
+
+	/**
+	 * Proxy class created directly from the interfaces without {@link ProxyRecipe}.
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	@EqualsAndHashCode
+	public static class ProxyClassUsage {
+		private final String generator;
+		private final DispatchMode dispatchMode;
+		private final String[] interfaces;
+		private final String[] constructorTypes;
+
+		@Nonnull
+		public Class<?>[] getInterfaces(@Nonnull ClassLoader classLoader) {
+			return resolveClasses(this.interfaces, classLoader);
+		}
+
+		@Nonnull
+		public Class<?>[] getConstructorTypes(@Nonnull ClassLoader classLoader) {
+			return resolveClasses(this.constructorTypes, classLoader);
+		}
+
+	}
+
+	/**
+	 * Proxy instantiated from the {@link ProxyRecipe} with the proxy state of particular class.
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	@EqualsAndHashCode
+	public static class RecipeUsage {
+		private final String generator;
+		private final boolean serializable;
+		private final String proxyStateClass;
+		@Nullable private final String[] constructorTypes;
+		private final String recipe;
+
+		/**
+		 * Returns Base64 encoded serialized form of the recipe.
+		 *
+		 * @throws IllegalArgumentException when the recipe (any of its advices) is not serializable
+		 */
+		@Nonnull
+		static String serialize(@Nonnull ProxyRecipe proxyRecipe) {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+			try (final ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+				os.writeObject(proxyRecipe);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("What the heck? Recipe " + proxyRecipe + " is not serializable: " + e.getMessage(), e);
+			}
+			return Base64.getEncoder().encodeToString(bytes.toByteArray());
+		}
+
+		/**
+		 * Deserializes the recipe with the classes of the passed class loader.
+		 */
+		@Nonnull
+		public ProxyRecipe getRecipe(@Nonnull ClassLoader classLoader) {
+			try (final ObjectInputStream is = new ClassLoaderObjectInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(this.recipe)), classLoader)) {
+				return (ProxyRecipe) is.readObject();
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException("What the heck? Can't deserialize recipe from the warm-up profile: " + e.getMessage(), e);
+			}
+		}
+
+		@Nonnull
+		public Class<?> getProxyStateClass(@Nonnull ClassLoader classLoader) {
+			return resolveClass(this.proxyStateClass, classLoader);
+		}
+
+		/**
+		 * Returns constructor types of the proxy or NULL when the proxy was created without constructor arguments.
+		 */
+		@Nullable
+		public Class<?>[] getConstructorTypes(@Nonnull ClassLoader classLoader) {
+			return this.constructorTypes == null ? null : resolveClasses(this.constructorTypes, classLoader);
+		}
+
+		/**
+		 * Creates proxy state by its default constructor so that the method classifications could be resolved for it.
+		 * Returns NULL if the proxy state class has no default constructor.
+		 */
+		@Nullable
+		public Object createProxyState(@Nonnull ClassLoader classLoader) {
+			try {
+				final Constructor<?> constructor = getProxyStateClass(classLoader).getDeclaredConstructor();
+				constructor.setAccessible(true);
+				return constructor.newInstance();
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * Method classified for the proxy state of particular class.
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	@EqualsAndHashCode
+	public static class MethodUsage {
+		private final String proxyStateClass;
+		private final String declaringClass;
+		private final String methodName;
+		private final String[] parameterTypes;
+
+		@Nonnull
+		public Method getMethod(@Nonnull ClassLoader classLoader) {
+			final Class<?> theClass = resolveClass(this.declaringClass, classLoader);
+			try {
+				return theClass.getDeclaredMethod(this.methodName, resolveClasses(this.parameterTypes, classLoader));
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException("What the heck? Method " + this.methodName + " from the warm-up profile is not present on " + this.declaringClass + ": " + e.getMessage(), e);
+			}
+		}
+
+	}
+
+	/**
+	 * Object input stream that resolves the classes from the passed class loader.
+	 */
+	private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+		private final ClassLoader classLoader;
+
+		ClassLoaderObjectInputStream(@Nonnull InputStream in, @Nonnull ClassLoader classLoader) throws IOException {
+			super(in);
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			try {
+				return Class.forName(desc.getName(), false, this.classLoader);
+			} catch (ClassNotFoundException e) {
+				return super.resolveClass(desc);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+package one.edee.oss.proxycian.warmup;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.warmup.WarmUpProfile.MethodUsage;
+import one.edee.oss.proxycian.warmup.WarmUpProfile.ProxyClassUsage;
+import one.edee.oss.proxycian.warmup.WarmUpProfile.RecipeUsage;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recorder of the proxy classes, recipes and methods requested from the proxy generators. Recording is off by
+ * default - when it's started, generators report each proxy class they create, each recipe they instantiate and
+ * each method they classify until the recording is stopped and the {@link WarmUpProfile} is produced. When
+ * the recording is off, the only cost is the read of the single volatile field.
+ *
+ * Each recipe and proxy state class combination is serialized only once per recording. Recipes that are not
+ * serializable cannot be replayed and are left out of the profile.
+ */
+public class WarmUpRecorder {
+	private static volatile WarmUpRecorder activeRecorder;
+	private final Set<ProxyClassUsage> proxyClasses = ConcurrentHashMap.newKeySet();
+	private final Set<RecipeUsageKey> recordedRecipes = ConcurrentHashMap.newKeySet();
+	private final Set<RecipeUsage> recipes = ConcurrentHashMap.newKeySet();
+	private final Set<MethodUsage> methods = ConcurrentHashMap.newKeySet();
+
+	private WarmUpRecorder() {
+	}
+
+	/**
+	 * Starts new recording - the recording in progress (if any) is discarded.
+	 */
+	public static void start() {
+		activeRecorder = new WarmUpRecorder();
+	}
+
+	/**
+	 * Stops the recording and returns the profile of everything recorded since the start.
+	 *
+	 * @throws IllegalStateException when there is no recording in progress
+	 */
+	@Nonnull
+	public static WarmUpProfile stop() {
+		final WarmUpRecorder recorder = activeRecorder;
+		if (recorder == null) {
+			throw new IllegalStateException("What the heck? Warm-up profile recording has not been started!");
+		}
+		activeRecorder = null;
+		return new WarmUpProfile(
+			new ArrayList<>(recorder.proxyClasses),
+			new ArrayList<>(recorder.recipes),
+			new ArrayList<>(recorder.methods)
+		);
+	}
+
+	/**
+	 * Returns true if the recording is in progress.
+	 */
+	public static boolean isRecording() {
+		return activeRecorder != null;
+	}
+
+	/**
+	 * Records proxy class created by the generator directly from the interfaces.
+	 */
+	public static void recordProxyClass(@Nonnull String generator, @Nonnull DispatchMode dispatchMode, @Nonnull Class<?>[] interfaces, @Nonnull Class<?>[] constructorTypes) {
+		final WarmUpRecorder recorder = activeRecorder;
+		if (recorder != null) {
+			recorder.proxyClasses.add(
+				new ProxyClassUsage(generator, dispatchMode, WarmUpProfile.getNames(interfaces), WarmUpProfile.getNames(constructorTypes))
+			);
+		}
+	}
+
+	/**
+	 * Records proxy instantiated by the generator from the recipe. Constructor types are NULL when the proxy is created
+	 * without constructor arguments.
+	 */
+	public static void recordRecipe(@Nonnull String generator, @Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Object proxyState, @Nullable Class<?>[] constructorTypes) {
+		final WarmUpRecorder recorder = activeRecorder;
+		if (recorder != null && recorder.recordedRecipes.add(new RecipeUsageKey(generator, proxyRecipe, serializable, proxyState.getClass(), constructorTypes))) {
+			try {
+				recorder.recipes.add(
+					new RecipeUsage(
+						generator, serializable, proxyState.getClass().getName(),
+						constructorTypes == null ? null : WarmUpProfile.getNames(constructorTypes),
+						RecipeUsage.serialize(proxyRecipe)
+					)
+				);
+			} catch (IllegalArgumentException ignored) {
+				// RECIPE IS NOT SERIALIZABLE - IT CANNOT BE REPLAYED
+			}
+		}
+	}
+
+	/**
+	 * Records method classified for the proxy state.
+	 */
+	public static void recordMethod(@Nullable Object proxyState, @Nonnull Method method) {
+		final WarmUpRecorder recorder = activeRecorder;
+		if (recorder != null && proxyState != null) {
+			recorder.methods.add(
+				new MethodUsage(
+					proxyState.getClass().getName(), method.getDeclaringClass().getName(), method.getName(),
+					WarmUpProfile.getNames(method.getParameterTypes())
+				)
+			);
+		}
+	}
+
+	/**
+	 * Key of the recorded recipe - recipes are compared by identity so that the recipe isn't serialized repeatedly
+	 * and its equality isn't computed on each instantiation.
+	 */
+	private static class RecipeUsageKey {
+		private final String generator;
+		private final ProxyRecipe proxyRecipe;
+		private final boolean serializable;
+		private final Class<?> proxyStateClass;
+		private final Class<?>[] constructorTypes;
+		private final int hashCode;
+
+		RecipeUsageKey(@Nonnull String generator, @Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Class<?> proxyStateClass, @Nullable Class<?>[] constructorTypes) {
+			this.generator = generator;
+			this.proxyRecipe = proxyRecipe;
+			this.serializable = serializable;
+			this.proxyStateClass = proxyStateClass;
+			this.constructorTypes = constructorTypes;
+			this.hashCode = 31 * (31 * (31 * generator.hashCode() + System.identityHashCode(proxyRecipe)) + proxyStateClass.hashCode()) + Arrays.hashCode(constructorTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			final RecipeUsageKey that = (RecipeUsageKey) o;
+			return this.proxyRecipe == that.proxyRecipe && this.serializable == that.serializable &&
+				this.proxyStateClass == that.proxyStateClass && this.generator.equals(that.generator) &&
+				Arrays.equals(this.constructorTypes, that.constructorTypes);
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+package one.edee.oss.proxycian.javassist;
+
+import javassist.util.proxy.Proxy;
+import one.edee.oss.proxycian.CompiledProxyFactory;
+import one.edee.oss.proxycian.OnInstantiationCallback;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * {@link CompiledProxyFactory} of {@link JavassistProxyGenerator}. Dispatchers of the created proxies share
+ * the method classifications, the cache key and the classification index of the template dispatcher, the proxy
+ * constructor is called through the {@link MethodHandle}. Proxy state is verified against the recipe only when its
+ * class differs from the class of the previously verified proxy state.
+ */
+class JavassistCompiledProxyFactory<T> implements CompiledProxyFactory<T> {
+	private static final Object[] NO_ARGS = new Object[0];
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+	private final ProxyRecipe proxyRecipe;
+	private final boolean serializable;
+	private final Class<?> proxyClass;
+	@Nullable private final Class<?>[] constructorTypes;
+	private final MethodHandle constructor;
+	private final JavassistDispatcherInvocationHandler<?> template;
+	@Nullable private final MethodDispatchTable dispatchTable;
+	@Nullable private final OnInstantiationCallback instantiationCallback;
+	/**
+	 * Class of the last proxy state that passed {@link ProxyRecipe#verifyProxyState(Object)}.
+	 */
+	private volatile Class<?> verifiedStateClass;
+
+	JavassistCompiledProxyFactory(@Nonnull ProxyRecipe proxyRecipe, boolean serializable, @Nonnull Class<?> proxyClass, @Nullable Class<?>[] constructorTypes, @Nonnull Constructor<?> constructor, @Nonnull JavassistDispatcherInvocationHandler<?> template, @Nullable MethodDispatchTable dispatchTable) {
+		this.proxyRecipe = proxyRecipe;
+		this.serializable = serializable;
+		this.proxyClass = proxyClass;
+		this.constructorTypes = constructorTypes;
+		try {
+			this.constructor = MethodHandles.lookup()
+				.unreflectConstructor(constructor)
+				.asSpreader(Object[].class, constructor.getParameterCount())
+				.asType(CONSTRUCTOR_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("What the heck? Can't access constructor of " + proxyClass.getName() + ": " + e.getMessage(), e);
+		}
+		this.template = template;
+		this.dispatchTable = dispatchTable;
+		this.instantiationCallback = proxyRecipe.getInstantiationCallback();
+	}
+
+	@Nonnull
+	@Override
+	public T instantiate(@Nonnull Object proxyState) {
+		return instantiate(proxyState, NO_ARGS);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nonnull
+	@Override
+	public T instantiate(@Nonnull Object proxyState, @Nonnull Object[] constructorArgs) {
+		if (proxyState.getClass() != this.verifiedStateClass) {
+			verify(proxyState);
+		}
+		final JavassistDispatcherInvocationHandler<Object> methodHandler = new JavassistDispatcherInvocationHandler<>(proxyState, this.template);
+		final T proxy;
+		try {
+			// CREATE PROXY INSTANCE
+			proxy = (T) (Object) this.constructor.invokeExact(constructorArgs);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("What the heck? Can't create proxy: " + e.getMessage(), e);
+		}
+		// CALL ON INSTANTIATION CALLBACK
+		if (this.instantiationCallback != null) {
+			this.instantiationCallback.proxyCreated(proxy, proxyState);
+		}
+		// BIND DISPATCH TABLE OF THE CLASS IF THERE IS ANY
+		if (this.dispatchTable != null) {
+			methodHandler.bindDispatchTable(this.dispatchTable);
+		}
+		// INJECT OUR METHOD HANDLER INSTANCE TO NEWLY CREATED PROXY INSTANCE
+		((Proxy) proxy).setHandler(methodHandler);
+		return proxy;
+	}
+
+	/**
+	 * Verifies the proxy state of the class not seen by the factory yet and resolves the classifications eagerly if
+	 * the recipe asks for it.
+	 */
+	private void verify(@Nonnull Object proxyState) {
+		if (this.serializable && !(proxyState instanceof Serializable)) {
+			throw new IllegalArgumentException("What the heck? Proxy state " + proxyState.getClass().getName() + " is not serializable!");
+		}
+		this.proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(JavassistProxyGenerator.WARM_UP_GENERATOR, this.proxyRecipe, this.serializable, proxyState, this.constructorTypes);
+		this.proxyRecipe.resolveEagerly(
+			this.proxyClass, proxyState,
+			() -> new JavassistDispatcherInvocationHandler<>(proxyState, this.template).resolveEagerly(this.proxyClass)
+		);
+		this.verifiedStateClass = proxyState.getClass();
+	}
+
+}
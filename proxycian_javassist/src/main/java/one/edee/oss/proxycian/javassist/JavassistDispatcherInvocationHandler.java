@@ -7,42 +7,163 @@ import one.edee.oss.proxycian.AbstractDispatcherInvocationHandler;
 import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
 import one.edee.oss.proxycian.MethodClassification;
 import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
 import one.edee.oss.proxycian.exception.InvalidSuperMethodCallException;
-import one.edee.oss.proxycian.trait.ProxyStateAccessor;
 import one.edee.oss.proxycian.trait.StandardJavaMethods;
-import one.edee.oss.proxycian.util.ReflectionUtils;
+import one.edee.oss.proxycian.trait.frozenState.FrozenState;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateProvider;
+import one.edee.oss.proxycian.util.DefaultMethodInvoker;
 
-import java.lang.invoke.MethodHandle;
+import javax.annotation.Nonnull;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 import static java.util.Optional.ofNullable;
 
+/**
+ * Javassist proxy carries no fields of its own except this handler, which is created for each proxy. That's why
+ * the handler keeps the frozen state of the proxies with {@link FrozenStateAdvice} - the hash code cached at the moment
+ * of freezing is stored here, and it's the handler that rejects the {@link FrozenStateAdvice#isStateChangingMethod(Method)
+ * state changing methods} of the frozen proxy.
+ */
 public class JavassistDispatcherInvocationHandler<T> extends AbstractDispatcherInvocationHandler<T> implements MethodHandler {
-    private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class[0];
+    private final boolean frozenStateTracked;
+    private MethodDispatchTable dispatchTable;
+    /**
+     * Hash code cached when the proxy was frozen - NULL until the proxy is frozen.
+     */
+    private volatile Integer frozenHashCode;
 
     public JavassistDispatcherInvocationHandler(T proxyState, MethodClassification<?, ?>... methodClassifications) {
         super(proxyState, methodClassifications);
+        this.frozenStateTracked = false;
     }
 
     private JavassistDispatcherInvocationHandler(T proxyState, Collection<MethodClassification<?, ?>> methodClassifications) {
         super(proxyState, methodClassifications);
+        this.frozenStateTracked = false;
+    }
+
+    /**
+     * Creates template dispatcher without proxy state. When frozen state is tracked, dispatchers created from the template
+     * keep the frozen state of their proxies themselves - see {@link FrozenStateAdvice}.
+     */
+    JavassistDispatcherInvocationHandler(MethodClassification<?, ?>[] methodClassifications, boolean frozenStateTracked) {
+        super(null, methodClassifications);
+        this.frozenStateTracked = frozenStateTracked;
+    }
+
+    JavassistDispatcherInvocationHandler(T proxyState, JavassistDispatcherInvocationHandler<?> template) {
+        super(proxyState, template);
+        this.frozenStateTracked = template.frozenStateTracked;
+    }
+
+    /**
+     * Binds dispatch table of the proxy class this handler is attached to. Dispatch table allows to skip
+     * the classification cache lookup on each method call.
+     */
+    void bindDispatchTable(@Nonnull MethodDispatchTable dispatchTable) {
+        this.dispatchTable = dispatchTable;
+    }
+
+    /**
+     * Resolves classifications of all methods the passed proxy class routes to the handler and stores them either to
+     * the dispatch table of the class or to the classification cache. See {@link #resolveEagerly(Class, Collection, Function)}.
+     */
+    void resolveEagerly(@Nonnull Class<?> proxyClass) {
+        final MethodDispatchTable classDispatchTable = JavassistProxyGenerator.CACHED_DISPATCH_TABLES.get(proxyClass);
+        if (classDispatchTable == null) {
+            final List<Method> methods = new LinkedList<>();
+            for (Method method : JavassistProxyGenerator.getProxiedMethods(proxyClass)) {
+                if (method != null) {
+                    methods.add(method);
+                }
+            }
+            resolveEagerly(
+                proxyClass,
+                methods,
+                method -> JavassistProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+                    createCacheKey(proxyClass, proxyState.getClass(), method),
+                    cacheKey -> getCurriedMethodContextInvocationHandler(method)
+                )
+            );
+        } else {
+            resolveEagerly(proxyClass, classDispatchTable);
+        }
+    }
+
+    /**
+     * Resolves classifications of the passed methods of the proxy class and stores them either to the dispatch table
+     * of the class or to the classification cache. Unlike {@link #resolveEagerly(Class)} it doesn't verify that
+     * the methods have an implementation - it's used for replaying the warm-up profile.
+     */
+    void resolve(@Nonnull Class<?> proxyClass, @Nonnull Collection<Method> methods) {
+        final MethodDispatchTable classDispatchTable = JavassistProxyGenerator.CACHED_DISPATCH_TABLES.get(proxyClass);
+        if (classDispatchTable == null) {
+            for (Method method : methods) {
+                JavassistProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+                    createCacheKey(proxyClass, proxyState.getClass(), method),
+                    cacheKey -> getCurriedMethodContextInvocationHandler(method)
+                );
+            }
+        } else {
+            resolve(classDispatchTable, methods);
+        }
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
+        if (this.frozenStateTracked) {
+            final Integer theFrozenHashCode = this.frozenHashCode;
+            if (thisMethod.getDeclaringClass() == FrozenState.class) {
+                if (thisMethod.getParameterCount() == 0 && "freeze".equals(thisMethod.getName())) {
+                    if (theFrozenHashCode == null) {
+                        ((FrozenStateProvider) proxyState).freeze();
+                        // HASH CODE IS COMPUTED BY THE PROXY ITSELF FROM THE SAME VALUES ITS EQUALS COMPARES
+                        this.frozenHashCode = self.hashCode();
+                    }
+                    return null;
+                } else if (thisMethod.getParameterCount() == 0 && "isFrozen".equals(thisMethod.getName())) {
+                    return theFrozenHashCode != null;
+                }
+            } else if (theFrozenHashCode != null) {
+                if (thisMethod.getDeclaringClass() == Object.class && thisMethod.getParameterCount() == 0 && "hashCode".equals(thisMethod.getName())) {
+                    return theFrozenHashCode;
+                } else if (FrozenStateAdvice.isStateChangingMethod(thisMethod)) {
+                    throw new IllegalStateException("Proxy is frozen and cannot be changed by calling " + thisMethod.getName() + "!");
+                }
+            }
+        }
+
+        final MethodDispatchTable theDispatchTable = this.dispatchTable;
+        if (theDispatchTable != null) {
+            final int slot = theDispatchTable.getSlot(thisMethod);
+            if (slot >= 0) {
+                final CurriedMethodContextInvocationHandler invocationHandler = this.getCurriedMethodContextInvocationHandler(theDispatchTable, slot, thisMethod);
+                // INVOKE CURRIED LAMBDA, PASS REFERENCE TO REAL METHOD IF AVAILABLE
+                return invocationHandler.invoke(
+                    self, ofNullable(proceed).orElse(thisMethod), args, proxyState,
+                    new MethodCall(proceed, self, args)
+                );
+            }
+        }
+
         final ClassMethodCacheKey cacheKey = this.createCacheKey(self.getClass(), proxyState.getClass(), thisMethod);
 
         // COMPUTE IF ABSENT = GET FROM MAP, IF MISSING OR INVALID -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
         @SuppressWarnings("rawtypes") CurriedMethodContextInvocationHandler invocationHandler = JavassistProxyGenerator.CLASSIFICATION_CACHE.get(cacheKey);
         if (invocationHandler == null) {
-            invocationHandler = this.getCurriedMethodContextInvocationHandler(thisMethod);
-            JavassistProxyGenerator.CLASSIFICATION_CACHE.put(cacheKey, invocationHandler);
+            // CONCURRENT MISSES OF THE SAME KEY RESOLVE THE CLASSIFICATION ONLY ONCE
+            invocationHandler = JavassistProxyGenerator.CLASSIFICATION_CACHE.computeIfAbsent(
+                cacheKey, key -> this.getCurriedMethodContextInvocationHandler(thisMethod)
+            );
         }
 		// INVOKE CURRIED LAMBDA, PASS REFERENCE TO REAL METHOD IF AVAILABLE
 		return invocationHandler.invoke(
@@ -63,23 +184,11 @@ public class JavassistDispatcherInvocationHandler<T> extends AbstractDispatcherI
                 cloneMethod.setAccessible(true);
                 final T clonedState = (T) cloneMethod.invoke(originalProxyState);
 
-                final List<Class<?>> interfaces = new LinkedList<>();
-                final Class<?> superClass = objectToClone.getClass().getSuperclass();
-                if (!Object.class.equals(superClass)) {
-                    interfaces.add(superClass);
-                }
-                for (Class<?> anInterface : objectToClone.getClass().getInterfaces()) {
-                    if (!ProxyStateAccessor.class.equals(anInterface) && !ProxyObject.class.equals(anInterface)) {
-                        interfaces.add(anInterface);
-                    }
-                }
-
-                return JavassistProxyGenerator.instantiate(
-                    new JavassistDispatcherInvocationHandler<>(
-                        clonedState,
-                        originalDispatcher.methodClassifications
-                    ),
-                    interfaces.toArray(EMPTY_CLASS_ARRAY)
+                // CLONE IS AN INSTANCE OF THE SAME PROXY CLASS - IT KEEPS DISPATCH MODE AND CLASS LOADER OF THE ORIGINAL
+                return JavassistProxyGenerator.instantiateClone(
+                    objectToClone.getClass(),
+                    clonedState,
+                    new JavassistDispatcherInvocationHandler<>(clonedState, originalDispatcher)
                 );
             } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
                 throw new CloneNotSupportedException("Cannot clone the proxy instance due to: " + e.getMessage());
@@ -100,8 +209,7 @@ public class JavassistDispatcherInvocationHandler<T> extends AbstractDispatcherI
             } else {
                 try {
                     if (proceed.isDefault()) {
-                        final MethodHandle methodHandle = ReflectionUtils.findMethodHandle(proceed);
-                        return methodHandle.bindTo(self).invokeWithArguments(arguments);
+                        return DefaultMethodInvoker.get(proceed).invoke(self, arguments);
                     } else {
                         return proceed.invoke(self, arguments);
                     }
@@ -5,20 +5,40 @@ import javassist.util.proxy.Proxy;
 import javassist.util.proxy.ProxyFactory;
 import javassist.util.proxy.ProxyObject;
 import one.edee.oss.proxycian.CacheKeyAffectingMethodClassification;
+import one.edee.oss.proxycian.CompiledProxyFactory;
 import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DispatchMode;
 import one.edee.oss.proxycian.OnInstantiationCallback;
 import one.edee.oss.proxycian.PredicateMethodClassification;
 import one.edee.oss.proxycian.ProxyStateWithConstructorArgs;
+import one.edee.oss.proxycian.cache.BoundedClassLocalCache;
+import one.edee.oss.proxycian.cache.ClassLocalCache;
 import one.edee.oss.proxycian.cache.ClassMethodCacheKey;
 import one.edee.oss.proxycian.cache.ConstructorCacheKey;
+import one.edee.oss.proxycian.cache.EvictionPolicy;
+import one.edee.oss.proxycian.cache.GeneratedClassCache;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.cache.PersistentClassCache;
+import one.edee.oss.proxycian.cache.ProxyClassCacheKey;
+import one.edee.oss.proxycian.recipe.GeneratedMemberAdvice;
+import one.edee.oss.proxycian.recipe.PassThroughAdvice;
 import one.edee.oss.proxycian.recipe.ProxyRecipe;
 import one.edee.oss.proxycian.trait.ProxyStateAccessor;
 import one.edee.oss.proxycian.trait.SerializableProxy;
 import one.edee.oss.proxycian.trait.SerializableProxy.DeserializationProxyFactory;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import one.edee.oss.proxycian.util.DefaultMethodInvoker;
+import one.edee.oss.proxycian.warmup.WarmUpProfile;
+import one.edee.oss.proxycian.warmup.WarmUpProfile.RecipeUsage;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -26,8 +46,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class JavassistProxyGenerator {
 	// LIST OF "SYSTEM" INTERFACES THAT ARE ADDED TO OUR PROXIES AUTOMATICALLY EITHER BY US OR BY THE BYTECODE LIBRARY
@@ -37,9 +61,17 @@ public class JavassistProxyGenerator {
 			ProxyStateAccessor.class
 		)
 	);
-	static final Map<ClassMethodCacheKey, CurriedMethodContextInvocationHandler<?,?>> CLASSIFICATION_CACHE = new ConcurrentHashMap<>(32);
-	private static final Map<List<Class<?>>, Class<?>> CACHED_PROXY_CLASSES = new ConcurrentHashMap<>(64);
-	private static final Map<ConstructorCacheKey, Constructor<?>> CACHED_PROXY_CONSTRUCTORS = new ConcurrentHashMap<>(64);
+	static final BoundedClassLocalCache<ClassMethodCacheKey, CurriedMethodContextInvocationHandler<?,?>> CLASSIFICATION_CACHE = new BoundedClassLocalCache<>(ClassMethodCacheKey::getClazz);
+	static final ClassLocalCache<Class<?>, MethodDispatchTable> CACHED_DISPATCH_TABLES = new ClassLocalCache<>(proxyClass -> proxyClass);
+	private static final String METHODS_FIELD = "_methods_";
+	static final String WARM_UP_GENERATOR = "javassist";
+	private static final Object DISPATCHER_TEMPLATE = new Object();
+	private static final Object SERIALIZABLE_DISPATCHER_TEMPLATE = new Object();
+	private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class[0];
+	private static final GeneratedClassCache<ProxyClassCacheKey> CACHED_PROXY_CLASSES = new GeneratedClassCache<>();
+	private static final ClassLocalCache<ConstructorCacheKey, Constructor<?>> CACHED_PROXY_CONSTRUCTORS = new ClassLocalCache<>(ConstructorCacheKey::getClazz);
+	private static volatile PersistentClassCache persistentClassCache;
+	private static volatile Executor asyncExecutor = ForkJoinPool.commonPool();
 
 	/**
 	 * Method clears method classification cache that keeps direct references from proxied class methods to their
@@ -48,6 +80,65 @@ public class JavassistProxyGenerator {
 	 */
 	public static void clearMethodClassificationCache() {
 		CLASSIFICATION_CACHE.clear();
+		CACHED_DISPATCH_TABLES.values().forEach(MethodDispatchTable::invalidate);
+	}
+
+	/**
+	 * Limits the count of the method classifications kept in the method classification cache. When the limit is
+	 * exceeded, classifications chosen by the passed eviction policy are dropped and resolved again on their next use.
+	 * The cache is unbounded by default.
+	 */
+	public static void configureMethodClassificationCache(int maximumSize, @Nonnull EvictionPolicy evictionPolicy) {
+		CLASSIFICATION_CACHE.configure(maximumSize, evictionPolicy);
+	}
+
+	/**
+	 * Method clears method classification cache of the single proxy class. Classifications of all other proxy classes
+	 * are kept and needn't be resolved again.
+	 */
+	public static void clearMethodClassificationCache(@Nonnull Class<?> proxyClass) {
+		CLASSIFICATION_CACHE.invalidate(proxyClass);
+		final MethodDispatchTable dispatchTable = CACHED_DISPATCH_TABLES.get(proxyClass);
+		if (dispatchTable != null) {
+			dispatchTable.invalidate();
+		}
+	}
+
+	/**
+	 * Method clears method classification cache of all proxy classes that might have been generated from the passed
+	 * recipe (see {@link ProxyRecipe#isImplementedBy(Class)}). Classifications of all other proxy classes are kept and
+	 * needn't be resolved again.
+	 */
+	public static void clearMethodClassificationCache(@Nonnull ProxyRecipe proxyRecipe) {
+		CLASSIFICATION_CACHE.invalidate(cacheKey -> proxyRecipe.isImplementedBy(cacheKey.getClazz()));
+		for (Map<Class<?>, MethodDispatchTable> dispatchTables : CACHED_DISPATCH_TABLES.getSegments()) {
+			dispatchTables.forEach((proxyClass, dispatchTable) -> {
+				if (proxyRecipe.isImplementedBy(proxyClass)) {
+					dispatchTable.invalidate();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Enables persistent cache of the byte-code of the generated classes in the passed directory (or disables it when
+	 * NULL is passed). Generated classes get deterministic names derived from their interfaces and their byte-code is
+	 * stored in the directory - on the next JVM start the stored byte-code is defined directly without generating it.
+	 * Entries generated from the classes that have changed since are ignored and generated again.
+	 */
+	public static void configurePersistentClassCache(@Nullable File directory) {
+		if (directory != null) {
+			PersistentProxyClasses.installNameGenerator();
+		}
+		persistentClassCache = directory == null ? null : new PersistentClassCache(directory, "javassist");
+	}
+
+	/**
+	 * Sets the executor the proxy classes requested by {@link #getProxyClassAsync} and {@link #instantiateAsync} are
+	 * generated in. {@link ForkJoinPool#commonPool()} is used by default.
+	 */
+	public static void configureAsyncExecutor(Executor executor) {
+		asyncExecutor = executor;
 	}
 
 	/**
@@ -60,6 +151,9 @@ public class JavassistProxyGenerator {
 	public static void clearClassCache() {
 		CACHED_PROXY_CLASSES.clear();
 		CACHED_PROXY_CONSTRUCTORS.clear();
+		CACHED_DISPATCH_TABLES.values().forEach(MethodDispatchTable::invalidate);
+		CACHED_DISPATCH_TABLES.clear();
+		DefaultMethodInvoker.clearCache();
 	}
 
 	/**
@@ -96,14 +190,17 @@ public class JavassistProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiate(ProxyRecipe proxyRecipe, Object proxyState, Class<?>[] constructorTypes, Object[] constructorArgs) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, false, proxyState, constructorTypes);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfaces()
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfaces()
-			),
+			proxyClass,
 			proxyState,
-			new JavassistDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith()
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new JavassistDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, false))
 			),
 			proxyRecipe.getInstantiationCallback(),
 			constructorTypes,
@@ -118,14 +215,17 @@ public class JavassistProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiate(ProxyRecipe proxyRecipe, Object proxyState) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, false, proxyState, null);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(ProxyStateAccessor.class)
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfacesWith(ProxyStateAccessor.class)
-			),
+			proxyClass,
 			proxyState,
-			new JavassistDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith()
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new JavassistDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, false))
 			),
 			proxyRecipe.getInstantiationCallback()
 		);
@@ -138,20 +238,19 @@ public class JavassistProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiateSerializable(ProxyRecipe proxyRecipe, Serializable proxyState) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, true, proxyState, null);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(
+				SerializableProxy.class
+			)
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfacesWith(
-					SerializableProxy.class
-				)
-			),
+			proxyClass,
 			proxyState,
-			new JavassistDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith(
-					SerializableProxy.getWriteReplaceMethodInvoker(
-						new ProxyRecipeDeserializationProxyFactory(proxyRecipe)
-					)
-				)
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new JavassistDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, true))
 			),
 			proxyRecipe.getInstantiationCallback()
 		);
@@ -164,20 +263,19 @@ public class JavassistProxyGenerator {
 	@SuppressWarnings("unchecked")
 	public static <T> T instantiateSerializable(ProxyRecipe proxyRecipe, ProxyStateWithConstructorArgs proxyState, Class<?>[] constructorTypes, Object[] constructorArgs) {
 		proxyRecipe.verifyProxyState(proxyState);
+		WarmUpRecorder.recordRecipe(WARM_UP_GENERATOR, proxyRecipe, true, proxyState, constructorTypes);
+		final Class<T> proxyClass = (Class<T>) getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(
+				SerializableProxy.class
+			)
+		);
 		return instantiateProxy(
-			(Class<T>) getProxyClass(
-				proxyRecipe.getInterfacesWith(
-					SerializableProxy.class
-				)
-			),
+			proxyClass,
 			proxyState,
-			new JavassistDispatcherInvocationHandler<>(
-				proxyState,
-				proxyRecipe.getMethodClassificationsWith(
-					SerializableProxy.getWriteReplaceMethodInvoker(
-						new ProxyRecipeDeserializationProxyFactory(proxyRecipe)
-					)
-				)
+			resolveEagerly(
+				proxyRecipe, proxyClass, proxyState,
+				new JavassistDispatcherInvocationHandler<>(proxyState, getDispatcherTemplate(proxyRecipe, true))
 			),
 			proxyRecipe.getInstantiationCallback(),
 			constructorTypes,
@@ -191,56 +289,438 @@ public class JavassistProxyGenerator {
 	 * interfaces will be "implemented" by the returned proxy class.
 	 */
 	public static Class<?> getProxyClass(Class<?>... interfaces) {
-		// COMPUTE IF ABSENT = GET FROM MAP, IF MISSING -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
-		return CACHED_PROXY_CLASSES.computeIfAbsent(
+		return getProxyClass(DispatchMode.CLASSIFICATION_CACHE, interfaces);
+	}
+
+	/**
+	 * Returns previously created class or construct new from the passed interfaces. First class of the passed class
+	 * array might be abstract class. In such situation the created class will extend this proxy class. All passed
+	 * interfaces will be "implemented" by the returned proxy class. Methods of the class will locate their
+	 * implementation using passed {@link DispatchMode}.
+	 */
+	public static Class<?> getProxyClass(DispatchMode dispatchMode, Class<?>... interfaces) {
+		// GET FROM CACHE, IF MISSING -> GENERATE OUTSIDE ANY LOCK, STORE AND RETURN RESULT OF LAMBDA
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode);
+		return CACHED_PROXY_CLASSES.getOrCreate(
+			// CACHE SEGMENT IS ATTACHED TO THE MOST SPECIFIC INTERFACE, JAVASSIST CHOOSES THE CLASS LOADER ON ITS OWN
+			cacheKey.getOwnerType(),
+			null,
 			// CACHE KEY
-			Arrays.asList(interfaces),
+			cacheKey,
 			// LAMBDA THAT CREATES OUR PROXY CLASS
-			classes -> {
-				final ProxyFactory fct = new ProxyFactory();
-
-				// WE'LL CACHE CLASSES ON OUR OWN
-				fct.setUseCache(false);
-
-				// IF WE PROXY ABSTRACT CLASS, WE HAVE A RULE THAT IT HAS TO BE FIRST IN LIST
-				if (interfaces[0].isInterface()) {
-					// FIRST IS INTERFACE
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length + 1];
-					finalContract[0] = ProxyStateAccessor.class;
-					System.arraycopy(interfaces, 0, finalContract, 1, interfaces.length);
-					// WE'LL EXTEND OBJECT CLASS AND IMPLEMENT ALL INTERFACES
-					fct.setInterfaces(finalContract);
-				} else {
-					// FIRST IS ABSTRACT CLASS
-					// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
-					final Class<?>[] finalContract = new Class[interfaces.length];
-					finalContract[0] = ProxyStateAccessor.class;
-					System.arraycopy(interfaces, 1, finalContract, 1, interfaces.length - 1);
-					// WE'LL EXTEND ABSTRACT CLASS AND IMPLEMENT ALL OTHER INTERFACES
-					fct.setSuperclass(interfaces[0]);
-					fct.setInterfaces(finalContract);
-				}
+			() -> createProxyClass(dispatchMode, interfaces, null)
+		);
+	}
 
-				// SKIP FINALIZE METHOD OVERRIDE - STAY AWAY FROM TROUBLE :)
+	/**
+	 * Returns proxy class of the recipe for the passed interfaces. See {@link #getProxyClass(DispatchMode, Class[])}.
+	 * Class doesn't override the concrete methods listed by {@link ProxyRecipe#getPassThroughAdvice()}.
+	 */
+	private static Class<?> getProxyClass(ProxyRecipe proxyRecipe, Class<?>[] interfaces) {
+		final DispatchMode dispatchMode = proxyRecipe.getDispatchMode();
+		final PassThroughAdvice passThroughAdvice = proxyRecipe.getPassThroughAdvice();
+		if (passThroughAdvice == null) {
+			return getProxyClass(dispatchMode, interfaces);
+		}
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode, new GeneratedMemberAdvice<?>[]{passThroughAdvice});
+		return CACHED_PROXY_CLASSES.getOrCreate(
+			cacheKey.getOwnerType(),
+			null,
+			cacheKey,
+			() -> createProxyClass(dispatchMode, interfaces, passThroughAdvice)
+		);
+	}
 
-				/**
+	/**
+	 * Returns future of the proxy class for the passed interfaces. See {@link #getProxyClassAsync(DispatchMode, Class[])}.
+	 */
+	public static CompletableFuture<Class<?>> getProxyClassAsync(Class<?>... interfaces) {
+		return getProxyClassAsync(DispatchMode.CLASSIFICATION_CACHE, interfaces);
+	}
 
-				 In Effective java (2nd edition ) Joshua bloch says,
+	/**
+	 * Returns future of the proxy class that {@link #getProxyClass(DispatchMode, Class[])} would return. Class that
+	 * is not generated yet is generated in the executor set by {@link #configureAsyncExecutor(Executor)}, so that
+	 * the generation could overlap with other work of the caller. Concurrent requests for the same class - both
+	 * synchronous and asynchronous ones - share the single generation.
+	 */
+	public static CompletableFuture<Class<?>> getProxyClassAsync(DispatchMode dispatchMode, Class<?>... interfaces) {
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode);
+		return CACHED_PROXY_CLASSES.getOrCreateAsync(
+			cacheKey.getOwnerType(),
+			null,
+			cacheKey,
+			() -> createProxyClass(dispatchMode, interfaces, null),
+			asyncExecutor
+		);
+	}
 
-				 "Oh, and one more thing: there is a severe performance penalty for using finalizers. On my machine, the time
-				 to create and destroy a simple object is about 5.6 ns.
-				 Adding a finalizer increases the time to 2,400 ns. In other words, it is about 430 times slower to create and
-				 destroy objects with finalizers."
+	/**
+	 * Returns future of the proxy class of the recipe for the passed interfaces. See {@link #getProxyClass(ProxyRecipe, Class[])}.
+	 */
+	private static CompletableFuture<Class<?>> getProxyClassAsync(ProxyRecipe proxyRecipe, Class<?>[] interfaces) {
+		final DispatchMode dispatchMode = proxyRecipe.getDispatchMode();
+		final PassThroughAdvice passThroughAdvice = proxyRecipe.getPassThroughAdvice();
+		if (passThroughAdvice == null) {
+			return getProxyClassAsync(dispatchMode, interfaces);
+		}
+		final ProxyClassCacheKey cacheKey = new ProxyClassCacheKey(interfaces, dispatchMode, new GeneratedMemberAdvice<?>[]{passThroughAdvice});
+		return CACHED_PROXY_CLASSES.getOrCreateAsync(
+			cacheKey.getOwnerType(),
+			null,
+			cacheKey,
+			() -> createProxyClass(dispatchMode, interfaces, passThroughAdvice),
+			asyncExecutor
+		);
+	}
 
-				 */
+	/**
+	 * Returns future of the proxy created by {@link #instantiate(ProxyRecipe, Object)}. Proxy is created as soon as
+	 * its class is generated. See {@link #getProxyClassAsync(DispatchMode, Class[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateAsync(ProxyRecipe proxyRecipe, Object proxyState) {
+		return getProxyClassAsync(proxyRecipe, proxyRecipe.getInterfacesWith(ProxyStateAccessor.class))
+			.thenApply(proxyClass -> instantiate(proxyRecipe, proxyState));
+	}
 
-				fct.setFilter(method -> !Objects.equals(method.getName(), "finalize"));
-				// DON'T USE CACHE - WE CACHE CLASSES OURSELVES
-				fct.setUseCache(false);
+	/**
+	 * Returns future of the proxy created by {@link #instantiateSerializable(ProxyRecipe, Serializable)}. Proxy is
+	 * created as soon as its class is generated. See {@link #getProxyClassAsync(DispatchMode, Class[])}.
+	 */
+	public static <T> CompletableFuture<T> instantiateSerializableAsync(ProxyRecipe proxyRecipe, Serializable proxyState) {
+		return getProxyClassAsync(proxyRecipe, proxyRecipe.getInterfacesWith(SerializableProxy.class))
+			.thenApply(proxyClass -> instantiateSerializable(proxyRecipe, proxyState));
+	}
 
-				return fct.createClass();
-			});
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiate(ProxyRecipe, Object)}. Proxy class is
+	 * generated, its constructor is looked up and the method classifications of the recipe are prepared right away -
+	 * the factory then creates the proxies without repeating any of this work.
+	 */
+	public static <T> CompiledProxyFactory<T> compile(ProxyRecipe proxyRecipe) {
+		final Class<?> proxyClass = getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(ProxyStateAccessor.class)
+		);
+		return new JavassistCompiledProxyFactory<>(
+			proxyRecipe, false, proxyClass, null, getDefaultConstructor(proxyClass),
+			getDispatcherTemplate(proxyRecipe, false),
+			CACHED_DISPATCH_TABLES.get(proxyClass)
+		);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiate(ProxyRecipe, Object, Class[], Object[])}.
+	 * See {@link #compile(ProxyRecipe)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compile(ProxyRecipe proxyRecipe, Class<?>[] constructorTypes) {
+		final Class<?> proxyClass = getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfaces()
+		);
+		return new JavassistCompiledProxyFactory<>(
+			proxyRecipe, false, proxyClass, constructorTypes, getConstructor(proxyClass, constructorTypes),
+			getDispatcherTemplate(proxyRecipe, false),
+			CACHED_DISPATCH_TABLES.get(proxyClass)
+		);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiateSerializable(ProxyRecipe, Serializable)}.
+	 * Proxy state passed to the factory must be {@link Serializable}. See {@link #compile(ProxyRecipe)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compileSerializable(ProxyRecipe proxyRecipe) {
+		final Class<?> proxyClass = getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(SerializableProxy.class)
+		);
+		return new JavassistCompiledProxyFactory<>(
+			proxyRecipe, true, proxyClass, null, getDefaultConstructor(proxyClass),
+			getDispatcherTemplate(proxyRecipe, true),
+			CACHED_DISPATCH_TABLES.get(proxyClass)
+		);
+	}
+
+	/**
+	 * Compiles the factory creating the same proxies as {@link #instantiateSerializable(ProxyRecipe, ProxyStateWithConstructorArgs, Class[], Object[])}.
+	 * Proxy state passed to the factory must be {@link Serializable}. See {@link #compile(ProxyRecipe)}.
+	 */
+	public static <T> CompiledProxyFactory<T> compileSerializable(ProxyRecipe proxyRecipe, Class<?>[] constructorTypes) {
+		final Class<?> proxyClass = getProxyClass(
+			proxyRecipe,
+			proxyRecipe.getInterfacesWith(SerializableProxy.class)
+		);
+		return new JavassistCompiledProxyFactory<>(
+			proxyRecipe, true, proxyClass, constructorTypes, getConstructor(proxyClass, constructorTypes),
+			getDispatcherTemplate(proxyRecipe, true),
+			CACHED_DISPATCH_TABLES.get(proxyClass)
+		);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the passed proxy states. Proxy class,
+	 * its constructor and the dispatcher are resolved only once for the whole batch - see {@link CompiledProxyFactory#instantiateAll(Object[], IntFunction)}.
+	 * When the batches are created repeatedly, keep the factory returned by {@link #compile(ProxyRecipe)} instead.
+	 */
+	public static <T> T[] instantiateAll(ProxyRecipe proxyRecipe, Object[] proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the passed proxy states. See
+	 * {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAll(ProxyRecipe proxyRecipe, List<?> proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object)} does for each of the proxy states of the stream. See
+	 * {@link CompiledProxyFactory#instantiateAll(Stream, IntFunction)}.
+	 */
+	public static <T> T[] instantiateAll(ProxyRecipe proxyRecipe, Stream<?> proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compile(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiate(ProxyRecipe, Object, Class[], Object[])} does for each of the passed proxy
+	 * states and constructor arguments on the same index. Constructor arguments are passed to the constructor without
+	 * merging them with the arguments of the generated class for each proxy.
+	 */
+	public static <T> T[] instantiateAll(ProxyRecipe proxyRecipe, Object[] proxyStates, Class<?>[] constructorTypes, Object[][] constructorArgs, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compile(proxyRecipe, constructorTypes).instantiateAll(proxyStates, constructorArgs, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the passed proxy
+	 * states. See {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(ProxyRecipe proxyRecipe, Serializable[] proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the passed proxy
+	 * states. See {@link #instantiateAll(ProxyRecipe, Object[], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(ProxyRecipe proxyRecipe, List<? extends Serializable> proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, Serializable)} does for each of the proxy states
+	 * of the stream. See {@link CompiledProxyFactory#instantiateAll(Stream, IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(ProxyRecipe proxyRecipe, Stream<? extends Serializable> proxyStates, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compileSerializable(proxyRecipe).instantiateAll(proxyStates, arrayFactory);
+	}
+
+	/**
+	 * Creates proxy as {@link #instantiateSerializable(ProxyRecipe, ProxyStateWithConstructorArgs, Class[], Object[])} does for each of the passed proxy
+	 * states and constructor arguments on the same index. See {@link #instantiateAll(ProxyRecipe, Object[], Class[], Object[][], IntFunction)}.
+	 */
+	public static <T> T[] instantiateAllSerializable(ProxyRecipe proxyRecipe, Serializable[] proxyStates, Class<?>[] constructorTypes, Object[][] constructorArgs, IntFunction<T[]> arrayFactory) {
+		return JavassistProxyGenerator.<T>compileSerializable(proxyRecipe, constructorTypes).instantiateAll(proxyStates, constructorArgs, arrayFactory);
+	}
+
+	/**
+	 * Replays the warm-up profile recorded by {@link WarmUpRecorder} in the passed executor. See
+	 * {@link #replayWarmUpProfile(WarmUpProfile, ClassLoader, Executor)}.
+	 */
+	public static CompletableFuture<Void> replayWarmUpProfile(WarmUpProfile profile, Executor executor) {
+		return replayWarmUpProfile(profile, JavassistProxyGenerator.class.getClassLoader(), executor);
+	}
+
+	/**
+	 * Replays the warm-up profile recorded by {@link WarmUpRecorder} in the passed executor. Proxy classes requested
+	 * in the recorded run are generated (classes recorded in the profile are looked up in the passed class loader)
+	 * and the methods classified in the recorded run are resolved for the proxy state classes that have default
+	 * constructor, so that the first proxies created after the returned future completes needn't generate or classify
+	 * anything.
+	 */
+	public static CompletableFuture<Void> replayWarmUpProfile(WarmUpProfile profile, ClassLoader classLoader, Executor executor) {
+		return profile.replay(
+			WARM_UP_GENERATOR, executor,
+			usage -> getProxyClass(usage.getDispatchMode(), usage.getInterfaces(classLoader)),
+			usage -> replayRecipeUsage(profile, usage, classLoader)
+		);
+	}
+
+	/**
+	 * Generates new proxy class for passed interfaces along with its dispatch table. Concrete methods listed by
+	 * the passed advice are not overridden.
+	 */
+	private static Class<?> createProxyClass(DispatchMode dispatchMode, Class<?>[] interfaces, @Nullable PassThroughAdvice passThroughAdvice) {
+		if (passThroughAdvice == null) {
+			// CLASSES WITH PASS-THROUGH METHODS ARE RECORDED ALONG WITH THEIR RECIPES
+			WarmUpRecorder.recordProxyClass(WARM_UP_GENERATOR, dispatchMode, interfaces, EMPTY_CLASS_ARRAY);
+		}
+		final Class<?> proxyClass = createProxyClass(interfaces, passThroughAdvice);
+		// JAVASSIST GENERATES METHOD BODIES ON ITS OWN - INVOKE DYNAMIC MODE FALLS BACK TO THE DISPATCH TABLE
+		if (dispatchMode != DispatchMode.CLASSIFICATION_CACHE) {
+			CACHED_DISPATCH_TABLES.put(proxyClass, createDispatchTable(proxyClass));
+		}
+		return proxyClass;
+	}
+
+	/**
+	 * Generates new proxy class for passed interfaces.
+	 */
+	private static Class<?> createProxyClass(Class<?>[] interfaces, @Nullable PassThroughAdvice passThroughAdvice) {
+		final ProxyFactory fct = new ProxyFactory();
+
+		// WE'LL CACHE CLASSES ON OUR OWN
+		fct.setUseCache(false);
+
+		// IF WE PROXY ABSTRACT CLASS, WE HAVE A RULE THAT IT HAS TO BE FIRST IN LIST
+		if (interfaces[0].isInterface()) {
+			// FIRST IS INTERFACE
+			// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
+			final Class<?>[] finalContract = new Class[interfaces.length + 1];
+			finalContract[0] = ProxyStateAccessor.class;
+			System.arraycopy(interfaces, 0, finalContract, 1, interfaces.length);
+			// WE'LL EXTEND OBJECT CLASS AND IMPLEMENT ALL INTERFACES
+			fct.setInterfaces(finalContract);
+		} else {
+			// FIRST IS ABSTRACT CLASS
+			// AUTOMATICALLY ADD PROXYSTATEACCESSOR CLASS TO EVERY OUR PROXY WE CREATE
+			final Class<?>[] finalContract = new Class[interfaces.length];
+			finalContract[0] = ProxyStateAccessor.class;
+			System.arraycopy(interfaces, 1, finalContract, 1, interfaces.length - 1);
+			// WE'LL EXTEND ABSTRACT CLASS AND IMPLEMENT ALL OTHER INTERFACES
+			fct.setSuperclass(interfaces[0]);
+			fct.setInterfaces(finalContract);
+		}
+
+		// SKIP FINALIZE METHOD OVERRIDE - STAY AWAY FROM TROUBLE :)
+
+		/**
+
+		 In Effective java (2nd edition ) Joshua bloch says,
+
+		 "Oh, and one more thing: there is a severe performance penalty for using finalizers. On my machine, the time
+		 to create and destroy a simple object is about 5.6 ns.
+		 Adding a finalizer increases the time to 2,400 ns. In other words, it is about 430 times slower to create and
+		 destroy objects with finalizers."
+
+		 */
+
+		fct.setFilter(
+			method -> !Objects.equals(method.getName(), "finalize") &&
+				// CONCRETE METHODS NO CLASSIFICATION CLAIMS ARE LEFT AS THEY ARE
+				(passThroughAdvice == null || !passThroughAdvice.isPassThrough(method))
+		);
+		// DON'T USE CACHE - WE CACHE CLASSES OURSELVES
+		fct.setUseCache(false);
+
+		final PersistentClassCache classCache = persistentClassCache;
+		return classCache == null ? fct.createClass() : PersistentProxyClasses.getProxyClass(classCache, fct, interfaces, passThroughAdvice);
+	}
+
+	/**
+	 * Creates {@link MethodDispatchTable} for the proxy class. Javassist passes the very same {@link Method} instances
+	 * stored in the static field of the proxy class to the {@link MethodHandler} on each call, so that the slot of
+	 * the method can be resolved by the identity of the method instance.
+	 */
+	private static MethodDispatchTable createDispatchTable(Class<?> proxyClass) {
+		return new MethodDispatchTable(getProxiedMethods(proxyClass));
+	}
+
+	/**
+	 * Returns all methods the proxy class routes to its {@link MethodHandler}. Methods are read from the static field
+	 * Javassist generates in the proxy class - some positions of the returned array may be NULL.
+	 */
+	static Method[] getProxiedMethods(Class<?> proxyClass) {
+		try {
+			final Field methodsField = proxyClass.getDeclaredField(METHODS_FIELD);
+			methodsField.setAccessible(true);
+			final Method[] methods = (Method[]) methodsField.get(null);
+			// EVEN POSITIONS CONTAIN PROXIED METHODS, ODD POSITIONS THEIR SUPER METHODS
+			final Method[] proxiedMethods = new Method[methods.length / 2];
+			for (int i = 0; i < proxiedMethods.length; i++) {
+				proxiedMethods[i] = methods[i * 2];
+			}
+			return proxiedMethods;
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't read proxied methods of " + proxyClass.getName() + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Creates the proxy class and its constructor for the recorded recipe usage and resolves classifications
+	 * of the recorded methods the same way {@link #instantiate(ProxyRecipe, Object)} and
+	 * {@link #instantiateSerializable(ProxyRecipe, Serializable)} would.
+	 */
+	private static void replayRecipeUsage(WarmUpProfile profile, RecipeUsage usage, ClassLoader classLoader) {
+		final ProxyRecipe proxyRecipe = usage.getRecipe(classLoader);
+		final Class<?>[] constructorTypes = usage.getConstructorTypes(classLoader);
+		final Class<?>[] interfaces;
+		if (usage.isSerializable()) {
+			interfaces = proxyRecipe.getInterfacesWith(SerializableProxy.class);
+		} else if (constructorTypes == null) {
+			interfaces = proxyRecipe.getInterfacesWith(ProxyStateAccessor.class);
+		} else {
+			interfaces = proxyRecipe.getInterfaces();
+		}
+		final Class<?> proxyClass = getProxyClass(proxyRecipe, interfaces);
+		if (constructorTypes == null) {
+			getDefaultConstructor(proxyClass);
+		} else {
+			getConstructor(proxyClass, constructorTypes);
+		}
+		final Object proxyState = usage.createProxyState(classLoader);
+		if (proxyState != null) {
+			final JavassistDispatcherInvocationHandler<Object> invocationHandler = new JavassistDispatcherInvocationHandler<>(
+				proxyState, getDispatcherTemplate(proxyRecipe, usage.isSerializable())
+			);
+			invocationHandler.resolve(proxyClass, profile.getMethods(proxyClass, proxyState.getClass()));
+		}
+	}
+
+	/**
+	 * Returns dispatcher without proxy state that holds the complete classification list of the recipe. It's created
+	 * only once per recipe - dispatchers of the proxies are created from it and share its classifications.
+	 */
+	private static JavassistDispatcherInvocationHandler<?> getDispatcherTemplate(ProxyRecipe proxyRecipe, boolean serializable) {
+		return proxyRecipe.getMemoized(
+			serializable ? SERIALIZABLE_DISPATCHER_TEMPLATE : DISPATCHER_TEMPLATE,
+			recipe -> new JavassistDispatcherInvocationHandler<>(
+				serializable ?
+					recipe.getMethodClassificationsWith(
+						SerializableProxy.getWriteReplaceMethodInvoker(
+							new ProxyRecipeDeserializationProxyFactory(recipe)
+						)
+					) :
+					recipe.getMethodClassificationsWith(),
+				// FROZEN STATE IS KEPT BY THE PER-PROXY DISPATCHERS
+				Arrays.asList(recipe.getGeneratedMemberAdvices()).contains(FrozenStateAdvice.INSTANCE)
+			)
+		);
+	}
+
+	/**
+	 * Resolves classifications of all methods of the proxy class by the passed dispatcher if the recipe asks for it.
+	 * See {@link ProxyRecipe#withEagerResolution()}.
+	 */
+	private static <T> JavassistDispatcherInvocationHandler<T> resolveEagerly(ProxyRecipe proxyRecipe, Class<?> proxyClass, Object proxyState, JavassistDispatcherInvocationHandler<T> invocationHandler) {
+		proxyRecipe.resolveEagerly(proxyClass, proxyState, () -> invocationHandler.resolveEagerly(proxyClass));
+		return invocationHandler;
+	}
+
+	/**
+	 * Creates clone of the proxy - i.e. new instance of the very same proxy class with the cloned proxy state. Clone
+	 * thus keeps the dispatch mode and the class loader of the original proxy.
+	 */
+	static <T> T instantiateClone(Class<T> proxyClass, Object clonedState, JavassistDispatcherInvocationHandler<?> methodHandler) {
+		if (clonedState instanceof ProxyStateWithConstructorArgs) {
+			final ProxyStateWithConstructorArgs stateWithConstructorArgs = (ProxyStateWithConstructorArgs) clonedState;
+			return instantiateProxy(
+				proxyClass, clonedState, methodHandler, null,
+				stateWithConstructorArgs.getConstructorTypes(), stateWithConstructorArgs.getConstructorArgs()
+			);
+		} else {
+			return instantiateProxy(proxyClass, clonedState, methodHandler, null);
+		}
 	}
 
 	private static <T> T instantiateProxy(Class<T> proxyClass, Object proxyState, MethodHandler methodHandler, OnInstantiationCallback instantiationCallback) {
@@ -252,6 +732,8 @@ public class JavassistProxyGenerator {
 			if (instantiationCallback != null) {
 				instantiationCallback.proxyCreated(proxy, proxyState);
 			}
+			// BIND DISPATCH TABLE OF THE CLASS IF THERE IS ANY
+			bindDispatchTable(proxyClass, methodHandler);
 			// INJECT OUR METHOD HANDLER INSTANCE TO NEWLY CREATED PROXY INSTANCE
 			((Proxy) proxy).setHandler(methodHandler);
 
@@ -271,6 +753,8 @@ public class JavassistProxyGenerator {
 			if (instantiationCallback != null) {
 				instantiationCallback.proxyCreated(proxy, proxyState);
 			}
+			// BIND DISPATCH TABLE OF THE CLASS IF THERE IS ANY
+			bindDispatchTable(proxyClass, methodHandler);
 			// INJECT OUR METHOD HANDLER INSTANCE TO NEWLY CREATED PROXY INSTANCE
 			((Proxy) proxy).setHandler(methodHandler);
 
@@ -281,6 +765,15 @@ public class JavassistProxyGenerator {
 		}
 	}
 
+	private static void bindDispatchTable(Class<?> proxyClass, MethodHandler methodHandler) {
+		if (methodHandler instanceof JavassistDispatcherInvocationHandler) {
+			final MethodDispatchTable dispatchTable = CACHED_DISPATCH_TABLES.get(proxyClass);
+			if (dispatchTable != null) {
+				((JavassistDispatcherInvocationHandler<?>) methodHandler).bindDispatchTable(dispatchTable);
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T> Constructor<T> getDefaultConstructor(Class<T> clazz) {
 		// COMPUTE IF ABSENT = GET FROM MAP, IF MISSING -> COMPUTE, STORE AND RETURN RESULT OF LAMBDA
@@ -0,0 +1,225 @@
+package one.edee.oss.proxycian.javassist;
+
+import javassist.CannotCompileException;
+import javassist.util.proxy.DefineClassHelper;
+import javassist.util.proxy.ProxyFactory;
+import javassist.util.proxy.ProxyFactory.UniqueName;
+import one.edee.oss.proxycian.cache.PersistentClassCache;
+import one.edee.oss.proxycian.cache.PersistentClassCache.CachedClasses;
+import one.edee.oss.proxycian.recipe.PassThroughAdvice;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Support for the {@link PersistentClassCache} in {@link JavassistProxyGenerator}. Javassist names the proxy classes
+ * by the global counter, so the proxy classes generated with the persistent cache enabled get deterministic names
+ * from {@link DeterministicNameGenerator}. Byte-code of the generated class is captured by the
+ * {@link ProxyFactory#writeDirectory} of the factory that generates it.
+ */
+class PersistentProxyClasses {
+	private static final String FILTER_SIGNATURE_FIELD = "_filter_signature";
+	private static final String FILTER_SIGNATURE_ATTRIBUTE = "filterSignature";
+	private static final String PROXY_PACKAGE = "javassist.util.proxy.";
+
+	private PersistentProxyClasses() {
+	}
+
+	/**
+	 * Installs {@link DeterministicNameGenerator} unless it has been installed already.
+	 */
+	static synchronized void installNameGenerator() {
+		if (!(ProxyFactory.nameGenerator instanceof DeterministicNameGenerator)) {
+			ProxyFactory.nameGenerator = new DeterministicNameGenerator(ProxyFactory.nameGenerator);
+		}
+	}
+
+	/**
+	 * Returns proxy class of the deterministic name from the class loader or from the persistent cache. New class is
+	 * generated by the passed (fully configured) factory and stored to the persistent cache only if it's in neither of
+	 * them.
+	 */
+	@Nonnull
+	static Class<?> getProxyClass(@Nonnull PersistentClassCache classCache, @Nonnull ProxyFactory fct, @Nonnull Class<?>[] interfaces, @Nullable PassThroughAdvice passThroughAdvice) {
+		final Class<?> neighbor = getNeighbor(fct);
+		final String className = getClassName(neighbor, interfaces, passThroughAdvice);
+		final ClassLoader classLoader = ProxyFactory.classLoaderProvider.get(fct);
+
+		final Class<?>[] inputClasses = new Class<?>[interfaces.length + 2];
+		System.arraycopy(interfaces, 0, inputClasses, 0, interfaces.length);
+		// THE GENERATOR ITSELF AND THE LIBRARY IT USES
+		inputClasses[interfaces.length] = JavassistProxyGenerator.class;
+		inputClasses[interfaces.length + 1] = ProxyFactory.class;
+
+		final CachedClasses cachedClasses = classCache.load(className, inputClasses);
+		try {
+			if (cachedClasses == null) {
+				return generateProxyClass(classCache, fct, className, inputClasses);
+			} else {
+				// DEFINE STORED BYTE-CODE DIRECTLY WITHOUT GENERATING IT
+				final Class<?> proxyClass = DefineClassHelper.toClass(
+					className, neighbor, classLoader, neighbor.getProtectionDomain(), cachedClasses.getClasses().get(className)
+				);
+				final String filterSignature = cachedClasses.getAttributes().get(FILTER_SIGNATURE_ATTRIBUTE);
+				if (filterSignature != null) {
+					writeFilterSignature(proxyClass, Base64.getDecoder().decode(filterSignature));
+				}
+				return proxyClass;
+			}
+		} catch (CannotCompileException | RuntimeException | LinkageError e) {
+			// CLASS MIGHT HAVE BEEN DEFINED IN THE CLASS LOADER ALREADY BEFORE OUR CLASS CACHE WAS CLEARED
+			final Class<?> definedClass = findDefined(className, classLoader, interfaces);
+			if (definedClass == null) {
+				throw new IllegalStateException("What the heck? Can't define class " + className + ": " + e.getMessage(), e);
+			}
+			return definedClass;
+		}
+	}
+
+	/**
+	 * Returns the class of the passed name already defined in the class loader if it implements the very same
+	 * interfaces, otherwise NULL.
+	 */
+	@Nullable
+	private static Class<?> findDefined(@Nonnull String className, @Nonnull ClassLoader classLoader, @Nonnull Class<?>[] interfaces) {
+		try {
+			final Class<?> definedClass = Class.forName(className, false, classLoader);
+			return Arrays.stream(interfaces).allMatch(it -> it.isAssignableFrom(definedClass)) ? definedClass : null;
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Generates the proxy class of the passed name and stores its byte-code to the persistent cache.
+	 */
+	@Nonnull
+	private static Class<?> generateProxyClass(@Nonnull PersistentClassCache classCache, @Nonnull ProxyFactory fct, @Nonnull String className, @Nonnull Class<?>[] inputClasses) {
+		Path writeDirectory = null;
+		try {
+			writeDirectory = Files.createTempDirectory("proxycian");
+			fct.writeDirectory = writeDirectory.toString();
+		} catch (IOException ignored) {
+			// PERSISTENT CACHE IS ONLY AN OPTIMIZATION - THE CLASS WILL BE GENERATED AGAIN ON NEXT START
+		}
+
+		final Class<?> proxyClass;
+		DeterministicNameGenerator.NEXT_CLASS_NAME.set(className);
+		try {
+			proxyClass = fct.createClass();
+		} finally {
+			DeterministicNameGenerator.NEXT_CLASS_NAME.remove();
+		}
+
+		if (writeDirectory != null) {
+			try {
+				final byte[] bytes = Files.readAllBytes(writeDirectory.resolve(className.replace('.', File.separatorChar) + ".class"));
+				final byte[] filterSignature = readFilterSignature(proxyClass);
+				classCache.store(
+					className,
+					new CachedClasses(
+						className,
+						Collections.singletonMap(className, bytes),
+						filterSignature == null ?
+							Collections.emptyMap() :
+							Collections.singletonMap(FILTER_SIGNATURE_ATTRIBUTE, Base64.getEncoder().encodeToString(filterSignature))
+					),
+					inputClasses
+				);
+			} catch (IOException ignored) {
+				// PERSISTENT CACHE IS ONLY AN OPTIMIZATION - THE CLASS WILL BE GENERATED AGAIN ON NEXT START
+			} finally {
+				delete(writeDirectory);
+			}
+		}
+		return proxyClass;
+	}
+
+	/**
+	 * Returns the class Javassist places the proxy class next to - the extended class or the first interface.
+	 */
+	@Nonnull
+	private static Class<?> getNeighbor(@Nonnull ProxyFactory fct) {
+		final Class<?> superclass = fct.getSuperclass();
+		return superclass == null || superclass == Object.class ? fct.getInterfaces()[0] : superclass;
+	}
+
+	/**
+	 * Returns deterministic name of the proxy class that lives in the same package as Javassist would choose.
+	 */
+	@Nonnull
+	private static String getClassName(@Nonnull Class<?> neighbor, @Nonnull Class<?>[] interfaces, @Nullable PassThroughAdvice passThroughAdvice) {
+		final StringBuilder shape = new StringBuilder("javassist");
+		for (Class<?> anInterface : interfaces) {
+			shape.append(';').append(anInterface.getName());
+		}
+		if (passThroughAdvice != null) {
+			shape.append("|pass-through");
+			for (String signature : passThroughAdvice.getSignatures()) {
+				shape.append(';').append(signature);
+			}
+		}
+		final String baseName = neighbor.getName().startsWith("java.") ? PROXY_PACKAGE + neighbor.getName() : neighbor.getName();
+		return baseName + "_$$_jvstP" + PersistentClassCache.fingerprint(shape.toString());
+	}
+
+	@Nullable
+	private static byte[] readFilterSignature(@Nonnull Class<?> proxyClass) {
+		try {
+			final Field field = proxyClass.getDeclaredField(FILTER_SIGNATURE_FIELD);
+			field.setAccessible(true);
+			return (byte[]) field.get(null);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static void writeFilterSignature(@Nonnull Class<?> proxyClass, @Nonnull byte[] filterSignature) {
+		try {
+			final Field field = proxyClass.getDeclaredField(FILTER_SIGNATURE_FIELD);
+			field.setAccessible(true);
+			field.set(null, filterSignature);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException("What the heck? Can't initialize filter signature of " + proxyClass.getName() + ": " + e.getMessage(), e);
+		}
+	}
+
+	private static void delete(@Nonnull Path directory) {
+		try (final Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		} catch (IOException ignored) {
+			// LEFTOVER IN TEMPORARY DIRECTORY IS NOT A PROBLEM
+		}
+	}
+
+	/**
+	 * Javassist name generator that assigns the name prepared by {@link #getProxyClass} to the class generated by
+	 * the current thread and delegates to the original generator in all other cases.
+	 */
+	private static class DeterministicNameGenerator implements UniqueName {
+		private static final ThreadLocal<String> NEXT_CLASS_NAME = new ThreadLocal<>();
+		private final UniqueName delegate;
+
+		DeterministicNameGenerator(@Nonnull UniqueName delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String get(String classname) {
+			final String nextClassName = NEXT_CLASS_NAME.get();
+			return nextClassName == null ? this.delegate.get(classname) : nextClassName;
+		}
+
+	}
+
+}
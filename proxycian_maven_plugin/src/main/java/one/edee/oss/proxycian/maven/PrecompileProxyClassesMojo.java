@@ -0,0 +1,109 @@
+package one.edee.oss.proxycian.maven;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+/**
+ * Generates proxy classes of the recipes provided by the configured `ProxyRecipeFactory` implementations into
+ * the output directory of the project, so that `ByteBuddyProxyGenerator` loads them at runtime instead of generating
+ * them. Factories are instantiated in the isolated class loader made of the runtime classpath of the project, which
+ * must contain proxycian_bytebuddy library.
+ *
+ * Usage:
+ *
+ * &lt;plugin&gt;
+ *     &lt;groupId&gt;one.edee.oss&lt;/groupId&gt;
+ *     &lt;artifactId&gt;proxycian-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;&lt;execution&gt;&lt;goals&gt;&lt;goal&gt;precompile&lt;/goal&gt;&lt;/goals&gt;&lt;/execution&gt;&lt;/executions&gt;
+ *     &lt;configuration&gt;
+ *         &lt;recipeFactories&gt;&lt;recipeFactory&gt;com.example.MyRecipeFactory&lt;/recipeFactory&gt;&lt;/recipeFactories&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ */
+@Mojo(
+	name = "precompile",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.RUNTIME,
+	threadSafe = true
+)
+public class PrecompileProxyClassesMojo extends AbstractMojo {
+	private static final String PRECOMPILER_CLASS = "one.edee.oss.proxycian.bytebuddy.ProxyClassPrecompiler";
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	/**
+	 * Fully qualified names of the `ProxyRecipeFactory` implementations.
+	 */
+	@Parameter(required = true)
+	private List<String> recipeFactories;
+
+	/**
+	 * Directory the generated classes are written to.
+	 */
+	@Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+	private File outputDirectory;
+
+	@Parameter(defaultValue = "false")
+	private boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException {
+		if (this.skip || this.recipeFactories == null || this.recipeFactories.isEmpty()) {
+			getLog().info("Proxy class pre-generation skipped.");
+			return;
+		}
+		try (final URLClassLoader classLoader = createProjectClassLoader()) {
+			final Method precompile = classLoader.loadClass(PRECOMPILER_CLASS)
+				.getMethod("precompile", File.class, ClassLoader.class, String[].class);
+			final Thread currentThread = Thread.currentThread();
+			final ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader(classLoader);
+			try {
+				@SuppressWarnings("unchecked") final List<String> classNames = (List<String>) precompile.invoke(
+					null, this.outputDirectory, classLoader, this.recipeFactories.toArray(new String[0])
+				);
+				for (String className : classNames) {
+					getLog().debug("Pre-generated proxy class " + className);
+				}
+				getLog().info("Pre-generated " + classNames.size() + " proxy classes into " + this.outputDirectory);
+			} finally {
+				currentThread.setContextClassLoader(originalClassLoader);
+			}
+		} catch (ClassNotFoundException e) {
+			throw new MojoExecutionException("Runtime classpath of the project doesn't contain proxycian_bytebuddy library!", e);
+		} catch (InvocationTargetException e) {
+			throw new MojoExecutionException("Failed to pre-generate proxy classes: " + e.getCause().getMessage(), e.getCause());
+		} catch (NoSuchMethodException | IllegalAccessException | IOException | DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException("Failed to pre-generate proxy classes: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Creates class loader isolated from the plugin class loader that contains runtime classpath of the project.
+	 */
+	private URLClassLoader createProjectClassLoader() throws DependencyResolutionRequiredException, MalformedURLException {
+		final List<String> classpathElements = this.project.getRuntimeClasspathElements();
+		final URL[] urls = new URL[classpathElements.size()];
+		for (int i = 0; i < urls.length; i++) {
+			urls[i] = new File(classpathElements.get(i)).toURI().toURL();
+		}
+		return new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+	}
+
+}
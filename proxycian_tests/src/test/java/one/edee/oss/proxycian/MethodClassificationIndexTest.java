@@ -0,0 +1,143 @@
+package one.edee.oss.proxycian;
+
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static one.edee.oss.proxycian.MethodClassification.noContext;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of {@link MethodMatcher} and {@link MethodClassificationIndex}.
+ */
+public class MethodClassificationIndexTest {
+
+	@Test
+	public void shouldMatchDeclarativeConstraints() throws Exception {
+		final Method getName = Bean.class.getMethod("getName");
+		final Method setAge = Bean.class.getMethod("setAge", int.class);
+
+		assertTrue(MethodMatcher.named("getName").test(getName));
+		assertTrue(MethodMatcher.nameStartingWith("get").returning(String.class).withParameterCount(0).test(getName));
+		assertTrue(MethodMatcher.anyMethod().declaredBy(Bean.class).annotatedWith(Marker.class).test(getName));
+		assertTrue(MethodMatcher.nameStartingWith("set").withParameterTypes(int.class).test(setAge));
+
+		assertFalse(MethodMatcher.named("getAge").test(getName));
+		assertFalse(MethodMatcher.nameStartingWith("get").returning(int.class).test(getName));
+		assertFalse(MethodMatcher.anyMethod().annotatedWith(Marker.class).test(setAge));
+		assertFalse(MethodMatcher.anyMethod().declaredBy(Object.class).test(setAge));
+		assertFalse(MethodMatcher.nameStartingWith("set").withParameterTypes(long.class).test(setAge));
+		assertFalse(MethodMatcher.anyMethod().and(method -> false).test(getName));
+	}
+
+	@Test
+	public void shouldEvaluateOnlyCandidateClassifications() throws Exception {
+		final List<MethodClassification<?, ?>> classifications = new ArrayList<>();
+		classifications.add(classification("getter", MethodMatcher.nameStartingWith("get").withParameterCount(0)));
+		classifications.add(classification("setter", MethodMatcher.nameStartingWith("set").withParameterCount(1)));
+		classifications.add(classification("toString", MethodMatcher.named("toString").withParameterCount(0)));
+		classifications.add(new PredicateMethodClassification<>("opaque", (method, proxyState) -> false, noContext(), (proxy, method, args, methodContext, proxyState, invokeSuper) -> null));
+		final MethodClassificationIndex index = new MethodClassificationIndex(classifications);
+
+		assertEquals(bits(0, 3), index.getCandidates(Bean.class.getMethod("getName")));
+		assertEquals(bits(1, 3), index.getCandidates(Bean.class.getMethod("setAge", int.class)));
+		assertEquals(bits(2, 3), index.getCandidates(Object.class.getMethod("toString")));
+		assertEquals(bits(3), index.getCandidates(Bean.class.getMethod("print", String.class)));
+	}
+
+	@Test
+	public void shouldResolveFirstMatchingClassificationInOriginalOrder() throws Throwable {
+		final List<MethodClassification<?, ?>> classifications = Arrays.asList(
+			new PredicateMethodClassification<>("opaque", (method, proxyState) -> method.getName().equals("getAge"), noContext(), (proxy, method, args, methodContext, proxyState, invokeSuper) -> "opaque"),
+			classification("getter", MethodMatcher.nameStartingWith("get")),
+			classification("name getter", MethodMatcher.named("getName"))
+		);
+		final MethodClassificationIndex index = new MethodClassificationIndex(classifications);
+
+		assertEquals("opaque", index.resolve(Bean.class.getMethod("getAge"), new Object()).invoke(null, null, null, null, null));
+		assertEquals("getter", index.resolve(Bean.class.getMethod("getName"), new Object()).invoke(null, null, null, null, null));
+		assertNull(index.resolve(Bean.class.getMethod("setAge", int.class), new Object()));
+	}
+
+	@Test
+	public void shouldResolveSameClassificationsAsLinearScan() throws Exception {
+		final List<MethodClassification<?, ?>> classifications = new ArrayList<>(BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE.getMethodClassification());
+		final MethodClassificationIndex index = new MethodClassificationIndex(classifications);
+		final GenericBucket proxyState = new GenericBucket();
+
+		for (Method method : Bean.class.getMethods()) {
+			CurriedMethodContextInvocationHandler<?, ?> expected = null;
+			for (MethodClassification<?, ?> classification : classifications) {
+				@SuppressWarnings({"unchecked", "rawtypes"}) final CurriedMethodContextInvocationHandler<?, ?> invocationHandler =
+					((MethodClassification) classification).createCurriedMethodContextInvocationHandler(method, proxyState);
+				if (invocationHandler != null) {
+					expected = invocationHandler;
+					break;
+				}
+			}
+			final CurriedMethodContextInvocationHandler<?, ?> resolved = index.resolve(method, proxyState);
+			if (expected == null) {
+				assertNull(resolved, method.toGenericString());
+			} else {
+				// LAMBDAS CREATED AT THE SAME PLACE SHARE THE CLASS, PREDICATE CLASSIFICATIONS DIFFER IN DESCRIPTION
+				assertEquals(expected.getClass(), resolved.getClass(), method.toGenericString());
+				assertEquals(expected.toString().replaceAll("@.*", ""), resolved.toString().replaceAll("@.*", ""), method.toGenericString());
+			}
+		}
+	}
+
+	private static MethodClassification<?, ?> classification(String description, MethodMatcher matcher) {
+		return new PredicateMethodClassification<Object, Void, Object>(
+			description, matcher, noContext(), (proxy, method, args, methodContext, proxyState, invokeSuper) -> description
+		);
+	}
+
+	private static BitSet bits(int... indexes) {
+		final BitSet bitSet = new BitSet();
+		for (int index : indexes) {
+			bitSet.set(index);
+		}
+		return bitSet;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.METHOD)
+	public @interface Marker {
+
+	}
+
+	public interface Bean {
+
+		@Marker
+		String getName();
+
+		int getAge();
+
+		void setAge(int age);
+
+		long getIq();
+
+		boolean isAlive();
+
+		void addTag(String tag);
+
+		boolean removeTag(String tag);
+
+		String print(String format);
+
+	}
+
+}
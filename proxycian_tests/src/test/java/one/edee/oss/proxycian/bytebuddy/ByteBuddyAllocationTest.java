@@ -0,0 +1,100 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.benchmark.ByteBuddyInvocationBenchmark;
+import one.edee.oss.proxycian.bytebuddy.benchmark.ByteBuddyInvocationBenchmark.BenchmarkBean;
+import one.edee.oss.proxycian.model.traits.SimpleMemoryBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * This test verifies that calls of methods, that don't need super method invocation, don't allocate any memory in
+ * {@link DispatchMode#DISPATCH_TABLE} mode and that neither do the calls of the implemented and default methods, that
+ * reuse the super method invoker. See {@link ByteBuddyInvocationBenchmark} for detailed measurement.
+ */
+public class ByteBuddyAllocationTest extends AbstractByteBuddyProxycianTest {
+	private static final int WARM_UP_ITERATIONS = 20_000;
+	private static final int MEASURED_ITERATIONS = 100_000;
+
+	@Test
+	public void shouldNotAllocateWhenCallingAbstractMethods() {
+		final com.sun.management.ThreadMXBean allocationMXBean = getAllocationMXBean();
+		final BenchmarkBean proxy = createProxy();
+
+		assertEquals(WARM_UP_ITERATIONS * 53L, callAbstractMethods(proxy, WARM_UP_ITERATIONS));
+
+		final long threadId = Thread.currentThread().getId();
+		final long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+		final long result = callAbstractMethods(proxy, MEASURED_ITERATIONS);
+		final long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		assertEquals(MEASURED_ITERATIONS * 53L, result);
+		// SINGLE ALLOCATION PER CALL WOULD TAKE AT LEAST 16 BYTES - WE TOLERATE ONLY THE NOISE OF THE MEASUREMENT ITSELF
+		assertTrue(allocated < MEASURED_ITERATIONS, "Calls allocated " + allocated + "B of memory!");
+	}
+
+	@Test
+	public void shouldNotAllocateWhenCallingSuperMethods() {
+		final com.sun.management.ThreadMXBean allocationMXBean = getAllocationMXBean();
+		final BenchmarkBean proxy = createProxy();
+
+		assertEquals(WARM_UP_ITERATIONS * 8L, callSuperMethods(proxy, WARM_UP_ITERATIONS));
+
+		final long threadId = Thread.currentThread().getId();
+		final long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+		final long result = callSuperMethods(proxy, MEASURED_ITERATIONS);
+		final long allocated = allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		assertEquals(MEASURED_ITERATIONS * 8L, result);
+		// SINGLE ALLOCATION PER CALL WOULD TAKE AT LEAST 16 BYTES - WE TOLERATE ONLY THE NOISE OF THE MEASUREMENT ITSELF
+		assertTrue(allocated < MEASURED_ITERATIONS, "Calls allocated " + allocated + "B of memory!");
+	}
+
+	private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+		assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled());
+		return allocationMXBean;
+	}
+
+	private static BenchmarkBean createProxy() {
+		final BenchmarkBean proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				new Class[]{BenchmarkBean.class},
+				new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+			).withDispatchMode(DispatchMode.DISPATCH_TABLE),
+			new SimpleMemoryBucket()
+		);
+		proxy.setName("Jan Novotný");
+		return proxy;
+	}
+
+	private static long callSuperMethods(BenchmarkBean proxy, int iterations) {
+		long result = 0;
+		for (int i = 0; i < iterations; i++) {
+			// IMPLEMENTED METHOD AND DEFAULT METHOD ARE BOTH CALLED THROUGH THE REUSED SUPER METHOD INVOKER
+			result += proxy.getGreeting().length() + proxy.getFarewell().length();
+		}
+		return result;
+	}
+
+	private static long callAbstractMethods(BenchmarkBean proxy, int iterations) {
+		long result = 0;
+		for (int i = 0; i < iterations; i++) {
+			proxy.setAge(42);
+			result += proxy.getAge() + proxy.getName().length();
+		}
+		return result;
+	}
+
+}
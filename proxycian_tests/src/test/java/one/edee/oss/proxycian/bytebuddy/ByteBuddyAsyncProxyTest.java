@@ -0,0 +1,66 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStore;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStoreAdvice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that proxy classes requested asynchronously are generated in the configured executor only once.
+ */
+public class ByteBuddyAsyncProxyTest extends AbstractByteBuddyProxycianTest {
+
+	@AfterEach
+	void tearDown() {
+		ByteBuddyProxyGenerator.configureAsyncExecutor(ForkJoinPool.commonPool());
+	}
+
+	@Test
+	public void shouldGenerateProxyClassInConfiguredExecutorOnlyOnce() throws Exception {
+		final AtomicInteger executedTasks = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ByteBuddyProxyGenerator.configureAsyncExecutor(task -> {
+				executedTasks.incrementAndGet();
+				executor.execute(task);
+			});
+			final CompletableFuture<Class<?>> first = ByteBuddyProxyGenerator.getProxyClassAsync(LocalDataStore.class);
+			final CompletableFuture<Class<?>> second = ByteBuddyProxyGenerator.getProxyClassAsync(LocalDataStore.class);
+
+			final Class<?> proxyClass = first.get(5, TimeUnit.SECONDS);
+			assertSame(proxyClass, second.get(5, TimeUnit.SECONDS));
+			assertSame(proxyClass, ByteBuddyProxyGenerator.getProxyClass(LocalDataStore.class));
+			assertEquals(1, executedTasks.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldInstantiateProxyAsynchronously() throws Exception {
+		final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE);
+		final CompletableFuture<LocalDataStore> proxy = ByteBuddyProxyGenerator.instantiateSerializableAsync(recipe, new GenericBucket());
+		final LocalDataStore localDataStore = proxy.get(5, TimeUnit.SECONDS);
+		localDataStore.setLocalData("a", 1);
+		assertEquals(Integer.valueOf(1), localDataStore.getLocalData("a"));
+
+		// CLASS IS ALREADY GENERATED - FUTURE IS COMPLETED IMMEDIATELY
+		final CompletableFuture<LocalDataStore> secondProxy = ByteBuddyProxyGenerator.instantiateSerializableAsync(recipe, new GenericBucket());
+		assertTrue(secondProxy.isDone());
+		assertSame(localDataStore.getClass(), secondProxy.get().getClass());
+	}
+
+}
@@ -0,0 +1,111 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.model.traits.Person;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * This test verifies that generated classes are cached per class loader and that the caches don't prevent class
+ * loaders of redeployed modules from being garbage collected.
+ */
+public class ByteBuddyClassLoaderReleaseTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldCacheClassesPerClassLoader() {
+		final ClassLoader firstModule = new ModuleClassLoader();
+		final ClassLoader secondModule = new ModuleClassLoader();
+		final Class<?>[] interfaces = {Person.class};
+
+		final Class<?> firstClass = ByteBuddyProxyGenerator.getProxyClass(interfaces, firstModule);
+		assertSame(firstClass, ByteBuddyProxyGenerator.getProxyClass(interfaces, firstModule));
+		assertSame(firstModule, firstClass.getClassLoader());
+
+		final Class<?> secondClass = ByteBuddyProxyGenerator.getProxyClass(interfaces, secondModule);
+		assertNotSame(firstClass, secondClass);
+		assertSame(secondModule, secondClass.getClassLoader());
+	}
+
+	@Test
+	public void shouldReleaseRedeployedClassLoader() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final WeakReference<ClassLoader> moduleReference = useModule(dispatchMode);
+			for (int i = 0; i < 50 && moduleReference.get() != null; i++) {
+				System.gc();
+				Thread.sleep(20);
+			}
+			assertNull(moduleReference.get(), "Class loader was not released in " + dispatchMode + " mode!");
+		}
+	}
+
+	/**
+	 * Loads the interface in the isolated class loader, creates and uses the proxy and forgets everything except
+	 * the weak reference to the class loader.
+	 */
+	private static WeakReference<ClassLoader> useModule(DispatchMode dispatchMode) throws Exception {
+		final ModuleClassLoader module = new ModuleClassLoader();
+		final Class<?> personInterface = module.loadClass(Person.class.getName());
+		assertSame(module, personInterface.getClassLoader());
+
+		final Object proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(new Class<?>[]{personInterface}, new Advice<?>[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE})
+				.withDispatchMode(dispatchMode),
+			new GenericBucket(),
+			module
+		);
+		personInterface.getMethod("setFirstName", String.class).invoke(proxy, "Jan");
+		assertEquals("Jan", personInterface.getMethod("getFirstName").invoke(proxy));
+		return new WeakReference<>(module);
+	}
+
+	/**
+	 * Class loader that defines its own copy of {@link Person} interface the same way the class loader of redeployable
+	 * module would do.
+	 */
+	static class ModuleClassLoader extends ClassLoader {
+
+		ModuleClassLoader() {
+			super(ByteBuddyClassLoaderReleaseTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!Person.class.getName().equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				final String resourceName = name.replace('.', '/') + ".class";
+				try (final InputStream is = getParent().getResourceAsStream(resourceName)) {
+					final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					final byte[] buffer = new byte[4096];
+					int read;
+					while ((read = is.read(buffer)) != -1) {
+						bytes.write(buffer, 0, read);
+					}
+					return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+				} catch (IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,47 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.model.traits.Person;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that method classification cache could be invalidated for single proxy class or recipe without
+ * affecting classifications of other proxy classes.
+ */
+public class ByteBuddyClassificationCacheTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldInvalidateClassificationsOfSingleProxyClass() {
+		final ProxyRecipe personRecipe = new ProxyRecipe(new Class<?>[]{Person.class}, new Advice<?>[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE});
+		final Person person = ByteBuddyProxyGenerator.instantiate(personRecipe, new GenericBucket());
+		person.setFirstName("Jan");
+		person.setLastName("Novotný");
+
+		final SomeJavaBeanIface bean = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(new Class<?>[]{SomeJavaBeanIface.class}, new Advice<?>[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE}),
+			new GenericBucket()
+		);
+		bean.setAge((byte) 43);
+		final int beanClassifications = ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size() - 2;
+
+		ByteBuddyProxyGenerator.clearMethodClassificationCache(person.getClass());
+		assertEquals(beanClassifications, ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size());
+
+		// INVALIDATED CLASSIFICATIONS ARE RESOLVED AGAIN ON NEXT USE
+		assertEquals("Jan", person.getFirstName());
+		assertEquals(beanClassifications + 1, ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size());
+
+		ByteBuddyProxyGenerator.clearMethodClassificationCache(personRecipe);
+		assertEquals(beanClassifications, ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size());
+		assertEquals((byte) 43, bean.getAge());
+		assertTrue(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size() > beanClassifications);
+	}
+
+}
@@ -0,0 +1,189 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.CompiledProxyFactory;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyClassWithInnerStateTest.ParentWithParametrizedConstructor;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStore;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that the factory compiled from the recipe creates the same proxies as the generator does.
+ */
+public class ByteBuddyCompiledProxyFactoryTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldCreateProxiesOfCompiledRecipe() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode);
+			final CompiledProxyFactory<LocalDataStore> factory = ByteBuddyProxyGenerator.compileSerializable(recipe);
+
+			final LocalDataStore first = factory.instantiate(new GenericBucket());
+			final LocalDataStore second = factory.instantiate(new GenericBucket());
+			first.setLocalData("a", 1);
+			second.setLocalData(new BigDecimal("56.0"));
+
+			assertSame(first.getClass(), second.getClass());
+			assertSame(first.getClass(), ByteBuddyProxyGenerator.<LocalDataStore>compileSerializable(recipe).instantiate(new GenericBucket()).getClass());
+			assertEquals(Integer.valueOf(1), first.getLocalData("a"));
+			assertNull(second.getLocalData("a"));
+			assertEquals(new BigDecimal("56.0"), second.getLocalData(BigDecimal.class));
+		}
+	}
+
+	@Test
+	public void shouldShareDispatcherAmongProxiesWithDifferentStates() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final CompiledProxyFactory<LocalDataStore> factory = ByteBuddyProxyGenerator.compileSerializable(
+				new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode)
+			);
+			final LocalDataStore first = factory.instantiate(new GenericBucket());
+			final LocalDataStore second = factory.instantiate(new AnotherBucket());
+			final LocalDataStore third = factory.instantiate(new GenericBucket());
+			first.setLocalData("a", 1);
+			second.setLocalData("a", 2);
+			third.setLocalData("a", 3);
+
+			final Field field = first.getClass().getDeclaredField(ByteBuddyProxyGenerator.INVOCATION_HANDLER_FIELD);
+			field.setAccessible(true);
+			assertTrue(Modifier.isStatic(field.getModifiers()));
+			assertNotNull(field.get(null));
+			assertEquals(Integer.valueOf(1), first.getLocalData("a"));
+			assertEquals(Integer.valueOf(2), second.getLocalData("a"));
+			assertEquals(Integer.valueOf(3), third.getLocalData("a"));
+			assertEquals(AnotherBucket.class, ((ProxyStateAccessor) second).getProxyState().getClass());
+		}
+	}
+
+	@Test
+	public void shouldKeepOnlyProxyStateInProxyInstance() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final CompiledProxyFactory<LocalDataStore> factory = ByteBuddyProxyGenerator.compile(
+				new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode)
+			);
+			final LocalDataStore proxy = factory.instantiate(new GenericBucket());
+			proxy.setLocalData("a", 1);
+
+			final List<String> instanceFields = Arrays.stream(proxy.getClass().getDeclaredFields())
+				.filter(it -> !Modifier.isStatic(it.getModifiers()))
+				.map(Field::getName)
+				.collect(Collectors.toList());
+			assertEquals(Collections.singletonList(ByteBuddyProxyGenerator.PROXY_STATE_FIELD), instanceFields, dispatchMode.name());
+			assertEquals(Integer.valueOf(1), proxy.getLocalData("a"));
+		}
+	}
+
+	@Test
+	public void shouldAlternateProxyStateClassesOnSharedDispatcher() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final CompiledProxyFactory<LocalDataStore> factory = ByteBuddyProxyGenerator.compile(
+				new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode)
+			);
+			final LocalDataStore[] proxies = new LocalDataStore[10];
+			for (int i = 0; i < proxies.length; i++) {
+				// STATE CLASSES ALTERNATE - SHARED DISPATCHER MUST KEEP THE SLOTS OF BOTH
+				proxies[i] = factory.instantiate(i % 2 == 0 ? new GenericBucket() : new AnotherBucket());
+			}
+			for (int round = 0; round < 3; round++) {
+				for (int i = 0; i < proxies.length; i++) {
+					proxies[i].setLocalData("a", i * 10 + round);
+				}
+				for (int i = 0; i < proxies.length; i++) {
+					assertEquals(Integer.valueOf(i * 10 + round), proxies[i].getLocalData("a"));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shouldCreateProxiesWithConstructorArguments() {
+		final CompiledProxyFactory<ParentWithParametrizedConstructor> factory = ByteBuddyProxyGenerator.compile(
+			new ProxyRecipe(
+				new Class[]{ParentWithParametrizedConstructor.class},
+				new Advice[]{LocalDataStoreAdvice.INSTANCE},
+				(proxy, proxyState) -> ((ParentWithParametrizedConstructor) proxy).setInitialized(true)
+			),
+			new Class[]{String.class, int.class},
+			ByteBuddyProxyGenerator.class.getClassLoader()
+		);
+
+		final ParentWithParametrizedConstructor theInstance = factory.instantiate(new GenericBucket(), new Object[]{"Me, myself and I", 42});
+		assertTrue(theInstance instanceof LocalDataStore);
+		assertEquals("Me, myself and I", theInstance.getStringField());
+		assertEquals(42, theInstance.getIntField());
+		assertTrue(theInstance.isInitialized());
+	}
+
+	@Test
+	public void shouldCreateProxiesInBulk() {
+		final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE);
+		// LARGE ENOUGH TO BE CREATED IN PARALLEL
+		final GenericBucket[] states = new GenericBucket[CompiledProxyFactory.PARALLEL_THRESHOLD + 1];
+		for (int i = 0; i < states.length; i++) {
+			states[i] = new GenericBucket();
+		}
+
+		final LocalDataStore[] fromArray = ByteBuddyProxyGenerator.instantiateAllSerializable(recipe, states, LocalDataStore[]::new);
+		final LocalDataStore[] fromList = ByteBuddyProxyGenerator.instantiateAllSerializable(recipe, Arrays.asList(states), LocalDataStore[]::new);
+		final LocalDataStore[] fromStream = ByteBuddyProxyGenerator.instantiateAllSerializable(recipe, Arrays.stream(states).parallel(), LocalDataStore[]::new);
+		for (LocalDataStore[] proxies : new LocalDataStore[][]{fromArray, fromList, fromStream}) {
+			assertEquals(states.length, proxies.length);
+			for (int i = 0; i < proxies.length; i++) {
+				assertSame(states[i], ((ProxyStateAccessor) proxies[i]).getProxyState());
+			}
+		}
+		fromArray[0].setLocalData("a", 1);
+		assertEquals(Integer.valueOf(1), fromList[0].getLocalData("a"));
+		assertNull(fromArray[1].getLocalData("a"));
+	}
+
+	@Test
+	public void shouldCreateProxiesWithConstructorArgumentsInBulk() {
+		final ParentWithParametrizedConstructor[] proxies = ByteBuddyProxyGenerator.<ParentWithParametrizedConstructor>instantiateAll(
+			new ProxyRecipe(
+				new Class[]{ParentWithParametrizedConstructor.class},
+				new Advice[]{LocalDataStoreAdvice.INSTANCE}
+			),
+			new Object[]{new GenericBucket(), new GenericBucket()},
+			new Class[]{String.class, int.class},
+			new Object[][]{{"first", 1}, {"second", 2}},
+			ParentWithParametrizedConstructor[]::new
+		);
+		assertEquals("first", proxies[0].getStringField());
+		assertEquals(1, proxies[0].getIntField());
+		assertEquals("second", proxies[1].getStringField());
+		assertEquals(2, proxies[1].getIntField());
+	}
+
+	@Test
+	public void shouldRejectIncompatibleProxyState() {
+		final CompiledProxyFactory<LocalDataStore> factory = ByteBuddyProxyGenerator.compile(new ProxyRecipe(LocalDataStoreAdvice.INSTANCE));
+		assertThrows(IllegalArgumentException.class, () -> factory.instantiate(new Object()));
+		// FACTORY IS STILL USABLE FOR THE COMPATIBLE STATE
+		factory.instantiate(new GenericBucket()).setLocalData("a", 1);
+	}
+
+	public static class AnotherBucket extends GenericBucket {
+		private static final long serialVersionUID = -6263476593325271395L;
+	}
+
+}
@@ -0,0 +1,92 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBean;
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of proxies generated in {@link DispatchMode#DISPATCH_TABLE} mode.
+ */
+public class ByteBuddyDispatchTableTest extends AbstractByteBuddyProxycianTest {
+	private static final ProxyRecipe INTERFACE_RECIPE = new ProxyRecipe(
+		new Class[]{SomeJavaBeanIface.class},
+		new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+	).withDispatchMode(DispatchMode.DISPATCH_TABLE);
+
+	@Test
+	public void shouldGenerateDifferentClassForDifferentDispatchMode() {
+		final Class<?> cacheClass = ByteBuddyProxyGenerator.getProxyClass(SomeJavaBeanIface.class);
+		final Class<?> tableClass = ByteBuddyProxyGenerator.getProxyClass(DispatchMode.DISPATCH_TABLE, SomeJavaBeanIface.class);
+		assertNotSame(cacheClass, tableClass);
+		assertSame(tableClass, ByteBuddyProxyGenerator.getProxyClass(DispatchMode.DISPATCH_TABLE, SomeJavaBeanIface.class));
+	}
+
+	@Test
+	public void shouldProxyJavaBeanInterfaceWithoutClassificationCache() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+
+		proxy.setAge((byte) 43);
+		proxy.setName("Jan Novotný");
+		assertEquals((byte) 43, proxy.getAge());
+		assertEquals("Jan Novotný (43)", proxy.print());
+
+		assertTrue(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+		assertTrue(ByteBuddyProxyGenerator.CACHED_DISPATCH_TABLES.containsKey(proxy.getClass()));
+	}
+
+	@Test
+	public void shouldCloneProxyAsInstanceOfTheSameClass() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+		proxy.setAge((byte) 43);
+		proxy.setName("Jan Novotný");
+
+		final SomeJavaBeanIface clonedProxy = (SomeJavaBeanIface) proxy.clone();
+
+		assertNotSame(proxy, clonedProxy);
+		// CLONE KEEPS THE DISPATCH MODE OF THE ORIGINAL PROXY
+		assertSame(proxy.getClass(), clonedProxy.getClass());
+		assertEquals("Jan Novotný (43)", clonedProxy.print());
+		assertTrue(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+	}
+
+	@Test
+	public void shouldProxyJavaBeanAbstractClass() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiateSerializable(
+			new ProxyRecipe(
+				new Class[]{SomeJavaBean.class},
+				new Advice[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE}
+			).withDispatchMode(DispatchMode.DISPATCH_TABLE),
+			new GenericBucket()
+		);
+
+		proxy.setWeight(82);
+		proxy.setIq(143);
+		proxy.setName("Jan Novotný");
+		assertEquals(82, proxy.getWeight());
+		assertEquals(143L, proxy.getIq());
+		assertEquals("Jan Novotný (0)", proxy.print());
+	}
+
+	@Test
+	public void shouldResolveHandlersAgainAfterCacheIsCleared() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+		proxy.setName("Jan Novotný");
+		assertEquals("Jan Novotný", proxy.getName());
+
+		ByteBuddyProxyGenerator.clearMethodClassificationCache();
+
+		proxy.setName("Jiří Novotný");
+		assertEquals("Jiří Novotný", proxy.getName());
+	}
+
+}
@@ -0,0 +1,99 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that {@link ProxyRecipe#withEagerResolution()} resolves all method classifications when the proxy
+ * is instantiated and reports methods without implementation immediately.
+ */
+public class ByteBuddyEagerResolutionTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldResolveClassificationsBeforeFirstCall() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(
+			createRecipe(SomeJavaBeanIface.class, DispatchMode.CLASSIFICATION_CACHE),
+			new GenericBucket()
+		);
+
+		assertFalse(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+		final int resolvedMethods = ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size();
+
+		proxy.setName("Jan Novotný");
+		proxy.setAge((byte) 43);
+		assertEquals("Jan Novotný (43)", proxy.print());
+		assertEquals(resolvedMethods, ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.size());
+	}
+
+	@Test
+	public void shouldResolveDispatchTableBeforeFirstCall() {
+		for (DispatchMode dispatchMode : new DispatchMode[]{DispatchMode.DISPATCH_TABLE, DispatchMode.INVOKE_DYNAMIC}) {
+			final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(
+				createRecipe(SomeJavaBeanIface.class, dispatchMode),
+				new GenericBucket()
+			);
+
+			proxy.setName("Jan Novotný");
+			proxy.setAge((byte) 43);
+			assertEquals("Jan Novotný (43)", proxy.print());
+			assertTrue(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+		}
+	}
+
+	@Test
+	public void shouldFailFastWhenMethodHasNoImplementation() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final IllegalStateException exception = assertThrows(
+				IllegalStateException.class,
+				() -> ByteBuddyProxyGenerator.instantiate(
+					createRecipe(IncompleteJavaBean.class, dispatchMode),
+					new GenericBucket()
+				)
+			);
+			assertTrue(exception.getMessage().contains("calculate"), exception.getMessage());
+		}
+	}
+
+	@Test
+	public void shouldFailOnFirstCallWithoutEagerResolution() {
+		final IncompleteJavaBean proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				new Class[]{IncompleteJavaBean.class},
+				new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+			),
+			new GenericBucket()
+		);
+
+		proxy.setName("Jan Novotný");
+		assertEquals("Jan Novotný", proxy.getName());
+		assertThrows(UnsupportedOperationException.class, proxy::calculate);
+	}
+
+	private static ProxyRecipe createRecipe(Class<?> iface, DispatchMode dispatchMode) {
+		return new ProxyRecipe(
+			new Class[]{iface},
+			new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+		).withDispatchMode(dispatchMode).withEagerResolution();
+	}
+
+	public interface IncompleteJavaBean {
+
+		String getName();
+
+		void setName(String name);
+
+		int calculate();
+
+	}
+
+}
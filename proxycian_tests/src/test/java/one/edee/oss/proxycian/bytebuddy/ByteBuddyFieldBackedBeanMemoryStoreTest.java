@@ -0,0 +1,287 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.PredicateMethodClassification;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import one.edee.oss.proxycian.trait.StandardJavaMethods;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStore;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreView;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that {@link BeanMemoryStoreAdvice#FIELD_BACKED_INSTANCE} makes the generator implement JavaBean
+ * properties as fields of the proxy class.
+ */
+public class ByteBuddyFieldBackedBeanMemoryStoreTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_GeneratesFields() throws Exception {
+		final Product product = createProduct(DispatchMode.CLASSIFICATION_CACHE, new GenericBucket());
+
+		assertEquals(String.class, product.getClass().getDeclaredField("property$name").getType());
+		assertEquals(int.class, product.getClass().getDeclaredField("property$price").getType());
+		assertEquals(boolean.class, product.getClass().getDeclaredField("property$active").getType());
+		assertEquals(List.class, product.getClass().getDeclaredField("property$tags").getType());
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_GettersAndSettersWorkInAllDispatchModes() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final GenericBucket state = new GenericBucket();
+			final Product product = createProduct(dispatchMode, state);
+			assertNull(product.getName());
+			assertEquals(0, product.getPrice());
+			assertFalse(product.isActive());
+
+			product.setName("Keyboard");
+			product.setPrice(42);
+			product.setActive(true);
+
+			assertEquals("Keyboard", product.getName());
+			assertEquals(42, product.getPrice());
+			assertTrue(product.isActive());
+			assertEquals("Keyboard (42)", product.getLabel());
+			// VALUES LIVE IN THE FIELDS, NOT IN THE STATE
+			assertNull(state.get("name"));
+		}
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_ViewAccessesFields() {
+		final GenericBucket state = new GenericBucket();
+		final Product product = createProduct(DispatchMode.DISPATCH_TABLE, state);
+		final BeanMemoryStore memoryStore = BeanMemoryStoreView.of((ProxyStateAccessor) product);
+
+		memoryStore.putValueToMemoryStore("name", "Mouse");
+		memoryStore.putValueToMemoryStore("price", 7);
+		memoryStore.putValueToMemoryStore("color", "black");
+
+		assertEquals("Mouse", product.getName());
+		assertEquals(7, product.getPrice());
+		assertEquals("Mouse", memoryStore.getValueFromMemoryStore("name"));
+		// PROPERTIES WITHOUT GENERATED FIELD ARE DELEGATED TO THE STATE
+		assertEquals("black", state.get("color"));
+		assertEquals("black", memoryStore.getValueFromMemoryStore("color"));
+
+		memoryStore.putValueToMemoryStore("price", null);
+		assertEquals(0, product.getPrice());
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_CollectionsAreStoredInFields() {
+		final GenericBucket state = new GenericBucket();
+		final Product product = createProduct(DispatchMode.CLASSIFICATION_CACHE, state);
+
+		product.addTag("new");
+		product.addTag("cheap");
+		assertEquals(Arrays.asList("new", "cheap"), product.getTags());
+
+		assertTrue(product.removeTag("new"));
+		assertFalse(product.removeTag("old"));
+		assertEquals(Collections.singletonList("cheap"), product.getTags());
+		assertNull(state.get("tags"));
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_LoadsValuesFromState() {
+		final GenericBucket state = new GenericBucket();
+		state.set("name", "Monitor");
+		state.set("price", 199);
+		state.set("active", true);
+
+		final Product product = createProduct(DispatchMode.INVOKE_DYNAMIC, state);
+
+		assertEquals("Monitor", product.getName());
+		assertEquals(199, product.getPrice());
+		assertTrue(product.isActive());
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_SurvivesSerialization() throws Exception {
+		final Product product = ByteBuddyProxyGenerator.instantiateSerializable(
+			createRecipe(DispatchMode.CLASSIFICATION_CACHE),
+			new GenericBucket()
+		);
+		product.setName("Keyboard");
+		product.setPrice(42);
+		product.addTag("new");
+
+		final ByteArrayOutputStream serializedProxy = new ByteArrayOutputStream();
+		try (ObjectOutputStream serializationStream = new ObjectOutputStream(serializedProxy)) {
+			serializationStream.writeObject(product);
+		}
+
+		final Product deserializedProduct;
+		try (ObjectInputStream deserializationStream = new ObjectInputStream(new ByteArrayInputStream(serializedProxy.toByteArray()))) {
+			deserializedProduct = (Product) deserializationStream.readObject();
+		}
+
+		assertNotSame(product, deserializedProduct);
+		assertEquals(product.getClass(), deserializedProduct.getClass());
+		assertEquals("Keyboard", deserializedProduct.getName());
+		assertEquals(42, deserializedProduct.getPrice());
+		assertEquals(Collections.singletonList("new"), deserializedProduct.getTags());
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_CloneKeepsValues() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final GenericBucket state = new GenericBucket();
+			final Product product = createProduct(dispatchMode, state);
+			product.setName("Keyboard");
+			product.setPrice(42);
+
+			final Product clone = (Product) product.clone();
+			assertNotNull(clone);
+			assertNotSame(product, clone);
+			// CLONE IS THE SAME PROXY CLASS WITH GENERATED FIELDS
+			assertSame(product.getClass(), clone.getClass());
+			assertEquals("Keyboard", clone.getName());
+			assertEquals(42, clone.getPrice());
+			assertEquals("Keyboard (42)", clone.getLabel());
+
+			clone.setName("Mouse");
+			assertEquals("Mouse", clone.getName());
+			assertEquals("Keyboard", product.getName());
+			// VALUES OF THE CLONE LIVE IN ITS FIELDS AS WELL
+			assertNull(((GenericBucket) ((ProxyStateAccessor) clone).getProxyState()).get("name"));
+			assertNull(state.get("name"));
+		}
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_EqualsAndHashCodeCompareFields() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final GenericBucket state = new GenericBucket();
+			state.set("color", "black");
+			final GenericBucket otherState = new GenericBucket();
+			otherState.set("color", "black");
+			final Product product = createProduct(dispatchMode, state);
+			final Product otherProduct = createProduct(dispatchMode, otherState);
+			product.setName("A");
+			otherProduct.setName("B");
+
+			// STATES ARE EQUAL BUT THE VALUES IN THE FIELDS DIFFER
+			assertEquals(state, otherState);
+			assertNotEquals(product, otherProduct, dispatchMode.name());
+			assertNotEquals(product.hashCode(), otherProduct.hashCode(), dispatchMode.name());
+			assertEquals("{color=black} {active=false, name=A, price=0}", product.toString());
+			assertEquals("{color=black} {active=false, name=B, price=0}", otherProduct.toString());
+
+			otherProduct.setName("A");
+			assertEquals(product, otherProduct, dispatchMode.name());
+			assertEquals(product.hashCode(), otherProduct.hashCode(), dispatchMode.name());
+
+			// AND THE STATE STILL MATTERS
+			otherState.set("color", "white");
+			assertNotEquals(product, otherProduct, dispatchMode.name());
+		}
+	}
+
+	@Test
+	public void ByteBuddyProxyGenerator_FieldBackedProperties_StandardMethodFallbacksCompareFields() {
+		final GenericBucket state = new GenericBucket();
+		state.set("color", "black");
+		final GenericBucket otherState = new GenericBucket();
+		otherState.set("color", "black");
+		final Product product = createProduct(DispatchMode.CLASSIFICATION_CACHE, state);
+		final Product otherProduct = createProduct(DispatchMode.CLASSIFICATION_CACHE, otherState);
+		product.setName("A");
+		otherProduct.setName("B");
+
+		assertEquals(
+			Boolean.FALSE,
+			invokeStandardMethod(StandardJavaMethods.equalsMethodInvoker(), "equals", product, state, otherProduct)
+		);
+		assertNotEquals(
+			invokeStandardMethod(StandardJavaMethods.hashCodeMethodInvoker(), "hashCode", product, state),
+			invokeStandardMethod(StandardJavaMethods.hashCodeMethodInvoker(), "hashCode", otherProduct, otherState)
+		);
+		assertEquals(
+			"{color=black} {active=false, name=A, price=0}",
+			invokeStandardMethod(StandardJavaMethods.toStringMethodInvoker(), "toString", product, state)
+		);
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Object invokeStandardMethod(PredicateMethodClassification classification, String methodName, Object proxy, Object proxyState, Object... args) {
+		try {
+			final Method method = Arrays.stream(Object.class.getMethods())
+				.filter(it -> it.getName().equals(methodName))
+				.findFirst()
+				.orElseThrow(IllegalArgumentException::new);
+			return classification.createCurriedMethodContextInvocationHandler(method, proxyState).invoke(proxy, method, args, proxyState, null);
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Product createProduct(DispatchMode dispatchMode, GenericBucket state) {
+		return ByteBuddyProxyGenerator.instantiate(createRecipe(dispatchMode), state);
+	}
+
+	private static ProxyRecipe createRecipe(DispatchMode dispatchMode) {
+		return new ProxyRecipe(
+			new Class[]{Product.class},
+			new Advice[]{BeanMemoryStoreAdvice.FIELD_BACKED_INSTANCE}
+		).withDispatchMode(dispatchMode);
+	}
+
+	public static abstract class Product implements Serializable, Cloneable {
+		private static final long serialVersionUID = -1375004370862541470L;
+
+		public abstract String getName();
+
+		public abstract void setName(String name);
+
+		public abstract int getPrice();
+
+		public abstract void setPrice(int price);
+
+		public abstract boolean isActive();
+
+		public abstract void setActive(boolean active);
+
+		public abstract List<String> getTags();
+
+		public abstract void setTags(List<String> tags);
+
+		public abstract void addTag(String tag);
+
+		public abstract boolean removeTag(String tag);
+
+		public String getLabel() {
+			return getName() + " (" + getPrice() + ")";
+		}
+
+		@Override
+		public Object clone() throws CloneNotSupportedException {
+			return super.clone();
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import lombok.Data;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import one.edee.oss.proxycian.warmup.WarmUpProfile;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that the standard methods of the proxy are implemented directly in the proxy class without
+ * going through the dispatcher and that the methods overridden by the proxied class are still honored.
+ */
+public class ByteBuddyIntrinsicMethodsTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldImplementStandardMethodsWithoutDispatcher() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = new ProxyRecipe(new Class[]{Named.class}, new Advice[0]).withDispatchMode(dispatchMode);
+			final NamedState state = new NamedState("Jan");
+			final Named proxy = ByteBuddyProxyGenerator.instantiate(recipe, state);
+			final Named sameProxy = ByteBuddyProxyGenerator.instantiate(recipe, new NamedState("Jan"));
+			final Named otherProxy = ByteBuddyProxyGenerator.instantiate(recipe, new NamedState("Pavel"));
+
+			WarmUpRecorder.start();
+			assertSame(state, ((ProxyStateAccessor) proxy).getProxyState());
+			assertEquals(state.hashCode(), proxy.hashCode());
+			assertEquals(state.toString(), proxy.toString());
+			assertEquals(proxy, sameProxy);
+			assertNotEquals(proxy, otherProxy);
+			assertNotEquals(proxy, state);
+			assertNotEquals(proxy, null);
+			final WarmUpProfile profile = WarmUpRecorder.stop();
+
+			// NO METHOD WAS CLASSIFIED BY THE DISPATCHER
+			assertTrue(profile.getMethods().isEmpty(), dispatchMode + ": " + profile.getMethods());
+		}
+	}
+
+	@Test
+	public void shouldHonorStandardMethodsOverriddenByProxiedClass() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = new ProxyRecipe(Greeting.class, new Class[0], new Advice[0]).withDispatchMode(dispatchMode);
+			final NamedState state = new NamedState("Jan");
+			final Greeting proxy = ByteBuddyProxyGenerator.instantiate(recipe, state);
+
+			assertEquals("Hello!", proxy.toString());
+			assertEquals(state.hashCode(), proxy.hashCode());
+			assertSame(state, ((ProxyStateAccessor) proxy).getProxyState());
+		}
+	}
+
+	public interface Named {
+
+	}
+
+	public static abstract class Greeting {
+
+		@Override
+		public String toString() {
+			return "Hello!";
+		}
+
+	}
+
+	@Data
+	public static class NamedState {
+		private final String name;
+
+	}
+
+}
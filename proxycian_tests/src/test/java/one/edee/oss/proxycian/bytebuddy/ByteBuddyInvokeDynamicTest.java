@@ -0,0 +1,242 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DirectMethodClassification;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.MethodClassification;
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.cache.MethodDispatchTable;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of proxies generated in {@link DispatchMode#INVOKE_DYNAMIC} mode.
+ */
+public class ByteBuddyInvokeDynamicTest extends AbstractByteBuddyProxycianTest {
+	private static final ProxyRecipe INTERFACE_RECIPE = new ProxyRecipe(
+		new Class[]{SomeJavaBeanIface.class},
+		new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+	).withDispatchMode(DispatchMode.INVOKE_DYNAMIC);
+	private static final ProxyRecipe ABSTRACT_CLASS_RECIPE = new ProxyRecipe(
+		new Class[]{Greeter.class},
+		new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+	).withDispatchMode(DispatchMode.INVOKE_DYNAMIC);
+
+	@Test
+	public void shouldProxyJavaBeanInterface() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+
+		proxy.setLiving(true);
+		proxy.setAge((byte) 43);
+		proxy.setHeight((short) 183);
+		proxy.setWeight(82);
+		proxy.setIq(143);
+		proxy.setName("Jan Novotný");
+		assertTrue(proxy.isLiving());
+		assertEquals((byte) 43, proxy.getAge());
+		assertEquals((short) 183, proxy.getHeight());
+		assertEquals(82, proxy.getWeight());
+		assertEquals(143L, proxy.getIq());
+		assertEquals("Jan Novotný (43)", proxy.print());
+
+		assertTrue(ByteBuddyProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+	}
+
+	@Test
+	public void shouldCallRealMethodsOfAbstractClass() {
+		final Greeter proxy = ByteBuddyProxyGenerator.instantiate(ABSTRACT_CLASS_RECIPE, new GenericBucket());
+		proxy.setSuffix("!");
+
+		assertEquals("Hello Jan!", proxy.greet("Jan"));
+		assertEquals(proxy.hashCode(), proxy.hashCode());
+		assertTrue(proxy.equals(proxy));
+	}
+
+	@Test
+	public void shouldPropagateExceptionOfRealMethod() {
+		final Greeter proxy = ByteBuddyProxyGenerator.instantiate(ABSTRACT_CLASS_RECIPE, new GenericBucket());
+		final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> proxy.greet(null));
+		assertEquals("Name is mandatory!", ex.getMessage());
+	}
+
+	@Test
+	public void shouldKeepProxyStatesSeparateOnSharedCallSite() {
+		// EACH ANONYMOUS CLASS IS DIFFERENT PROXY STATE CLASS, SO THAT THE CALL SITE NEEDS TO BE RE-LINKED
+		final GenericBucket[] states = new GenericBucket[]{
+			new GenericBucket(), new GenericBucket() {}, new GenericBucket() {}, new GenericBucket() {},
+			new GenericBucket() {}, new GenericBucket() {}, new GenericBucket() {}, new GenericBucket() {},
+			new GenericBucket() {}, new GenericBucket() {}, new GenericBucket() {}, new GenericBucket() {}
+		};
+		final SomeJavaBeanIface[] proxies = new SomeJavaBeanIface[states.length];
+		for (int i = 0; i < states.length; i++) {
+			proxies[i] = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, states[i]);
+			assertEquals(proxies[0].getClass(), proxies[i].getClass());
+		}
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < proxies.length; i++) {
+				proxies[i].setWeight(i * 10 + round);
+			}
+			for (int i = 0; i < proxies.length; i++) {
+				assertEquals(i * 10 + round, proxies[i].getWeight());
+			}
+		}
+	}
+
+	@Test
+	public void shouldResolveHandlersAgainAfterCacheIsCleared() {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+		proxy.setName("Jan Novotný");
+		assertEquals("Jan Novotný", proxy.getName());
+
+		ByteBuddyProxyGenerator.clearMethodClassificationCache();
+
+		proxy.setName("Jiří Novotný");
+		assertEquals("Jiří Novotný", proxy.getName());
+
+		final SomeJavaBeanIface anotherProxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+		assertNotSame(proxy, anotherProxy);
+		anotherProxy.setName("Josef Novotný");
+		assertEquals("Josef Novotný", anotherProxy.getName());
+		assertEquals("Jiří Novotný", proxy.getName());
+	}
+
+	@Test
+	public void shouldRelinkCallSiteWhenAnotherProxyStateClassAppears() throws Exception {
+		final ProxyRecipe recipe = new ProxyRecipe(
+			new Class[]{Labeled.class}, new Advice[]{new StateClassLabelAdvice()}
+		).withDispatchMode(DispatchMode.INVOKE_DYNAMIC);
+		final Labeled proxy = ByteBuddyProxyGenerator.instantiate(recipe, new LabelState());
+		final MethodDispatchTable dispatchTable = getDispatchTable(proxy);
+
+		// CALLS FROM THE SUPER CONSTRUCTOR REACH THE REAL METHOD
+		assertEquals("unlabeled", proxy.getInitialLabel());
+		for (int i = 0; i < 100; i++) {
+			assertEquals("LabelState", proxy.getLabel());
+		}
+		assertTrue(dispatchTable.isMonomorphic());
+
+		// CALL SITE IS LINKED WITHOUT DISPATCHER GUARD NOW - NEW PROXY STATE CLASS MUST UNLINK IT
+		final Labeled otherProxy = ByteBuddyProxyGenerator.instantiate(recipe, new OtherLabelState());
+		assertFalse(dispatchTable.isMonomorphic());
+		assertEquals("unlabeled", otherProxy.getInitialLabel());
+		for (int i = 0; i < 100; i++) {
+			assertEquals("OtherLabelState", otherProxy.getLabel());
+			assertEquals("LabelState", proxy.getLabel());
+		}
+	}
+
+	@Test
+	public void shouldKeepCallSitesOfOtherProxyClassesLinkedWhenCacheOfOneClassIsCleared() throws Exception {
+		final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(INTERFACE_RECIPE, new GenericBucket());
+		final Greeter otherProxy = ByteBuddyProxyGenerator.instantiate(ABSTRACT_CLASS_RECIPE, new GenericBucket());
+		proxy.setName("Jan Novotný");
+		otherProxy.setSuffix("!");
+		assertEquals("Hello Jan!", otherProxy.greet("Jan"));
+		final SwitchPoint switchPoint = getDispatchTable(proxy).getInvalidationSwitchPoint();
+		final SwitchPoint otherSwitchPoint = getDispatchTable(otherProxy).getInvalidationSwitchPoint();
+
+		ByteBuddyProxyGenerator.clearMethodClassificationCache(proxy.getClass());
+
+		// ONLY CALL SITES OF THE CLEARED CLASS ARE UNLINKED
+		assertTrue(switchPoint.hasBeenInvalidated());
+		assertFalse(otherSwitchPoint.hasBeenInvalidated());
+		assertSame(otherSwitchPoint, getDispatchTable(otherProxy).getInvalidationSwitchPoint());
+		assertEquals("Hello Jan!", otherProxy.greet("Jan"));
+
+		// CALL SITES OF THE CLEARED CLASS RE-LINK WITH THE NEW SWITCH POINT
+		assertEquals("Jan Novotný", proxy.getName());
+		assertNotSame(switchPoint, getDispatchTable(proxy).getInvalidationSwitchPoint());
+		assertFalse(getDispatchTable(proxy).getInvalidationSwitchPoint().hasBeenInvalidated());
+	}
+
+	private static MethodDispatchTable getDispatchTable(Object proxy) throws Exception {
+		final Field dispatchTableField = proxy.getClass().getDeclaredField(ByteBuddyProxyGenerator.DISPATCH_TABLE_FIELD);
+		dispatchTableField.setAccessible(true);
+		return (MethodDispatchTable) dispatchTableField.get(null);
+	}
+
+	public static abstract class Labeled {
+		private final String initialLabel;
+
+		public Labeled() {
+			this.initialLabel = getLabel();
+		}
+
+		public String getInitialLabel() {
+			return initialLabel;
+		}
+
+		public String getLabel() {
+			return "unlabeled";
+		}
+
+	}
+
+	public static class LabelState {
+
+	}
+
+	public static class OtherLabelState extends LabelState {
+
+	}
+
+	/**
+	 * Advice labels the proxy by the class of its state - each state class gets different invocation handler.
+	 */
+	private static class StateClassLabelAdvice implements Advice<Object> {
+		private static final long serialVersionUID = -4581937512470398126L;
+
+		@Override
+		public Class<Object> getRequestedStateContract() {
+			return Object.class;
+		}
+
+		@Override
+		public List<MethodClassification<?, Object>> getMethodClassification() {
+			return Collections.singletonList(
+				new DirectMethodClassification<Object, Object>(
+					"state class label",
+					(method, proxyState) -> {
+						if ("getLabel".equals(method.getName())) {
+							final String label = proxyState.getClass().getSimpleName();
+							return (CurriedMethodContextInvocationHandler<Object, Object>) (proxy, theMethod, args, theProxyState, invokeSuper) -> label;
+						} else {
+							return null;
+						}
+					}
+				)
+			);
+		}
+	}
+
+	public static abstract class Greeter {
+
+		public abstract String getSuffix();
+
+		public abstract void setSuffix(String suffix);
+
+		public String greet(String name) {
+			if (name == null) {
+				throw new IllegalArgumentException("Name is mandatory!");
+			}
+			return "Hello " + name + getSuffix();
+		}
+
+	}
+
+}
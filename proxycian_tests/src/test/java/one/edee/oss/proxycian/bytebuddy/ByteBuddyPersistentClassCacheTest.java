@@ -0,0 +1,107 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyClassLoaderReleaseTest.ModuleClassLoader;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.model.traits.Person;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that byte-code of the generated classes is stored in the persistent cache and defined from it
+ * on the next start instead of being generated again.
+ */
+public class ByteBuddyPersistentClassCacheTest extends AbstractByteBuddyProxycianTest {
+
+	@AfterEach
+	void tearDown() {
+		ByteBuddyProxyGenerator.configurePersistentClassCache(null);
+	}
+
+	@Test
+	public void shouldDefineClassesFromPersistentCache(@TempDir File directory) throws Exception {
+		ByteBuddyProxyGenerator.configurePersistentClassCache(directory);
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			// FIRST START GENERATES THE CLASS AND STORES IT
+			final Class<?> generatedClass = useModule(dispatchMode);
+			final File[] entries = Objects.requireNonNull(directory.listFiles());
+			for (File entry : entries) {
+				entry.setLastModified(1000L);
+			}
+
+			// NEXT START (SIMULATED BY THE NEW CLASS LOADER) DEFINES THE STORED CLASS
+			final Class<?> cachedClass = useModule(dispatchMode);
+			assertNotSame(generatedClass, cachedClass);
+			assertEquals(generatedClass.getName(), cachedClass.getName());
+			assertEquals(entries.length, Objects.requireNonNull(directory.listFiles()).length);
+			for (File entry : entries) {
+				assertEquals(1000L, entry.lastModified(), "Class was generated again in " + dispatchMode + " mode!");
+			}
+		}
+	}
+
+	@Test
+	public void shouldReuseDefinedClassAfterClassCacheIsCleared(@TempDir File directory) throws Exception {
+		ByteBuddyProxyGenerator.configurePersistentClassCache(directory);
+		final ModuleClassLoader module = new ModuleClassLoader();
+		final Class<?>[] interfaces = {module.loadClass(Person.class.getName())};
+		final Class<?> proxyClass = ByteBuddyProxyGenerator.getProxyClass(interfaces, module);
+		ByteBuddyProxyGenerator.clearClassCache();
+		assertSame(proxyClass, ByteBuddyProxyGenerator.getProxyClass(interfaces, module));
+	}
+
+	@Test
+	public void shouldInvalidateEntriesWhenClassesLinkedByGeneratedCodeChange() {
+		final ProxyRecipe recipe = new ProxyRecipe(
+			new Class<?>[]{Person.class},
+			new Advice<?>[]{FrozenStateAdvice.INSTANCE, BeanMemoryStoreAdvice.FIELD_BACKED_INSTANCE}
+		);
+		final List<Class<?>> inputClasses = Arrays.asList(
+			PrecompiledProxyClasses.getInputClasses(recipe.getInterfaces(), new Class<?>[0], recipe.getGeneratedMemberAdvices())
+		);
+
+		// NOT ONLY THE GENERATOR BUT ALSO THE CLASSES THE GENERATED BYTE-CODE CALLS AND THE ADVICES SHAPING IT
+		assertTrue(inputClasses.contains(ByteBuddyProxyGenerator.class));
+		assertTrue(inputClasses.contains(ByteBuddyDispatcherInvocationHandler.class));
+		assertTrue(inputClasses.contains(InvokeDynamicDispatch.class));
+		assertTrue(inputClasses.contains(FrozenStateGuard.class));
+		assertTrue(inputClasses.contains(FrozenStateAdvice.class));
+		assertTrue(inputClasses.contains(BeanMemoryStoreAdvice.FIELD_BACKED_INSTANCE.getClass()));
+		// AND THE BACKEND VERSION IS PART OF THE CLASS NAME
+		assertTrue(PrecompiledProxyClasses.getBackendVersion().matches("\\d+-[0-9a-f]{16}"));
+	}
+
+	/**
+	 * Creates and uses the proxy in the new class loader and returns its class.
+	 */
+	private static Class<?> useModule(DispatchMode dispatchMode) throws Exception {
+		final ModuleClassLoader module = new ModuleClassLoader();
+		final Class<?> personInterface = module.loadClass(Person.class.getName());
+		final Object proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(new Class<?>[]{personInterface}, new Advice<?>[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE})
+				.withDispatchMode(dispatchMode),
+			new GenericBucket(),
+			module
+		);
+		personInterface.getMethod("setFirstName", String.class).invoke(proxy, "Jan");
+		assertEquals("Jan", personInterface.getMethod("getFirstName").invoke(proxy));
+		assertSame(module, proxy.getClass().getClassLoader());
+		return proxy.getClass();
+	}
+
+}
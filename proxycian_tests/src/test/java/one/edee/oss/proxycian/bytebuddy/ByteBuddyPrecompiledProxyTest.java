@@ -0,0 +1,117 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.model.traits.Person;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.recipe.ProxyRecipeFactory;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that proxy classes generated at build time are found and used at runtime instead of being
+ * generated again.
+ */
+public class ByteBuddyPrecompiledProxyTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldLoadPrecompiledProxyClasses(@TempDir File outputDirectory) throws Exception {
+		final List<String> classNames = ProxyClassPrecompiler.precompile(
+			outputDirectory, getClass().getClassLoader(), PersonRecipeFactory.class.getName()
+		);
+		assertEquals(DispatchMode.values().length * 2, classNames.size());
+
+		try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+			for (ProxyRecipe recipe : new PersonRecipeFactory().createRecipes()) {
+				final Person person = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket(), classLoader);
+				assertSame(classLoader, person.getClass().getClassLoader(), "Class was not precompiled in " + recipe.getDispatchMode() + " mode!");
+				assertTrue(classNames.contains(person.getClass().getName()));
+				person.setFirstName("Jan");
+				assertEquals("Jan", person.getFirstName());
+
+				final Person serializablePerson = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket(), classLoader);
+				assertSame(classLoader, serializablePerson.getClass().getClassLoader());
+				assertTrue(classNames.contains(serializablePerson.getClass().getName()));
+				serializablePerson.setLastName("Novotný");
+				assertEquals("Novotný", serializablePerson.getLastName());
+			}
+		}
+	}
+
+	@Test
+	public void shouldGenerateUnknownProxyClassesAtRuntime(@TempDir File outputDirectory) throws Exception {
+		final List<String> classNames = ProxyClassPrecompiler.precompile(
+			outputDirectory, getClass().getClassLoader(), PersonRecipeFactory.class.getName()
+		);
+		try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+			final Class<?> proxyClass = ByteBuddyProxyGenerator.getProxyClass(new Class<?>[]{Person.class, Comparable.class}, classLoader);
+			assertTrue(proxyClass.getName().startsWith(ByteBuddyProxyGenerator.GENERATED_CLASS_PACKAGE));
+			assertFalse(classNames.contains(proxyClass.getName()));
+		}
+	}
+
+	@Test
+	public void shouldIgnoreProxyClassesPrecompiledByDifferentBackend(@TempDir File outputDirectory) throws Exception {
+		final Field backendVersionField = PrecompiledProxyClasses.class.getDeclaredField("backendVersion");
+		backendVersionField.setAccessible(true);
+		final String backendVersion = PrecompiledProxyClasses.getBackendVersion();
+		final List<String> classNames;
+		try {
+			// PRETEND THE CLASSES WERE GENERATED BY ANOTHER VERSION OF THE BACKEND
+			backendVersionField.set(null, backendVersion + "-outdated");
+			classNames = ProxyClassPrecompiler.precompile(
+				outputDirectory, getClass().getClassLoader(), PersonRecipeFactory.class.getName()
+			);
+		} finally {
+			backendVersionField.set(null, backendVersion);
+		}
+
+		try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+			for (ProxyRecipe recipe : new PersonRecipeFactory().createRecipes()) {
+				final Person person = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket(), classLoader);
+				// CLASS IS GENERATED AT RUNTIME INSTEAD OF BEING READ FROM THE OUTPUT DIRECTORY
+				final String classFile = person.getClass().getName().replace('.', '/') + ".class";
+				assertNull(classLoader.getResource(classFile), "Outdated class was used in " + recipe.getDispatchMode() + " mode!");
+				assertFalse(classNames.contains(person.getClass().getName()));
+			}
+		}
+	}
+
+	/**
+	 * Factory that would be registered in the Maven plugin of the application.
+	 */
+	public static class PersonRecipeFactory implements ProxyRecipeFactory {
+
+		@Nonnull
+		@Override
+		public Collection<ProxyRecipe> createRecipes() {
+			final List<ProxyRecipe> recipes = new ArrayList<>();
+			for (DispatchMode dispatchMode : DispatchMode.values()) {
+				recipes.add(
+					new ProxyRecipe(new Class<?>[]{Person.class}, new Advice<?>[]{BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE})
+						.withDispatchMode(dispatchMode)
+				);
+			}
+			return recipes;
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.function.Supplier;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ByteBuddyProxyRecipeTest extends AbstractByteBuddyProxycianTest {
@@ -186,6 +187,19 @@ public class ByteBuddyProxyRecipeTest extends AbstractByteBuddyProxycianTest {
 		assertEquals(new BigDecimal("56.0"), lds.getLocalData(BigDecimal.class));
 	}
 
+	@Test
+	public void ByteBuddyProxyRecipeGenerator_Proxy_ClassificationsComputedOncePerRecipe() {
+		final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE);
+		assertSame(recipe.getMethodClassificationsWith(), recipe.getMethodClassificationsWith());
+
+		final LocalDataStore first = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket());
+		final LocalDataStore second = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket());
+		first.setLocalData("a", 1);
+		second.setLocalData("a", 2);
+		assertEquals(Integer.valueOf(1), first.getLocalData("a"));
+		assertEquals(Integer.valueOf(2), second.getLocalData("a"));
+	}
+
 	@Data
 	public static abstract class BaseClass {
 		private boolean initialized;
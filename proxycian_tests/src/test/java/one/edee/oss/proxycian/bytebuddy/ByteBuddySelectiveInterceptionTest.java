@@ -0,0 +1,96 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that {@link ProxyRecipe#withSelectiveInterception()} leaves concrete methods no classification
+ * claims as they are and still intercepts the claimed ones.
+ */
+public class ByteBuddySelectiveInterceptionTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldNotOverrideUnclaimedConcreteMethods() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final Person person = ByteBuddyProxyGenerator.instantiateSerializable(
+				createRecipe(BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE, dispatchMode).withSelectiveInterception(),
+				new GenericBucket()
+			);
+			person.setName("Jan");
+
+			assertEquals("Hello Mr. Jan", person.greet());
+			assertTrue(isOverridden(person, "getName"));
+			assertFalse(isOverridden(person, "greet"));
+			assertFalse(isOverridden(person, "getTitle"));
+		}
+	}
+
+	@Test
+	public void shouldOverrideClaimedConcreteMethods() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final Person person = ByteBuddyProxyGenerator.instantiateSerializable(
+				createRecipe(BeanMemoryStoreAdvice.ALL_METHOD_INSTANCE, dispatchMode).withSelectiveInterception(),
+				new GenericBucket()
+			);
+			person.setName("Jan");
+
+			// CONCRETE GETTER IS CLAIMED BY THE ADVICE, THE METHOD CALLING IT IS NOT
+			assertEquals("Hello null Jan", person.greet());
+			assertTrue(isOverridden(person, "getTitle"));
+			assertFalse(isOverridden(person, "greet"));
+		}
+	}
+
+	@Test
+	public void shouldOverrideAllMethodsByDefault() {
+		final Person person = ByteBuddyProxyGenerator.instantiateSerializable(
+			createRecipe(BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE, DispatchMode.CLASSIFICATION_CACHE),
+			new GenericBucket()
+		);
+		person.setName("Jan");
+
+		assertEquals("Hello Mr. Jan", person.greet());
+		assertTrue(isOverridden(person, "greet"));
+		assertTrue(isOverridden(person, "getTitle"));
+	}
+
+	private static ProxyRecipe createRecipe(Advice<?> advice, DispatchMode dispatchMode) {
+		return new ProxyRecipe(
+			Person.class, new Class[0], new Advice[]{advice}
+		).withDispatchMode(dispatchMode);
+	}
+
+	private static boolean isOverridden(Object proxy, String methodName) {
+		try {
+			proxy.getClass().getDeclaredMethod(methodName);
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	public static abstract class Person {
+
+		public abstract String getName();
+
+		public abstract void setName(String name);
+
+		public String getTitle() {
+			return "Mr.";
+		}
+
+		public String greet() {
+			return "Hello " + getTitle() + " " + getName();
+		}
+
+	}
+
+}
@@ -0,0 +1,168 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DirectMethodClassification;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.MethodClassification;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.specialized.IntAcceptingInvocationHandler;
+import one.edee.oss.proxycian.specialized.IntReturningInvocationHandler;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStore;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test verifies that methods with primitive signatures are dispatched correctly both to specialized invocation
+ * handlers and to generic ones.
+ */
+public class ByteBuddySpecializedInvocationHandlerTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldProxyPrimitiveJavaBeanProperties() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			assertPrimitiveJavaBeanProperties(dispatchMode);
+		}
+	}
+
+	@Test
+	public void shouldCallSpecializedHandlers() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			assertSpecializedHandlersCalled(dispatchMode);
+		}
+	}
+
+	private static void assertPrimitiveJavaBeanProperties(DispatchMode dispatchMode) {
+		final PrimitiveBean proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				new Class[]{PrimitiveBean.class},
+				new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+			).withDispatchMode(dispatchMode),
+			new GenericBucket()
+		);
+
+		assertEquals(0, proxy.getAge());
+		assertEquals(0L, proxy.getIq());
+		assertEquals(0.0, proxy.getScore());
+		assertFalse(proxy.isLiving());
+
+		for (int i = 0; i < 3; i++) {
+			proxy.setAge(43 + i);
+			proxy.setIq(143L + i);
+			proxy.setScore(1.5 + i);
+			proxy.setLiving(i % 2 == 0);
+			assertEquals(43 + i, proxy.getAge());
+			assertEquals(143L + i, proxy.getIq());
+			assertEquals(1.5 + i, proxy.getScore());
+			assertEquals(i % 2 == 0, proxy.isLiving());
+		}
+
+		// REAL METHODS WITH PRIMITIVE SIGNATURE ARE DISPATCHED TO GENERIC HANDLERS
+		assertEquals(86 + 4, proxy.getDoubleAge());
+		proxy.setDoubleAge(20);
+		assertEquals(10, proxy.getAge());
+		assertThrows(IllegalArgumentException.class, () -> proxy.setDoubleAge(-2));
+	}
+
+	private static void assertSpecializedHandlersCalled(DispatchMode dispatchMode) {
+		final AtomicInteger counter = new AtomicInteger();
+		final CounterBean proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				new Class[]{CounterBean.class},
+				new Advice[]{new CounterAdvice(counter)}
+			).withDispatchMode(dispatchMode),
+			new GenericBucket()
+		);
+
+		proxy.setCount(5);
+		assertEquals(5, proxy.getCount());
+		proxy.setCount(7);
+		assertEquals(7, proxy.getCount());
+		assertEquals(7, counter.get());
+	}
+
+	public static abstract class PrimitiveBean {
+
+		public abstract int getAge();
+
+		public abstract void setAge(int age);
+
+		public abstract long getIq();
+
+		public abstract void setIq(long iq);
+
+		public abstract double getScore();
+
+		public abstract void setScore(double score);
+
+		public abstract boolean isLiving();
+
+		public abstract void setLiving(boolean living);
+
+		public int getDoubleAge() {
+			return getAge() * 2;
+		}
+
+		public void setDoubleAge(int doubleAge) {
+			if (doubleAge < 0) {
+				throw new IllegalArgumentException("Age must be positive!");
+			}
+			setAge(doubleAge / 2);
+		}
+
+	}
+
+	public interface CounterBean {
+
+		int getCount();
+
+		void setCount(int count);
+
+	}
+
+	private static class CounterAdvice implements Advice<BeanMemoryStore> {
+		private static final long serialVersionUID = -2421066307413938127L;
+		private final AtomicInteger counter;
+
+		CounterAdvice(AtomicInteger counter) {
+			this.counter = counter;
+		}
+
+		@Override
+		public Class<BeanMemoryStore> getRequestedStateContract() {
+			return BeanMemoryStore.class;
+		}
+
+		@Override
+		public List<MethodClassification<?, BeanMemoryStore>> getMethodClassification() {
+			return Collections.singletonList(
+				new DirectMethodClassification<Object, BeanMemoryStore>(
+					"counter",
+					(method, proxyState) -> {
+						if (isMethod(method, "getCount")) {
+							return (IntReturningInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState) -> counter.get();
+						} else if (isMethod(method, "setCount")) {
+							return (IntAcceptingInvocationHandler<Object, BeanMemoryStore>) (proxy, theProxyState, argument) -> counter.set(argument);
+						} else {
+							return null;
+						}
+					}
+				)
+			);
+		}
+
+		private static boolean isMethod(Method method, String name) {
+			return CounterBean.class.equals(method.getDeclaringClass()) && name.equals(method.getName());
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.CurriedMethodContextInvocationHandler;
+import one.edee.oss.proxycian.DirectMethodClassification;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.MethodClassification;
+import one.edee.oss.proxycian.bytebuddy.benchmark.ByteBuddyInvocationBenchmark;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.specialized.SuperInvokingInvocationHandler;
+import one.edee.oss.proxycian.specialized.SuperMethodInvoker;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test verifies that invocation handlers implementing {@link SuperInvokingInvocationHandler} get the same
+ * {@link SuperMethodInvoker} on each call of the concrete or default method - i.e. no super method callable is created
+ * for the call - and that the super methods are called correctly in all dispatch modes. See
+ * {@link ByteBuddyAllocationTest} and {@link ByteBuddyInvocationBenchmark} for measurement of the memory allocated by
+ * the calls.
+ */
+public class ByteBuddySuperMethodInvokerTest extends AbstractByteBuddyProxycianTest {
+
+	@Test
+	public void shouldPassSameSuperMethodInvokerToAllCalls() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final SuperRecordingAdvice advice = new SuperRecordingAdvice();
+			final ProxyRecipe recipe = new ProxyRecipe(new Class[]{Greeter.class}, new Advice[]{advice}).withDispatchMode(dispatchMode);
+			final Greeter proxy = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket());
+			final Greeter otherProxy = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket());
+
+			for (Greeter greeter : new Greeter[]{proxy, proxy, otherProxy}) {
+				assertEquals("Hello, Jan!", greeter.greet("Hello"));
+				assertEquals("Thank you!", greeter.thank());
+				assertEquals("Jan", greeter.getName());
+			}
+
+			assertSameInvoker(dispatchMode, advice.getInvokers("greet"));
+			assertSameInvoker(dispatchMode, advice.getInvokers("thank"));
+			// NO INVOKER IS PASSED FOR ABSTRACT METHODS
+			assertEquals(6, advice.getInvokers("getName").size());
+			advice.getInvokers("getName").forEach(it -> assertNull(it, dispatchMode.name()));
+		}
+	}
+
+	@Test
+	public void shouldCallSuperMethodsByGenericHandlers() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final Greeter proxy = ByteBuddyProxyGenerator.instantiate(
+				new ProxyRecipe(new Class[]{Greeter.class}, new Advice[]{new SuperRecordingAdvice()}).withDispatchMode(dispatchMode),
+				new GenericBucket()
+			);
+
+			// BOW IS HANDLED BY GENERIC HANDLER CALLING THE SUPER METHOD CALLABLE
+			assertEquals("Jan bows.", proxy.bow());
+			// FAREWELL AND FAIL ARE NOT CLAIMED BY THE ADVICE - THEY'RE DELEGATED TO THE REAL METHODS
+			assertEquals("Bye, Jan!", proxy.farewell());
+			// EXCEPTIONS OF THE SUPER METHODS ARE NOT WRAPPED
+			assertThrows(IllegalArgumentException.class, proxy::fail);
+			assertThrows(IllegalStateException.class, proxy::failByDefault);
+		}
+	}
+
+	private static void assertSameInvoker(DispatchMode dispatchMode, List<SuperMethodInvoker> invokers) {
+		assertEquals(3, invokers.size(), dispatchMode.name());
+		assertNotNull(invokers.get(0), dispatchMode.name());
+		for (SuperMethodInvoker invoker : invokers) {
+			assertSame(invokers.get(0), invoker, dispatchMode.name());
+		}
+	}
+
+	public interface Polite {
+
+		default String thank() {
+			return "Thank you!";
+		}
+
+		default String farewell() {
+			return "Bye, " + ((Greeter) this).getName() + "!";
+		}
+
+		default void failByDefault() {
+			throw new IllegalStateException("Failed by default!");
+		}
+
+	}
+
+	public static abstract class Greeter implements Polite {
+
+		public abstract String getName();
+
+		public String greet(String greeting) {
+			return greeting + ", " + getName() + "!";
+		}
+
+		public String bow() {
+			return getName() + " bows.";
+		}
+
+		public void fail() {
+			throw new IllegalArgumentException("Failed!");
+		}
+
+	}
+
+	private static class SuperRecordingAdvice implements Advice<Object> {
+		private static final long serialVersionUID = 3618742094613208437L;
+		private final transient Map<String, List<SuperMethodInvoker>> invokers = new HashMap<>();
+
+		@Override
+		public Class<Object> getRequestedStateContract() {
+			return Object.class;
+		}
+
+		@Override
+		public List<MethodClassification<?, Object>> getMethodClassification() {
+			return Collections.singletonList(
+				new DirectMethodClassification<Object, Object>(
+					"super recording",
+					(method, proxyState) -> {
+						if (isMethod(method, Greeter.class, "getName")) {
+							return (SuperInvokingInvocationHandler<Object, Object>) (proxy, theMethod, args, theProxyState, invokeSuper) -> {
+								record("getName", invokeSuper);
+								return "Jan";
+							};
+						} else if (isMethod(method, Greeter.class, "greet") || isMethod(method, Polite.class, "thank")) {
+							return (SuperInvokingInvocationHandler<Object, Object>) (proxy, theMethod, args, theProxyState, invokeSuper) -> {
+								record(theMethod.getName(), invokeSuper);
+								return invokeSuper.invoke(proxy, args);
+							};
+						} else if (isMethod(method, Greeter.class, "bow")) {
+							return (CurriedMethodContextInvocationHandler<Object, Object>) (proxy, theMethod, args, theProxyState, invokeSuper) -> invokeSuper.call();
+						} else {
+							return null;
+						}
+					}
+				)
+			);
+		}
+
+		List<SuperMethodInvoker> getInvokers(String methodName) {
+			return invokers.getOrDefault(methodName, Collections.emptyList());
+		}
+
+		private void record(String methodName, SuperMethodInvoker invokeSuper) {
+			invokers.computeIfAbsent(methodName, it -> new ArrayList<>()).add(invokeSuper);
+		}
+
+		private static boolean isMethod(Method method, Class<?> declaringClass, String name) {
+			return declaringClass.equals(method.getDeclaringClass()) && name.equals(method.getName());
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package one.edee.oss.proxycian.bytebuddy;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStore;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStoreAdvice;
+import one.edee.oss.proxycian.warmup.WarmUpProfile;
+import one.edee.oss.proxycian.warmup.WarmUpRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that the warm-up profile recorded in one run creates the proxy classes and resolves the method
+ * classifications when it's replayed, so that the proxies created afterwards needn't classify anything.
+ */
+public class ByteBuddyWarmUpProfileTest extends AbstractByteBuddyProxycianTest {
+	@TempDir File tempDir;
+
+	@AfterEach
+	void tearDown() {
+		if (WarmUpRecorder.isRecording()) {
+			WarmUpRecorder.stop();
+		}
+	}
+
+	@Test
+	public void shouldReplayRecordedRecipesAndMethods() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode);
+			final WarmUpProfile profile = roundTrip(record(() -> useLocalDataStore(recipe)));
+			assertEquals(1, profile.getRecipes().size());
+			assertFalse(profile.getMethods().isEmpty());
+
+			// SIMULATE NEXT START OF THE APPLICATION
+			setUp();
+			replay(profile);
+
+			// NO METHOD IS CLASSIFIED WHEN THE PROXY IS USED AFTER REPLAY
+			final WarmUpProfile afterReplay = record(() -> useLocalDataStore(new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode)));
+			assertTrue(afterReplay.getMethods().isEmpty(), dispatchMode + ": " + afterReplay.getMethods());
+		}
+	}
+
+	@Test
+	public void shouldReplayProxyClassOfNonSerializableRecipe() throws Exception {
+		final ProxyRecipe recipe = new ProxyRecipe(
+			new Class[]{SomeJavaBeanIface.class},
+			new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+		);
+		final Consumer<ProxyRecipe> usage = theRecipe -> {
+			final SomeJavaBeanIface proxy = ByteBuddyProxyGenerator.instantiate(theRecipe, new GenericBucket());
+			proxy.setName("Jan Novotný");
+			proxy.setAge((byte) 43);
+			assertEquals("Jan Novotný (43)", proxy.print());
+		};
+		final WarmUpProfile profile = roundTrip(record(() -> usage.accept(recipe)));
+		// RECIPE ITSELF CANNOT BE SERIALIZED, BUT ITS PROXY CLASS IS RECORDED
+		assertTrue(profile.getRecipes().isEmpty());
+		assertEquals(1, profile.getProxyClasses().size());
+
+		setUp();
+		replay(profile);
+
+		// NO PROXY CLASS IS GENERATED WHEN THE PROXY IS USED AFTER REPLAY
+		final WarmUpProfile afterReplay = record(() -> usage.accept(recipe));
+		assertTrue(afterReplay.getProxyClasses().isEmpty());
+	}
+
+	@Test
+	public void shouldSkipOutdatedEntries() throws Exception {
+		final File profileFile = new File(tempDir, "warm-up.profile");
+		Files.write(
+			profileFile.toPath(),
+			("C\tbytebuddy\tCLASSIFICATION_CACHE\tcom.example.RemovedInterface\t\n" +
+				"M\tcom.example.RemovedState\tcom.example.RemovedInterface\tremoved\t\n").getBytes(StandardCharsets.UTF_8)
+		);
+		final WarmUpProfile profile = WarmUpProfile.read(profileFile);
+		assertEquals(1, profile.getProxyClasses().size());
+		// REPLAY OF THE MISSING CLASS DOESN'T FAIL
+		replay(profile);
+	}
+
+	private static void useLocalDataStore(ProxyRecipe recipe) {
+		final LocalDataStore proxy = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket());
+		proxy.setLocalData("a", 1);
+		proxy.setLocalData(new BigDecimal("56.0"));
+		assertEquals(Integer.valueOf(1), proxy.getLocalData("a"));
+		assertEquals(new BigDecimal("56.0"), proxy.getLocalData(BigDecimal.class));
+	}
+
+	private static WarmUpProfile record(Runnable lambda) {
+		WarmUpRecorder.start();
+		lambda.run();
+		return WarmUpRecorder.stop();
+	}
+
+	private static void replay(WarmUpProfile profile) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ByteBuddyProxyGenerator.replayWarmUpProfile(profile, executor).get();
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private WarmUpProfile roundTrip(WarmUpProfile profile) throws Exception {
+		final File profileFile = new File(tempDir, "warm-up.profile");
+		profile.write(profileFile);
+		return WarmUpProfile.read(profileFile);
+	}
+
+}
@@ -0,0 +1,114 @@
+package one.edee.oss.proxycian.bytebuddy.benchmark;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator;
+import one.edee.oss.proxycian.model.traits.SimpleMemoryBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of method invocation on ByteBuddy proxies in all {@link DispatchMode dispatch modes}. Run it by
+ * the {@link #main(String[])} method - the GC profiler reports `gc.alloc.rate.norm` which is the number of bytes
+ * allocated per single invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteBuddyInvocationBenchmark {
+	@Param({"CLASSIFICATION_CACHE", "DISPATCH_TABLE", "INVOKE_DYNAMIC"})
+	public DispatchMode dispatchMode;
+	private BenchmarkBean proxy;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(
+			new OptionsBuilder()
+				.include(ByteBuddyInvocationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()
+		).run();
+	}
+
+	@Setup
+	public void setUp() {
+		proxy = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				new Class[]{BenchmarkBean.class},
+				new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+			).withDispatchMode(dispatchMode),
+			new SimpleMemoryBucket()
+		);
+		proxy.setName("Jan Novotný");
+		proxy.setAge(42);
+	}
+
+	@Benchmark
+	public String objectGetter() {
+		return proxy.getName();
+	}
+
+	@Benchmark
+	public int primitiveGetter() {
+		return proxy.getAge();
+	}
+
+	@Benchmark
+	public void primitiveSetter() {
+		proxy.setAge(42);
+	}
+
+	@Benchmark
+	public String implementedMethod() {
+		return proxy.getGreeting();
+	}
+
+	@Benchmark
+	public String defaultMethod() {
+		return proxy.getFarewell();
+	}
+
+	public interface Farewell {
+
+		default String getFarewell() {
+			return "Bye";
+		}
+
+	}
+
+	public static abstract class BenchmarkBean implements Farewell {
+
+		public abstract String getName();
+
+		public abstract void setName(String name);
+
+		public abstract int getAge();
+
+		public abstract void setAge(int age);
+
+		public String getGreeting() {
+			return "Hello";
+		}
+
+	}
+
+}
@@ -8,8 +8,10 @@ import one.edee.oss.proxycian.trait.delegate.DelegateCallsAdvice;
 import org.junit.jupiter.api.Test;
 
 import java.io.Serializable;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -60,6 +62,82 @@ public class DelegateCallsAdviceTest extends AbstractByteBuddyProxycianTest {
 		assertEquals("Jan Novotný of age 43", ((PersonInterface)theInstance).getPersonDescription());
 	}
 
+	@Test
+	public void ByteBuddyProxyRecipeGenerator_DirectDelegateCalls() {
+		final Object theInstance = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				DelegateCallsAdvice.getDirectInstance(NameImplementation.class)
+			),
+			new NameImplementation()
+		);
+
+		assertTrue(theInstance instanceof NameInterface);
+		final NameInterface proxy = (NameInterface) theInstance;
+
+		proxy.setFirstName("Jan");
+		proxy.setLastName("Novotný");
+		assertEquals("Jan Novotný", proxy.getFullName());
+		// DELEGATE IS CALLED DIRECTLY FROM THE PROXY CLASS
+		assertEquals(theInstance.getClass().getName(), proxy.getCallerClassName());
+	}
+
+	@Test
+	public void ByteBuddyProxyRecipeGenerator_DirectDelegateCallsOnSubProperty() {
+		final Function<Object, Object> nameAccessor = o -> ((CompositionState) o).getNameHolder();
+		final Function<Object, Object> ageAccessor = o -> ((CompositionState) o).getAgeHolder();
+		final Object theInstance = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				DelegateCallsAdvice.getDirectInstance(NameInterface.class, nameAccessor),
+				DelegateCallsAdvice.getDirectInstance(AgeInterface.class, ageAccessor),
+				DelegateCallsAdvice.getDirectInstance(PersonInterface.class)
+			),
+			new CompositionState()
+		);
+
+		assertTrue(theInstance instanceof NameInterface);
+		final NameInterface nameProxyContract = (NameInterface) theInstance;
+		nameProxyContract.setFirstName("Jan");
+		nameProxyContract.setLastName("Novotný");
+		assertEquals(theInstance.getClass().getName(), nameProxyContract.getCallerClassName());
+
+		assertTrue(theInstance instanceof AgeInterface);
+		final AgeInterface ageProxyContract = (AgeInterface) theInstance;
+		ageProxyContract.setAge(43);
+
+		assertTrue(theInstance instanceof PersonInterface);
+		assertEquals("Jan Novotný of age 43", ((PersonInterface)theInstance).getPersonDescription());
+
+		// EQUAL RECIPE SHARES THE PROXY CLASS
+		final Object anotherInstance = ByteBuddyProxyGenerator.instantiate(
+			new ProxyRecipe(
+				DelegateCallsAdvice.getDirectInstance(NameInterface.class, nameAccessor),
+				DelegateCallsAdvice.getDirectInstance(AgeInterface.class, ageAccessor),
+				DelegateCallsAdvice.getDirectInstance(PersonInterface.class)
+			),
+			new CompositionState()
+		);
+		assertSame(theInstance.getClass(), anotherInstance.getClass());
+		assertEquals("null null of age 0", ((PersonInterface) anotherInstance).getPersonDescription());
+	}
+
+	@Test
+	public void ByteBuddyProxyRecipeGenerator_DelegateCallsOnSubPropertyOfVaryingClass() {
+		final ProxyRecipe recipe = new ProxyRecipe(
+			DelegateCallsAdvice.getInstance(AgeInterface.class, o -> ((VaryingCompositionState) o).getAgeHolder())
+		);
+		final AgeInterface first = (AgeInterface) ByteBuddyProxyGenerator.instantiate(
+			recipe, new VaryingCompositionState(new AgeImplementation())
+		);
+		final AgeInterface second = (AgeInterface) ByteBuddyProxyGenerator.instantiate(
+			recipe, new VaryingCompositionState(new DoublingAgeImplementation())
+		);
+
+		first.setAge(20);
+		second.setAge(20);
+		assertEquals(20, first.getAge());
+		assertEquals(40, second.getAge());
+	}
+
 	public interface NameInterface {
 
 		String getFullName();
@@ -70,6 +148,8 @@ public class DelegateCallsAdviceTest extends AbstractByteBuddyProxycianTest {
 		void setFirstName(String firstName);
 		void setLastName(String lastName);
 
+		String getCallerClassName();
+
 	}
 
 	@Data
@@ -82,6 +162,11 @@ public class DelegateCallsAdviceTest extends AbstractByteBuddyProxycianTest {
 			return firstName + " " + lastName;
 		}
 
+		@Override
+		public String getCallerClassName() {
+			return new Throwable().getStackTrace()[1].getClassName();
+		}
+
 	}
 
 	public interface AgeInterface {
@@ -97,6 +182,23 @@ public class DelegateCallsAdviceTest extends AbstractByteBuddyProxycianTest {
 		private int age;
 	}
 
+	@Data
+	public static class DoublingAgeImplementation implements Serializable, AgeInterface {
+		private static final long serialVersionUID = 3591836395735870357L;
+		private int age;
+
+		@Override
+		public int getAge() {
+			return age * 2;
+		}
+	}
+
+	@Data
+	public static class VaryingCompositionState implements Serializable {
+		private static final long serialVersionUID = -6190427815836391040L;
+		private final AgeInterface ageHolder;
+	}
+
 	public interface PersonInterface {
 
 		String getPersonDescription();
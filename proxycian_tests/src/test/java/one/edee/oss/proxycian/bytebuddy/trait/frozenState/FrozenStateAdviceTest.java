@@ -0,0 +1,210 @@
+package one.edee.oss.proxycian.bytebuddy.trait.frozenState;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.bytebuddy.AbstractByteBuddyProxycianTest;
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import one.edee.oss.proxycian.trait.frozenState.FrozenState;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of {@link FrozenStateAdvice} - ByteBuddy proxy keeps the frozen flag and the cached hash
+ * code in the fields of the proxy class and guards its state changing methods itself.
+ */
+public class FrozenStateAdviceTest extends AbstractByteBuddyProxycianTest {
+	private static final ProxyRecipe RECIPE = new ProxyRecipe(
+		new Class[] {Person.class},
+		// FROZEN STATE ADVICE MUST PRECEDE THE BEAN MEMORY STORE THAT WOULD HANDLE isFrozen() AS A GETTER
+		new Advice[] {FrozenStateAdvice.INSTANCE, BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+	);
+	private static final ProxyRecipe FIELD_BACKED_RECIPE = new ProxyRecipe(
+		new Class[] {Person.class},
+		new Advice[] {FrozenStateAdvice.INSTANCE, BeanMemoryStoreAdvice.FIELD_BACKED_INSTANCE}
+	);
+
+	@Test
+	public void shouldRejectChangesOfFrozenProxy() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final GenericBucket state = new GenericBucket();
+			final Person proxy = ByteBuddyProxyGenerator.instantiateSerializable(RECIPE.withDispatchMode(dispatchMode), state);
+			proxy.setName("Jan");
+			assertFalse(proxy.isFrozen());
+
+			proxy.freeze();
+
+			assertTrue(proxy.isFrozen(), dispatchMode.name());
+			assertTrue(state.isFrozen(), dispatchMode.name());
+			assertThrows(IllegalStateException.class, () -> proxy.setName("Pavel"), dispatchMode.name());
+			assertEquals("Jan", proxy.getName());
+		}
+	}
+
+	@Test
+	public void shouldRejectChangesOfFrozenProxyEvenIfStateAcceptsThem() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final UnguardedBucket state = new UnguardedBucket();
+			final Person proxy = ByteBuddyProxyGenerator.instantiate(RECIPE.withDispatchMode(dispatchMode), state);
+			proxy.setName("Jan");
+
+			proxy.freeze();
+
+			assertTrue(state.isFrozen(), dispatchMode.name());
+			assertThrows(IllegalStateException.class, () -> proxy.setName("Pavel"), dispatchMode.name());
+			assertEquals("Jan", proxy.getName());
+		}
+	}
+
+	@Test
+	public void shouldRejectChangesOfFieldBackedPropertiesOfFrozenProxy() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final Person proxy = ByteBuddyProxyGenerator.instantiate(FIELD_BACKED_RECIPE.withDispatchMode(dispatchMode), new UnguardedBucket());
+			// THE PROPERTY NEVER REACHES THE STATE
+			assertEquals(String.class, proxy.getClass().getDeclaredField("property$name").getType());
+			proxy.setName("Jan");
+
+			proxy.freeze();
+
+			assertTrue(proxy.isFrozen(), dispatchMode.name());
+			assertThrows(IllegalStateException.class, () -> proxy.setName("Pavel"), dispatchMode.name());
+			assertEquals("Jan", proxy.getName());
+		}
+	}
+
+	@Test
+	public void shouldKeepHashCodeOfFrozenProxy() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = RECIPE.withDispatchMode(dispatchMode);
+			final Person proxy = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket());
+			proxy.setName("Jan");
+			final int hashCode = proxy.hashCode();
+			proxy.freeze();
+
+			final Set<Person> proxies = new HashSet<>();
+			proxies.add(proxy);
+			assertEquals(hashCode, proxy.hashCode());
+			assertTrue(proxies.contains(proxy));
+
+			final Person sameProxy = ByteBuddyProxyGenerator.instantiateSerializable(recipe, new GenericBucket());
+			sameProxy.setName("Jan");
+			assertTrue(proxies.contains(sameProxy));
+		}
+	}
+
+	@Test
+	public void shouldCacheHashCodeOfFrozenProxy() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final UnguardedBucket state = new UnguardedBucket();
+			final Person proxy = ByteBuddyProxyGenerator.instantiate(RECIPE.withDispatchMode(dispatchMode), state);
+			assertEquals(int.class, proxy.getClass().getDeclaredField(ByteBuddyProxyGenerator.FROZEN_HASH_CODE_FIELD).getType());
+			proxy.setName("Jan");
+			proxy.freeze();
+			final int hashCode = proxy.hashCode();
+			final int hashCodeComputations = state.getHashCodeComputations();
+
+			// THE STATE IS NOT ASKED AGAIN - EVEN IF IT CHANGES BEHIND THE BACK OF THE PROXY
+			state.set("name", "Pavel");
+			assertEquals(hashCode, proxy.hashCode(), dispatchMode.name());
+			assertEquals(hashCodeComputations, state.getHashCodeComputations(), dispatchMode.name());
+		}
+	}
+
+	@Test
+	public void shouldRejectCollectionChangesOfFrozenProxy() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final Person proxy = ByteBuddyProxyGenerator.instantiate(RECIPE.withDispatchMode(dispatchMode), new UnguardedBucket());
+			proxy.addTag("new");
+			proxy.addTag("cheap");
+			assertTrue(proxy.removeTag("cheap"));
+
+			proxy.freeze();
+
+			assertThrows(IllegalStateException.class, () -> proxy.addTag("old"), dispatchMode.name());
+			assertThrows(IllegalStateException.class, () -> proxy.removeTag("new"), dispatchMode.name());
+			assertEquals(Collections.singletonList("new"), proxy.getTags());
+		}
+	}
+
+	@Test
+	public void shouldComputeHashCodeOfFrozenProxyFromFieldBackedProperties() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = FIELD_BACKED_RECIPE.withDispatchMode(dispatchMode);
+			// STATES ARE EQUAL - ONLY THE FIELD BACKED PROPERTIES DIFFER
+			final Person proxy = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket());
+			final Person otherProxy = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket());
+			proxy.addTag("new");
+			otherProxy.addTag("new");
+			proxy.setName("Jan");
+			otherProxy.setName("Pavel");
+			final int hashCode = proxy.hashCode();
+			assertNotEquals(hashCode, otherProxy.hashCode(), dispatchMode.name());
+
+			proxy.freeze();
+			otherProxy.freeze();
+
+			assertEquals(hashCode, proxy.hashCode(), dispatchMode.name());
+			assertNotEquals(proxy, otherProxy, dispatchMode.name());
+			assertNotEquals(proxy.hashCode(), otherProxy.hashCode(), dispatchMode.name());
+		}
+	}
+
+	public interface Person extends FrozenState {
+
+		String getName();
+
+		void setName(String name);
+
+		List<String> getTags();
+
+		void addTag(String tag);
+
+		boolean removeTag(String tag);
+
+	}
+
+	/**
+	 * State that neither rejects changes nor caches its hash code once it's frozen.
+	 */
+	public static class UnguardedBucket extends GenericBucket {
+		private static final long serialVersionUID = -5178204566738931045L;
+		private boolean frozen;
+		private int hashCodeComputations;
+
+		@Override
+		public void freeze() {
+			this.frozen = true;
+		}
+
+		@Override
+		public boolean isFrozen() {
+			return frozen;
+		}
+
+		public int getHashCodeComputations() {
+			return hashCodeComputations;
+		}
+
+		@Override
+		public int hashCode() {
+			hashCodeComputations++;
+			return Objects.hashCode(getLocalDataStoreIfPresent());
+		}
+
+	}
+
+}
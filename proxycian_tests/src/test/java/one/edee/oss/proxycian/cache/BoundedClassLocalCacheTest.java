@@ -0,0 +1,130 @@
+package one.edee.oss.proxycian.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test verifies contract of {@link BoundedClassLocalCache}.
+ */
+public class BoundedClassLocalCacheTest {
+
+	@Test
+	public void shouldEvictLeastRecentlyUsedEntries() {
+		final BoundedClassLocalCache<String, String> cache = new BoundedClassLocalCache<>(key -> String.class);
+		cache.configure(10, EvictionPolicy.LRU);
+		for (int i = 0; i < 10; i++) {
+			cache.put(String.valueOf(i), "value" + i);
+		}
+		assertEquals(10, cache.size());
+
+		// TOUCH THE OLDEST ENTRY SO THAT IT'S NOT EVICTED
+		assertEquals("value0", cache.get("0"));
+		cache.put("10", "value10");
+
+		// CACHE EVICTS DOWN TO 90% OF ITS MAXIMUM SIZE
+		assertEquals(9, cache.size());
+		assertNotNull(cache.get("0"));
+		assertNull(cache.get("1"));
+		assertNull(cache.get("2"));
+		assertNotNull(cache.get("10"));
+	}
+
+	@Test
+	public void shouldEvictLeastFrequentlyUsedEntries() {
+		final BoundedClassLocalCache<String, String> cache = new BoundedClassLocalCache<>(key -> String.class);
+		cache.configure(10, EvictionPolicy.LFU);
+		for (int i = 0; i < 10; i++) {
+			cache.put(String.valueOf(i), "value" + i);
+		}
+		for (int i = 5; i < 10; i++) {
+			cache.get(String.valueOf(i));
+		}
+		cache.get("2");
+		cache.put("10", "value10");
+
+		assertEquals(9, cache.size());
+		assertNull(cache.get("0"));
+		assertNull(cache.get("1"));
+		assertNotNull(cache.get("2"));
+		assertNotNull(cache.get("3"));
+		assertNotNull(cache.get("10"));
+	}
+
+	@Test
+	public void shouldInvalidateSingleOwnerClass() {
+		final BoundedClassLocalCache<Class<?>, String> cache = new BoundedClassLocalCache<>(key -> key);
+		cache.put(Integer.class, "integer");
+		cache.put(Long.class, "long");
+		cache.put(Short.class, "short");
+
+		cache.invalidate(Integer.class);
+		assertNull(cache.get(Integer.class));
+		assertEquals("long", cache.get(Long.class));
+
+		cache.invalidate(key -> key == Long.class);
+		assertNull(cache.get(Long.class));
+		assertEquals("short", cache.get(Short.class));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void shouldComputeValueOnlyOnceForConcurrentMisses() throws Exception {
+		final BoundedClassLocalCache<String, String> cache = new BoundedClassLocalCache<>(key -> String.class);
+		final AtomicInteger computationCount = new AtomicInteger();
+		final CountDownLatch releaseComputation = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			@SuppressWarnings("unchecked") final Future<String>[] results = new Future[8];
+			for (int i = 0; i < results.length; i++) {
+				results[i] = executor.submit(() -> cache.computeIfAbsent("key", key -> {
+					computationCount.incrementAndGet();
+					await(releaseComputation);
+					return "value";
+				}));
+			}
+			releaseComputation.countDown();
+			for (Future<String> result : results) {
+				assertEquals("value", result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, computationCount.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldRetryComputationAfterFailure() {
+		final BoundedClassLocalCache<String, String> cache = new BoundedClassLocalCache<>(key -> String.class);
+		assertThrows(
+			IllegalStateException.class,
+			() -> cache.computeIfAbsent("key", key -> {
+				throw new IllegalStateException("Computation failed!");
+			})
+		);
+		assertNull(cache.get("key"));
+		assertEquals("value", cache.computeIfAbsent("key", key -> "value"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Latch was not released in time!");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+package one.edee.oss.proxycian.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of {@link GeneratedClassCache}.
+ */
+public class GeneratedClassCacheTest {
+
+	@Test
+	public void shouldNotBlockUnrelatedKeysWhileGenerating() throws Exception {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		final CountDownLatch generationStarted = new CountDownLatch(1);
+		final CountDownLatch releaseGeneration = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<Class<?>> slowClass = executor.submit(() -> cache.getOrCreate(Object.class, null, "slow", () -> {
+				generationStarted.countDown();
+				await(releaseGeneration);
+				return String.class;
+			}));
+			assertTrue(generationStarted.await(5, TimeUnit.SECONDS));
+
+			// UNRELATED KEY IS SERVED WHILE THE OTHER ONE IS STILL BEING GENERATED
+			final Future<Class<?>> fastClass = executor.submit(() -> cache.getOrCreate(Object.class, null, "fast", () -> Integer.class));
+			assertSame(Integer.class, fastClass.get(5, TimeUnit.SECONDS));
+			assertFalse(slowClass.isDone());
+
+			releaseGeneration.countDown();
+			assertSame(String.class, slowClass.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldGenerateClassOnlyOnceForConcurrentRequests() throws Exception {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		final AtomicInteger generationCount = new AtomicInteger();
+		final CountDownLatch releaseGeneration = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			@SuppressWarnings("unchecked") final Future<Class<?>>[] results = new Future[8];
+			for (int i = 0; i < results.length; i++) {
+				results[i] = executor.submit(() -> cache.getOrCreate(Object.class, null, "key", () -> {
+					generationCount.incrementAndGet();
+					await(releaseGeneration);
+					return String.class;
+				}));
+			}
+			releaseGeneration.countDown();
+			for (Future<Class<?>> result : results) {
+				assertSame(String.class, result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, generationCount.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldRetryGenerationAfterFailure() {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		final IllegalStateException exception = assertThrows(
+			IllegalStateException.class,
+			() -> cache.getOrCreate(Object.class, null, "key", () -> {
+				throw new IllegalStateException("Generation failed!");
+			})
+		);
+		assertEquals("Generation failed!", exception.getMessage());
+		assertSame(String.class, cache.getOrCreate(Object.class, null, "key", () -> String.class));
+	}
+
+	@Test
+	public void shouldFailOnRecursiveGenerationOfTheSameKey() {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		assertThrows(
+			IllegalStateException.class,
+			() -> cache.getOrCreate(Object.class, null, "key", () -> cache.getOrCreate(Object.class, null, "key", () -> String.class))
+		);
+		assertSame(Integer.class, cache.getOrCreate(Object.class, null, "key", () -> Integer.class));
+	}
+
+	@Test
+	public void shouldShareAsynchronousGenerationWithSynchronousRequests() throws Exception {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		final AtomicInteger generationCount = new AtomicInteger();
+		final CountDownLatch releaseGeneration = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final CompletableFuture<Class<?>> first = cache.getOrCreateAsync(Object.class, null, "key", () -> {
+				generationCount.incrementAndGet();
+				await(releaseGeneration);
+				return String.class;
+			}, executor);
+			final CompletableFuture<Class<?>> second = cache.getOrCreateAsync(Object.class, null, "key", () -> {
+				generationCount.incrementAndGet();
+				return Integer.class;
+			}, executor);
+			final Future<Class<?>> synchronous = executor.submit(() -> cache.getOrCreate(Object.class, null, "key", () -> Integer.class));
+			assertFalse(first.isDone());
+
+			releaseGeneration.countDown();
+			assertSame(String.class, first.get(5, TimeUnit.SECONDS));
+			assertSame(String.class, second.get(5, TimeUnit.SECONDS));
+			assertSame(String.class, synchronous.get(5, TimeUnit.SECONDS));
+			assertEquals(1, generationCount.get());
+			// ALREADY GENERATED CLASS IS RETURNED IN COMPLETED FUTURE
+			assertTrue(cache.getOrCreateAsync(Object.class, null, "key", () -> Integer.class, executor).isDone());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldRetryAsynchronousGenerationAfterFailure() throws Exception {
+		final GeneratedClassCache<String> cache = new GeneratedClassCache<>();
+		final CompletableFuture<Class<?>> failed = cache.getOrCreateAsync(Object.class, null, "key", () -> {
+			throw new IllegalStateException("Generation failed!");
+		}, Runnable::run);
+		final ExecutionException exception = assertThrows(ExecutionException.class, failed::get);
+		assertEquals("Generation failed!", exception.getCause().getMessage());
+		assertSame(String.class, cache.getOrCreateAsync(Object.class, null, "key", () -> String.class, Runnable::run).get());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Latch was not released in time!");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package one.edee.oss.proxycian.cache;
+
+import one.edee.oss.proxycian.cache.PersistentClassCache.CachedClasses;
+import one.edee.oss.proxycian.model.traits.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * This test verifies contract of {@link PersistentClassCache}.
+ */
+public class PersistentClassCacheTest {
+	private static final byte[] BYTES = {1, 2, 3};
+
+	@Test
+	public void shouldLoadStoredClasses(@TempDir File directory) throws IOException {
+		final PersistentClassCache cache = new PersistentClassCache(directory, "test");
+		cache.store("key", new CachedClasses("a.B", BYTES), Person.class);
+
+		final CachedClasses cachedClasses = new PersistentClassCache(directory, "test").load("key", Person.class);
+		assertNotNull(cachedClasses);
+		assertEquals("a.B", cachedClasses.getClassName());
+		assertArrayEquals(BYTES, cachedClasses.getClasses().get("a.B"));
+		assertEquals(Collections.emptyMap(), cachedClasses.getAttributes());
+	}
+
+	@Test
+	public void shouldRejectEntryOfDifferentBackendOrInputClasses(@TempDir File directory) throws IOException {
+		final PersistentClassCache cache = new PersistentClassCache(directory, "test");
+		cache.store("key", new CachedClasses("a.B", BYTES), Person.class);
+
+		assertNull(cache.load("missing", Person.class));
+		assertNull(new PersistentClassCache(directory, "other").load("key", Person.class));
+		assertNull(cache.load("key", Person.class, Comparable.class));
+	}
+
+	@Test
+	public void shouldRejectEntryWhenInputClassChanges(@TempDir File directory) throws Exception {
+		final PersistentClassCache cache = new PersistentClassCache(directory, "test");
+		cache.store("key", new CachedClasses("a.B", BYTES), Person.class);
+
+		// SAME CLASS WITH DIFFERENT CLASS FILE - AS IF IT WAS RECOMPILED BETWEEN JVM RESTARTS
+		final Class<?> changedPerson = new ChangedClassLoader().loadClass(Person.class.getName());
+		assertNull(cache.load("key", changedPerson));
+		assertNotNull(cache.load("key", Person.class));
+	}
+
+	@Test
+	public void shouldIgnoreCorruptedEntry(@TempDir File directory) throws IOException {
+		final PersistentClassCache cache = new PersistentClassCache(directory, "test");
+		cache.store("key", new CachedClasses("a.B", BYTES), Person.class);
+		final File entry = new File(directory, "key.proxy");
+		final byte[] content = Files.readAllBytes(entry.toPath());
+		Files.write(entry.toPath(), Arrays.copyOf(content, content.length - 2));
+
+		assertNull(cache.load("key", Person.class));
+	}
+
+	/**
+	 * Class loader that defines its own copy of {@link Person} but reports its class file with extra byte appended.
+	 */
+	private static class ChangedClassLoader extends ClassLoader {
+		private static final String RESOURCE_NAME = Person.class.getName().replace('.', '/') + ".class";
+
+		ChangedClassLoader() {
+			super(PersistentClassCacheTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!Person.class.getName().equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				try {
+					final byte[] bytes = readOriginal();
+					return defineClass(name, bytes, 0, bytes.length);
+				} catch (IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+		}
+
+		@Override
+		public InputStream getResourceAsStream(String name) {
+			if (!RESOURCE_NAME.equals(name)) {
+				return super.getResourceAsStream(name);
+			}
+			try {
+				final byte[] original = readOriginal();
+				final byte[] changed = Arrays.copyOf(original, original.length + 1);
+				return new ByteArrayInputStream(changed);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		private byte[] readOriginal() throws IOException {
+			try (final InputStream is = getParent().getResourceAsStream(RESOURCE_NAME)) {
+				final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[4096];
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					bytes.write(buffer, 0, read);
+				}
+				return bytes.toByteArray();
+			}
+		}
+
+	}
+
+}
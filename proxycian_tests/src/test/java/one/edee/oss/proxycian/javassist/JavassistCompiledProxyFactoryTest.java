@@ -0,0 +1,114 @@
+package one.edee.oss.proxycian.javassist;
+
+import one.edee.oss.proxycian.CompiledProxyFactory;
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.javassist.JavassistClassWithInnerStateTest.ParentWithParametrizedConstructor;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStore;
+import one.edee.oss.proxycian.trait.localDataStore.LocalDataStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that the factory compiled from the recipe creates the same proxies as the generator does.
+ */
+public class JavassistCompiledProxyFactoryTest extends AbstractJavassistProxycianTest {
+
+	@Test
+	public void shouldCreateProxiesOfCompiledRecipe() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE).withDispatchMode(dispatchMode);
+			final CompiledProxyFactory<LocalDataStore> factory = JavassistProxyGenerator.compileSerializable(recipe);
+
+			final LocalDataStore first = factory.instantiate(new GenericBucket());
+			final LocalDataStore second = factory.instantiate(new GenericBucket());
+			first.setLocalData("a", 1);
+			second.setLocalData(new BigDecimal("56.0"));
+
+			assertSame(first.getClass(), second.getClass());
+			assertSame(first.getClass(), JavassistProxyGenerator.<LocalDataStore>instantiateSerializable(recipe, new GenericBucket()).getClass());
+			assertEquals(Integer.valueOf(1), first.getLocalData("a"));
+			assertNull(second.getLocalData("a"));
+			assertEquals(new BigDecimal("56.0"), second.getLocalData(BigDecimal.class));
+		}
+	}
+
+	@Test
+	public void shouldCreateProxiesWithConstructorArguments() {
+		final CompiledProxyFactory<ParentWithParametrizedConstructor> factory = JavassistProxyGenerator.compile(
+			new ProxyRecipe(
+				new Class[]{ParentWithParametrizedConstructor.class},
+				new Advice[]{LocalDataStoreAdvice.INSTANCE},
+				(proxy, proxyState) -> ((ParentWithParametrizedConstructor) proxy).setInitialized(true)
+			),
+			new Class[]{String.class, int.class}
+		);
+
+		final ParentWithParametrizedConstructor theInstance = factory.instantiate(new GenericBucket(), new Object[]{"Me, myself and I", 42});
+		assertTrue(theInstance instanceof LocalDataStore);
+		assertEquals("Me, myself and I", theInstance.getStringField());
+		assertEquals(42, theInstance.getIntField());
+		assertTrue(theInstance.isInitialized());
+	}
+
+	@Test
+	public void shouldCreateProxiesInBulk() {
+		final ProxyRecipe recipe = new ProxyRecipe(LocalDataStoreAdvice.INSTANCE);
+		// LARGE ENOUGH TO BE CREATED IN PARALLEL
+		final GenericBucket[] states = new GenericBucket[CompiledProxyFactory.PARALLEL_THRESHOLD + 1];
+		for (int i = 0; i < states.length; i++) {
+			states[i] = new GenericBucket();
+		}
+
+		final LocalDataStore[] fromArray = JavassistProxyGenerator.instantiateAllSerializable(recipe, states, LocalDataStore[]::new);
+		final LocalDataStore[] fromList = JavassistProxyGenerator.instantiateAllSerializable(recipe, Arrays.asList(states), LocalDataStore[]::new);
+		final LocalDataStore[] fromStream = JavassistProxyGenerator.instantiateAllSerializable(recipe, Arrays.stream(states).parallel(), LocalDataStore[]::new);
+		for (LocalDataStore[] proxies : new LocalDataStore[][]{fromArray, fromList, fromStream}) {
+			assertEquals(states.length, proxies.length);
+			for (int i = 0; i < proxies.length; i++) {
+				assertSame(states[i], ((ProxyStateAccessor) proxies[i]).getProxyState());
+			}
+		}
+		fromArray[0].setLocalData("a", 1);
+		assertEquals(Integer.valueOf(1), fromList[0].getLocalData("a"));
+		assertNull(fromArray[1].getLocalData("a"));
+	}
+
+	@Test
+	public void shouldCreateProxiesWithConstructorArgumentsInBulk() {
+		final ParentWithParametrizedConstructor[] proxies = JavassistProxyGenerator.<ParentWithParametrizedConstructor>instantiateAll(
+			new ProxyRecipe(
+				new Class[]{ParentWithParametrizedConstructor.class},
+				new Advice[]{LocalDataStoreAdvice.INSTANCE}
+			),
+			new Object[]{new GenericBucket(), new GenericBucket()},
+			new Class[]{String.class, int.class},
+			new Object[][]{{"first", 1}, {"second", 2}},
+			ParentWithParametrizedConstructor[]::new
+		);
+		assertEquals("first", proxies[0].getStringField());
+		assertEquals(1, proxies[0].getIntField());
+		assertEquals("second", proxies[1].getStringField());
+		assertEquals(2, proxies[1].getIntField());
+	}
+
+	@Test
+	public void shouldRejectIncompatibleProxyState() {
+		final CompiledProxyFactory<LocalDataStore> factory = JavassistProxyGenerator.compileSerializable(new ProxyRecipe(LocalDataStoreAdvice.INSTANCE));
+		assertThrows(IllegalArgumentException.class, () -> factory.instantiate(new Object()));
+		// FACTORY IS STILL USABLE FOR THE COMPATIBLE STATE
+		factory.instantiate(new GenericBucket()).setLocalData("a", 1);
+	}
+
+}
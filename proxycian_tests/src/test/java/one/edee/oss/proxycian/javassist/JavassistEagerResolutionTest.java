@@ -0,0 +1,71 @@
+package one.edee.oss.proxycian.javassist;
+
+import one.edee.oss.proxycian.DispatchMode;
+import one.edee.oss.proxycian.javassist.trait.beanMemoryStore.BeanMemoryStoreAdviceTest.SomeJavaBeanIface;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that {@link ProxyRecipe#withEagerResolution()} resolves all method classifications when the proxy
+ * is instantiated and reports methods without implementation immediately.
+ */
+public class JavassistEagerResolutionTest extends AbstractJavassistProxycianTest {
+
+	@Test
+	public void shouldResolveClassificationsBeforeFirstCall() {
+		final SomeJavaBeanIface proxy = JavassistProxyGenerator.instantiateSerializable(
+			createRecipe(SomeJavaBeanIface.class, DispatchMode.CLASSIFICATION_CACHE),
+			new GenericBucket()
+		);
+
+		assertFalse(JavassistProxyGenerator.CLASSIFICATION_CACHE.isEmpty());
+		final int resolvedMethods = JavassistProxyGenerator.CLASSIFICATION_CACHE.size();
+
+		proxy.setName("Jan Novotný");
+		proxy.setAge((byte) 43);
+		assertEquals("Jan Novotný (43)", proxy.print());
+		assertEquals(resolvedMethods, JavassistProxyGenerator.CLASSIFICATION_CACHE.size());
+	}
+
+	@Test
+	public void shouldFailFastWhenMethodHasNoImplementation() {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			final IllegalStateException exception = assertThrows(
+				IllegalStateException.class,
+				() -> JavassistProxyGenerator.instantiateSerializable(
+					createRecipe(IncompleteJavaBean.class, dispatchMode),
+					new GenericBucket()
+				)
+			);
+			assertTrue(exception.getMessage().contains("calculate"), exception.getMessage());
+		}
+	}
+
+	private static ProxyRecipe createRecipe(Class<?> iface, DispatchMode dispatchMode) {
+		return new ProxyRecipe(
+			new Class[]{iface},
+			new Advice[]{BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+		).withDispatchMode(dispatchMode).withEagerResolution();
+	}
+
+	public interface IncompleteJavaBean extends Serializable {
+
+		String getName();
+
+		void setName(String name);
+
+		int calculate();
+
+	}
+
+}
@@ -0,0 +1,108 @@
+package one.edee.oss.proxycian.javassist;
+
+import one.edee.oss.proxycian.model.composite.CustomizedPersonAbstract;
+import one.edee.oss.proxycian.model.traits.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * This test verifies that byte-code of the generated classes is stored in the persistent cache and defined from it
+ * on the next start instead of being generated again.
+ */
+public class JavassistPersistentClassCacheTest extends AbstractJavassistProxycianTest {
+
+	@AfterEach
+	void tearDown() {
+		JavassistProxyGenerator.configurePersistentClassCache(null);
+	}
+
+	@Test
+	public void shouldDefineClassesFromPersistentCache(@TempDir File directory) throws Exception {
+		JavassistProxyGenerator.configurePersistentClassCache(directory);
+		// FIRST START GENERATES THE CLASS AND STORES IT
+		final Class<?> generatedClass = getProxyClassInModule();
+		final File[] entries = Objects.requireNonNull(directory.listFiles());
+		assertEquals(1, entries.length);
+		entries[0].setLastModified(1000L);
+
+		// NEXT START (SIMULATED BY THE NEW CLASS LOADER) DEFINES THE STORED CLASS
+		final Class<?> cachedClass = getProxyClassInModule();
+		assertNotSame(generatedClass, cachedClass);
+		assertEquals(generatedClass.getName(), cachedClass.getName());
+		assertEquals(1000L, entries[0].lastModified(), "Class was generated again!");
+		assertEquals(
+			JavassistProxyGenerator.getProxiedMethods(generatedClass).length,
+			JavassistProxyGenerator.getProxiedMethods(cachedClass).length
+		);
+	}
+
+	@Test
+	public void shouldReuseDefinedClassAfterClassCacheIsCleared(@TempDir File directory) {
+		JavassistProxyGenerator.configurePersistentClassCache(directory);
+		final Class<?> proxyClass = JavassistProxyGenerator.getProxyClass(Person.class);
+		JavassistProxyGenerator.clearClassCache();
+		assertSame(proxyClass, JavassistProxyGenerator.getProxyClass(Person.class));
+	}
+
+	/**
+	 * Returns the proxy class of the abstract class defined in the new class loader - Javassist defines the proxy class
+	 * in the class loader of the extended class.
+	 */
+	private static Class<?> getProxyClassInModule() throws ClassNotFoundException {
+		final ModuleClassLoader module = new ModuleClassLoader();
+		final Class<?> abstractClass = module.loadClass(CustomizedPersonAbstract.class.getName());
+		final Class<?> proxyClass = JavassistProxyGenerator.getProxyClass(abstractClass);
+		assertSame(module, proxyClass.getClassLoader());
+		assertSame(abstractClass, proxyClass.getSuperclass());
+		return proxyClass;
+	}
+
+	/**
+	 * Class loader that defines its own copy of {@link CustomizedPersonAbstract} the same way the class loader
+	 * of redeployable module would do.
+	 */
+	private static class ModuleClassLoader extends ClassLoader {
+
+		ModuleClassLoader() {
+			super(JavassistPersistentClassCacheTest.class.getClassLoader());
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!CustomizedPersonAbstract.class.getName().equals(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loadedClass = findLoadedClass(name);
+				if (loadedClass != null) {
+					return loadedClass;
+				}
+				final String resourceName = name.replace('.', '/') + ".class";
+				try (final InputStream is = getParent().getResourceAsStream(resourceName)) {
+					final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					final byte[] buffer = new byte[4096];
+					int read;
+					while ((read = is.read(buffer)) != -1) {
+						bytes.write(buffer, 0, read);
+					}
+					return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+				} catch (IOException e) {
+					throw new ClassNotFoundException(name, e);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,154 @@
+package one.edee.oss.proxycian.javassist.trait.frozenState;
+
+import one.edee.oss.proxycian.javassist.AbstractJavassistProxycianTest;
+import one.edee.oss.proxycian.javassist.JavassistProxyGenerator;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.recipe.Advice;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStoreAdvice;
+import one.edee.oss.proxycian.trait.frozenState.FrozenState;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateAdvice;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of {@link FrozenStateAdvice} - Javassist proxy keeps the frozen flag and the cached hash
+ * code in its per-proxy method handler, which also guards the state changing methods of the proxy.
+ */
+public class FrozenStateAdviceTest extends AbstractJavassistProxycianTest {
+	private static final ProxyRecipe RECIPE = new ProxyRecipe(
+		new Class[] {Person.class},
+		// FROZEN STATE ADVICE MUST PRECEDE THE BEAN MEMORY STORE THAT WOULD HANDLE isFrozen() AS A GETTER
+		new Advice[] {FrozenStateAdvice.INSTANCE, BeanMemoryStoreAdvice.ABSTRACT_METHOD_INSTANCE}
+	);
+
+	@Test
+	public void shouldRejectChangesOfFrozenProxy() {
+		final GenericBucket state = new GenericBucket();
+		final Person proxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, state);
+		proxy.setName("Jan");
+		assertFalse(proxy.isFrozen());
+
+		proxy.freeze();
+
+		assertTrue(proxy.isFrozen());
+		assertTrue(state.isFrozen());
+		assertThrows(IllegalStateException.class, () -> proxy.setName("Pavel"));
+		assertEquals("Jan", proxy.getName());
+	}
+
+	@Test
+	public void shouldRejectChangesOfFrozenProxyEvenIfStateAcceptsThem() {
+		final UnguardedBucket state = new UnguardedBucket();
+		final Person proxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, state);
+		proxy.setName("Jan");
+
+		proxy.freeze();
+
+		assertTrue(proxy.isFrozen());
+		assertTrue(state.isFrozen());
+		assertThrows(IllegalStateException.class, () -> proxy.setName("Pavel"));
+		assertEquals("Jan", proxy.getName());
+	}
+
+	@Test
+	public void shouldKeepHashCodeOfFrozenProxy() {
+		final Person proxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, new GenericBucket());
+		proxy.setName("Jan");
+		final int hashCode = proxy.hashCode();
+		proxy.freeze();
+
+		final Set<Person> proxies = new HashSet<>();
+		proxies.add(proxy);
+		assertEquals(hashCode, proxy.hashCode());
+		assertTrue(proxies.contains(proxy));
+
+		final Person sameProxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, new GenericBucket());
+		sameProxy.setName("Jan");
+		assertTrue(proxies.contains(sameProxy));
+	}
+
+	@Test
+	public void shouldCacheHashCodeOfFrozenProxy() {
+		final UnguardedBucket state = new UnguardedBucket();
+		final Person proxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, state);
+		proxy.setName("Jan");
+		proxy.freeze();
+		final int hashCode = proxy.hashCode();
+		final int hashCodeComputations = state.getHashCodeComputations();
+
+		// THE STATE IS NOT ASKED AGAIN - EVEN IF IT CHANGES BEHIND THE BACK OF THE PROXY
+		state.set("name", "Pavel");
+		assertEquals(hashCode, proxy.hashCode());
+		assertEquals(hashCodeComputations, state.getHashCodeComputations());
+	}
+
+	@Test
+	public void shouldRejectCollectionChangesOfFrozenProxy() {
+		final Person proxy = JavassistProxyGenerator.instantiateSerializable(RECIPE, new UnguardedBucket());
+		proxy.addTag("new");
+		proxy.addTag("cheap");
+		assertTrue(proxy.removeTag("cheap"));
+
+		proxy.freeze();
+
+		assertThrows(IllegalStateException.class, () -> proxy.addTag("old"));
+		assertThrows(IllegalStateException.class, () -> proxy.removeTag("new"));
+		assertEquals(Collections.singletonList("new"), proxy.getTags());
+	}
+
+	public interface Person extends FrozenState {
+
+		String getName();
+
+		void setName(String name);
+
+		List<String> getTags();
+
+		void addTag(String tag);
+
+		boolean removeTag(String tag);
+
+	}
+
+	/**
+	 * State that neither rejects changes nor caches its hash code once it's frozen.
+	 */
+	public static class UnguardedBucket extends GenericBucket {
+		private static final long serialVersionUID = 2871450218529467714L;
+		private boolean frozen;
+		private int hashCodeComputations;
+
+		@Override
+		public void freeze() {
+			this.frozen = true;
+		}
+
+		@Override
+		public boolean isFrozen() {
+			return frozen;
+		}
+
+		public int getHashCodeComputations() {
+			return hashCodeComputations;
+		}
+
+		@Override
+		public int hashCode() {
+			hashCodeComputations++;
+			return Objects.hashCode(getLocalDataStoreIfPresent());
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+package one.edee.oss.proxycian.maven;
+
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyPrecompiledProxyTest.PersonRecipeFactory;
+import one.edee.oss.proxycian.bytebuddy.ByteBuddyProxyGenerator;
+import one.edee.oss.proxycian.model.traits.GenericBucket;
+import one.edee.oss.proxycian.model.traits.Person;
+import one.edee.oss.proxycian.recipe.ProxyRecipe;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test verifies that {@link PrecompileProxyClassesMojo} pre-generates the proxy classes in the isolated class
+ * loader of the project classpath and that the generator loads them at runtime instead of generating them.
+ */
+public class PrecompileProxyClassesMojoTest {
+
+	@Test
+	public void shouldPrecompileProxyClassesOfRecipeFactories(@TempDir File outputDirectory) throws Exception {
+		final PrecompileProxyClassesMojo mojo = createMojo(
+			getTestClasspath(), Collections.singletonList(PersonRecipeFactory.class.getName()), outputDirectory
+		);
+		mojo.execute();
+
+		try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()}, getClass().getClassLoader())) {
+			for (ProxyRecipe recipe : new PersonRecipeFactory().createRecipes()) {
+				final Person person = ByteBuddyProxyGenerator.instantiate(recipe, new GenericBucket(), classLoader);
+				assertSame(classLoader, person.getClass().getClassLoader(), "Class was not precompiled in " + recipe.getDispatchMode() + " mode!");
+				// CLASS IS READ FROM THE OUTPUT DIRECTORY AND NOT GENERATED AGAIN
+				final CodeSource codeSource = person.getClass().getProtectionDomain().getCodeSource();
+				assertNotNull(codeSource);
+				assertEquals(outputDirectory.toURI().toURL(), codeSource.getLocation());
+			}
+		}
+	}
+
+	@Test
+	public void shouldFailWhenProjectClasspathLacksProxycian(@TempDir File outputDirectory) throws Exception {
+		final PrecompileProxyClassesMojo mojo = createMojo(
+			Collections.emptyList(), Collections.singletonList(PersonRecipeFactory.class.getName()), outputDirectory
+		);
+		assertThrows(MojoExecutionException.class, mojo::execute);
+	}
+
+	/**
+	 * Creates the Mojo as Maven would inject it for the project with the passed runtime classpath.
+	 */
+	private static PrecompileProxyClassesMojo createMojo(List<String> runtimeClasspath, List<String> recipeFactories, File outputDirectory) throws Exception {
+		final PrecompileProxyClassesMojo mojo = new PrecompileProxyClassesMojo();
+		setField(mojo, "project", new MavenProject() {
+			@Override
+			public List<String> getRuntimeClasspathElements() {
+				return runtimeClasspath;
+			}
+		});
+		setField(mojo, "recipeFactories", recipeFactories);
+		setField(mojo, "outputDirectory", outputDirectory);
+		return mojo;
+	}
+
+	private static void setField(Object target, String fieldName, Object value) throws Exception {
+		final Field field = target.getClass().getDeclaredField(fieldName);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	/**
+	 * Returns classpath of the test, which plays the runtime classpath of the project using the plugin. Surefire
+	 * may run the tests from the manifest-only jar, which hides the real classpath from `java.class.path`.
+	 */
+	private static List<String> getTestClasspath() {
+		final String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+		return Arrays.asList(classpath.split(File.pathSeparator));
+	}
+
+}
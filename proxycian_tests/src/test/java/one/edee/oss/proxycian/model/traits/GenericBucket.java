@@ -3,22 +3,27 @@ package one.edee.oss.proxycian.model.traits;
 import lombok.Getter;
 import one.edee.oss.proxycian.ProxyStateWithConstructorArgs;
 import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStore;
+import one.edee.oss.proxycian.trait.frozenState.FrozenStateProvider;
 import one.edee.oss.proxycian.trait.localDataStore.LocalDataStoreProvider;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static java.util.Optional.ofNullable;
 
 @SuppressWarnings("ALL")
-public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataStoreProvider, BeanMemoryStore, Cloneable {
+public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataStoreProvider, BeanMemoryStore, FrozenStateProvider, Cloneable {
 	private static final long serialVersionUID = 4135508091866018653L;
 	@Getter private final Class<?>[] constructorTypes;
 	@Getter private final Object[] constructorArgs;
 	private Map<String, Serializable> data;
+	@Getter private boolean frozen;
+	private int frozenHashCode;
 
 	public GenericBucket() {
 		this.constructorTypes = new Class[0];
@@ -47,12 +52,14 @@ public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataSt
 	}
 
 	public void set(String propertyName, Serializable propertyValue) {
+		assertNotFrozen();
 		getOrCreateLocalDataStore().put(propertyName, propertyValue);
 	}
 
 	@Override
 	public Map<String, Serializable> getOrCreateLocalDataStore() {
 		if (data == null) {
+			assertNotFrozen();
 			this.data = new LinkedHashMap<>(16);
 		}
 		return data;
@@ -65,6 +72,7 @@ public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataSt
 
 	@Override
 	public <T extends Serializable> void putValueToMemoryStore(String name, T value) {
+		assertNotFrozen();
 		getOrCreateLocalDataStore().put(name, value);
 	}
 
@@ -75,19 +83,30 @@ public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataSt
 
 	@Override
 	public <T extends Serializable> boolean addValueToCollectionInMemoryStore(String name, T value) {
+		assertNotFrozen();
 		final List<T> dataStore = (List<T>) getOrCreateLocalDataStore().computeIfAbsent(name, s -> new LinkedList<>());
 		return dataStore.add(value);
 	}
 
 	@Override
 	public <T extends Serializable> boolean removeValueFromCollectionInMemoryStore(String name, T value) {
+		assertNotFrozen();
 		final List<T> collection = (List<T>) ofNullable(getLocalDataStoreIfPresent()).map(it -> it.get(name)).orElse(null);
 		return collection == null ? false : collection.remove(value);
 	}
 
+	@Override
+	public void freeze() {
+		if (!frozen) {
+			this.data = data == null ? null : Collections.unmodifiableMap(data);
+			this.frozenHashCode = Objects.hashCode(data);
+			this.frozen = true;
+		}
+	}
+
 	@Override
 	public int hashCode() {
-		return data.hashCode();
+		return frozen ? frozenHashCode : data.hashCode();
 	}
 
 	@Override
@@ -101,11 +120,18 @@ public class GenericBucket implements ProxyStateWithConstructorArgs, LocalDataSt
 
 	@Override
 	public Object clone() throws CloneNotSupportedException {
-		return new GenericBucket(this.data);
+		// CLONE OF THE FROZEN BUCKET IS NOT FROZEN
+		return new GenericBucket(frozen && data != null ? new LinkedHashMap<>(this.data) : this.data);
 	}
 
 	@Override
 	public String toString() {
 		return data == null ? "NO_DATA" : data.toString();
 	}
+
+	private void assertNotFrozen() {
+		if (frozen) {
+			throw new IllegalStateException("What the heck? Bucket is frozen and cannot be changed!");
+		}
+	}
 }
@@ -0,0 +1,40 @@
+package one.edee.oss.proxycian.model.traits;
+
+import one.edee.oss.proxycian.trait.beanMemoryStore.BeanMemoryStore;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Minimal {@link BeanMemoryStore} implementation that doesn't allocate anything when reading or overwriting values.
+ * It's used for measuring the allocations of the proxy machinery itself.
+ */
+@SuppressWarnings("unchecked")
+public class SimpleMemoryBucket implements BeanMemoryStore {
+	private final Map<String, Serializable> data = new HashMap<>(16);
+
+	@Override
+	public <T extends Serializable> void putValueToMemoryStore(String name, T value) {
+		data.put(name, value);
+	}
+
+	@Override
+	public <T extends Serializable> T getValueFromMemoryStore(String name) {
+		return (T) data.get(name);
+	}
+
+	@Override
+	public <T extends Serializable> boolean addValueToCollectionInMemoryStore(String name, T value) {
+		return ((Collection<T>) data.computeIfAbsent(name, s -> new LinkedList<>())).add(value);
+	}
+
+	@Override
+	public <T extends Serializable> boolean removeValueFromCollectionInMemoryStore(String name, T value) {
+		final Collection<T> collection = (Collection<T>) data.get(name);
+		return collection != null && collection.remove(value);
+	}
+
+}
@@ -0,0 +1,109 @@
+package one.edee.oss.proxycian.trait.delegate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies contract of {@link DelegateCallSite}.
+ */
+public class DelegateCallSiteTest {
+
+	@Test
+	public void shouldInvokeMethodOfDelegateRuntimeClass() throws Throwable {
+		final DelegateCallSite callSite = new DelegateCallSite(Greeter.class.getMethod("greet", String.class));
+		assertEquals("Hello Jan", callSite.invoke(new EnglishGreeter(), new Object[]{"Jan"}));
+		assertEquals("Ahoj Jan", callSite.invoke(new CzechGreeter(), new Object[]{"Jan"}));
+		assertEquals("Hello Jan", callSite.invoke(new EnglishGreeter(), new Object[]{"Jan"}));
+		assertFalse(callSite.isMegamorphic());
+	}
+
+	@Test
+	public void shouldBecomeMegamorphicWhenInlineCacheOverflows() throws Throwable {
+		final DelegateCallSite callSite = new DelegateCallSite(Greeter.class.getMethod("greet", String.class));
+		final Greeter[] greeters = {
+			new EnglishGreeter(), new CzechGreeter(), new GermanGreeter(),
+			new FrenchGreeter(), new SpanishGreeter(), new ItalianGreeter()
+		};
+		for (int i = 0; i < 3; i++) {
+			for (Greeter greeter : greeters) {
+				assertEquals(greeter.greet("Jan"), callSite.invoke(greeter, new Object[]{"Jan"}));
+			}
+		}
+		assertTrue(callSite.isMegamorphic());
+	}
+
+	@Test
+	public void shouldInvokeMethodOfNonPublicDelegateClass() throws Throwable {
+		final DelegateCallSite callSite = new DelegateCallSite(Greeter.class.getMethod("greet", String.class));
+		assertEquals("Hi Jan", callSite.invoke(new HiddenGreeter(), new Object[]{"Jan"}));
+	}
+
+	@Test
+	public void shouldPropagateExceptionOfDelegate() throws NoSuchMethodException {
+		final DelegateCallSite callSite = new DelegateCallSite(Greeter.class.getMethod("greet", String.class));
+		assertThrows(IllegalArgumentException.class, () -> callSite.invoke(new EnglishGreeter(), new Object[]{null}));
+	}
+
+	public interface Greeter {
+
+		String greet(String name);
+
+	}
+
+	public static class EnglishGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			if (name == null) {
+				throw new IllegalArgumentException("Name is mandatory!");
+			}
+			return "Hello " + name;
+		}
+	}
+
+	public static class CzechGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Ahoj " + name;
+		}
+	}
+
+	public static class GermanGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Hallo " + name;
+		}
+	}
+
+	public static class FrenchGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Salut " + name;
+		}
+	}
+
+	public static class SpanishGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Hola " + name;
+		}
+	}
+
+	public static class ItalianGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Ciao " + name;
+		}
+	}
+
+	private static class HiddenGreeter implements Greeter {
+		@Override
+		public String greet(String name) {
+			return "Hi " + name;
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package one.edee.oss.proxycian.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This test verifies contract of {@link DefaultMethodInvoker}.
+ */
+public class DefaultMethodInvokerTest {
+
+	@Test
+	public void shouldReuseInvokerForTheSameMethod() throws NoSuchMethodException {
+		final Method method = Calculator.class.getMethod("add", int.class, int.class);
+		assertSame(DefaultMethodInvoker.get(method), DefaultMethodInvoker.get(method));
+	}
+
+	@Test
+	public void shouldInvokeDefaultMethodWithArguments() throws Throwable {
+		final Calculator calculator = new Calculator() {};
+		assertEquals(5, DefaultMethodInvoker.get(Calculator.class.getMethod("add", int.class, int.class)).invoke(calculator, new Object[]{2, 3}));
+		assertEquals("ab", DefaultMethodInvoker.get(Calculator.class.getMethod("concat", String.class, String.class)).invoke(calculator, new Object[]{"a", "b"}));
+		assertNull(DefaultMethodInvoker.get(Calculator.class.getMethod("reset")).invoke(calculator, new Object[0]));
+	}
+
+	@Test
+	public void shouldPropagateExceptionFromDefaultMethod() throws NoSuchMethodException {
+		final DefaultMethodInvoker invoker = DefaultMethodInvoker.get(Calculator.class.getMethod("divide", int.class, int.class));
+		assertThrows(ArithmeticException.class, () -> invoker.invoke(new Calculator() {}, new Object[]{1, 0}));
+	}
+
+	public interface Calculator {
+
+		default int add(int a, int b) {
+			return a + b;
+		}
+
+		default int divide(int a, int b) {
+			return a / b;
+		}
+
+		default String concat(String a, String b) {
+			return a + b;
+		}
+
+		default void reset() {
+		}
+
+	}
+
+}
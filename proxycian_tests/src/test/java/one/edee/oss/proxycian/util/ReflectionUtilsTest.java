@@ -0,0 +1,91 @@
+package one.edee.oss.proxycian.util;
+
+import one.edee.oss.proxycian.trait.ProxyStateAccessor;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies that method lookups of {@link ReflectionUtils} answer the same as {@link Class} lookup methods.
+ */
+public class ReflectionUtilsTest {
+
+	@Test
+	public void shouldRecognizeMethodDeclaredOnClass() throws Exception {
+		assertTrue(ReflectionUtils.isMethodDeclaredOn(Object.class.getMethod("toString"), Object.class, "toString"));
+		assertTrue(ReflectionUtils.isMethodDeclaredOn(Object.class.getMethod("equals", Object.class), Object.class, "equals", Object.class));
+		assertTrue(ReflectionUtils.isMethodDeclaredOn(ProxyStateAccessor.class.getMethod("getProxyState"), ProxyStateAccessor.class, "getProxyState"));
+
+		assertFalse(ReflectionUtils.isMethodDeclaredOn(Overriding.class.getMethod("toString"), Object.class, "toString"));
+		assertFalse(ReflectionUtils.isMethodDeclaredOn(Overriding.class.getMethod("getName"), Object.class, "getName"));
+		assertFalse(ReflectionUtils.isMethodDeclaredOn(Object.class.getMethod("equals", Object.class), Object.class, "equals", String.class));
+	}
+
+	@Test
+	public void shouldRecognizeNonPublicMethodDeclaredOnClass() throws Exception {
+		final Method clone = Object.class.getDeclaredMethod("clone");
+		assertTrue(ReflectionUtils.isNonPublicMethodDeclaredOn(clone, Object.class, "clone"));
+		assertFalse(ReflectionUtils.isNonPublicMethodDeclaredOn(Object.class.getMethod("hashCode"), Object.class, "hashCode"));
+		assertFalse(ReflectionUtils.isNonPublicMethodDeclaredOn(clone, Object.class, "finalize"));
+		assertFalse(ReflectionUtils.isNonPublicMethodDeclaredOn(Overriding.class.getDeclaredMethod("clone"), Object.class, "clone"));
+	}
+
+	@Test
+	public void shouldRecognizeMatchingMethodPresentOnClass() throws Exception {
+		assertTrue(ReflectionUtils.isMatchingMethodPresentOn(Named.class.getMethod("getName"), Overriding.class));
+		assertTrue(ReflectionUtils.isMatchingMethodPresentOn(Object.class.getMethod("hashCode"), Overriding.class));
+		// INTERFACES DON'T EXPOSE OBJECT METHODS - THE SAME AS Class#getMethod
+		assertFalse(ReflectionUtils.isMatchingMethodPresentOn(Object.class.getMethod("hashCode"), Named.class));
+		assertFalse(ReflectionUtils.isMatchingMethodPresentOn(Named.class.getMethod("getName"), Object.class));
+	}
+
+	@Test
+	public void shouldReturnSameMethodAsClassLookup() throws Exception {
+		assertEquals(Overriding.class.getMethod("getName"), ReflectionUtils.getPublicMethod(Overriding.class, "getName"));
+		assertEquals(Overriding.class.getMethod("toString"), ReflectionUtils.getPublicMethod(Overriding.class, "toString"));
+		assertEquals(Overriding.class.getMethod("getCopy"), ReflectionUtils.getPublicMethod(Overriding.class, "getCopy"));
+		assertEquals(Overriding.class.getMethod("wait", long.class), ReflectionUtils.getPublicMethod(Overriding.class, "wait", long.class));
+		assertNull(ReflectionUtils.getPublicMethod(Overriding.class, "getName", String.class));
+		assertNull(ReflectionUtils.getPublicMethod(Overriding.class, "clone"));
+		assertSame(ReflectionUtils.getPublicMethod(Overriding.class, "getName"), ReflectionUtils.getPublicMethod(Overriding.class, "getName"));
+	}
+
+	public interface Named {
+
+		String getName();
+
+		Named getCopy();
+
+	}
+
+	public static class Overriding implements Named, Cloneable {
+
+		@Override
+		public String getName() {
+			return "name";
+		}
+
+		@Override
+		public Overriding getCopy() {
+			return new Overriding();
+		}
+
+		@Override
+		public String toString() {
+			return getName();
+		}
+
+		@Override
+		protected Object clone() throws CloneNotSupportedException {
+			return super.clone();
+		}
+
+	}
+
+}